@@ -3,9 +3,11 @@ package com.account;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients (basePackages = "com.clients")
+@EnableScheduling
 public class AccountApplication {
     public static void main(String[] args) {
         SpringApplication.run(AccountApplication.class , args);
@@ -1,5 +1,7 @@
 package com.account.config;
 
+import com.clients.serialization.BinaryEventDeserializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,4 +13,15 @@ public class BeanConfiguration {
     public Random random() {
         return new Random();
     }
+
+    /**
+     * Deserializer for listeners that receive raw record values and decode them themselves, configured with the same
+     * consumer properties (e.g. trusted packages for the JSON fallback) as the container deserializer.
+     */
+    @Bean(destroyMethod = "close")
+    public BinaryEventDeserializer binaryEventDeserializer(KafkaProperties kafkaProperties) {
+        BinaryEventDeserializer deserializer = new BinaryEventDeserializer();
+        deserializer.configure(kafkaProperties.buildConsumerProperties(null), false);
+        return deserializer;
+    }
 }
@@ -1,54 +1,112 @@
 package com.account.controller;
 
 import com.account.kafka.KafkaProducerService;
+import com.account.service.AccountExportService;
+import com.account.service.AccountImportService;
 import com.account.service.AccountService;
+import com.account.service.AccountStatsService;
 import com.clients.account.dto.*;
 import com.clients.dto.GeneralResponseDTO;
+import com.clients.observability.ObservationNames;
 import com.common.enums.TopicNames;
 import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
+@Observed(name = ObservationNames.CONTROLLER)
 @Slf4j
 @RequestMapping("/api/v1/accounts")
 @RequiredArgsConstructor
 public class AccountController {
     private final AccountService accountService;
     private final KafkaProducerService kafkaProducerService;
+    private final AccountExportService accountExportService;
+    private final AccountStatsService accountStatsService;
+    private final AccountImportService accountImportService;
 
     @PostMapping("/registerAccount")
     public ResponseEntity<AccountResponseDTO> createAccount(@Valid @RequestBody AccountRequestDTO accountRequestDTO) {
         AccountResponseDTO accountResponseDTO = accountService.createAccount(accountRequestDTO);
-        KafkaNewAccountDTO kafkaNewAccountDTO = new KafkaNewAccountDTO(accountResponseDTO.accountId(), accountResponseDTO.customerId() , accountResponseDTO.accountType() , accountResponseDTO.accountStatus());
+        KafkaNewAccountDTO kafkaNewAccountDTO = new KafkaNewAccountDTO(accountResponseDTO.accountId(), accountResponseDTO.customerId() , accountResponseDTO.accountType() , accountResponseDTO.accountStatus(), accountResponseDTO.balance());
         kafkaProducerService.sendMessage(TopicNames.ACCOUNT_NEW.getTopicName(), kafkaNewAccountDTO);
         return new ResponseEntity<>(accountResponseDTO, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AccountImportResponseDTO> importAccounts(@RequestParam("file") MultipartFile file) throws IOException {
+        log.debug("Received request to import accounts from file: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(accountImportService.importAccounts(inputStream));
+        }
+    }
+
     @GetMapping("/account/{accountId}")
-    public ResponseEntity<AccountResponseDTO> getAccount(@PathVariable int accountId) {
-        AccountResponseDTO accountResponseDTO = accountService.getAccount(accountId);
+    public ResponseEntity<AccountResponseDTO> getAccount(@PathVariable int accountId,
+                                                         @RequestParam(defaultValue = "false") boolean includeArchived) {
+        AccountResponseDTO accountResponseDTO = accountService.getAccount(accountId, includeArchived);
         return ResponseEntity.ok(accountResponseDTO);
     }
 
     @GetMapping
-    public ResponseEntity<List<AccountResponseDTO>> getAllAccounts() {
-         List<AccountResponseDTO> allAccounts = accountService.getAllAccounts();
+    public ResponseEntity<List<AccountResponseDTO>> getAllAccounts(@RequestParam(defaultValue = "false") boolean includeArchived) {
+         List<AccountResponseDTO> allAccounts = accountService.getAllAccounts(includeArchived);
          return ResponseEntity.ok(allAccounts);
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<AccountResponseDTO>> getAccountsByCustomerId(@PathVariable int customerId) {
-        List<AccountResponseDTO> accounts = accountService.getAccountsByCustomerId(customerId);
+    public ResponseEntity<List<AccountResponseDTO>> getAccountsByCustomerId(@PathVariable int customerId,
+                                                                            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<AccountResponseDTO> accounts = accountService.getAccountsByCustomerId(customerId, includeArchived);
         return ResponseEntity.ok(accounts);
     }
 
+    @PostMapping("/counts")
+    public ResponseEntity<AccountCountResponseDTO> countAccounts(@Valid @RequestBody AccountCountRequestDTO accountCountRequestDTO) {
+        return ResponseEntity.ok(accountService.countAccounts(accountCountRequestDTO.customerIds()));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<AccountStatsResponseDTO> getAccountStats() {
+        return ResponseEntity.ok(accountStatsService.getStats());
+    }
+
+    @GetMapping("/{accountId}/statement")
+    public ResponseEntity<StreamingResponseBody> getStatement(@PathVariable int accountId,
+                                                              @RequestParam(defaultValue = "false") boolean includeArchived,
+                                                              @RequestParam(defaultValue = "false") boolean compress) {
+        // fails with 404 before the response is committed to streaming
+        accountService.getAccount(accountId, includeArchived);
+        return csvResponse("statement-" + accountId, compress,
+                outputStream -> accountExportService.exportStatement(accountId, includeArchived, compress, outputStream));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(@RequestParam(defaultValue = "false") boolean includeArchived,
+                                                                @RequestParam(defaultValue = "false") boolean compress) {
+        return csvResponse("accounts", compress,
+                outputStream -> accountExportService.exportAccounts(includeArchived, compress, outputStream));
+    }
+
+    @PostMapping("/export/file")
+    public ResponseEntity<AccountExportResponseDTO> exportAccountsToFile(@RequestParam(defaultValue = "false") boolean includeArchived,
+                                                                         @RequestParam(defaultValue = "false") boolean compress) throws IOException {
+        return ResponseEntity.ok(accountExportService.exportAccountsToFile(includeArchived, compress));
+    }
+
     @PutMapping("/{accountId}")
     public ResponseEntity<AccountUpdateResponseDTO> updateAccount(@PathVariable int accountId, @Valid @RequestBody AccountUpdateRequestDTO accountUpdateRequestDTO) {
         AccountUpdateResponseDTO responseDTO = accountService.updateAccount(accountId, accountUpdateRequestDTO);
@@ -64,4 +122,12 @@ public class AccountController {
         kafkaProducerService.sendMessage(TopicNames.ACCOUNT_DELETE.getTopicName(), kafkaDeleteAccountDTO);
         return ResponseEntity.ok(responseDTO);
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<StreamingResponseBody> csvResponse(String fileName, boolean compress, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName + (compress ? ".csv.gz" : ".csv")).build().toString())
+                .contentType(compress ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+}
@@ -0,0 +1,43 @@
+package com.account.controller;
+
+import com.clients.dto.DeadLetterReplayResponseDTO;
+import com.clients.kafka.DeadLetterReplayer;
+import com.clients.observability.ObservationNames;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin operations on the dead-letter topics of the topics this service consumes.
+ * Not routed through the API gateway; call the service instance directly.
+ */
+@RestController
+@Observed(name = ObservationNames.CONTROLLER)
+@RequestMapping("/api/v1/admin/dead-letters")
+@Slf4j
+@RequiredArgsConstructor
+public class DeadLetterController {
+
+    private final DeadLetterReplayer deadLetterReplayer;
+
+    /**
+     * Republishes records from the dead-letter topic of {@code topic} back to {@code topic}.
+     *
+     * @param topic The source topic whose dead letters should be replayed, e.g. {@code customer.update}.
+     * @param maxRecords The maximum number of records to replay in this call.
+     * @return A {@link ResponseEntity} with the number of replayed records and HTTP status code 200.
+     */
+    @PostMapping("/{topic}/replay")
+    public ResponseEntity<DeadLetterReplayResponseDTO> replay(@PathVariable String topic,
+                                                              @RequestParam(defaultValue = "500") int maxRecords) {
+        log.info("Received request to replay up to {} dead letters of topic: {}", maxRecords, topic);
+
+        int replayed = deadLetterReplayer.replay(topic, maxRecords);
+
+        return ResponseEntity.ok(new DeadLetterReplayResponseDTO(HttpStatus.OK.value(), topic, replayed,
+                "Replayed " + replayed + " records to " + topic));
+    }
+}
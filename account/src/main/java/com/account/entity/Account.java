@@ -1,17 +1,26 @@
 package com.account.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.PartitionKey;
 
 import java.math.BigDecimal;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @Table(name = "Account")
 @Getter
 @Setter
@@ -22,6 +31,10 @@ public class Account {
     @Column(name = "account_id", length = 10, nullable = false)
     private Integer accountId;
 
+    /**
+     * The table is hash-partitioned on this column, so Hibernate adds it to the entity's updates and deletes.
+     */
+    @PartitionKey
     @Column(name = "customer_id", length = 7, nullable = false)
     private Integer customerId;
 
@@ -33,4 +46,15 @@ public class Account {
 
     @Column(name = "account_status", length = 20, nullable = false)
     private String accountStatus;
+
+    /**
+     * Also tells Spring Data whether the entity is new, since account ids are assigned by the service.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public Account(Integer accountId, Integer customerId, BigDecimal balance, String accountType, String accountStatus) {
+        this(accountId, customerId, balance, accountType, accountStatus, null);
+    }
 }
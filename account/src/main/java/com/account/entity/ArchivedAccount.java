@@ -0,0 +1,49 @@
+package com.account.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Closed account moved out of the Account table by the archival job; only read when a caller asks for archived
+ * accounts
+ */
+@Entity
+@Immutable
+@Table(name = "account_archive")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedAccount {
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private Integer accountId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Integer customerId;
+
+    @Column(name = "balance", precision = 15, scale = 2, nullable = false)
+    private BigDecimal balance;
+
+    @Column(name = "account_type", length = 20, nullable = false)
+    private String accountType;
+
+    @Column(name = "account_status", length = 20, nullable = false)
+    private String accountStatus;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
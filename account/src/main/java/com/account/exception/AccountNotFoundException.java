@@ -1,6 +1,8 @@
 package com.account.exception;
 
-public class AccountNotFoundException extends RuntimeException {
+import com.common.exception.BusinessException;
+
+public class AccountNotFoundException extends BusinessException {
     public AccountNotFoundException(String message) {
         super(message);
     }
@@ -1,6 +1,14 @@
 package com.account.exception;
 
-public class CannotActivateAccountException extends RuntimeException {
+import com.common.exception.BusinessException;
+
+public class CannotActivateAccountException extends BusinessException {
+    public static final String MESSAGE = "Cannot activate account for inactive customer.";
+
+    public CannotActivateAccountException() {
+        this(MESSAGE);
+    }
+
     public CannotActivateAccountException(String message) {
         super(message);
     }
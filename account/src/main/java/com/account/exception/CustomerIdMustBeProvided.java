@@ -1,6 +1,8 @@
 package com.account.exception;
 
-public class CustomerIdMustBeProvided extends RuntimeException {
+import com.common.exception.BusinessException;
+
+public class CustomerIdMustBeProvided extends BusinessException {
     public CustomerIdMustBeProvided(String message) {
         super(message);
     }
@@ -1,6 +1,8 @@
 package com.account.exception;
 
-public class CustomerNotFoundException extends RuntimeException{
+import com.common.exception.BusinessException;
+
+public class CustomerNotFoundException extends BusinessException {
     public CustomerNotFoundException(String message) {
         super(message);
     }
@@ -8,4 +10,4 @@ public class CustomerNotFoundException extends RuntimeException{
     public CustomerNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
-}
\ No newline at end of file
+}
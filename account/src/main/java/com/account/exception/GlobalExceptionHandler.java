@@ -2,7 +2,10 @@ package com.account.exception;
 
 import com.clients.dto.ErrorResponseDTO;
 import com.clients.dto.ValidationErrorDTO;
+import com.clients.exception.DownstreamServiceUnavailableException;
+import com.clients.exception.InvalidDeadLetterReplayRequestException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -16,6 +19,17 @@ import java.util.Map;
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
+    // business rules that always fail with the same message get their response built once
+    private static final ResponseEntity<ErrorResponseDTO> SALARY_ACCOUNT_EXISTS_RESPONSE = new ResponseEntity<>(
+            new ErrorResponseDTO(HttpStatus.BAD_REQUEST.value(), SalaryAccountAlreadyExistsException.MESSAGE, "Salary account already exists"),
+            HttpStatus.BAD_REQUEST);
+    private static final ResponseEntity<ErrorResponseDTO> MAXIMUM_NUMBER_OF_ACCOUNTS_RESPONSE = new ResponseEntity<>(
+            new ErrorResponseDTO(HttpStatus.BAD_REQUEST.value(), MaximumNumberOfAccountsReachedException.MESSAGE, "Maximum number of accounts reached"),
+            HttpStatus.BAD_REQUEST);
+    private static final ResponseEntity<ErrorResponseDTO> CANNOT_ACTIVATE_ACCOUNT_RESPONSE = new ResponseEntity<>(
+            new ErrorResponseDTO(HttpStatus.BAD_REQUEST.value(), CannotActivateAccountException.MESSAGE, "Cannot activate account"),
+            HttpStatus.BAD_REQUEST);
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorDTO> handleValidationExceptions(MethodArgumentNotValidException ex) {
         log.error("Validation error occurred: {}", ex.getMessage());
@@ -53,6 +67,9 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(SalaryAccountAlreadyExistsException.class)
     public ResponseEntity<ErrorResponseDTO> handleSalaryAccountExists(SalaryAccountAlreadyExistsException ex) {
+        if (SalaryAccountAlreadyExistsException.MESSAGE.equals(ex.getMessage())) {
+            return SALARY_ACCOUNT_EXISTS_RESPONSE;
+        }
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 HttpStatus.BAD_REQUEST.value(),
                 ex.getMessage(),
@@ -63,6 +80,9 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MaximumNumberOfAccountsReachedException.class)
     public ResponseEntity<ErrorResponseDTO> handleMaximumNumberOfAccountsReached(MaximumNumberOfAccountsReachedException ex) {
+        if (MaximumNumberOfAccountsReachedException.MESSAGE.equals(ex.getMessage())) {
+            return MAXIMUM_NUMBER_OF_ACCOUNTS_RESPONSE;
+        }
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 HttpStatus.BAD_REQUEST.value(),
                 ex.getMessage(),
@@ -73,6 +93,9 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(CannotActivateAccountException.class)
     public ResponseEntity<ErrorResponseDTO> handleCannotActivateAccount(CannotActivateAccountException ex) {
+        if (CannotActivateAccountException.MESSAGE.equals(ex.getMessage())) {
+            return CANNOT_ACTIVATE_ACCOUNT_RESPONSE;
+        }
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
                 HttpStatus.BAD_REQUEST.value(),
                 ex.getMessage(),
@@ -101,6 +124,46 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidAccountImportRequestException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidAccountImportRequest(InvalidAccountImportRequestException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                "Invalid account import request"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(DownstreamServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDownstreamServiceUnavailable(DownstreamServiceUnavailableException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                "Downstream service unavailable"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(InvalidDeadLetterReplayRequestException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidDeadLetterReplayRequest(InvalidDeadLetterReplayRequestException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                "Invalid dead letter replay request"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                "Concurrent update conflict"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> defaultExceptionHandler(Exception ex) {
         log.error("An error occurred: {}", ex.getMessage());
@@ -0,0 +1,13 @@
+package com.account.exception;
+
+import com.common.exception.BusinessException;
+
+public class InvalidAccountImportRequestException extends BusinessException {
+    public InvalidAccountImportRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidAccountImportRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
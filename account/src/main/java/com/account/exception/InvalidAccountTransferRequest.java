@@ -1,6 +1,8 @@
 package com.account.exception;
 
-public class InvalidAccountTransferRequest extends RuntimeException {
+import com.common.exception.BusinessException;
+
+public class InvalidAccountTransferRequest extends BusinessException {
     public InvalidAccountTransferRequest(String message) {
         super(message);
     }
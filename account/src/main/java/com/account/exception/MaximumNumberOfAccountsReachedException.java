@@ -1,6 +1,14 @@
 package com.account.exception;
 
-public class MaximumNumberOfAccountsReachedException extends RuntimeException{
+import com.common.exception.BusinessException;
+
+public class MaximumNumberOfAccountsReachedException extends BusinessException {
+    public static final String MESSAGE = "Customer has reached the maximum number of accounts.";
+
+    public MaximumNumberOfAccountsReachedException() {
+        this(MESSAGE);
+    }
+
     public MaximumNumberOfAccountsReachedException(String message) {
         super(message);
     }
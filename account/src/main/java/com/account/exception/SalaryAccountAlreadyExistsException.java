@@ -1,6 +1,14 @@
 package com.account.exception;
 
-public class SalaryAccountAlreadyExistsException extends RuntimeException {
+import com.common.exception.BusinessException;
+
+public class SalaryAccountAlreadyExistsException extends BusinessException {
+    public static final String MESSAGE = "Customer already has a salary account";
+
+    public SalaryAccountAlreadyExistsException() {
+        this(MESSAGE);
+    }
+
     public SalaryAccountAlreadyExistsException(String message) {
         super(message);
     }
@@ -0,0 +1,144 @@
+package com.account.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes account rows as CSV into a channel through a single reusable direct buffer.
+ * <p>
+ * Rows are encoded straight into the buffer: ids are written digit by digit and ASCII text byte by byte, so exporting
+ * a row allocates nothing beyond what the JDBC driver hands out. The buffer is drained into the channel whenever it
+ * cannot take the next field, which keeps memory flat however many rows are exported. Not thread-safe.
+ */
+public class AccountCsvWriter {
+
+    static final byte[] HEADER = "account_id,customer_id,balance,account_type,account_status\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int MAX_INT_DIGITS = 11;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long rows;
+
+    public AccountCsvWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public void writeHeader() throws IOException {
+        put(HEADER);
+    }
+
+    public void writeRow(int accountId, int customerId, String balance, String accountType, String accountStatus) throws IOException {
+        writeInt(accountId);
+        writeByte((byte) ',');
+        writeInt(customerId);
+        writeByte((byte) ',');
+        writeText(balance);
+        writeByte((byte) ',');
+        writeText(accountType);
+        writeByte((byte) ',');
+        writeText(accountStatus);
+        writeByte((byte) '\n');
+        rows++;
+    }
+
+    /**
+     * Writes whatever is buffered to the channel; the channel itself is left open for the caller to close.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    private void writeInt(int value) throws IOException {
+        ensureRemaining(MAX_INT_DIGITS);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            if (value == Integer.MIN_VALUE) {
+                put(Integer.toString(value).substring(1).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            value = -value;
+        }
+        int start = buffer.position();
+        do {
+            buffer.put((byte) ('0' + value % 10));
+            value /= 10;
+        } while (value != 0);
+        // digits were written least significant first
+        for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+            byte digit = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, digit);
+        }
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!isPlainAscii(value)) {
+            writeQuoted(value);
+            return;
+        }
+        int length = value.length();
+        if (length > buffer.capacity()) {
+            put(value.getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        ensureRemaining(length);
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) value.charAt(i));
+        }
+    }
+
+    private void writeQuoted(String value) throws IOException {
+        put(('"' + value.replace("\"", "\"\"") + '"').getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeByte(byte value) throws IOException {
+        ensureRemaining(1);
+        buffer.put(value);
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Whether the value can be written as is: ASCII without the separators and quotes that would need CSV quoting.
+     */
+    private static boolean isPlainAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80 || c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,301 @@
+package com.account.interest;
+
+import com.account.entity.Account;
+import com.account.kafka.KafkaProducerService;
+import com.account.repository.AccountRepository;
+import com.account.repository.InterestAccrualRepository;
+import com.account.service.AccountStatsService;
+import com.clients.account.dto.AccruedInterestDTO;
+import com.clients.account.dto.KafkaInterestAccruedDTO;
+import com.clients.datasource.Workload;
+import com.clients.datasource.WorkloadContext;
+import com.clients.persistence.AfterCommit;
+import com.common.enums.AccountStatus;
+import com.common.enums.AccountTypes;
+import com.common.enums.TopicNames;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accrues one day of interest on active savings and investment accounts.
+ * <p>
+ * The account id keyspace is cut into fixed-width ranges. A few worker threads on the batch connection pool take the
+ * next range as soon as they finish one, so a dense range never holds the others up. A range is accrued in a single
+ * transaction that checkpoints it, locks and reads its accounts, computes the interest in whole cents and adds it with
+ * one set-based update; once committed, the interest and new balance of every account of the range are published in
+ * {@code account.interest} events of at most {@code account.interest.accounts-per-event} accounts, which the customer
+ * service applies as balance updates.
+ * <p>
+ * The run is triggered several times a night. Every trigger resumes the run of the day, skipping the ranges already
+ * checkpointed, until all of them are accrued; a trigger stops taking new ranges after
+ * {@code account.interest.max-run-duration} so a run never spills past its window. Runs of earlier days that were left
+ * incomplete, because their last trigger ran out of time or a range kept failing, are resumed first, oldest first, so a
+ * missed window delays a day's interest instead of losing it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "account.interest", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class InterestAccrualJob {
+
+    private final InterestAccrualRepository interestAccrualRepository;
+    private final AccountStatsService accountStatsService;
+    private final KafkaProducerService kafkaProducerService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final List<String> accountTypes;
+    private final int[] annualRatesBasisPoints;
+    private final long chunkWidth;
+    private final int parallelism;
+    private final int accountsPerEvent;
+    private final Duration maxRunDuration;
+    private final Period retention;
+
+    public InterestAccrualJob(InterestAccrualRepository interestAccrualRepository,
+                              AccountStatsService accountStatsService,
+                              KafkaProducerService kafkaProducerService,
+                              EntityManagerFactory entityManagerFactory,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${account.interest.savings-rate-basis-points:250}") int savingsRateBasisPoints,
+                              @Value("${account.interest.investment-rate-basis-points:400}") int investmentRateBasisPoints,
+                              @Value("${account.interest.chunk-width:1000000}") long chunkWidth,
+                              @Value("${account.interest.parallelism:4}") int parallelism,
+                              @Value("${account.interest.accounts-per-event:1000}") int accountsPerEvent,
+                              @Value("${account.interest.max-run-duration:PT55M}") Duration maxRunDuration,
+                              @Value("${account.interest.retention:P30D}") Period retention) {
+        this.interestAccrualRepository = interestAccrualRepository;
+        this.accountStatsService = accountStatsService;
+        this.kafkaProducerService = kafkaProducerService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accountTypes = List.of(AccountTypes.SAVINGS.getType(), AccountTypes.INVESTMENT.getType());
+        this.annualRatesBasisPoints = new int[]{savingsRateBasisPoints, investmentRateBasisPoints};
+        this.chunkWidth = chunkWidth;
+        this.parallelism = parallelism;
+        this.accountsPerEvent = accountsPerEvent;
+        this.maxRunDuration = maxRunDuration;
+        this.retention = retention;
+    }
+
+    @Scheduled(cron = "${account.interest.cron:0 0 1-5 * * *}")
+    public void accrueToday() {
+        accrueThrough(LocalDate.now());
+    }
+
+    /**
+     * Resumes the incomplete runs of the days before {@code accrualDate}, then accrues {@code accrualDate}, all within
+     * one {@code max-run-duration}.
+     *
+     * @return whether every range of every run has been accrued
+     */
+    public boolean accrueThrough(LocalDate accrualDate) {
+        long deadline = System.nanoTime() + maxRunDuration.toNanos();
+        boolean completed = true;
+        for (LocalDate incompleteDate : interestAccrualRepository.findIncompleteRunDatesBefore(accrualDate)) {
+            log.info("Resuming interest accrual for {}", incompleteDate);
+            completed &= accrue(incompleteDate, deadline);
+        }
+        return accrue(accrualDate, deadline) && completed;
+    }
+
+    /**
+     * Accrues the interest of the given day, resuming the day's run if it was interrupted.
+     *
+     * @return whether every range of the run has been accrued
+     */
+    public boolean accrue(LocalDate accrualDate) {
+        return accrue(accrualDate, System.nanoTime() + maxRunDuration.toNanos());
+    }
+
+    private boolean accrue(LocalDate accrualDate, long deadline) {
+        Long runChunkWidth = interestAccrualRepository.startRun(accrualDate, chunkWidth);
+        if (runChunkWidth == null) {
+            log.debug("Interest for {} has already been accrued", accrualDate);
+            return true;
+        }
+        long[] accountIdRange = interestAccrualRepository.findAccountIdRange();
+        RunProgress progress = new RunProgress();
+        if (accountIdRange != null) {
+            accrueRanges(accrualDate, accountIdRange, runChunkWidth, deadline, progress);
+        }
+
+        if (progress.incomplete.get()) {
+            log.warn("Interest accrual for {} stopped with ranges left; {} ranges, {} accounts, {} accrued by this run",
+                    accrualDate, progress.chunks.sum(), progress.accounts.sum(), BigDecimal.valueOf(progress.interestCents.sum(), 2));
+            return false;
+        }
+        interestAccrualRepository.completeRun(accrualDate);
+        interestAccrualRepository.purgeRunsBefore(accrualDate.minus(retention));
+        log.info("Interest accrual for {} completed; {} ranges, {} accounts, {} accrued by this run",
+                accrualDate, progress.chunks.sum(), progress.accounts.sum(), BigDecimal.valueOf(progress.interestCents.sum(), 2));
+        return true;
+    }
+
+    private void accrueRanges(LocalDate accrualDate, long[] accountIdRange, long runChunkWidth, long deadline, RunProgress progress) {
+        AtomicLong nextChunkStart = new AtomicLong(Math.floorDiv(accountIdRange[0], runChunkWidth) * runChunkWidth);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> new Thread(
+                () -> WorkloadContext.runAs(Workload.BATCH, runnable), "interest-accrual-" + threads.incrementAndGet()));
+        try {
+            List<Future<?>> workers = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(executor.submit(() -> {
+                    long chunkStart;
+                    while ((chunkStart = nextChunkStart.getAndAdd(runChunkWidth)) <= accountIdRange[1]) {
+                        if (System.nanoTime() - deadline > 0) {
+                            progress.incomplete.set(true);
+                            return;
+                        }
+                        try {
+                            accrueChunk(accrualDate, chunkStart, chunkStart + runChunkWidth, progress);
+                        } catch (RuntimeException e) {
+                            // left unchecked, so the next trigger retries the range
+                            log.warn("Failed to accrue interest for {} on accounts from {}", accrualDate, chunkStart, e);
+                            progress.incomplete.set(true);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.incomplete.set(true);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Interest accrual worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void accrueChunk(LocalDate accrualDate, long chunkStart, long chunkEnd, RunProgress progress) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!interestAccrualRepository.claimChunk(accrualDate, chunkStart)) {
+                return;
+            }
+            ChunkAccrual chunk = new ChunkAccrual(accrualDate.lengthOfYear());
+            interestAccrualRepository.lockAccrualCandidates(chunkStart, chunkEnd, accountTypes, chunk::add);
+            if (chunk.count > 0) {
+                interestAccrualRepository.addInterest(chunk.accountIds, chunk.customerIds, chunk.interestCents, chunk.count);
+            }
+            interestAccrualRepository.completeChunk(accrualDate, chunkStart, chunk.count, chunk.totalInterestCents());
+            for (int type = 0; type < accountTypes.size(); type++) {
+                if (chunk.interestCentsByType[type] != 0) {
+                    accountStatsService.recordBalanceChanged(accountTypes.get(type), AccountStatus.ACTIVE.getStatus(),
+                            BigDecimal.valueOf(chunk.interestCentsByType[type], 2));
+                }
+            }
+            AfterCommit.run(() -> {
+                progress.chunks.increment();
+                progress.accounts.add(chunk.count);
+                progress.interestCents.add(chunk.totalInterestCents());
+                if (chunk.count > 0) {
+                    evictAccounts(chunk);
+                    publishAccruals(accrualDate, chunk);
+                }
+            });
+        });
+    }
+
+    private void publishAccruals(LocalDate accrualDate, ChunkAccrual chunk) {
+        for (int from = 0; from < chunk.count; from += accountsPerEvent) {
+            int to = Math.min(from + accountsPerEvent, chunk.count);
+            List<AccruedInterestDTO> accruals = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                accruals.add(new AccruedInterestDTO(chunk.accountIds[i], chunk.customerIds[i],
+                        BigDecimal.valueOf(chunk.interestCents[i], 2), BigDecimal.valueOf(chunk.newBalanceCents[i], 2)));
+            }
+            kafkaProducerService.sendMessage(TopicNames.ACCOUNT_INTEREST.getTopicName(), new KafkaInterestAccruedDTO(accrualDate, accruals));
+        }
+    }
+
+    /**
+     * The balances were updated behind Hibernate's back, so the cached accounts of the range and the cached
+     * per-customer queries are evicted; they would otherwise be served stale until their cache entries expire.
+     */
+    private void evictAccounts(ChunkAccrual chunk) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (int i = 0; i < chunk.count; i++) {
+            cache.evict(Account.class, chunk.accountIds[i]);
+        }
+        cache.evictQueryRegion(AccountRepository.ACCOUNTS_BY_CUSTOMER_REGION);
+    }
+
+    private static final class RunProgress {
+        private final LongAdder chunks = new LongAdder();
+        private final LongAdder accounts = new LongAdder();
+        private final LongAdder interestCents = new LongAdder();
+        private final AtomicBoolean incomplete = new AtomicBoolean();
+    }
+
+    /**
+     * The accounts of one range that earn interest, in primitive arrays grown as rows arrive.
+     */
+    private final class ChunkAccrual {
+
+        private final int daysInYear;
+        private final long[] interestCentsByType = new long[accountTypes.size()];
+        private int[] accountIds = new int[256];
+        private int[] customerIds = new int[256];
+        private long[] interestCents = new long[256];
+        // balances after the interest, published once the chunk commits
+        private long[] newBalanceCents = new long[256];
+        private int count;
+
+        ChunkAccrual(int daysInYear) {
+            this.daysInYear = daysInYear;
+        }
+
+        void add(int accountId, int customerId, long balanceCents, String accountType) {
+            int type = accountTypes.indexOf(accountType);
+            long interest = InterestCalculator.dailyInterestCents(balanceCents, annualRatesBasisPoints[type], daysInYear);
+            if (interest == 0) {
+                return;
+            }
+            if (count == accountIds.length) {
+                accountIds = Arrays.copyOf(accountIds, count * 2);
+                customerIds = Arrays.copyOf(customerIds, count * 2);
+                interestCents = Arrays.copyOf(interestCents, count * 2);
+                newBalanceCents = Arrays.copyOf(newBalanceCents, count * 2);
+            }
+            accountIds[count] = accountId;
+            customerIds[count] = customerId;
+            interestCents[count] = interest;
+            newBalanceCents[count] = balanceCents + interest;
+            interestCentsByType[type] += interest;
+            count++;
+        }
+
+        long totalInterestCents() {
+            long total = 0;
+            for (long typeTotal : interestCentsByType) {
+                total += typeTotal;
+            }
+            return total;
+        }
+    }
+}
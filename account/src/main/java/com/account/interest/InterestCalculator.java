@@ -0,0 +1,30 @@
+package com.account.interest;
+
+/**
+ * Daily interest in fixed-point arithmetic: balances and interest are whole cents, annual rates are basis points.
+ * Nothing is allocated per account, and the result is exact, rounded half up to the cent like the balance column.
+ */
+public final class InterestCalculator {
+
+    private static final long BASIS_POINTS = 10_000;
+
+    private InterestCalculator() {
+    }
+
+    /**
+     * @param balanceCents the balance in cents
+     * @param annualRateBasisPoints the yearly rate, 250 for 2.5%
+     * @param daysInYear 365, or 366 in a leap year
+     * @return the interest of one day in cents, 0 for balances that are not positive
+     */
+    public static long dailyInterestCents(long balanceCents, int annualRateBasisPoints, int daysInYear) {
+        if (balanceCents <= 0 || annualRateBasisPoints <= 0) {
+            return 0;
+        }
+        // split so that no product exceeds a long, the column holds balances of up to 10^15 cents
+        long divisor = BASIS_POINTS * daysInYear;
+        long whole = balanceCents / divisor * annualRateBasisPoints;
+        long remainder = balanceCents % divisor;
+        return whole + (remainder * annualRateBasisPoints * 2 + divisor) / (2 * divisor);
+    }
+}
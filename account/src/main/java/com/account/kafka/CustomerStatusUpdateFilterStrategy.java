@@ -0,0 +1,37 @@
+package com.account.kafka;
+
+import com.common.enums.EventHeaders;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Discards customer.update records whose {@code updated-fields} header does not name {@code customerStatus}, the only
+ * customer field the account service reacts to. The decision is made on the header alone so discarded records are
+ * never deserialized. Records without the header (published before it was introduced) are always passed through.
+ */
+@Component(CustomerStatusUpdateFilterStrategy.BEAN_NAME)
+public class CustomerStatusUpdateFilterStrategy implements RecordFilterStrategy<String, byte[]> {
+
+    public static final String BEAN_NAME = "customerStatusUpdateFilterStrategy";
+
+    static final String CUSTOMER_STATUS_FIELD = "customerStatus";
+
+    @Override
+    public boolean filter(ConsumerRecord<String, byte[]> consumerRecord) {
+        Header header = consumerRecord.headers().lastHeader(EventHeaders.UPDATED_FIELDS.getHeaderName());
+        if (header == null || header.value() == null) {
+            return false;
+        }
+        String updatedFields = new String(header.value(), StandardCharsets.UTF_8);
+        for (String field : updatedFields.split(",")) {
+            if (CUSTOMER_STATUS_FIELD.equals(field.trim())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
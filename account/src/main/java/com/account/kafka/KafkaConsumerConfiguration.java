@@ -0,0 +1,73 @@
+package com.account.kafka;
+
+import com.clients.kafka.DeadLetterReplayer;
+import com.common.enums.TopicNames;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Kafka listener container configuration.
+ * Offsets are committed asynchronously: listeners deduplicate events by id, so a record redelivered because its
+ * commit was lost is skipped rather than applied twice.
+ * <p>
+ * A record whose listener fails is moved to a retry topic and retried there with exponential back-off instead of
+ * blocking its partition; once the attempts are used up it lands on the {@code -dlt} topic of its source topic,
+ * from where it can be replayed through {@link DeadLetterReplayer}.
+ * Records that cannot be decoded at all are sent to the {@code -dlt} topic straight away, their value deserializer
+ * being wrapped in an {@code ErrorHandlingDeserializer}.
+ */
+@Configuration
+@Slf4j
+public class KafkaConsumerConfiguration {
+
+    static final List<String> CONSUMED_TOPICS = List.of(
+            TopicNames.CUSTOMER_NEW.getTopicName(),
+            TopicNames.CUSTOMER_UPDATE.getTopicName(),
+            TopicNames.CUSTOMER_DELETE.getTopicName(),
+            TopicNames.CUSTOMER_IMPORT.getTopicName());
+
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> asyncCommitContainerCustomizer() {
+        return container -> {
+            container.getContainerProperties().setSyncCommits(false);
+            container.getContainerProperties().setCommitCallback((offsets, exception) -> {
+                if (exception != null) {
+                    log.warn("Asynchronous offset commit failed for {}", offsets, exception);
+                }
+            });
+        };
+    }
+
+    @Bean
+    public RetryTopicConfiguration retryTopicConfiguration(KafkaTemplate<String, Object> kafkaTemplate,
+                                                           @Value("${events.retry.initial-interval:PT1S}") Duration initialInterval,
+                                                           @Value("${events.retry.multiplier:4}") double multiplier,
+                                                           @Value("${events.retry.max-interval:PT1M}") Duration maxInterval,
+                                                           @Value("${events.retry.max-attempts:4}") int maxAttempts) {
+        return RetryTopicConfigurationBuilder.newInstance()
+                .exponentialBackoff(initialInterval.toMillis(), multiplier, maxInterval.toMillis())
+                .maxAttempts(maxAttempts)
+                .suffixTopicsWithIndexValues()
+                .dltSuffix(DeadLetterReplayer.DLT_SUFFIX)
+                .includeTopics(CONSUMED_TOPICS)
+                .create(kafkaTemplate);
+    }
+
+    @Bean
+    public DeadLetterReplayer deadLetterReplayer(ConsumerFactory<?, ?> consumerFactory,
+                                                 KafkaTemplate<String, Object> kafkaTemplate,
+                                                 @Value("${spring.kafka.consumer.group-id}") String groupId) {
+        return new DeadLetterReplayer(consumerFactory, kafkaTemplate, groupId + "-dlt-replay", CONSUMED_TOPICS);
+    }
+}
@@ -3,9 +3,12 @@ package com.account.kafka;
 import com.account.service.AccountService;
 import com.clients.customer.dto.KafkaCustomerDeleteDTO;
 import com.clients.customer.dto.KafkaCustomerUpdateDTO;
+import com.clients.customer.dto.KafkaCustomersImportedDTO;
 import com.clients.customer.dto.KafkaNewCustomerDTO;
+import com.clients.serialization.BinaryEventDeserializer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class KafkaConsumerService {
     private final AccountService accountService;
+    private final BinaryEventDeserializer eventDeserializer;
 
     @KafkaListener(topics = {"customer.new"})
     public void newCustomerEvent(KafkaNewCustomerDTO kafkaNewCustomerDTO) {
@@ -21,16 +25,33 @@ public class KafkaConsumerService {
     }
 
 
-    @KafkaListener(topics = {"customer.update"})
-    public void updateCustomerEvent(KafkaCustomerUpdateDTO kafkaCustomerUpdateDTO) {
+    /**
+     * Customer updates are consumed as raw bytes so {@link CustomerStatusUpdateFilterStrategy} can drop the ones that
+     * do not touch the customer status from their headers; only the remaining records are deserialized here.
+     */
+    @KafkaListener(topics = {"customer.update"},
+            filter = CustomerStatusUpdateFilterStrategy.BEAN_NAME,
+            properties = {"value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer"})
+    public void updateCustomerEvent(ConsumerRecord<String, byte[]> consumerRecord) {
+        KafkaCustomerUpdateDTO kafkaCustomerUpdateDTO = (KafkaCustomerUpdateDTO) eventDeserializer.deserialize(
+                consumerRecord.topic(), consumerRecord.headers(), consumerRecord.value());
         log.debug("consumed customer updated event: {}", kafkaCustomerUpdateDTO);
         accountService.handleUpdateCustomerEvent(kafkaCustomerUpdateDTO);
     }
 
 
+    /**
+     * Bulk imports publish one event per import instead of one customer.new per customer.
+     */
+    @KafkaListener(topics = {"customer.import"})
+    public void importedCustomersEvent(KafkaCustomersImportedDTO kafkaCustomersImportedDTO) {
+        log.debug("consumed customers imported event: {}", kafkaCustomersImportedDTO);
+    }
+
+
     @KafkaListener(topics = {"customer.delete"})
     public void deleteCustomerEvent(KafkaCustomerDeleteDTO kafkaCustomerDeleteDTO) {
         log.debug("consumed customer deleted event: {}", kafkaCustomerDeleteDTO);
         accountService.handleDeleteCustomerEvent(kafkaCustomerDeleteDTO);
     }
-}
\ No newline at end of file
+}
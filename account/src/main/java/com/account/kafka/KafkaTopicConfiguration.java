@@ -25,4 +25,16 @@ public class KafkaTopicConfiguration {
                 name(TopicNames.ACCOUNT_DELETE.getTopicName())
                 .build();
     }
+
+    public NewTopic interestAccountTopic() {
+        return TopicBuilder.
+                name(TopicNames.ACCOUNT_INTEREST.getTopicName())
+                .build();
+    }
+
+    public NewTopic importAccountTopic() {
+        return TopicBuilder.
+                name(TopicNames.ACCOUNT_IMPORT.getTopicName())
+                .build();
+    }
 }
@@ -0,0 +1,171 @@
+package com.account.partitioning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Moves the Account rows into a table hash-partitioned by customer_id while the service keeps running.
+ * <p>
+ * The first run creates the partitioned table, its progress row and a trigger on Account that mirrors every write into
+ * the new table; nothing of it exists, and Account writes pay nothing extra, until the migration is enabled. Later runs
+ * copy the remaining rows in account id order, one batch per run, at most one instance at a time. Source rows are share-locked while they are copied, so a
+ * concurrent delete waits for the batch and is then mirrored, rather than being resurrected by it. When a run finds
+ * nothing left to copy it swaps the tables under a short exclusive lock; the old heap is kept as account_legacy.
+ * <p>
+ * The migration is off unless {@code account.partitioning.migration.enabled} is set: copying every account and then
+ * swapping the tables is for an operator to start deliberately, not something a deployment should do on its own.
+ */
+@Component
+@ConditionalOnProperty(prefix = "account.partitioning.migration", name = "enabled", havingValue = "true")
+@Slf4j
+public class AccountPartitionMigrator {
+
+    // serializes the setup across instances; an arbitrary key that no other advisory lock in the schema uses
+    private static final long SETUP_LOCK_KEY = 0x6163_6374_7061_7274L;
+
+    private static final String CREATE_PROGRESS_TABLE = """
+            CREATE TABLE IF NOT EXISTS account_partition_migration (
+                id SMALLINT PRIMARY KEY CHECK (id = 1),
+                last_account_id INTEGER NOT NULL DEFAULT -1,
+                completed_at TIMESTAMP WITH TIME ZONE
+            )""";
+
+    // the primary key has to contain the partition key; account ids embed the customer id, so account_id stays unique
+    private static final String CREATE_PARTITIONED_TABLE = """
+            CREATE TABLE IF NOT EXISTS account_partitioned (
+                account_id INTEGER NOT NULL,
+                customer_id INTEGER NOT NULL,
+                balance DECIMAL(15, 2) NOT NULL CHECK (balance >= 0),
+                account_type VARCHAR(20) NOT NULL CHECK (account_type IN ('salary', 'savings', 'investment')),
+                account_status VARCHAR(20) NOT NULL CHECK (account_status IN ('active', 'inactive', 'closed')),
+                version BIGINT NOT NULL DEFAULT 0,
+                PRIMARY KEY (customer_id, account_id)
+            ) PARTITION BY HASH (customer_id)""";
+
+    private static final String CREATE_PARTITIONS = """
+            DO $$
+            BEGIN
+                FOR i IN 0..15 LOOP
+                    EXECUTE format('CREATE TABLE IF NOT EXISTS account_p%s PARTITION OF account_partitioned '
+                                   'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', lpad(i::text, 2, '0'), i);
+                END LOOP;
+            END $$""";
+
+    private static final String CREATE_MIRROR_FUNCTION = """
+            CREATE OR REPLACE FUNCTION account_mirror_to_partitioned() RETURNS trigger AS $$
+            BEGIN
+                IF TG_OP = 'DELETE' THEN
+                    DELETE FROM account_partitioned WHERE customer_id = OLD.customer_id AND account_id = OLD.account_id;
+                    RETURN OLD;
+                END IF;
+                INSERT INTO account_partitioned (account_id, customer_id, balance, account_type, account_status, version)
+                VALUES (NEW.account_id, NEW.customer_id, NEW.balance, NEW.account_type, NEW.account_status, NEW.version)
+                ON CONFLICT (customer_id, account_id) DO UPDATE
+                    SET balance = EXCLUDED.balance,
+                        account_type = EXCLUDED.account_type,
+                        account_status = EXCLUDED.account_status,
+                        version = EXCLUDED.version;
+                RETURN NEW;
+            END;
+            $$ LANGUAGE plpgsql""";
+
+    private static final String CLAIM_PROGRESS =
+            "SELECT last_account_id FROM account_partition_migration WHERE id = 1 AND completed_at IS NULL FOR UPDATE SKIP LOCKED";
+
+    private static final String COPY_BATCH = """
+            WITH batch AS (
+                SELECT account_id, customer_id, balance, account_type, account_status, version
+                FROM Account WHERE account_id > ? ORDER BY account_id LIMIT ? FOR SHARE
+            ), copied AS (
+                INSERT INTO account_partitioned (account_id, customer_id, balance, account_type, account_status, version)
+                SELECT account_id, customer_id, balance, account_type, account_status, version FROM batch
+                ON CONFLICT (customer_id, account_id) DO NOTHING
+            )
+            SELECT max(account_id) FROM batch""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private volatile boolean prepared;
+    private volatile boolean completed;
+
+    public AccountPartitionMigrator(JdbcTemplate jdbcTemplate,
+                                    @Value("${account.partitioning.migration.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${account.partitioning.migration.interval:PT1S}")
+    @Transactional
+    public void migrateNextBatch() {
+        if (completed) {
+            return;
+        }
+        if (!prepared) {
+            // the setup is only trusted once a later run sees it committed
+            prepared = prepare();
+            return;
+        }
+        List<Integer> progress = jdbcTemplate.queryForList(CLAIM_PROGRESS, Integer.class);
+        if (progress.isEmpty()) {
+            // either another instance holds the batch or the migration is done
+            completed = isMigrationCompleted();
+            return;
+        }
+        int lastAccountId = progress.get(0);
+        Integer copiedUpTo = jdbcTemplate.queryForObject(COPY_BATCH, Integer.class, lastAccountId, batchSize);
+        if (copiedUpTo != null) {
+            jdbcTemplate.update("UPDATE account_partition_migration SET last_account_id = ? WHERE id = 1", copiedUpTo);
+            log.debug("Copied accounts up to id {} into the partitioned table", copiedUpTo);
+            return;
+        }
+        cutOver();
+        completed = true;
+    }
+
+    /**
+     * Creates whatever the migration still lacks. The mirror trigger is created last, in the same transaction as the
+     * table it writes to, and before any row is copied, so the backfill never misses a concurrent write.
+     *
+     * @return whether everything was already in place
+     */
+    private boolean prepare() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, SETUP_LOCK_KEY);
+        jdbcTemplate.execute(CREATE_PROGRESS_TABLE);
+        jdbcTemplate.update("INSERT INTO account_partition_migration (id) VALUES (1) ON CONFLICT (id) DO NOTHING");
+        if (isMigrationCompleted() || Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_trigger WHERE tgrelid = 'account'::regclass AND tgname = 'account_mirror')", Boolean.class))) {
+            return true;
+        }
+        log.info("Preparing the partitioned account table");
+        jdbcTemplate.execute(CREATE_PARTITIONED_TABLE);
+        jdbcTemplate.execute(CREATE_PARTITIONS);
+        // lookups by account id alone (cache misses of findById) probe this index in every partition
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS account_partitioned_account_id_idx ON account_partitioned (account_id)");
+        jdbcTemplate.execute(CREATE_MIRROR_FUNCTION);
+        jdbcTemplate.execute("CREATE TRIGGER account_mirror AFTER INSERT OR UPDATE OR DELETE ON Account "
+                + "FOR EACH ROW EXECUTE FUNCTION account_mirror_to_partitioned()");
+        return false;
+    }
+
+    private void cutOver() {
+        log.info("Account backfill complete, swapping in the partitioned table");
+        jdbcTemplate.execute("LOCK TABLE Account IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("DROP TRIGGER account_mirror ON Account");
+        jdbcTemplate.execute("DROP FUNCTION account_mirror_to_partitioned()");
+        jdbcTemplate.execute("ALTER TABLE Account RENAME TO account_legacy");
+        jdbcTemplate.execute("ALTER TABLE account_partitioned RENAME TO Account");
+        jdbcTemplate.update("UPDATE account_partition_migration SET completed_at = now() WHERE id = 1");
+    }
+
+    private boolean isMigrationCompleted() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT completed_at IS NOT NULL FROM account_partition_migration WHERE id = 1", Boolean.class));
+    }
+}
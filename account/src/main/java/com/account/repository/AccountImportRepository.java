@@ -0,0 +1,215 @@
+package com.account.repository;
+
+import com.clients.account.dto.ImportedAccountDTO;
+import com.clients.customer.dto.CustomerStatusDTO;
+import com.clients.observability.ObservationNames;
+import io.micrometer.observation.annotation.Observed;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Staging tables and set-based validation behind the bulk account import. Every method must be called from the same
+ * transaction: the staging tables are temporary and dropped on commit.
+ * <p>
+ * Each rule is one statement that marks the staged rows breaking it with an error, skipping rows already rejected,
+ * and the merge inserts the rows left unmarked. A customer's live and archived accounts are found by their id range
+ * rather than by customer_id, which Account has no index on: account ids are the customer id followed by three digits.
+ */
+@Repository
+@Observed(name = ObservationNames.REPOSITORY)
+public class AccountImportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @FunctionalInterface
+    public interface RejectedRowHandler {
+        void accept(long line, String error);
+    }
+
+    public AccountImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createStagingTables() {
+        jdbcTemplate.execute("CREATE TEMP TABLE account_import (line BIGINT PRIMARY KEY, customer_id INTEGER NOT NULL, "
+                + "balance DECIMAL(15, 2) NOT NULL, account_type VARCHAR(20) NOT NULL, account_status VARCHAR(20) NOT NULL, "
+                + "account_id INTEGER, error VARCHAR(100)) ON COMMIT DROP");
+        jdbcTemplate.execute("CREATE TEMP TABLE account_import_customer (customer_id INTEGER PRIMARY KEY, "
+                + "customer_status VARCHAR(20) NOT NULL) ON COMMIT DROP");
+    }
+
+    /**
+     * Starts a COPY into the staging table; rows are written to it as CSV in the column order
+     * {@code line, customer_id, balance, account_type, account_status}.
+     */
+    public CopyIn beginStagingCopy() {
+        return jdbcTemplate.execute((ConnectionCallback<CopyIn>) connection -> connection.unwrap(PGConnection.class)
+                .getCopyAPI()
+                .copyIn("COPY account_import (line, customer_id, balance, account_type, account_status) FROM STDIN (FORMAT csv)"));
+    }
+
+    /**
+     * Gives the planner statistics on the staged rows; autovacuum never analyzes temporary tables.
+     */
+    public void analyzeStagedAccounts() {
+        jdbcTemplate.execute("ANALYZE account_import");
+    }
+
+    public List<Integer> findStagedCustomerIds() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT customer_id FROM account_import ORDER BY customer_id", Integer.class);
+    }
+
+    /**
+     * Stages the customers the customer service knows, with their status.
+     */
+    public void stageCustomers(List<CustomerStatusDTO> customers) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("INSERT INTO account_import_customer (customer_id, customer_status) "
+                    + "SELECT * FROM unnest(?, ?)");
+            statement.setArray(1, connection.createArrayOf("integer", customers.stream().map(CustomerStatusDTO::customerId).toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", customers.stream().map(CustomerStatusDTO::customerStatus).toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Rejects the rows whose customer was not staged.
+     */
+    public int rejectUnknownCustomers(String error) {
+        return jdbcTemplate.update("UPDATE account_import s SET error = ? WHERE s.error IS NULL AND NOT EXISTS "
+                + "(SELECT 1 FROM account_import_customer c WHERE c.customer_id = s.customer_id)", error);
+    }
+
+    /**
+     * Rejects every salary account row of a customer who already has a salary account, and every one but the first
+     * of a customer who has none yet.
+     */
+    public int rejectSecondSalaryAccounts(String error) {
+        return jdbcTemplate.update("""
+                UPDATE account_import s SET error = ?
+                FROM (SELECT line, customer_id, row_number() OVER (PARTITION BY customer_id ORDER BY line) AS n
+                      FROM account_import WHERE error IS NULL AND account_type = 'salary') r
+                WHERE s.line = r.line
+                  AND (r.n > 1 OR EXISTS (SELECT 1 FROM Account a
+                                          WHERE a.account_id BETWEEN r.customer_id * 1000 AND r.customer_id * 1000 + 999
+                                            AND a.account_type = 'salary'))""", error);
+    }
+
+    /**
+     * Rejects the rows, in line order per customer, that would take a customer past {@code maxAccounts} accounts.
+     */
+    public int rejectAccountsOverLimit(int maxAccounts, String error) {
+        return jdbcTemplate.update("""
+                UPDATE account_import s SET error = ?
+                FROM (SELECT line, customer_id, row_number() OVER (PARTITION BY customer_id ORDER BY line) AS n
+                      FROM account_import WHERE error IS NULL) r
+                WHERE s.line = r.line
+                  AND r.n + (SELECT count(*) FROM Account a
+                             WHERE a.account_id BETWEEN r.customer_id * 1000 AND r.customer_id * 1000 + 999) > ?""",
+                error, maxAccounts);
+    }
+
+    /**
+     * Gives every remaining row an account id that neither Account nor the archive holds, then rejects the rows of
+     * customers whose thousand ids are used up.
+     * <p>
+     * Each customer's ids are tried in order from a random suffix onwards. Only as many are tried as the customer needs
+     * plus the ids it already holds, so the work stays proportional to the rows rather than to the id space.
+     */
+    public int assignAccountIds(String error) {
+        jdbcTemplate.update("""
+                WITH accepted AS (
+                    SELECT line, customer_id, row_number() OVER (PARTITION BY customer_id ORDER BY line) AS n
+                    FROM account_import WHERE error IS NULL
+                ), customers AS (
+                    SELECT customer_id, count(*) AS needed, floor(random() * 1000)::int AS first_suffix,
+                           (SELECT count(*) FROM Account a
+                            WHERE a.account_id BETWEEN accepted.customer_id * 1000 AND accepted.customer_id * 1000 + 999)
+                         + (SELECT count(*) FROM account_archive r
+                            WHERE r.account_id BETWEEN accepted.customer_id * 1000 AND accepted.customer_id * 1000 + 999) AS taken
+                    FROM accepted GROUP BY customer_id
+                ), free_ids AS (
+                    SELECT c.customer_id, candidate.account_id,
+                           row_number() OVER (PARTITION BY c.customer_id ORDER BY k) AS n
+                    FROM customers c
+                    CROSS JOIN LATERAL generate_series(0, least(c.needed + c.taken, 1000) - 1) k
+                    CROSS JOIN LATERAL (SELECT c.customer_id * 1000 + (c.first_suffix + k) % 1000 AS account_id) candidate
+                    WHERE NOT EXISTS (SELECT 1 FROM Account a WHERE a.account_id = candidate.account_id)
+                      AND NOT EXISTS (SELECT 1 FROM account_archive r WHERE r.account_id = candidate.account_id)
+                )
+                UPDATE account_import s SET account_id = f.account_id
+                FROM accepted a JOIN free_ids f ON f.customer_id = a.customer_id AND f.n = a.n
+                WHERE s.line = a.line""");
+        return jdbcTemplate.update("UPDATE account_import SET error = ? WHERE error IS NULL AND account_id IS NULL", error);
+    }
+
+    /**
+     * Inserts every accepted row into Account in one statement. An account requested active for an inactive customer
+     * is created inactive, as {@code createAccount} does. Rows whose id was taken by a concurrent write since it was
+     * assigned are skipped rather than failing the statement.
+     *
+     * @return the inserted accounts and the lines of the skipped rows
+     */
+    public MergeResult mergeStagedAccounts() {
+        MergeResultCollector collector = new MergeResultCollector();
+        jdbcTemplate.query("""
+                WITH inserted AS (
+                    INSERT INTO Account (account_id, customer_id, balance, account_type, account_status, version)
+                    SELECT s.account_id, s.customer_id, s.balance, s.account_type,
+                           CASE WHEN s.account_status = 'active' AND c.customer_status = 'inactive' THEN 'inactive'
+                                ELSE s.account_status END,
+                           0
+                    FROM account_import s JOIN account_import_customer c ON c.customer_id = s.customer_id
+                    WHERE s.error IS NULL
+                    ORDER BY s.account_id
+                    ON CONFLICT DO NOTHING
+                    RETURNING account_id, customer_id, balance, account_type, account_status
+                )
+                SELECT s.line, i.account_id, i.customer_id, i.balance, i.account_type, i.account_status
+                FROM account_import s LEFT JOIN inserted i ON i.account_id = s.account_id
+                WHERE s.error IS NULL""", collector);
+        return collector.toMergeResult();
+    }
+
+    /**
+     * Reads the rows rejected by the validation statements, in line order.
+     */
+    public void findRejectedRows(RejectedRowHandler handler) {
+        jdbcTemplate.query("SELECT line, error FROM account_import WHERE error IS NOT NULL ORDER BY line",
+                (RowCallbackHandler) resultSet -> handler.accept(resultSet.getLong(1), resultSet.getString(2)));
+    }
+
+    public record MergeResult(List<ImportedAccountDTO> importedAccounts, List<Long> conflictingLines) {
+    }
+
+    private static final class MergeResultCollector implements RowCallbackHandler {
+
+        private final List<ImportedAccountDTO> importedAccounts = new ArrayList<>();
+        private final List<Long> conflictingLines = new ArrayList<>();
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            int accountId = resultSet.getInt(2);
+            if (resultSet.wasNull()) {
+                conflictingLines.add(resultSet.getLong(1));
+                return;
+            }
+            importedAccounts.add(new ImportedAccountDTO(accountId, resultSet.getInt(3), resultSet.getString(5),
+                    resultSet.getString(6), resultSet.getBigDecimal(4)));
+        }
+
+        MergeResult toMergeResult() {
+            return new MergeResult(importedAccounts, conflictingLines);
+        }
+    }
+}
@@ -1,20 +1,113 @@
 package com.account.repository;
 
 import com.account.entity.Account;
-import jakarta.transaction.Transactional;
+import com.clients.account.dto.AccountBalanceStatsDTO;
+import com.clients.account.dto.AccountResponseDTO;
+import com.clients.account.dto.KafkaDeleteAccountDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface AccountRepository extends JpaRepository<Account, Integer> {
+    /**
+     * Selects accounts straight into the response record, so read paths neither instantiate managed entities nor keep
+     * dirty-checking snapshots of them.
+     */
+    String SELECT_ACCOUNT_RESPONSE = "SELECT new com.clients.account.dto.AccountResponseDTO(200, a.accountId, a.customerId, "
+            + "a.balance, a.accountType, a.accountStatus, 'Account retrieved successfully') FROM Account a";
+
+    /**
+     * Query cache region of the per-customer account queries.
+     */
+    String ACCOUNTS_BY_CUSTOMER_REGION = "accounts-by-customer";
+
+    /**
+     * Served from the {@link #ACCOUNTS_BY_CUSTOMER_REGION} query cache; Hibernate invalidates it whenever the Account
+     * table is written through JPA. Writes on plain JDBC evict the region themselves.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ACCOUNTS_BY_CUSTOMER_REGION)
+    })
     List<Account> findByCustomerId(Integer customerId);
     void deleteAccountsByCustomerId(Integer customerId);
 
+    /**
+     * Checks only the customer's partition, unlike {@code existsById}.
+     */
+    boolean existsByAccountIdAndCustomerId(Integer accountId, Integer customerId);
+
+    @Query(SELECT_ACCOUNT_RESPONSE)
+    List<AccountResponseDTO> findAllAccountResponses();
+
+    @Query(SELECT_ACCOUNT_RESPONSE + " WHERE a.customerId = :customerId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ACCOUNTS_BY_CUSTOMER_REGION)
+    })
+    List<AccountResponseDTO> findAccountResponsesByCustomerId(@Param("customerId") int customerId);
+
+    /**
+     * Number of accounts of each of the given customers that has any. Account has no customer_id index, but every
+     * account id is the customer id followed by three digits, so each customer is one range scan of the primary key.
+     */
+    @Query(value = "SELECT c.customer_id AS \"customerId\", count(*) AS \"numberOfAccounts\" " +
+            "FROM unnest(ARRAY[:customerIds]) AS c(customer_id) JOIN Account a " +
+            "ON a.account_id BETWEEN CAST(c.customer_id AS bigint) * 1000 AND CAST(c.customer_id AS bigint) * 1000 + 999 " +
+            "GROUP BY c.customer_id", nativeQuery = true)
+    List<CustomerAccountCount> countAccountsByCustomerIds(@Param("customerIds") List<Integer> customerIds);
+
+    /**
+     * Account count and balance total per type and status, read into the statistics record directly.
+     */
+    String SUMMARIZE_BALANCES = "SELECT new com.clients.account.dto.AccountBalanceStatsDTO(a.accountType, a.accountStatus, "
+            + "COUNT(a), SUM(a.balance)) FROM Account a";
+    String GROUP_BY_TYPE_AND_STATUS = " GROUP BY a.accountType, a.accountStatus";
+
+    @Query(SUMMARIZE_BALANCES + GROUP_BY_TYPE_AND_STATUS)
+    List<AccountBalanceStatsDTO> summarizeBalances();
+
+    @Query(SUMMARIZE_BALANCES + " WHERE a.customerId = :customerId" + GROUP_BY_TYPE_AND_STATUS)
+    List<AccountBalanceStatsDTO> summarizeBalancesByCustomerId(@Param("customerId") int customerId);
+
+    @Query(SUMMARIZE_BALANCES + " WHERE a.accountId IN :accountIds" + GROUP_BY_TYPE_AND_STATUS)
+    List<AccountBalanceStatsDTO> summarizeBalancesByAccountIds(@Param("accountIds") List<Integer> accountIds);
+
+    /**
+     * Next keyset batch of closed accounts to archive, skipping rows that another instance is archiving.
+     */
+    @Query(value = "SELECT account_id FROM Account WHERE account_status = 'closed' AND account_id > :afterAccountId " +
+            "ORDER BY account_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> findClosedAccountIdsForArchival(@Param("afterAccountId") int afterAccountId, @Param("limit") int limit);
+
+    /**
+     * The account.delete events that tell the other services the given accounts are gone from the Account table.
+     */
+    @Query("SELECT new com.clients.account.dto.KafkaDeleteAccountDTO(a.accountId, a.customerId) FROM Account a "
+            + "WHERE a.accountId IN :accountIds ORDER BY a.accountId")
+    List<KafkaDeleteAccountDTO> findDeleteEventsByAccountIds(@Param("accountIds") List<Integer> accountIds);
+
+    /**
+     * Moves the given closed accounts into account_archive in a single statement.
+     * The native spaces hints tell Hibernate which tables the statement touches, so it evicts the cached accounts and
+     * account queries instead of the whole second-level cache.
+     *
+     * @return the number of accounts archived
+     */
     @Modifying
-    @Query("UPDATE Account a SET a.accountStatus = :newStatus WHERE a.customerId = :customerId")
-    @Transactional
-    int updateAccountStatusByCustomerId(@Param("customerId") int customerId, @Param("newStatus") String newStatus);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "Account"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_archive")
+    })
+    @Query(value = "WITH moved AS (DELETE FROM Account WHERE account_id IN (:accountIds) AND account_status = 'closed' " +
+            "RETURNING account_id, customer_id, balance, account_type, account_status, version) " +
+            "INSERT INTO account_archive (account_id, customer_id, balance, account_type, account_status, version) " +
+            "SELECT account_id, customer_id, balance, account_type, account_status, version FROM moved", nativeQuery = true)
+    int archiveAccounts(@Param("accountIds") List<Integer> accountIds);
 }
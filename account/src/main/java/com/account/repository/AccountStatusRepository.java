@@ -0,0 +1,34 @@
+package com.account.repository;
+
+import com.clients.observability.ObservationNames;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Cascades a customer's status to their accounts on plain JDBC. A JPQL bulk update would make Hibernate evict every
+ * cached account; this statement returns the ids it updated so only those are evicted.
+ */
+@Repository
+@Observed(name = ObservationNames.REPOSITORY)
+public class AccountStatusRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountStatusRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Sets the status of all the customer's accounts. Bumps the version as well, so a concurrent {@code updateAccount}
+     * that read the old status fails and is retried against the new one instead of overwriting it.
+     *
+     * @return the ids of the accounts updated
+     */
+    public List<Integer> updateAccountStatusByCustomerId(int customerId, String newStatus) {
+        return jdbcTemplate.queryForList("UPDATE Account SET account_status = ?, version = version + 1 "
+                + "WHERE customer_id = ? RETURNING account_id", Integer.class, newStatus, customerId);
+    }
+}
@@ -0,0 +1,24 @@
+package com.account.repository;
+
+import com.account.entity.ArchivedAccount;
+import com.clients.account.dto.AccountResponseDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedAccountRepository extends JpaRepository<ArchivedAccount, Integer> {
+    String SELECT_ARCHIVED_ACCOUNT_RESPONSE = "SELECT new com.clients.account.dto.AccountResponseDTO(200, a.accountId, a.customerId, "
+            + "a.balance, a.accountType, a.accountStatus, 'Account retrieved successfully') FROM ArchivedAccount a";
+
+    @Query(SELECT_ARCHIVED_ACCOUNT_RESPONSE + " WHERE a.accountId = :accountId")
+    Optional<AccountResponseDTO> findAccountResponseById(@Param("accountId") int accountId);
+
+    @Query(SELECT_ARCHIVED_ACCOUNT_RESPONSE + " WHERE a.customerId = :customerId")
+    List<AccountResponseDTO> findAccountResponsesByCustomerId(@Param("customerId") int customerId);
+
+    @Query(SELECT_ARCHIVED_ACCOUNT_RESPONSE)
+    List<AccountResponseDTO> findAllAccountResponses();
+}
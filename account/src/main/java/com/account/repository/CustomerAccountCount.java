@@ -0,0 +1,11 @@
+package com.account.repository;
+
+/**
+ * Number of accounts one customer holds, as counted over the customer's account id range.
+ */
+public interface CustomerAccountCount {
+
+    int getCustomerId();
+
+    long getNumberOfAccounts();
+}
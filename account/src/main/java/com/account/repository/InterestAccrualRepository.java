@@ -0,0 +1,140 @@
+package com.account.repository;
+
+import com.clients.observability.ObservationNames;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Set-based reads and writes of the interest accrual, on plain JDBC so a chunk of accounts is neither loaded into
+ * entities nor written back one row at a time.
+ */
+@Repository
+@Observed(name = ObservationNames.REPOSITORY)
+public class InterestAccrualRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InterestAccrualRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Receives the accounts of a chunk as primitives, without a row object per account.
+     */
+    @FunctionalInterface
+    public interface AccrualCandidateHandler {
+        void accept(int accountId, int customerId, long balanceCents, String accountType);
+    }
+
+    /**
+     * Starts the run of the day, or picks up the one already started.
+     *
+     * @return the run's chunk width, or {@code null} when the run has already completed
+     */
+    public Long startRun(LocalDate accrualDate, long chunkWidth) {
+        jdbcTemplate.update("INSERT INTO interest_accrual_run (accrual_date, chunk_width) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                Date.valueOf(accrualDate), chunkWidth);
+        List<Long> chunkWidths = jdbcTemplate.queryForList(
+                "SELECT chunk_width FROM interest_accrual_run WHERE accrual_date = ? AND completed_at IS NULL",
+                Long.class, Date.valueOf(accrualDate));
+        return chunkWidths.isEmpty() ? null : chunkWidths.get(0);
+    }
+
+    /**
+     * @return the days before {@code accrualDate} whose run was started but not completed, oldest first
+     */
+    public List<LocalDate> findIncompleteRunDatesBefore(LocalDate accrualDate) {
+        return jdbcTemplate.queryForList("SELECT accrual_date FROM interest_accrual_run WHERE accrual_date < ? "
+                + "AND completed_at IS NULL ORDER BY accrual_date", Date.class, Date.valueOf(accrualDate))
+                .stream().map(Date::toLocalDate).toList();
+    }
+
+    public void completeRun(LocalDate accrualDate) {
+        jdbcTemplate.update("UPDATE interest_accrual_run SET completed_at = now() WHERE accrual_date = ?", Date.valueOf(accrualDate));
+    }
+
+    /**
+     * Drops the runs, and with them their chunk checkpoints, from before the given date.
+     */
+    public int purgeRunsBefore(LocalDate accrualDate) {
+        return jdbcTemplate.update("DELETE FROM interest_accrual_run WHERE accrual_date < ?", Date.valueOf(accrualDate));
+    }
+
+    /**
+     * @return the lowest and highest account id, or {@code null} when there are no accounts
+     */
+    public long[] findAccountIdRange() {
+        return jdbcTemplate.queryForObject("SELECT min(account_id), max(account_id) FROM Account", (resultSet, rowNum) -> {
+            long min = resultSet.getLong(1);
+            return resultSet.wasNull() ? null : new long[]{min, resultSet.getLong(2)};
+        });
+    }
+
+    /**
+     * Checkpoints the chunk for the run. When another transaction already holds the checkpoint this waits for it, so
+     * a chunk being accrued elsewhere is skipped once that transaction commits and retried if it rolls back.
+     *
+     * @return whether the chunk was still to be accrued
+     */
+    public boolean claimChunk(LocalDate accrualDate, long chunkStart) {
+        return jdbcTemplate.update("INSERT INTO interest_accrual_chunk (accrual_date, chunk_start) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                Date.valueOf(accrualDate), chunkStart) == 1;
+    }
+
+    public void completeChunk(LocalDate accrualDate, long chunkStart, int accounts, long totalInterestCents) {
+        jdbcTemplate.update("UPDATE interest_accrual_chunk SET accounts = ?, total_interest = ? * 0.01 "
+                + "WHERE accrual_date = ? AND chunk_start = ?", accounts, totalInterestCents, Date.valueOf(accrualDate), chunkStart);
+    }
+
+    /**
+     * Locks and reads the active accounts of the given types with a positive balance whose id is in
+     * {@code [fromAccountId, toAccountId)}, in account id order.
+     */
+    public void lockAccrualCandidates(long fromAccountId, long toAccountId, List<String> accountTypes, AccrualCandidateHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT account_id, customer_id, (balance * 100)::bigint, account_type "
+                    + "FROM Account WHERE account_id >= ? AND account_id < ? AND account_status = 'active' "
+                    + "AND account_type = ANY (?) AND balance > 0 ORDER BY account_id FOR UPDATE");
+            statement.setLong(1, fromAccountId);
+            statement.setLong(2, toAccountId);
+            statement.setArray(3, connection.createArrayOf("varchar", accountTypes.toArray()));
+            return statement;
+        }, (RowCallbackHandler) resultSet ->
+                handler.accept(resultSet.getInt(1), resultSet.getInt(2), resultSet.getLong(3), resultSet.getString(4)));
+    }
+
+    /**
+     * Adds the interest to the first {@code count} accounts in one statement. The version is bumped as well, so a
+     * concurrent {@code updateAccount} that read the old balance is retried against the new one.
+     *
+     * @return the number of accounts updated
+     */
+    public int addInterest(int[] accountIds, int[] customerIds, long[] interestCents, int count) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("UPDATE Account a "
+                    + "SET balance = a.balance + v.interest_cents * 0.01, version = a.version + 1 "
+                    + "FROM unnest(?, ?, ?) AS v (account_id, customer_id, interest_cents) "
+                    + "WHERE a.customer_id = v.customer_id AND a.account_id = v.account_id");
+            statement.setArray(1, integerArray(connection, accountIds, count));
+            statement.setArray(2, integerArray(connection, customerIds, count));
+            statement.setArray(3, connection.createArrayOf("bigint", LongStream.of(interestCents).limit(count).boxed().toArray()));
+            return statement;
+        });
+    }
+
+    private static Array integerArray(Connection connection, int[] values, int count) throws SQLException {
+        return connection.createArrayOf("integer", IntStream.of(values).limit(count).boxed().toArray());
+    }
+}
@@ -0,0 +1,84 @@
+package com.account.service;
+
+import com.account.kafka.KafkaProducerService;
+import com.account.repository.AccountRepository;
+import com.clients.account.dto.AccountBalanceStatsDTO;
+import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.observability.ObservationNames;
+import com.common.enums.TopicNames;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves closed accounts from the Account table into account_archive, so {@code findByCustomerId}, the account cache
+ * and the Account indexes only carry accounts that are still in use. Archived accounts are served only to callers
+ * that pass {@code includeArchived}.
+ * <p>
+ * Each run walks the closed accounts in account id order, one batch per transaction, so row locks are held briefly
+ * and a run interrupted halfway leaves every batch either fully archived or untouched.
+ * <p>
+ * Once a batch is committed an account.delete event is published for each archived account, as for a deleted one:
+ * the other services' copies of an account only follow the accounts in the Account table.
+ */
+@Service
+@Observed(name = ObservationNames.SERVICE)
+@ConditionalOnProperty(prefix = "account.archival", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AccountArchivalService {
+
+    private final AccountRepository accountRepository;
+    private final AccountStatsService accountStatsService;
+    private final KafkaProducerService kafkaProducerService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public AccountArchivalService(AccountRepository accountRepository,
+                                  AccountStatsService accountStatsService,
+                                  KafkaProducerService kafkaProducerService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${account.archival.batch-size:1000}") int batchSize) {
+        this.accountRepository = accountRepository;
+        this.accountStatsService = accountStatsService;
+        this.kafkaProducerService = kafkaProducerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${account.archival.interval:PT10M}")
+    public void archiveClosedAccounts() {
+        int afterAccountId = -1;
+        int archived = 0;
+        while (true) {
+            int cursor = afterAccountId;
+            List<KafkaDeleteAccountDTO> deleteEvents = transactionTemplate.execute(status -> {
+                List<Integer> batch = accountRepository.findClosedAccountIdsForArchival(cursor, batchSize);
+                if (batch.isEmpty()) {
+                    return List.of();
+                }
+                // the batch is locked, so its totals and events are exactly what the archive statement moves out
+                List<AccountBalanceStatsDTO> totals = accountRepository.summarizeBalancesByAccountIds(batch);
+                List<KafkaDeleteAccountDTO> events = accountRepository.findDeleteEventsByAccountIds(batch);
+                accountRepository.archiveAccounts(batch);
+                accountStatsService.recordRemoved(totals);
+                return events;
+            });
+            if (deleteEvents == null || deleteEvents.isEmpty()) {
+                break;
+            }
+            deleteEvents.forEach(event -> kafkaProducerService.sendMessage(TopicNames.ACCOUNT_DELETE.getTopicName(), event));
+            archived += deleteEvents.size();
+            afterAccountId = deleteEvents.get(deleteEvents.size() - 1).accountId();
+        }
+        if (archived > 0) {
+            log.info("Archived {} closed accounts", archived);
+        }
+    }
+}
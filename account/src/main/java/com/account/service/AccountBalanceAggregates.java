@@ -0,0 +1,70 @@
+package com.account.service;
+
+import com.clients.account.dto.AccountBalanceStatsDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running account count and balance total per account type and status. Balances are kept as a number of cents in
+ * {@link LongAdder}s, the scale of the balance column, so concurrent updates neither lock nor allocate. There is one
+ * bucket per type and status pair, which keeps reading the totals independent of the number of accounts.
+ */
+class AccountBalanceAggregates {
+
+    private static final int BALANCE_SCALE = 2;
+
+    private final Map<Bucket, Totals> buckets = new ConcurrentHashMap<>();
+
+    AccountBalanceAggregates() {
+    }
+
+    AccountBalanceAggregates(List<AccountBalanceStatsDTO> groups) {
+        groups.forEach(group -> add(group.accountType(), group.accountStatus(), group.accounts(), group.totalBalance()));
+    }
+
+    void add(String accountType, String accountStatus, long accounts, BigDecimal balance) {
+        Totals totals = buckets.computeIfAbsent(new Bucket(accountType, accountStatus), bucket -> new Totals());
+        totals.accounts.add(accounts);
+        totals.cents.add(toCents(balance));
+    }
+
+    void subtract(String accountType, String accountStatus, long accounts, BigDecimal balance) {
+        add(accountType, accountStatus, -accounts, balance.negate());
+    }
+
+    /**
+     * Buckets ordered by type and status; buckets whose accounts have all gone are left out.
+     */
+    List<AccountBalanceStatsDTO> snapshot() {
+        List<AccountBalanceStatsDTO> stats = new ArrayList<>(buckets.size());
+        buckets.forEach((bucket, totals) -> {
+            long accounts = totals.accounts.sum();
+            if (accounts != 0) {
+                stats.add(new AccountBalanceStatsDTO(bucket.accountType(), bucket.accountStatus(), accounts,
+                        BigDecimal.valueOf(totals.cents.sum(), BALANCE_SCALE)));
+            }
+        });
+        stats.sort(Comparator.comparing(AccountBalanceStatsDTO::accountType).thenComparing(AccountBalanceStatsDTO::accountStatus));
+        return stats;
+    }
+
+    private static long toCents(BigDecimal balance) {
+        // rounded the way the numeric column rounds on insert
+        return balance.setScale(BALANCE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private record Bucket(String accountType, String accountStatus) {
+    }
+
+    private static final class Totals {
+        private final LongAdder accounts = new LongAdder();
+        private final LongAdder cents = new LongAdder();
+    }
+}
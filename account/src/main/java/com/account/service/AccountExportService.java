@@ -0,0 +1,151 @@
+package com.account.service;
+
+import com.account.export.AccountCsvWriter;
+import com.clients.account.dto.AccountExportResponseDTO;
+import com.clients.datasource.Workload;
+import com.clients.datasource.WorkloadContext;
+import com.clients.observability.ObservationNames;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams accounts as CSV, optionally gzip compressed, to a response or to a file in the export directory.
+ * <p>
+ * Rows are read through a server-side cursor: the read-only transaction keeps the connection out of auto-commit, so
+ * the PostgreSQL driver fetches {@code fetch-size} rows at a time instead of the whole result. Each row is encoded by
+ * an {@link AccountCsvWriter} into one direct buffer. Heap usage therefore does not grow with the number of rows.
+ * Exports are not ordered, which lets PostgreSQL read the tables sequentially. They run as {@link Workload#BATCH}, so a
+ * long export holds a batch connection rather than one of the pool serving requests.
+ */
+@Service
+@Observed(name = ObservationNames.SERVICE)
+@Slf4j
+public class AccountExportService {
+
+    private static final String SELECT_ACCOUNTS =
+            "SELECT account_id, customer_id, balance, account_type, account_status FROM Account";
+    private static final String SELECT_ARCHIVED_ACCOUNTS =
+            "SELECT account_id, customer_id, balance, account_type, account_status FROM account_archive";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int bufferSize;
+    private final Path exportDirectory;
+
+    public AccountExportService(DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${account.export.fetch-size:1000}") int fetchSize,
+                                @Value("${account.export.buffer-size:65536}") int bufferSize,
+                                @Value("${account.export.directory:exports}") Path exportDirectory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.bufferSize = bufferSize;
+        this.exportDirectory = exportDirectory;
+    }
+
+    /**
+     * Writes the statement of one account to {@code outputStream}.
+     *
+     * @return the number of rows written
+     */
+    public long exportStatement(int accountId, boolean includeArchived, boolean compress, OutputStream outputStream) throws IOException {
+        String sql = SELECT_ACCOUNTS + " WHERE account_id = ?";
+        Object[] args = {accountId};
+        if (includeArchived) {
+            sql += " UNION ALL " + SELECT_ARCHIVED_ACCOUNTS + " WHERE account_id = ?";
+            args = new Object[]{accountId, accountId};
+        }
+        return exportToStream(sql, args, compress, outputStream);
+    }
+
+    /**
+     * Writes every account to {@code outputStream}.
+     *
+     * @return the number of rows written
+     */
+    public long exportAccounts(boolean includeArchived, boolean compress, OutputStream outputStream) throws IOException {
+        String sql = includeArchived ? SELECT_ACCOUNTS + " UNION ALL " + SELECT_ARCHIVED_ACCOUNTS : SELECT_ACCOUNTS;
+        return exportToStream(sql, new Object[0], compress, outputStream);
+    }
+
+    /**
+     * Writes every account to a new file in the export directory. Uncompressed exports go straight from the direct
+     * buffer to the file channel.
+     *
+     * @return AccountExportResponseDTO the file written and its number of rows
+     */
+    public AccountExportResponseDTO exportAccountsToFile(boolean includeArchived, boolean compress) throws IOException {
+        Files.createDirectories(exportDirectory);
+        Path file = exportDirectory.resolve("accounts-" + FILE_TIMESTAMP.format(Instant.now()) + (compress ? ".csv.gz" : ".csv"));
+        String sql = includeArchived ? SELECT_ACCOUNTS + " UNION ALL " + SELECT_ARCHIVED_ACCOUNTS : SELECT_ACCOUNTS;
+
+        long rows;
+        if (compress) {
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(
+                    Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), bufferSize)) {
+                rows = export(sql, new Object[0], Channels.newChannel(gzipOutputStream));
+            }
+        } else {
+            try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                rows = export(sql, new Object[0], fileChannel);
+            }
+        }
+
+        log.info("Exported {} accounts to {}", rows, file);
+        return new AccountExportResponseDTO(HttpStatus.OK.value(), file.toString(), rows, "Accounts exported successfully");
+    }
+
+    private long exportToStream(String sql, Object[] args, boolean compress, OutputStream outputStream) throws IOException {
+        if (!compress) {
+            return export(sql, args, Channels.newChannel(outputStream));
+        }
+        // finished rather than closed, the response stream belongs to the servlet container
+        GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, bufferSize);
+        long rows = export(sql, args, Channels.newChannel(gzipOutputStream));
+        gzipOutputStream.finish();
+        return rows;
+    }
+
+    private long export(String sql, Object[] args, WritableByteChannel channel) throws IOException {
+        AccountCsvWriter writer = new AccountCsvWriter(channel, bufferSize);
+        writer.writeHeader();
+        try {
+            WorkloadContext.runAs(Workload.BATCH, () -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, resultSet -> {
+                try {
+                    writer.writeRow(resultSet.getInt(1), resultSet.getInt(2), resultSet.getString(3),
+                            resultSet.getString(4), resultSet.getString(5));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return writer.getRows();
+    }
+}
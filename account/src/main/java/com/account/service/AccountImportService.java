@@ -0,0 +1,386 @@
+package com.account.service;
+
+import com.account.exception.InvalidAccountImportRequestException;
+import com.account.exception.MaximumNumberOfAccountsReachedException;
+import com.account.exception.SalaryAccountAlreadyExistsException;
+import com.account.kafka.KafkaProducerService;
+import com.account.repository.AccountImportRepository;
+import com.account.repository.AccountRepository;
+import com.clients.account.dto.AccountBalanceStatsDTO;
+import com.clients.account.dto.AccountImportResponseDTO;
+import com.clients.account.dto.AccountRequestDTO;
+import com.clients.account.dto.ImportedAccountDTO;
+import com.clients.account.dto.KafkaAccountsImportedDTO;
+import com.clients.bulkimport.CsvLineParser;
+import com.clients.customer.CustomerClient;
+import com.clients.customer.dto.CustomerLookupRequestDTO;
+import com.clients.customer.dto.CustomerLookupResponseDTO;
+import com.clients.datasource.Workload;
+import com.clients.datasource.WorkloadContext;
+import com.clients.dto.ImportRowErrorDTO;
+import com.clients.observability.ObservationNames;
+import com.common.enums.TopicNames;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Imports accounts in bulk from a CSV file whose header names the {@link AccountRequestDTO} fields.
+ * <p>
+ * The file is streamed in chunks. The rows of a chunk are parsed and validated against the {@link AccountRequestDTO}
+ * constraints in parallel, then the valid ones are written in line order through {@code COPY} into a temporary
+ * staging table. Once the whole file is staged, the customers it names are looked up with one customer service call
+ * per thousand customers, and the rules {@code createAccount} checks one account at a time are applied to all staged
+ * rows at once: an existing customer, a single salary account, at most {@value #MAX_ACCOUNTS_PER_CUSTOMER} accounts
+ * per customer and a free account ID. A single statement then inserts the rows that passed. Everything runs in one
+ * transaction on the batch connection pool, so an import is either applied entirely or not at all, and rows are
+ * reported by line number when they are rejected.
+ * <p>
+ * The created accounts are published once the import has committed, in {@code account.import} events of at most
+ * {@code account.import.accounts-per-event} accounts rather than one {@code account.new} per account.
+ */
+@Service
+@Observed(name = ObservationNames.SERVICE)
+@Slf4j
+public class AccountImportService {
+
+    static final List<String> COLUMNS = List.of("customerId", "balance", "accountType", "accountStatus");
+    static final int MAX_ACCOUNTS_PER_CUSTOMER = 10;
+    static final int CUSTOMER_LOOKUP_BATCH_SIZE = 1000;
+
+    // DECIMAL(15, 2) of the balance column
+    private static final int MAX_BALANCE_PRECISION = 15;
+
+    private final AccountImportRepository accountImportRepository;
+    private final CustomerClient customerClient;
+    private final AccountStatsService accountStatsService;
+    private final KafkaProducerService kafkaProducerService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final int accountsPerEvent;
+
+    public AccountImportService(AccountImportRepository accountImportRepository,
+                                CustomerClient customerClient,
+                                AccountStatsService accountStatsService,
+                                KafkaProducerService kafkaProducerService,
+                                EntityManagerFactory entityManagerFactory,
+                                MeterRegistry meterRegistry,
+                                Validator validator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${account.import.chunk-size:10000}") int chunkSize,
+                                @Value("${account.import.max-reported-errors:1000}") int maxReportedErrors,
+                                @Value("${account.import.accounts-per-event:5000}") int accountsPerEvent) {
+        this.accountImportRepository = accountImportRepository;
+        this.customerClient = customerClient;
+        this.accountStatsService = accountStatsService;
+        this.kafkaProducerService = kafkaProducerService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.accountsPerEvent = accountsPerEvent;
+    }
+
+    /**
+     * Imports the accounts of a CSV file.
+     *
+     * @param inputStream the CSV file, UTF-8 encoded, with a header line
+     * @return AccountImportResponseDTO the number of imported and rejected rows and the reasons for the rejections
+     * @throws InvalidAccountImportRequestException if the file is empty or its header is invalid
+     * @throws com.clients.exception.DownstreamServiceUnavailableException if the customers cannot be looked up
+     */
+    public AccountImportResponseDTO importAccounts(InputStream inputStream) throws IOException {
+        UUID importId = UUID.randomUUID();
+        log.debug("Starting account import {}", importId);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 1 << 16);
+        int[] columnIndexes = readHeader(reader.readLine());
+        ImportReport report = new ImportReport();
+
+        AccountImportRepository.MergeResult mergeResult;
+        try {
+            mergeResult = WorkloadContext.callAs(Workload.BATCH, () -> transactionTemplate.execute(status -> {
+                accountImportRepository.createStagingTables();
+                stage(reader, columnIndexes, report);
+                accountImportRepository.analyzeStagedAccounts();
+                stageCustomers();
+                accountImportRepository.rejectUnknownCustomers("Customer not found");
+                accountImportRepository.rejectSecondSalaryAccounts(SalaryAccountAlreadyExistsException.MESSAGE);
+                accountImportRepository.rejectAccountsOverLimit(MAX_ACCOUNTS_PER_CUSTOMER, MaximumNumberOfAccountsReachedException.MESSAGE);
+                accountImportRepository.assignAccountIds("Customer has no account IDs left");
+                AccountImportRepository.MergeResult result = accountImportRepository.mergeStagedAccounts();
+                accountImportRepository.findRejectedRows(report::reject);
+                accountStatsService.recordAdded(summarize(result.importedAccounts()));
+                return result;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        mergeResult.conflictingLines().forEach(line -> report.reject(line, "Account ID was taken by a concurrent write"));
+
+        List<ImportedAccountDTO> importedAccounts = mergeResult.importedAccounts();
+        if (!importedAccounts.isEmpty()) {
+            // the accounts were inserted behind Hibernate's back, so the cached per-customer queries are stale
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(AccountRepository.ACCOUNTS_BY_CUSTOMER_REGION);
+            importedAccounts.stream()
+                    .collect(Collectors.groupingBy(ImportedAccountDTO::accountType, Collectors.counting()))
+                    .forEach((accountType, count) -> meterRegistry.counter("account.created", "type", accountType).increment(count));
+            publish(importId, importedAccounts);
+        }
+
+        log.info("Account import {} finished: {} imported, {} rejected", importId, importedAccounts.size(), report.rejectedRows);
+        return new AccountImportResponseDTO(
+                HttpStatus.OK.value(),
+                importId,
+                importedAccounts.size(),
+                report.rejectedRows,
+                report.errors(),
+                "Imported " + importedAccounts.size() + " of " + (importedAccounts.size() + report.rejectedRows) + " accounts"
+        );
+    }
+
+    private static int[] readHeader(String header) {
+        if (header == null) {
+            throw new InvalidAccountImportRequestException("The import file is empty");
+        }
+        List<String> names = CsvLineParser.parse(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        int[] columnIndexes = new int[COLUMNS.size()];
+        Arrays.fill(columnIndexes, -1);
+        for (int i = 0; i < names.size(); i++) {
+            int column = COLUMNS.indexOf(names.get(i).trim());
+            if (column < 0) {
+                throw new InvalidAccountImportRequestException("Unknown column '" + names.get(i) + "', expected any of " + COLUMNS);
+            }
+            columnIndexes[column] = i;
+        }
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (columnIndexes[i] < 0) {
+                throw new InvalidAccountImportRequestException("Missing required column '" + COLUMNS.get(i) + "'");
+            }
+        }
+        return columnIndexes;
+    }
+
+    private void stage(BufferedReader reader, int[] columnIndexes, ImportReport report) {
+        CopyIn copyIn = accountImportRepository.beginStagingCopy();
+        try {
+            List<String> lines = new ArrayList<>(chunkSize);
+            long firstLine = 2;
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lines.isEmpty()) {
+                    firstLine = lineNumber;
+                }
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    stageChunk(copyIn, lines, firstLine, columnIndexes, report);
+                    lines.clear();
+                }
+            }
+            if (!lines.isEmpty()) {
+                stageChunk(copyIn, lines, firstLine, columnIndexes, report);
+            }
+            copyIn.endCopy();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY account_import", null, e);
+        } finally {
+            cancelIfActive(copyIn);
+        }
+    }
+
+    private void stageChunk(CopyIn copyIn, List<String> lines, long firstLine, int[] columnIndexes, ImportReport report) throws SQLException {
+        ParsedRow[] rows = new ParsedRow[lines.size()];
+        IntStream.range(0, rows.length).parallel().forEach(i -> rows[i] = parseRow(lines.get(i), columnIndexes));
+
+        StringBuilder copyData = new StringBuilder(lines.size() * 48);
+        for (int i = 0; i < rows.length; i++) {
+            long line = firstLine + i;
+            ParsedRow row = rows[i];
+            if (row == null) {
+                continue; // blank line
+            }
+            if (row.error() != null) {
+                report.reject(line, row.error());
+            } else {
+                appendCopyRow(copyData, line, row.account());
+            }
+        }
+        byte[] bytes = copyData.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+    }
+
+    private ParsedRow parseRow(String line, int[] columnIndexes) {
+        if (line.isBlank()) {
+            return null;
+        }
+        List<String> fields;
+        try {
+            fields = CsvLineParser.parse(line);
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(null, e.getMessage());
+        }
+        Integer customerId;
+        BigDecimal balance;
+        try {
+            customerId = parseOrNull(field(fields, columnIndexes[0]), Integer::valueOf);
+        } catch (NumberFormatException e) {
+            return new ParsedRow(null, "customerId: Customer ID must be a 7-digit number");
+        }
+        try {
+            balance = parseOrNull(field(fields, columnIndexes[1]), BigDecimal::new);
+        } catch (NumberFormatException e) {
+            return new ParsedRow(null, "balance: Balance must be a number");
+        }
+        if (balance != null && balance.setScale(2, RoundingMode.HALF_UP).precision() > MAX_BALANCE_PRECISION) {
+            return new ParsedRow(null, "balance: Balance must have at most " + (MAX_BALANCE_PRECISION - 2) + " integer digits");
+        }
+        AccountRequestDTO account = new AccountRequestDTO(
+                customerId,
+                balance,
+                field(fields, columnIndexes[2]),
+                field(fields, columnIndexes[3]));
+        Set<ConstraintViolation<AccountRequestDTO>> violations = validator.validate(account);
+        if (violations.isEmpty()) {
+            return new ParsedRow(account, null);
+        }
+        return new ParsedRow(null, violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; ")));
+    }
+
+    /**
+     * Empty fields are read as missing.
+     */
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parseOrNull(String value, Function<String, T> parser) {
+        return value == null ? null : parser.apply(value);
+    }
+
+    private static void appendCopyRow(StringBuilder copyData, long line, AccountRequestDTO account) {
+        copyData.append(line)
+                .append(',').append(account.customerId())
+                .append(',').append(account.balance().toPlainString())
+                .append(',').append(account.accountType())
+                .append(',').append(account.accountStatus())
+                .append('\n');
+    }
+
+    /**
+     * Looks up every staged customer, a thousand per call, and stages the ones that exist.
+     */
+    private void stageCustomers() {
+        List<Integer> customerIds = accountImportRepository.findStagedCustomerIds();
+        for (int from = 0; from < customerIds.size(); from += CUSTOMER_LOOKUP_BATCH_SIZE) {
+            List<Integer> batch = customerIds.subList(from, Math.min(from + CUSTOMER_LOOKUP_BATCH_SIZE, customerIds.size()));
+            CustomerLookupResponseDTO response = customerClient.lookupCustomers(new CustomerLookupRequestDTO(List.copyOf(batch))).getBody();
+            if (response == null) {
+                throw new IllegalStateException("Customer service returned no customers");
+            }
+            if (!response.customers().isEmpty()) {
+                accountImportRepository.stageCustomers(response.customers());
+            }
+        }
+    }
+
+    private static List<AccountBalanceStatsDTO> summarize(List<ImportedAccountDTO> accounts) {
+        Map<List<String>, AccountBalanceStatsDTO> groups = new LinkedHashMap<>();
+        for (ImportedAccountDTO account : accounts) {
+            groups.merge(List.of(account.accountType(), account.accountStatus()),
+                    new AccountBalanceStatsDTO(account.accountType(), account.accountStatus(), 1, account.balance()),
+                    (group, added) -> new AccountBalanceStatsDTO(group.accountType(), group.accountStatus(),
+                            group.accounts() + 1, group.totalBalance().add(added.totalBalance())));
+        }
+        return List.copyOf(groups.values());
+    }
+
+    private void publish(UUID importId, List<ImportedAccountDTO> accounts) {
+        for (int from = 0; from < accounts.size(); from += accountsPerEvent) {
+            List<ImportedAccountDTO> batch = List.copyOf(accounts.subList(from, Math.min(from + accountsPerEvent, accounts.size())));
+            kafkaProducerService.sendMessage(TopicNames.ACCOUNT_IMPORT.getTopicName(), new KafkaAccountsImportedDTO(importId, batch));
+        }
+    }
+
+    private static void cancelIfActive(CopyIn copyIn) {
+        if (copyIn.isActive()) {
+            try {
+                copyIn.cancelCopy();
+            } catch (SQLException e) {
+                log.warn("Failed to cancel account import copy", e);
+            }
+        }
+    }
+
+    private record ParsedRow(AccountRequestDTO account, String error) {
+    }
+
+    /**
+     * Rejected rows of one import.
+     */
+    private final class ImportReport {
+
+        private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+        private int rejectedRows;
+
+        void reject(long line, String error) {
+            rejectedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportRowErrorDTO(line, error));
+            }
+        }
+
+        List<ImportRowErrorDTO> errors() {
+            errors.sort(Comparator.comparingLong(ImportRowErrorDTO::line));
+            return errors;
+        }
+    }
+}
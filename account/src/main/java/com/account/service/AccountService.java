@@ -3,27 +3,40 @@ package com.account.service;
 import com.account.entity.Account;
 import com.account.exception.*;
 import com.account.repository.AccountRepository;
+import com.account.repository.AccountStatusRepository;
+import com.account.repository.ArchivedAccountRepository;
 import com.clients.account.dto.*;
 import com.clients.customer.CustomerClient;
 import com.clients.customer.dto.CustomerResponseDTO;
 import com.clients.customer.dto.KafkaCustomerDeleteDTO;
 import com.clients.customer.dto.KafkaCustomerUpdateDTO;
 import com.clients.dto.GeneralResponseDTO;
+import com.clients.kafka.ProcessedEventService;
+import com.clients.observability.ObservationNames;
+import com.clients.persistence.AfterCommit;
+import com.clients.persistence.OptimisticLockRetryTemplate;
 import com.common.enums.AccountStatus;
 import com.common.enums.AccountTypes;
 import com.common.enums.CustomerStatus;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.*;
 
 /**
  * Service class for managing accounts.
  */
 @Service
+@Observed(name = ObservationNames.SERVICE)
 @RequiredArgsConstructor
 @Slf4j
 public class AccountService {
@@ -31,6 +44,13 @@ public class AccountService {
     private final AccountRepository accountRepository;
     private final CustomerClient customerClient;
     private final Random random;
+    private final ProcessedEventService processedEventService;
+    private final OptimisticLockRetryTemplate optimisticLockRetryTemplate;
+    private final ArchivedAccountRepository archivedAccountRepository;
+    private final AccountStatsService accountStatsService;
+    private final MeterRegistry meterRegistry;
+    private final AccountStatusRepository accountStatusRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     /**
      * Creates a new account.
@@ -50,6 +70,8 @@ public class AccountService {
         Account newAccount = buildAccount(accountId, accountRequestDTO, customerResponseDTO);
 
         accountRepository.save(newAccount);
+        accountStatsService.recordCreated(newAccount.getAccountType(), newAccount.getAccountStatus(), newAccount.getBalance());
+        meterRegistry.counter("account.created", "type", newAccount.getAccountType()).increment();
 
         return new AccountResponseDTO(
                 HttpStatus.CREATED.value(),
@@ -66,37 +88,64 @@ public class AccountService {
      * Retrieves an account by its ID.
      *
      * @param accountId the ID of the account
+     * @param includeArchived whether to look the account up in the archive when it is no longer in the Account table
      * @return AccountResponseDTO the response DTO with the details of the retrieved account
      * @throws AccountNotFoundException if the account does not exist
      */
-    public AccountResponseDTO getAccount(int accountId) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException("Account with id " + accountId + " not found."));
-
-        return mapToAccountResponseDTO(account, "Account retrieved successfully");
+    @Transactional(readOnly = true)
+    public AccountResponseDTO getAccount(int accountId, boolean includeArchived) {
+        Optional<Account> account = accountRepository.findById(accountId);
+        if (account.isPresent()) {
+            return mapToAccountResponseDTO(account.get(), "Account retrieved successfully");
+        }
+        if (includeArchived) {
+            return archivedAccountRepository.findAccountResponseById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account with id " + accountId + " not found."));
+        }
+        throw new AccountNotFoundException("Account with id " + accountId + " not found.");
     }
 
     /**
      * Retrieves all accounts.
      *
+     * @param includeArchived whether to append the archived accounts
      * @return List<AccountResponseDTO> a list of response DTOs for all accounts
      */
-    public List<AccountResponseDTO> getAllAccounts() {
-        return accountRepository.findAll().stream()
-                .map(account -> mapToAccountResponseDTO(account, "Account retrieved successfully"))
-                .toList();
+    @Transactional(readOnly = true)
+    public List<AccountResponseDTO> getAllAccounts(boolean includeArchived) {
+        List<AccountResponseDTO> accounts = accountRepository.findAllAccountResponses();
+        return includeArchived ? withArchived(accounts, archivedAccountRepository.findAllAccountResponses()) : accounts;
     }
 
     /**
      * Retrieves accounts by customer ID.
      *
      * @param customerId the ID of the customer
+     * @param includeArchived whether to append the customer's archived accounts
      * @return List<AccountResponseDTO> a list of response DTOs for the customer's accounts
      */
-    public List<AccountResponseDTO> getAccountsByCustomerId(int customerId) {
-        return accountRepository.findByCustomerId(customerId).stream()
-                .map(account -> mapToAccountResponseDTO(account, "Account retrieved successfully"))
-                .toList();
+    @Transactional(readOnly = true)
+    public List<AccountResponseDTO> getAccountsByCustomerId(int customerId, boolean includeArchived) {
+        List<AccountResponseDTO> accounts = accountRepository.findAccountResponsesByCustomerId(customerId);
+        return includeArchived ? withArchived(accounts, archivedAccountRepository.findAccountResponsesByCustomerId(customerId)) : accounts;
+    }
+
+    /**
+     * Counts the accounts of each of the given customers.
+     *
+     * @param customerIds the IDs of the customers
+     * @return AccountCountResponseDTO the number of accounts of every requested customer, in request order
+     */
+    @Transactional(readOnly = true)
+    public AccountCountResponseDTO countAccounts(List<Integer> customerIds) {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        customerIds.forEach(customerId -> counts.put(customerId, 0L));
+        accountRepository.countAccountsByCustomerIds(List.copyOf(counts.keySet()))
+                .forEach(count -> counts.put(count.getCustomerId(), count.getNumberOfAccounts()));
+
+        List<CustomerAccountCountDTO> accountCounts = new ArrayList<>(counts.size());
+        counts.forEach((customerId, numberOfAccounts) -> accountCounts.add(new CustomerAccountCountDTO(customerId, numberOfAccounts)));
+        return new AccountCountResponseDTO(HttpStatus.OK.value(), accountCounts, "Accounts counted successfully");
     }
 
     /**
@@ -108,22 +157,30 @@ public class AccountService {
      * @throws AccountNotFoundException if the account does not exist
      * @throws CustomerIdMustBeProvided if customer ID is required but not provided
      * @throws CannotActivateAccountException if an attempt is made to activate an account for an inactive customer
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the account keeps being updated concurrently
      */
-    @Transactional
     public AccountUpdateResponseDTO updateAccount(int accountId, AccountUpdateRequestDTO accountUpdateRequestDTO) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found."));
-
-        Map<String, Object> updatedFields = updateAccountFields(account, accountUpdateRequestDTO);
-
-        accountRepository.save(account);
-
-        return new AccountUpdateResponseDTO(
-                HttpStatus.OK.value(),
-                account.getCustomerId(),
-                updatedFields,
-                "Account with id " + accountId + " updated successfully"
-        );
+        // each attempt runs in its own transaction and re-reads the account, so a conflicting update is applied on top
+        return optimisticLockRetryTemplate.execute(() -> {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found."));
+            String oldAccountType = account.getAccountType();
+            String oldAccountStatus = account.getAccountStatus();
+            BigDecimal oldBalance = account.getBalance();
+
+            Map<String, Object> updatedFields = updateAccountFields(account, accountUpdateRequestDTO);
+
+            accountRepository.save(account);
+            accountStatsService.recordUpdated(oldAccountType, oldAccountStatus, oldBalance,
+                    account.getAccountType(), account.getAccountStatus(), account.getBalance());
+
+            return new AccountUpdateResponseDTO(
+                    HttpStatus.OK.value(),
+                    account.getCustomerId(),
+                    updatedFields,
+                    "Account with id " + accountId + " updated successfully"
+            );
+        });
     }
 
     /**
@@ -139,6 +196,7 @@ public class AccountService {
                 .orElseThrow(() -> new AccountNotFoundException("Account with id " + accountId + " not found."));
 
         accountRepository.delete(account);
+        accountStatsService.recordDeleted(account.getAccountType(), account.getAccountStatus(), account.getBalance());
 
         return new AccountDeleteResponseDTO(
                 HttpStatus.OK.value(),
@@ -159,21 +217,35 @@ public class AccountService {
                 .filter(account -> account.getAccountType().equalsIgnoreCase(AccountTypes.SALARY.getType()))
                 .findFirst()
                 .ifPresent(account -> {
-                    throw new SalaryAccountAlreadyExistsException("Customer already has a salary account");
+                    throw new SalaryAccountAlreadyExistsException();
                 });
     }
 
+    private List<AccountResponseDTO> withArchived(List<AccountResponseDTO> accounts, List<AccountResponseDTO> archivedAccounts) {
+        if (archivedAccounts.isEmpty()) {
+            return accounts;
+        }
+        List<AccountResponseDTO> allAccounts = new ArrayList<>(accounts.size() + archivedAccounts.size());
+        allAccounts.addAll(accounts);
+        allAccounts.addAll(archivedAccounts);
+        return allAccounts;
+    }
+
     /**
-     * Generates a unique account ID.
+     * Generates a unique account ID. Archived accounts keep their IDs, so an ID is only free when neither the account
+     * table nor the archive holds it.
      *
      * @param customerId the ID of the customer for which to generate the account ID
      * @return int the generated account ID
      */
     private int generateUniqueAccountId(int customerId) {
-        int accountId;
-        do {
+        int accountId = generateAccountId(customerId);
+        while (accountRepository.existsByAccountIdAndCustomerId(accountId, customerId)
+                || archivedAccountRepository.existsById(accountId)) {
+            // a customer has only 1000 ids, so frequent collisions mean customers are running out of them
+            meterRegistry.counter("account.id.collisions").increment();
             accountId = generateAccountId(customerId);
-        } while (accountRepository.existsById(accountId));
+        }
         return accountId;
     }
 
@@ -258,7 +330,7 @@ public class AccountService {
         }
 
         if (customerResponseDTO.numberOfAccounts() >= 10) {
-            throw new MaximumNumberOfAccountsReachedException("Customer has reached the maximum number of accounts.");
+            throw new MaximumNumberOfAccountsReachedException();
         }
 
         if (accountRequestDTO.accountType().equalsIgnoreCase(AccountTypes.SALARY.getType())) {
@@ -289,7 +361,7 @@ public class AccountService {
         if (accountUpdateRequestDTO.accountStatus().equalsIgnoreCase(AccountStatus.ACTIVE.getStatus())) {
             CustomerResponseDTO customerResponseDTO = customerClient.getCustomer(account.getCustomerId()).getBody();
             if (customerResponseDTO != null && customerResponseDTO.customerStatus().equalsIgnoreCase(CustomerStatus.INACTIVE.getStatus())) {
-                throw new CannotActivateAccountException("Cannot activate account for inactive customer.");
+                throw new CannotActivateAccountException();
             }
         }
     }
@@ -313,22 +385,51 @@ public class AccountService {
         );
     }
 
+    @Transactional
     public void handleUpdateCustomerEvent(KafkaCustomerUpdateDTO kafkaCustomerUpdateDTO) {
         // Check if the updated fields contain customer status
         if (kafkaCustomerUpdateDTO.updatedFields().containsKey("customerStatus")) {
+            if (!processedEventService.markProcessed(kafkaCustomerUpdateDTO.eventId())) {
+                return;
+            }
             String newStatus = kafkaCustomerUpdateDTO.updatedFields().get("customerStatus").toString();
 
             // Update account status based on new customer status
             if (CustomerStatus.INACTIVE.getStatus().equals(newStatus)) {
-                accountRepository.updateAccountStatusByCustomerId(kafkaCustomerUpdateDTO.customerId(), AccountStatus.INACTIVE.getStatus());
+                updateAccountStatusByCustomerId(kafkaCustomerUpdateDTO.customerId(), AccountStatus.INACTIVE.getStatus());
             } else if (CustomerStatus.ACTIVE.getStatus().equals(newStatus)) {
-                accountRepository.updateAccountStatusByCustomerId(kafkaCustomerUpdateDTO.customerId(), AccountStatus.ACTIVE.getStatus());
+                updateAccountStatusByCustomerId(kafkaCustomerUpdateDTO.customerId(), AccountStatus.ACTIVE.getStatus());
             }
         }
     }
 
     // if a customer is deleted, all accounts associated with that customer should be deleted
+    @Transactional
     public void handleDeleteCustomerEvent(KafkaCustomerDeleteDTO kafkaCustomerDeleteDTO) {
+        if (!processedEventService.markProcessed(kafkaCustomerDeleteDTO.eventId())) {
+            return;
+        }
+        List<AccountBalanceStatsDTO> removed = accountRepository.summarizeBalancesByCustomerId(kafkaCustomerDeleteDTO.customerId());
         accountRepository.deleteAccountsByCustomerId(kafkaCustomerDeleteDTO.customerId());
+        accountStatsService.recordRemoved(removed);
+    }
+
+    /**
+     * Sets the status of all the customer's accounts, moving their totals in the account statistics along with them.
+     * Once the transaction commits, the updated accounts are evicted from the second-level cache, along with the
+     * cached per-customer queries, which hold the old status.
+     *
+     * @param customerId the ID of the customer
+     * @param accountStatus the new status of the accounts
+     */
+    private void updateAccountStatusByCustomerId(int customerId, String accountStatus) {
+        List<AccountBalanceStatsDTO> moved = accountRepository.summarizeBalancesByCustomerId(customerId);
+        List<Integer> accountIds = accountStatusRepository.updateAccountStatusByCustomerId(customerId, accountStatus);
+        accountStatsService.recordStatusChanged(moved, accountStatus);
+        AfterCommit.run(() -> {
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            accountIds.forEach(accountId -> cache.evict(Account.class, accountId));
+            cache.evictQueryRegion(AccountRepository.ACCOUNTS_BY_CUSTOMER_REGION);
+        });
     }
 }
\ No newline at end of file
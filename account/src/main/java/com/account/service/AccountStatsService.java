@@ -0,0 +1,147 @@
+package com.account.service;
+
+import com.account.repository.AccountRepository;
+import com.clients.account.dto.AccountBalanceStatsDTO;
+import com.clients.account.dto.AccountStatsResponseDTO;
+import com.clients.datasource.Workload;
+import com.clients.datasource.WorkloadContext;
+import com.clients.observability.ObservationNames;
+import com.clients.persistence.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Serves account count and balance totals per account type and status from memory.
+ * <p>
+ * The totals are seeded with a single GROUP BY query when the application is ready and then kept current by the
+ * account writes of this instance, each applied once its transaction commits. Writes made by other instances, and
+ * a write committing while the totals are being reseeded, are only picked up by the next reconciliation, which
+ * replaces the totals with a fresh GROUP BY and logs any drift it finds.
+ */
+@Service
+@Observed(name = ObservationNames.SERVICE)
+@RequiredArgsConstructor
+@Slf4j
+public class AccountStatsService {
+
+    private final AccountRepository accountRepository;
+    private final MeterRegistry meterRegistry;
+
+    private volatile AccountBalanceAggregates aggregates = new AccountBalanceAggregates();
+    private volatile Instant reconciledAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            WorkloadContext.runAs(Workload.BATCH, this::reconcile);
+        } catch (RuntimeException e) {
+            // the statistics must not keep the service from starting, the scheduled reconciliation retries
+            log.warn("Failed to seed account balance statistics", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${account.stats.reconcile-interval:PT15M}",
+            initialDelayString = "${account.stats.reconcile-interval:PT15M}")
+    public void reconcile() {
+        List<AccountBalanceStatsDTO> stats = new AccountBalanceAggregates(accountRepository.summarizeBalances()).snapshot();
+        List<AccountBalanceStatsDTO> current = aggregates.snapshot();
+        aggregates = new AccountBalanceAggregates(stats);
+        if (reconciledAt != null && !stats.equals(current)) {
+            meterRegistry.counter("account.stats.drift").increment();
+            log.warn("Account balance statistics drifted from the database, was {} and is now {}", current, stats);
+        }
+        reconciledAt = Instant.now();
+    }
+
+    /**
+     * Retrieves the account count and balance total per account type and status.
+     *
+     * @return AccountStatsResponseDTO the totals, and when they were last reconciled with the database
+     */
+    public AccountStatsResponseDTO getStats() {
+        List<AccountBalanceStatsDTO> stats = aggregates.snapshot();
+        long totalAccounts = 0;
+        BigDecimal totalBalance = BigDecimal.ZERO.setScale(2);
+        for (AccountBalanceStatsDTO group : stats) {
+            totalAccounts += group.accounts();
+            totalBalance = totalBalance.add(group.totalBalance());
+        }
+        return new AccountStatsResponseDTO(
+                HttpStatus.OK.value(),
+                stats,
+                totalAccounts,
+                totalBalance,
+                reconciledAt,
+                "Account statistics retrieved successfully"
+        );
+    }
+
+    public void recordCreated(String accountType, String accountStatus, BigDecimal balance) {
+        afterCommit(totals -> totals.add(accountType, accountStatus, 1, balance));
+    }
+
+    public void recordUpdated(String oldAccountType, String oldAccountStatus, BigDecimal oldBalance,
+                              String accountType, String accountStatus, BigDecimal balance) {
+        afterCommit(totals -> {
+            totals.subtract(oldAccountType, oldAccountStatus, 1, oldBalance);
+            totals.add(accountType, accountStatus, 1, balance);
+        });
+    }
+
+    public void recordDeleted(String accountType, String accountStatus, BigDecimal balance) {
+        afterCommit(totals -> totals.subtract(accountType, accountStatus, 1, balance));
+    }
+
+    /**
+     * Records an amount added in bulk to the balances of accounts that stay in the same type and status.
+     */
+    public void recordBalanceChanged(String accountType, String accountStatus, BigDecimal amount) {
+        afterCommit(totals -> totals.add(accountType, accountStatus, 0, amount));
+    }
+
+    /**
+     * Records accounts created in bulk, given their totals per type and status.
+     */
+    public void recordAdded(List<AccountBalanceStatsDTO> groups) {
+        afterCommit(totals -> groups.forEach(group ->
+                totals.add(group.accountType(), group.accountStatus(), group.accounts(), group.totalBalance())));
+    }
+
+    /**
+     * Records accounts removed in bulk, given their totals per type and status as they were before the removal.
+     */
+    public void recordRemoved(List<AccountBalanceStatsDTO> groups) {
+        afterCommit(totals -> groups.forEach(group ->
+                totals.subtract(group.accountType(), group.accountStatus(), group.accounts(), group.totalBalance())));
+    }
+
+    /**
+     * Records accounts moved in bulk to another status, given their totals per type and status as they were before.
+     */
+    public void recordStatusChanged(List<AccountBalanceStatsDTO> groups, String accountStatus) {
+        afterCommit(totals -> groups.forEach(group -> {
+            totals.subtract(group.accountType(), group.accountStatus(), group.accounts(), group.totalBalance());
+            totals.add(group.accountType(), accountStatus, group.accounts(), group.totalBalance());
+        }));
+    }
+
+    /**
+     * Applies the change once the current transaction commits, so a rolled back write never shows in the totals.
+     * Outside a transaction the change is applied right away.
+     */
+    private void afterCommit(Consumer<AccountBalanceAggregates> change) {
+        AfterCommit.run(() -> change.accept(aggregates));
+    }
+}
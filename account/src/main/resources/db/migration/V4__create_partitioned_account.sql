@@ -0,0 +1,55 @@
+-- Account hash-partitioned by customer_id, so statements keyed on a customer touch a single partition and vacuum and
+-- index maintenance work on 16 smaller tables. It is filled online by AccountPartitionMigrator and swapped in for
+-- Account once the backfill is complete.
+-- The primary key has to contain the partition key; account ids embed the customer id, so account_id stays unique.
+CREATE TABLE account_partitioned (
+                                     account_id INTEGER NOT NULL,
+                                     customer_id INTEGER NOT NULL,
+                                     balance DECIMAL(15, 2) NOT NULL CHECK (balance >= 0),
+                                     account_type VARCHAR(20) NOT NULL CHECK (account_type IN ('salary', 'savings', 'investment')),
+                                     account_status VARCHAR(20) NOT NULL CHECK (account_status IN ('active', 'inactive', 'closed')),
+                                     version BIGINT NOT NULL DEFAULT 0,
+                                     PRIMARY KEY (customer_id, account_id)
+) PARTITION BY HASH (customer_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE account_p%s PARTITION OF account_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       lpad(i::text, 2, '0'), i);
+    END LOOP;
+END $$;
+
+-- Lookups by account id alone (cache misses of findById) probe this index in every partition
+CREATE INDEX account_partitioned_account_id_idx ON account_partitioned (account_id);
+
+-- Mirrors every write to Account while the backfill runs, so the backfill only has to copy rows that are not written
+CREATE FUNCTION account_mirror_to_partitioned() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM account_partitioned WHERE customer_id = OLD.customer_id AND account_id = OLD.account_id;
+        RETURN OLD;
+    END IF;
+    INSERT INTO account_partitioned (account_id, customer_id, balance, account_type, account_status, version)
+    VALUES (NEW.account_id, NEW.customer_id, NEW.balance, NEW.account_type, NEW.account_status, NEW.version)
+    ON CONFLICT (customer_id, account_id) DO UPDATE
+        SET balance = EXCLUDED.balance,
+            account_type = EXCLUDED.account_type,
+            account_status = EXCLUDED.account_status,
+            version = EXCLUDED.version;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER account_mirror
+    AFTER INSERT OR UPDATE OR DELETE ON Account
+    FOR EACH ROW EXECUTE FUNCTION account_mirror_to_partitioned();
+
+-- Backfill progress, so the migration resumes where it stopped after a restart
+CREATE TABLE account_partition_migration (
+                                             id SMALLINT PRIMARY KEY CHECK (id = 1),
+                                             last_account_id INTEGER NOT NULL DEFAULT -1,
+                                             completed_at TIMESTAMP WITH TIME ZONE
+);
+
+INSERT INTO account_partition_migration (id) VALUES (1);
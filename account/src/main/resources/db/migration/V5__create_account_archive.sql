@@ -0,0 +1,23 @@
+-- Cold storage for closed accounts, moved here by AccountArchivalService so the hot Account table and its indexes only
+-- hold accounts that are still in use
+CREATE TABLE account_archive (
+                                 account_id INTEGER PRIMARY KEY,
+                                 customer_id INTEGER NOT NULL,
+                                 balance DECIMAL(15, 2) NOT NULL,
+                                 account_type VARCHAR(20) NOT NULL,
+                                 account_status VARCHAR(20) NOT NULL,
+                                 version BIGINT NOT NULL,
+                                 archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX account_archive_customer_id_idx ON account_archive (customer_id);
+
+-- Lets the archival job find closed accounts without scanning the open ones
+CREATE INDEX account_closed_idx ON Account (account_id) WHERE account_status = 'closed';
+
+DO $$
+BEGIN
+    IF to_regclass('account_partitioned') IS NOT NULL THEN
+        CREATE INDEX account_partitioned_closed_idx ON account_partitioned (account_id) WHERE account_status = 'closed';
+    END IF;
+END $$;
@@ -0,0 +1,19 @@
+-- One row per nightly interest accrual; chunk_width is fixed when the run starts so a resumed run splits the account
+-- keyspace exactly as before
+CREATE TABLE interest_accrual_run (
+                                      accrual_date DATE PRIMARY KEY,
+                                      chunk_width BIGINT NOT NULL,
+                                      started_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+                                      completed_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Checkpoint per accrued range of account ids, written in the same transaction as the balances of the range, so a
+-- range is accrued at most once per day however often the run is restarted
+CREATE TABLE interest_accrual_chunk (
+                                        accrual_date DATE NOT NULL REFERENCES interest_accrual_run (accrual_date) ON DELETE CASCADE,
+                                        chunk_start BIGINT NOT NULL,
+                                        accounts INTEGER NOT NULL DEFAULT 0,
+                                        total_interest DECIMAL(17, 2) NOT NULL DEFAULT 0,
+                                        accrued_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+                                        PRIMARY KEY (accrual_date, chunk_start)
+);
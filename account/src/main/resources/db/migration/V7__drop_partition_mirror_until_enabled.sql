@@ -0,0 +1,12 @@
+-- V4 installed the mirror trigger on every deployment, so every Account write paid an upsert into account_partitioned
+-- even though the migration is opt-in. AccountPartitionMigrator now creates the partitioned table and the trigger
+-- itself when it is enabled; unless a migration has already completed, the objects from V4 are removed here.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM account_partition_migration WHERE completed_at IS NOT NULL) THEN
+        DROP TRIGGER IF EXISTS account_mirror ON Account;
+        DROP FUNCTION IF EXISTS account_mirror_to_partitioned();
+        DROP TABLE IF EXISTS account_partitioned;
+        DROP TABLE account_partition_migration;
+    END IF;
+END $$;
@@ -1,7 +1,11 @@
 package com.account.controller;
 
+import com.account.exception.AccountNotFoundException;
 import com.account.kafka.KafkaProducerService;
+import com.account.service.AccountExportService;
+import com.account.service.AccountImportService;
 import com.account.service.AccountService;
+import com.account.service.AccountStatsService;
 import com.clients.account.dto.*;
 import com.common.enums.AccountStatus;
 import com.common.enums.AccountTypes;
@@ -13,16 +17,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -41,6 +52,15 @@ class AccountControllerTest {
     @MockBean
     private KafkaProducerService kafkaProducerService;
 
+    @MockBean
+    private AccountExportService accountExportService;
+
+    @MockBean
+    private AccountStatsService accountStatsService;
+
+    @MockBean
+    private AccountImportService accountImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -82,7 +102,7 @@ class AccountControllerTest {
 
     @Test
     void testGetAccount() throws Exception {
-        when(accountService.getAccount(anyInt())).thenReturn(accountResponseDTO);
+        when(accountService.getAccount(anyInt(), eq(false))).thenReturn(accountResponseDTO);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/accounts/account/" + accountId))
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -94,9 +114,35 @@ class AccountControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("message"));
     }
 
+    @Test
+    void testExportAccounts_streamsCompressedCsvAttachment() throws Exception {
+        when(accountExportService.exportAccounts(eq(true), eq(true), any())).thenReturn(1L);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/accounts/export")
+                        .param("includeArchived", "true")
+                        .param("compress", "true"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/gzip"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"accounts.csv.gz\""));
+        verify(accountExportService).exportAccounts(eq(true), eq(true), any());
+    }
+
+    @Test
+    void testGetStatement_accountNotFound() throws Exception {
+        when(accountService.getAccount(accountId, false)).thenThrow(new AccountNotFoundException("Account with id " + accountId + " not found."));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/accounts/" + accountId + "/statement"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        verifyNoInteractions(accountExportService);
+    }
+
     @Test
     void testGetAllAccounts() throws Exception {
-        when(accountService.getAllAccounts()).thenReturn(Collections.singletonList(accountResponseDTO));
+        when(accountService.getAllAccounts(false)).thenReturn(Collections.singletonList(accountResponseDTO));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/accounts"))
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -110,7 +156,7 @@ class AccountControllerTest {
 
     @Test
     void testGetAccountsByCustomerId() throws Exception {
-        when(accountService.getAccountsByCustomerId(anyInt())).thenReturn(Collections.singletonList(accountResponseDTO));
+        when(accountService.getAccountsByCustomerId(anyInt(), eq(false))).thenReturn(Collections.singletonList(accountResponseDTO));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/accounts/customer/" + customerId))
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -148,4 +194,60 @@ class AccountControllerTest {
 
         verify(kafkaProducerService).sendMessage(anyString(), any(KafkaDeleteAccountDTO.class));
     }
+
+    @Test
+    void testGetAccountStats() throws Exception {
+        when(accountStatsService.getStats()).thenReturn(new AccountStatsResponseDTO(HttpStatus.OK.value(),
+                List.of(new AccountBalanceStatsDTO("savings", "active", 2, new BigDecimal("1500.50"))),
+                2, new BigDecimal("1500.50"), null, "Account statistics retrieved successfully"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/accounts/stats"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.stats[0].accountType").value("savings"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.stats[0].accounts").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalBalance").value(1500.50));
+
+        verify(accountStatsService).getStats();
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void testCountAccounts() throws Exception {
+        when(accountService.countAccounts(List.of(customerId, 1000001))).thenReturn(new AccountCountResponseDTO(HttpStatus.OK.value(),
+                List.of(new CustomerAccountCountDTO(customerId, 2), new CustomerAccountCountDTO(1000001, 0)),
+                "Accounts counted successfully"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/accounts/counts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountCountRequestDTO(List.of(customerId, 1000001)))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.counts[0].numberOfAccounts").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.counts[1].customerId").value(1000001));
+    }
+
+    @Test
+    void testCountAccounts_EmptyRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/accounts/counts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountCountRequestDTO(List.of()))))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void testImportAccounts() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "accounts.csv", "text/csv",
+                "customerId,balance,accountType,accountStatus\n1000000,99,savings,active\n".getBytes(StandardCharsets.UTF_8));
+        when(accountImportService.importAccounts(any(InputStream.class))).thenReturn(new AccountImportResponseDTO(
+                HttpStatus.OK.value(), UUID.randomUUID(), 1, 0, List.of(), "Imported 1 of 1 accounts"));
+
+        mockMvc.perform(MockMvcRequestBuilders.multipart("/api/v1/accounts/import").file(file))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importedRows").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejectedRows").value(0));
+
+        verify(accountImportService).importAccounts(any(InputStream.class));
+        verifyNoInteractions(kafkaProducerService);
+    }
 }
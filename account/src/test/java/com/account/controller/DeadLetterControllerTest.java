@@ -0,0 +1,47 @@
+package com.account.controller;
+
+import com.clients.exception.InvalidDeadLetterReplayRequestException;
+import com.clients.kafka.DeadLetterReplayer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DeadLetterController.class)
+class DeadLetterControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DeadLetterReplayer deadLetterReplayer;
+
+    @Test
+    void shouldReplayDeadLetters() throws Exception {
+        when(deadLetterReplayer.replay("customer.update", 100)).thenReturn(7);
+
+        mockMvc.perform(post("/api/v1/admin/dead-letters/customer.update/replay").param("maxRecords", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.topic", is("customer.update")))
+                .andExpect(jsonPath("$.replayedRecords", is(7)));
+
+        verify(deadLetterReplayer, times(1)).replay("customer.update", 100);
+    }
+
+    @Test
+    void shouldReturnBadRequestForTopicNotConsumed() throws Exception {
+        when(deadLetterReplayer.replay("account.new", 500))
+                .thenThrow(new InvalidDeadLetterReplayRequestException("Topic account.new is not consumed by this service"));
+
+        mockMvc.perform(post("/api/v1/admin/dead-letters/account.new/replay"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Invalid dead letter replay request")));
+    }
+}
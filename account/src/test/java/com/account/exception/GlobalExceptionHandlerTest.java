@@ -0,0 +1,49 @@
+package com.account.exception;
+
+import com.clients.dto.ErrorResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    @Test
+    void businessExceptions_doNotCaptureStackTraces() {
+        AccountNotFoundException exception = new AccountNotFoundException("Account with id 1000000123 not found.");
+
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    void handleAccountNotFound_returnsNotFoundWithExceptionMessage() {
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleAccountNotFound(
+                new AccountNotFoundException("Account with id 1000000123 not found."));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(new ErrorResponseDTO(HttpStatus.NOT_FOUND.value(), "Account with id 1000000123 not found.", "Account not found"),
+                response.getBody());
+    }
+
+    @Test
+    void handleMaximumNumberOfAccountsReached_reusesPrebuiltResponseForDefaultMessage() {
+        ResponseEntity<ErrorResponseDTO> first = exceptionHandler.handleMaximumNumberOfAccountsReached(new MaximumNumberOfAccountsReachedException());
+        ResponseEntity<ErrorResponseDTO> second = exceptionHandler.handleMaximumNumberOfAccountsReached(new MaximumNumberOfAccountsReachedException());
+
+        assertSame(first, second);
+        assertEquals(HttpStatus.BAD_REQUEST, first.getStatusCode());
+        assertEquals(MaximumNumberOfAccountsReachedException.MESSAGE, first.getBody().message());
+    }
+
+    @Test
+    void handleMaximumNumberOfAccountsReached_buildsResponseForOtherMessages() {
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleMaximumNumberOfAccountsReached(
+                new MaximumNumberOfAccountsReachedException("Customer has 10 accounts already."));
+
+        assertEquals("Customer has 10 accounts already.", response.getBody().message());
+    }
+}
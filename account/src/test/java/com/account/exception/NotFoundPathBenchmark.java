@@ -0,0 +1,71 @@
+package com.account.exception;
+
+import com.clients.dto.ErrorResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the account 404 path with the stackless {@link AccountNotFoundException} against the
+ * same exception capturing its stack trace, as it did when it extended {@link RuntimeException}.
+ * Each invocation is one lookup: the exception is thrown {@code stackDepth} frames below the handler, which is about
+ * where the service sits under the servlet container, the filter chain and the observation and transaction proxies,
+ * and is then turned into the error response the {@link GlobalExceptionHandler} sends.
+ * <p>
+ * Run with {@code mvn -pl account test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main NotFoundPathBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundPathBenchmark {
+
+    private static final int ACCOUNT_ID = 1000000123;
+
+    @Param({"20", "120"})
+    public int stackDepth;
+
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDTO> stackless() {
+        try {
+            return findAccount(stackDepth, ACCOUNT_ID, false);
+        } catch (AccountNotFoundException e) {
+            return exceptionHandler.handleAccountNotFound(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDTO> withStackTrace() {
+        try {
+            return findAccount(stackDepth, ACCOUNT_ID, true);
+        } catch (StackTraceAccountNotFoundException e) {
+            ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                    HttpStatus.NOT_FOUND.value(),
+                    e.getMessage(),
+                    "Account not found"
+            );
+            return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    private static ResponseEntity<ErrorResponseDTO> findAccount(int depth, int accountId, boolean withStackTrace) {
+        if (depth > 0) {
+            return findAccount(depth - 1, accountId, withStackTrace);
+        }
+        String message = "Account with id " + accountId + " not found.";
+        throw withStackTrace ? new StackTraceAccountNotFoundException(message) : new AccountNotFoundException(message);
+    }
+
+    private static final class StackTraceAccountNotFoundException extends RuntimeException {
+        private StackTraceAccountNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.account.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountCsvWriterTest {
+
+    @Test
+    void writeRow_ShouldEncodeRowsAcrossBufferFlushes() throws IOException {
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AccountCsvWriter writer = new AccountCsvWriter(Channels.newChannel(outputStream), 16);
+
+        // When
+        writer.writeHeader();
+        writer.writeRow(1000000123, 1000000, "1520.75", "savings", "active");
+        writer.writeRow(1000001007, 1000001, "0.00", "salary", "closed");
+        writer.flush();
+
+        // Then
+        assertEquals("account_id,customer_id,balance,account_type,account_status\n"
+                + "1000000123,1000000,1520.75,savings,active\n"
+                + "1000001007,1000001,0.00,salary,closed\n", outputStream.toString(StandardCharsets.UTF_8));
+        assertEquals(2, writer.getRows());
+    }
+
+    @Test
+    void writeRow_ShouldQuoteTextThatNeedsEscaping() throws IOException {
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AccountCsvWriter writer = new AccountCsvWriter(Channels.newChannel(outputStream), 64);
+
+        // When
+        writer.writeRow(0, -5, "1,5", "sa\"vings", "äctive");
+        writer.flush();
+
+        // Then
+        assertEquals("0,-5,\"1,5\",\"sa\"\"vings\",\"äctive\"\n", outputStream.toString(StandardCharsets.UTF_8));
+    }
+}
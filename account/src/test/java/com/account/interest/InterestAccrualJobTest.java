@@ -0,0 +1,200 @@
+package com.account.interest;
+
+import com.account.entity.Account;
+import com.account.kafka.KafkaProducerService;
+import com.account.repository.InterestAccrualRepository;
+import com.account.service.AccountStatsService;
+import com.clients.account.dto.AccruedInterestDTO;
+import com.clients.account.dto.KafkaInterestAccruedDTO;
+import com.common.enums.TopicNames;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InterestAccrualJobTest {
+
+    private static final LocalDate ACCRUAL_DATE = LocalDate.of(2025, 3, 1);
+
+    private InterestAccrualRepository interestAccrualRepository;
+    private AccountStatsService accountStatsService;
+    private KafkaProducerService kafkaProducerService;
+    private Cache cache;
+    private InterestAccrualJob interestAccrualJob;
+
+    @BeforeEach
+    void setUp() {
+        interestAccrualRepository = mock(InterestAccrualRepository.class);
+        accountStatsService = mock(AccountStatsService.class);
+        kafkaProducerService = mock(KafkaProducerService.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        cache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        interestAccrualJob = new InterestAccrualJob(interestAccrualRepository, accountStatsService, kafkaProducerService,
+                entityManagerFactory, mock(PlatformTransactionManager.class), 250, 400, 1000, 2, 1, Duration.ofMinutes(5), Period.ofDays(30));
+    }
+
+    @Test
+    void accrue_ShouldAccrueEveryRangeAndCompleteTheRun() {
+        // Given
+        when(interestAccrualRepository.startRun(ACCRUAL_DATE, 1000)).thenReturn(1000L);
+        when(interestAccrualRepository.findAccountIdRange()).thenReturn(new long[]{1000000123, 1000001456});
+        when(interestAccrualRepository.claimChunk(eq(ACCRUAL_DATE), anyLong())).thenReturn(true);
+        doAnswer(invocation -> {
+            InterestAccrualRepository.AccrualCandidateHandler handler = invocation.getArgument(3);
+            if ((long) invocation.getArgument(0) == 1000000000L) {
+                handler.accept(1000000123, 1000000, 100_000, "savings");
+                handler.accept(1000000456, 1000000, 1, "savings");
+                handler.accept(1000000789, 1000000, 25_000_000, "investment");
+            }
+            return null;
+        }).when(interestAccrualRepository).lockAccrualCandidates(anyLong(), anyLong(), any(), any());
+
+        // When
+        boolean completed = interestAccrualJob.accrue(ACCRUAL_DATE);
+
+        // Then
+        assertTrue(completed);
+        verify(interestAccrualRepository).lockAccrualCandidates(eq(1000000000L), eq(1000001000L), eq(List.of("savings", "investment")), any());
+        verify(interestAccrualRepository).lockAccrualCandidates(eq(1000001000L), eq(1000002000L), any(), any());
+        // the account with a one cent balance earns nothing and is left out
+        verify(interestAccrualRepository).addInterest(
+                argThat(accountIds -> Arrays.equals(Arrays.copyOf(accountIds, 2), new int[]{1000000123, 1000000789})),
+                argThat(customerIds -> Arrays.equals(Arrays.copyOf(customerIds, 2), new int[]{1000000, 1000000})),
+                argThat(interestCents -> Arrays.equals(Arrays.copyOf(interestCents, 2), new long[]{7, 2740})),
+                eq(2));
+        verify(interestAccrualRepository).completeChunk(ACCRUAL_DATE, 1000000000L, 2, 2747);
+        verify(interestAccrualRepository).completeChunk(ACCRUAL_DATE, 1000001000L, 0, 0);
+        verify(accountStatsService).recordBalanceChanged("savings", "active", new BigDecimal("0.07"));
+        verify(accountStatsService).recordBalanceChanged("investment", "active", new BigDecimal("27.40"));
+        verify(cache).evict(Account.class, 1000000789);
+        // one account per event
+        verify(kafkaProducerService).sendMessage(eq(TopicNames.ACCOUNT_INTEREST.getTopicName()), argThat(event ->
+                ((KafkaInterestAccruedDTO) event).accruals().equals(List.of(
+                        new AccruedInterestDTO(1000000123, 1000000, new BigDecimal("0.07"), new BigDecimal("1000.07"))))));
+        verify(kafkaProducerService).sendMessage(eq(TopicNames.ACCOUNT_INTEREST.getTopicName()), argThat(event ->
+                ((KafkaInterestAccruedDTO) event).accruals().equals(List.of(
+                        new AccruedInterestDTO(1000000789, 1000000, new BigDecimal("27.40"), new BigDecimal("250027.40"))))));
+        verify(interestAccrualRepository).completeRun(ACCRUAL_DATE);
+        verify(interestAccrualRepository).purgeRunsBefore(LocalDate.of(2025, 1, 30));
+    }
+
+    @Test
+    void accrue_ShouldSkipCheckpointedRanges() {
+        // Given
+        when(interestAccrualRepository.startRun(ACCRUAL_DATE, 1000)).thenReturn(1000L);
+        when(interestAccrualRepository.findAccountIdRange()).thenReturn(new long[]{1000000123, 1000000456});
+        when(interestAccrualRepository.claimChunk(ACCRUAL_DATE, 1000000000L)).thenReturn(false);
+
+        // When
+        boolean completed = interestAccrualJob.accrue(ACCRUAL_DATE);
+
+        // Then
+        assertTrue(completed);
+        verify(interestAccrualRepository, never()).lockAccrualCandidates(anyLong(), anyLong(), any(), any());
+        verify(kafkaProducerService, never()).sendMessage(any(), any());
+        verify(interestAccrualRepository).completeRun(ACCRUAL_DATE);
+    }
+
+    @Test
+    void accrue_ShouldLeaveRunOpen_WhenRangeFails() {
+        // Given
+        when(interestAccrualRepository.startRun(ACCRUAL_DATE, 1000)).thenReturn(1000L);
+        when(interestAccrualRepository.findAccountIdRange()).thenReturn(new long[]{1000000123, 1000000456});
+        when(interestAccrualRepository.claimChunk(ACCRUAL_DATE, 1000000000L)).thenThrow(new IllegalStateException("deadlock"));
+
+        // When
+        boolean completed = interestAccrualJob.accrue(ACCRUAL_DATE);
+
+        // Then
+        assertFalse(completed);
+        verify(interestAccrualRepository, never()).completeRun(any());
+    }
+
+    @Test
+    void accrue_ShouldDoNothing_WhenRunHasCompleted() {
+        // Given
+        when(interestAccrualRepository.startRun(ACCRUAL_DATE, 1000)).thenReturn(null);
+
+        // When
+        boolean completed = interestAccrualJob.accrue(ACCRUAL_DATE);
+
+        // Then
+        assertTrue(completed);
+        verify(interestAccrualRepository, never()).findAccountIdRange();
+        verify(interestAccrualRepository, never()).addInterest(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void accrueThrough_ShouldResumeIncompleteEarlierRunsBeforeTheDay() {
+        // Given
+        LocalDate missedDate = ACCRUAL_DATE.minusDays(2);
+        LocalDate interruptedDate = ACCRUAL_DATE.minusDays(1);
+        when(interestAccrualRepository.findIncompleteRunDatesBefore(ACCRUAL_DATE)).thenReturn(List.of(missedDate, interruptedDate));
+        when(interestAccrualRepository.startRun(any(), eq(1000L))).thenReturn(1000L);
+        when(interestAccrualRepository.findAccountIdRange()).thenReturn(new long[]{1000000123, 1000000456});
+        when(interestAccrualRepository.claimChunk(any(), eq(1000000000L))).thenReturn(true);
+        when(interestAccrualRepository.claimChunk(interruptedDate, 1000000000L)).thenReturn(false);
+
+        // When
+        boolean completed = interestAccrualJob.accrueThrough(ACCRUAL_DATE);
+
+        // Then
+        assertTrue(completed);
+        InOrder inOrder = inOrder(interestAccrualRepository);
+        inOrder.verify(interestAccrualRepository).startRun(missedDate, 1000);
+        inOrder.verify(interestAccrualRepository).completeRun(missedDate);
+        inOrder.verify(interestAccrualRepository).startRun(interruptedDate, 1000);
+        inOrder.verify(interestAccrualRepository).completeRun(interruptedDate);
+        inOrder.verify(interestAccrualRepository).startRun(ACCRUAL_DATE, 1000);
+        inOrder.verify(interestAccrualRepository).completeRun(ACCRUAL_DATE);
+        verify(interestAccrualRepository).completeChunk(missedDate, 1000000000L, 0, 0);
+        verify(interestAccrualRepository, never()).completeChunk(eq(interruptedDate), anyLong(), anyInt(), anyLong());
+        verify(interestAccrualRepository).completeChunk(ACCRUAL_DATE, 1000000000L, 0, 0);
+    }
+
+    @Test
+    void accrueThrough_ShouldStillAccrueTheDay_WhenEarlierRunCannotComplete() {
+        // Given
+        LocalDate failingDate = ACCRUAL_DATE.minusDays(1);
+        when(interestAccrualRepository.findIncompleteRunDatesBefore(ACCRUAL_DATE)).thenReturn(List.of(failingDate));
+        when(interestAccrualRepository.startRun(any(), eq(1000L))).thenReturn(1000L);
+        when(interestAccrualRepository.findAccountIdRange()).thenReturn(new long[]{1000000123, 1000000456});
+        when(interestAccrualRepository.claimChunk(failingDate, 1000000000L)).thenThrow(new IllegalStateException("deadlock"));
+        when(interestAccrualRepository.claimChunk(ACCRUAL_DATE, 1000000000L)).thenReturn(true);
+
+        // When
+        boolean completed = interestAccrualJob.accrueThrough(ACCRUAL_DATE);
+
+        // Then
+        assertFalse(completed);
+        verify(interestAccrualRepository, never()).completeRun(failingDate);
+        verify(interestAccrualRepository).completeRun(ACCRUAL_DATE);
+    }
+}
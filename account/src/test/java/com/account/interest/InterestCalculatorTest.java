@@ -0,0 +1,35 @@
+package com.account.interest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InterestCalculatorTest {
+
+    @Test
+    void dailyInterestCents_ShouldRoundHalfUpToTheCent() {
+        // 1000.00 at 2.5% over 365 days is 6.849... cents
+        assertEquals(7, InterestCalculator.dailyInterestCents(100_000, 250, 365));
+        // 511.00 earns exactly 3.5 cents, 1 cent less just under
+        assertEquals(4, InterestCalculator.dailyInterestCents(51_100, 250, 365));
+        assertEquals(3, InterestCalculator.dailyInterestCents(51_099, 250, 365));
+    }
+
+    @Test
+    void dailyInterestCents_ShouldUseTheLengthOfTheYear() {
+        assertEquals(2740, InterestCalculator.dailyInterestCents(25_000_000, 400, 365));
+        assertEquals(2732, InterestCalculator.dailyInterestCents(25_000_000, 400, 366));
+    }
+
+    @Test
+    void dailyInterestCents_ShouldNotOverflow_ForTheLargestBalance() {
+        // 9 999 999 999 999.99 at 100%
+        assertEquals(2_739_726_027_397L, InterestCalculator.dailyInterestCents(999_999_999_999_999L, 10_000, 365));
+    }
+
+    @Test
+    void dailyInterestCents_ShouldBeZero_ForNonPositiveBalance() {
+        assertEquals(0, InterestCalculator.dailyInterestCents(0, 250, 365));
+        assertEquals(0, InterestCalculator.dailyInterestCents(-100_000, 250, 365));
+    }
+}
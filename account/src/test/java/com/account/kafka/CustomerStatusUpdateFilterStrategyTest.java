@@ -0,0 +1,36 @@
+package com.account.kafka;
+
+import com.common.enums.EventHeaders;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerStatusUpdateFilterStrategyTest {
+
+    private final CustomerStatusUpdateFilterStrategy filterStrategy = new CustomerStatusUpdateFilterStrategy();
+
+    @Test
+    void filter_ShouldKeepRecord_WhenCustomerStatusWasUpdated() {
+        assertFalse(filterStrategy.filter(record("email,customerStatus")));
+    }
+
+    @Test
+    void filter_ShouldDiscardRecord_WhenCustomerStatusWasNotUpdated() {
+        assertTrue(filterStrategy.filter(record("email,address,phoneNumber")));
+    }
+
+    @Test
+    void filter_ShouldKeepRecord_WhenHeaderIsMissing() {
+        assertFalse(filterStrategy.filter(new ConsumerRecord<>("customer.update", 0, 0L, null, new byte[]{1})));
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String updatedFields) {
+        ConsumerRecord<String, byte[]> consumerRecord = new ConsumerRecord<>("customer.update", 0, 0L, null, new byte[]{1});
+        consumerRecord.headers().add(EventHeaders.UPDATED_FIELDS.getHeaderName(), updatedFields.getBytes(StandardCharsets.UTF_8));
+        return consumerRecord;
+    }
+}
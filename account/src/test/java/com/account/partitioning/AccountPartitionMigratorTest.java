@@ -0,0 +1,106 @@
+package com.account.partitioning;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class AccountPartitionMigratorTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountPartitionMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        migrator = new AccountPartitionMigrator(jdbcTemplate, 100);
+    }
+
+    /**
+     * Runs the first batch against a database where the partitioned table and the mirror trigger already exist.
+     */
+    private void prepared() {
+        when(jdbcTemplate.queryForObject(contains("completed_at IS NOT NULL"), eq(Boolean.class))).thenReturn(false);
+        when(jdbcTemplate.queryForObject(contains("pg_trigger"), eq(Boolean.class))).thenReturn(true);
+        migrator.migrateNextBatch();
+        clearInvocations(jdbcTemplate);
+    }
+
+    @Test
+    void migrateNextBatch_ShouldCreateTableAndTriggerBeforeCopying_WhenMigrationStarts() {
+        // Given
+        when(jdbcTemplate.queryForObject(contains("completed_at IS NOT NULL"), eq(Boolean.class))).thenReturn(false);
+        when(jdbcTemplate.queryForObject(contains("pg_trigger"), eq(Boolean.class))).thenReturn(false);
+
+        // When
+        migrator.migrateNextBatch();
+
+        // Then
+        verify(jdbcTemplate).execute(contains("CREATE TABLE IF NOT EXISTS account_partitioned"));
+        verify(jdbcTemplate).execute(contains("CREATE TRIGGER account_mirror"));
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Integer.class));
+    }
+
+    @Test
+    void migrateNextBatch_ShouldAdvanceCursor_WhenRowsWereCopied() {
+        // Given
+        prepared();
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE SKIP LOCKED"), eq(Integer.class))).thenReturn(List.of(-1));
+        when(jdbcTemplate.queryForObject(contains("INSERT INTO account_partitioned"), eq(Integer.class), eq(-1), eq(100)))
+                .thenReturn(1000099);
+
+        // When
+        migrator.migrateNextBatch();
+
+        // Then
+        verify(jdbcTemplate).update(contains("SET last_account_id"), eq(1000099));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void migrateNextBatch_ShouldSwapTablesOnce_WhenNothingIsLeftToCopy() {
+        // Given
+        prepared();
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE SKIP LOCKED"), eq(Integer.class))).thenReturn(List.of(1000099));
+        when(jdbcTemplate.queryForObject(contains("INSERT INTO account_partitioned"), eq(Integer.class), eq(1000099), eq(100)))
+                .thenReturn(null);
+
+        // When
+        migrator.migrateNextBatch();
+        migrator.migrateNextBatch();
+
+        // Then
+        verify(jdbcTemplate).execute("LOCK TABLE Account IN ACCESS EXCLUSIVE MODE");
+        verify(jdbcTemplate).execute("ALTER TABLE account_partitioned RENAME TO Account");
+        verify(jdbcTemplate).update(contains("SET completed_at"));
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Integer.class));
+    }
+
+    @Test
+    void migrateNextBatch_ShouldSkipRun_WhenAnotherInstanceHoldsTheProgressRow() {
+        // Given
+        prepared();
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE SKIP LOCKED"), eq(Integer.class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(contains("completed_at IS NOT NULL"), eq(Boolean.class))).thenReturn(false);
+
+        // When
+        migrator.migrateNextBatch();
+
+        // Then
+        verify(jdbcTemplate).queryForList(anyString(), eq(Integer.class));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Boolean.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+}
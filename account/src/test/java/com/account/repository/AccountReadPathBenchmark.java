@@ -0,0 +1,108 @@
+package com.account.repository;
+
+import com.account.entity.Account;
+import com.clients.account.dto.AccountResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per request cost of the account read paths: loading managed {@link Account} entities and copying them
+ * into {@link AccountResponseDTO}s, as {@code getAccountsByCustomerId} did before, against selecting straight into the
+ * response record with {@link AccountRepository#SELECT_ACCOUNT_RESPONSE}.
+ * Each invocation is one request: a fresh persistence context, a transaction that is flushed on commit, and the
+ * query for one customer, against an in-memory H2 database.
+ * <p>
+ * Run with {@code mvn -pl account test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main AccountReadPathBenchmark -prof gc"} and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountReadPathBenchmark {
+
+    private static final int CUSTOMER_ID = 1000000;
+
+    @Param({"5", "50"})
+    public int accountsPerCustomer;
+
+    private EmbeddedDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(database);
+        factoryBean.setPackagesToScan("com.account.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < accountsPerCustomer; i++) {
+            entityManager.persist(new Account(CUSTOMER_ID * 1000 + i, CUSTOMER_ID, new BigDecimal("1520.75"), "savings", "active"));
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<AccountResponseDTO> entities() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            List<AccountResponseDTO> responses = entityManager
+                    .createQuery("SELECT a FROM Account a WHERE a.customerId = :customerId", Account.class)
+                    .setParameter("customerId", CUSTOMER_ID)
+                    .getResultList()
+                    .stream()
+                    .map(account -> new AccountResponseDTO(HttpStatus.OK.value(), account.getAccountId(), account.getCustomerId(),
+                            account.getBalance(), account.getAccountType(), account.getAccountStatus(), "Account retrieved successfully"))
+                    .toList();
+            entityManager.getTransaction().commit();
+            return responses;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<AccountResponseDTO> projection() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            List<AccountResponseDTO> responses = entityManager
+                    .createQuery(AccountRepository.SELECT_ACCOUNT_RESPONSE + " WHERE a.customerId = :customerId", AccountResponseDTO.class)
+                    .setParameter("customerId", CUSTOMER_ID)
+                    .getResultList();
+            entityManager.getTransaction().commit();
+            return responses;
+        } finally {
+            entityManager.close();
+        }
+    }
+}
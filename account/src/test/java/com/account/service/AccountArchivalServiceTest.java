@@ -0,0 +1,73 @@
+package com.account.service;
+
+import com.account.kafka.KafkaProducerService;
+import com.account.repository.AccountRepository;
+import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.common.enums.TopicNames;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountArchivalServiceTest {
+
+    private AccountRepository accountRepository;
+    private KafkaProducerService kafkaProducerService;
+    private AccountArchivalService accountArchivalService;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        kafkaProducerService = mock(KafkaProducerService.class);
+        accountArchivalService = new AccountArchivalService(accountRepository, mock(AccountStatsService.class),
+                kafkaProducerService, mock(PlatformTransactionManager.class), 2);
+    }
+
+    @Test
+    void archiveClosedAccounts_ShouldArchiveInKeysetOrderedBatches() {
+        // Given
+        when(accountRepository.findClosedAccountIdsForArchival(-1, 2)).thenReturn(List.of(1000000001, 1000000002));
+        when(accountRepository.findClosedAccountIdsForArchival(1000000002, 2)).thenReturn(List.of(1000001005));
+        when(accountRepository.findClosedAccountIdsForArchival(1000001005, 2)).thenReturn(List.of());
+        when(accountRepository.findDeleteEventsByAccountIds(List.of(1000000001, 1000000002))).thenReturn(List.of(
+                new KafkaDeleteAccountDTO(1000000001, 1000000), new KafkaDeleteAccountDTO(1000000002, 1000000)));
+        when(accountRepository.findDeleteEventsByAccountIds(List.of(1000001005))).thenReturn(List.of(
+                new KafkaDeleteAccountDTO(1000001005, 1000001)));
+
+        // When
+        accountArchivalService.archiveClosedAccounts();
+
+        // Then
+        verify(accountRepository).archiveAccounts(List.of(1000000001, 1000000002));
+        verify(accountRepository).archiveAccounts(List.of(1000001005));
+        verify(kafkaProducerService, times(3)).sendMessage(eq(TopicNames.ACCOUNT_DELETE.getTopicName()), any());
+        verify(kafkaProducerService).sendMessage(eq(TopicNames.ACCOUNT_DELETE.getTopicName()),
+                argThat(event -> event instanceof KafkaDeleteAccountDTO delete && delete.accountId() == 1000001005 && delete.customerId() == 1000001));
+    }
+
+    @Test
+    void archiveClosedAccounts_ShouldDoNothing_WhenNoAccountIsClosed() {
+        // Given
+        when(accountRepository.findClosedAccountIdsForArchival(anyInt(), anyInt())).thenReturn(List.of());
+
+        // When
+        accountArchivalService.archiveClosedAccounts();
+
+        // Then
+        verify(accountRepository, never()).archiveAccounts(anyList());
+        verify(kafkaProducerService, never()).sendMessage(anyString(), any());
+    }
+}
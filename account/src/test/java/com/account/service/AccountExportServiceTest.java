@@ -0,0 +1,117 @@
+package com.account.service;
+
+import com.clients.account.dto.AccountExportResponseDTO;
+import com.clients.datasource.Workload;
+import com.clients.datasource.WorkloadContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountExportServiceTest {
+
+    private static final String HEADER = "account_id,customer_id,balance,account_type,account_status\n";
+
+    @TempDir
+    Path exportDirectory;
+
+    private EmbeddedDatabase database;
+    private final List<Workload> connectionWorkloads = new ArrayList<>();
+    private AccountExportService accountExportService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        for (String table : new String[]{"Account", "account_archive"}) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (account_id INTEGER PRIMARY KEY, customer_id INTEGER NOT NULL, "
+                    + "balance DECIMAL(15, 2) NOT NULL, account_type VARCHAR(20) NOT NULL, account_status VARCHAR(20) NOT NULL)");
+        }
+        jdbcTemplate.update("INSERT INTO Account VALUES (1000000123, 1000000, 1520.75, 'savings', 'active')");
+        jdbcTemplate.update("INSERT INTO account_archive VALUES (1000000456, 1000000, 0.00, 'salary', 'closed')");
+        DelegatingDataSource dataSource = new DelegatingDataSource(database) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                connectionWorkloads.add(WorkloadContext.current());
+                return super.getConnection();
+            }
+        };
+        accountExportService = new AccountExportService(dataSource, new DataSourceTransactionManager(dataSource), 1, 32, exportDirectory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void exportAccounts_ShouldStreamHotAccountsOnly_ByDefault() throws IOException {
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long rows = accountExportService.exportAccounts(false, false, outputStream);
+
+        // Then
+        assertEquals(1, rows);
+        assertEquals(HEADER + "1000000123,1000000,1520.75,savings,active\n", outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportStatement_ShouldStreamCompressedArchivedAccount_WhenRequested() throws IOException {
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long rows = accountExportService.exportStatement(1000000456, true, true, outputStream);
+
+        // Then
+        assertEquals(1, rows);
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertEquals(HEADER + "1000000456,1000000,0.00,salary,closed\n", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportAccountsToFile_ShouldWriteNewFileInExportDirectory() throws IOException {
+        // When
+        AccountExportResponseDTO response = accountExportService.exportAccountsToFile(true, false);
+
+        // Then
+        assertEquals(2, response.rows());
+        Path file = Path.of(response.file());
+        assertEquals(exportDirectory, file.getParent());
+        assertEquals(HEADER + "1000000123,1000000,1520.75,savings,active\n" + "1000000456,1000000,0.00,salary,closed\n",
+                Files.readString(file));
+    }
+
+    @Test
+    void exportAccounts_ShouldReadOnBatchConnection() throws IOException {
+        // When
+        accountExportService.exportAccounts(true, false, new ByteArrayOutputStream());
+
+        // Then
+        assertEquals(List.of(Workload.BATCH), connectionWorkloads);
+        assertEquals(Workload.WEB, WorkloadContext.current());
+    }
+}
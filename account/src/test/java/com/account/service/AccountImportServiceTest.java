@@ -0,0 +1,228 @@
+package com.account.service;
+
+import com.account.exception.InvalidAccountImportRequestException;
+import com.account.exception.MaximumNumberOfAccountsReachedException;
+import com.account.exception.SalaryAccountAlreadyExistsException;
+import com.account.kafka.KafkaProducerService;
+import com.account.repository.AccountImportRepository;
+import com.account.repository.AccountRepository;
+import com.clients.account.dto.AccountBalanceStatsDTO;
+import com.clients.account.dto.AccountImportResponseDTO;
+import com.clients.account.dto.ImportedAccountDTO;
+import com.clients.account.dto.KafkaAccountsImportedDTO;
+import com.clients.customer.CustomerClient;
+import com.clients.customer.dto.CustomerLookupRequestDTO;
+import com.clients.customer.dto.CustomerLookupResponseDTO;
+import com.clients.customer.dto.CustomerStatusDTO;
+import com.clients.dto.ImportRowErrorDTO;
+import com.common.enums.TopicNames;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.copy.CopyIn;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountImportServiceTest {
+
+    private AccountImportRepository accountImportRepository;
+    private CustomerClient customerClient;
+    private AccountStatsService accountStatsService;
+    private KafkaProducerService kafkaProducerService;
+    private Cache cache;
+    private MeterRegistry meterRegistry;
+    private CopyIn copyIn;
+    private ByteArrayOutputStream copyData;
+    private AccountImportService accountImportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        accountImportRepository = mock(AccountImportRepository.class);
+        customerClient = mock(CustomerClient.class);
+        accountStatsService = mock(AccountStatsService.class);
+        kafkaProducerService = mock(KafkaProducerService.class);
+        cache = mock(Cache.class);
+        meterRegistry = new SimpleMeterRegistry();
+        copyIn = mock(CopyIn.class);
+        copyData = new ByteArrayOutputStream();
+        doAnswer(invocation -> {
+            copyData.write(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(accountImportRepository.beginStagingCopy()).thenReturn(copyIn);
+        when(customerClient.lookupCustomers(any())).thenAnswer(invocation -> {
+            CustomerLookupRequestDTO request = invocation.getArgument(0);
+            return ResponseEntity.ok(new CustomerLookupResponseDTO(200,
+                    request.customerIds().stream().map(id -> new CustomerStatusDTO(id, "active")).toList(), "Customers looked up successfully"));
+        });
+        accountImportService = newService(1000, 2);
+    }
+
+    @Test
+    void importAccounts_ShouldStageValidRowsAndRejectInvalidOnes() throws Exception {
+        // Given
+        String csv = """
+                customerId,accountType,accountStatus,balance
+                1000001,savings,active,100.50
+                1000002,checking,active,10
+
+                12ab,savings,active,10
+                1000003,salary,inactive,1e3
+                1000004,investment,active,100000000000000
+                """;
+        when(accountImportRepository.findStagedCustomerIds()).thenReturn(List.of(1000001, 1000003));
+        List<ImportedAccountDTO> imported = List.of(
+                new ImportedAccountDTO(1000001123, 1000001, "savings", "active", new BigDecimal("100.50")));
+        when(accountImportRepository.mergeStagedAccounts())
+                .thenReturn(new AccountImportRepository.MergeResult(imported, List.of(6L)));
+
+        // When
+        AccountImportResponseDTO response = accountImportService.importAccounts(stream(csv));
+
+        // Then
+        assertEquals("2,1000001,100.50,savings,active\n6,1000003,1000,salary,inactive\n", copyData.toString(StandardCharsets.UTF_8));
+        verify(accountImportRepository).createStagingTables();
+        verify(copyIn).endCopy();
+        verify(accountImportRepository).stageCustomers(List.of(new CustomerStatusDTO(1000001, "active"), new CustomerStatusDTO(1000003, "active")));
+        verify(accountImportRepository).rejectUnknownCustomers("Customer not found");
+        verify(accountImportRepository).rejectSecondSalaryAccounts(SalaryAccountAlreadyExistsException.MESSAGE);
+        verify(accountImportRepository).rejectAccountsOverLimit(AccountImportService.MAX_ACCOUNTS_PER_CUSTOMER, MaximumNumberOfAccountsReachedException.MESSAGE);
+        verify(accountStatsService).recordAdded(List.of(new AccountBalanceStatsDTO("savings", "active", 1, new BigDecimal("100.50"))));
+        verify(cache).evictQueryRegion(AccountRepository.ACCOUNTS_BY_CUSTOMER_REGION);
+        assertEquals(1.0, meterRegistry.counter("account.created", "type", "savings").count());
+        assertEquals(1, response.importedRows());
+        assertEquals(4, response.rejectedRows());
+        assertEquals(List.of(
+                new ImportRowErrorDTO(3, "accountType: Account type must be either salary, savings, or investment"),
+                new ImportRowErrorDTO(5, "customerId: Customer ID must be a 7-digit number"),
+                new ImportRowErrorDTO(6, "Account ID was taken by a concurrent write"),
+                new ImportRowErrorDTO(7, "balance: Balance must have at most 13 integer digits")
+        ), response.errors());
+    }
+
+    @Test
+    void importAccounts_ShouldReportRowsRejectedByTheStagedRules() throws Exception {
+        // Given
+        String csv = "customerId,balance,accountType,accountStatus\n1000001,0,salary,active\n";
+        when(accountImportRepository.findStagedCustomerIds()).thenReturn(List.of(1000001));
+        doAnswer(invocation -> {
+            invocation.<AccountImportRepository.RejectedRowHandler>getArgument(0).accept(2, SalaryAccountAlreadyExistsException.MESSAGE);
+            return null;
+        }).when(accountImportRepository).findRejectedRows(any());
+        when(accountImportRepository.mergeStagedAccounts()).thenReturn(new AccountImportRepository.MergeResult(List.of(), List.of()));
+
+        // When
+        AccountImportResponseDTO response = accountImportService.importAccounts(stream(csv));
+
+        // Then
+        assertEquals(0, response.importedRows());
+        assertEquals(List.of(new ImportRowErrorDTO(2, SalaryAccountAlreadyExistsException.MESSAGE)), response.errors());
+        verify(kafkaProducerService, never()).sendMessage(any(), any());
+        verify(cache, never()).evictQueryRegion(any());
+    }
+
+    @Test
+    void importAccounts_ShouldLookUpCustomersInBatches() throws Exception {
+        // Given
+        List<Integer> customerIds = IntStream.range(0, AccountImportService.CUSTOMER_LOOKUP_BATCH_SIZE + 1).mapToObj(i -> 1000000 + i).toList();
+        when(accountImportRepository.findStagedCustomerIds()).thenReturn(customerIds);
+        when(accountImportRepository.mergeStagedAccounts()).thenReturn(new AccountImportRepository.MergeResult(List.of(), List.of()));
+
+        // When
+        accountImportService.importAccounts(stream("customerId,balance,accountType,accountStatus\n"));
+
+        // Then
+        ArgumentCaptor<CustomerLookupRequestDTO> requests = ArgumentCaptor.forClass(CustomerLookupRequestDTO.class);
+        verify(customerClient, times(2)).lookupCustomers(requests.capture());
+        assertEquals(AccountImportService.CUSTOMER_LOOKUP_BATCH_SIZE, requests.getAllValues().get(0).customerIds().size());
+        assertEquals(List.of(1000000 + AccountImportService.CUSTOMER_LOOKUP_BATCH_SIZE), requests.getAllValues().get(1).customerIds());
+        verify(accountImportRepository, times(2)).stageCustomers(any());
+    }
+
+    @Test
+    void importAccounts_ShouldPublishImportedAccountsInBatches() throws Exception {
+        // Given
+        List<ImportedAccountDTO> imported = IntStream.range(0, 3)
+                .mapToObj(i -> new ImportedAccountDTO(1000001000 + i, 1000001, "savings", "active", BigDecimal.TEN))
+                .toList();
+        when(accountImportRepository.findStagedCustomerIds()).thenReturn(List.of());
+        when(accountImportRepository.mergeStagedAccounts()).thenReturn(new AccountImportRepository.MergeResult(imported, List.of()));
+
+        // When
+        AccountImportResponseDTO response = accountImportService.importAccounts(stream("customerId,balance,accountType,accountStatus\n"));
+
+        // Then
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaProducerService, times(2)).sendMessage(eq(TopicNames.ACCOUNT_IMPORT.getTopicName()), events.capture());
+        KafkaAccountsImportedDTO first = (KafkaAccountsImportedDTO) events.getAllValues().get(0);
+        KafkaAccountsImportedDTO second = (KafkaAccountsImportedDTO) events.getAllValues().get(1);
+        assertEquals(response.importId(), first.importId());
+        assertEquals(imported.subList(0, 2), first.accounts());
+        assertEquals(imported.subList(2, 3), second.accounts());
+        assertEquals(new AccountBalanceStatsDTO("savings", "active", 3, new BigDecimal("30")),
+                captureRecordedStats().get(0));
+    }
+
+    @Test
+    void importAccounts_ShouldThrowException_WhenRequiredColumnIsMissing() {
+        // Given
+        String csv = "customerId,balance,accountType\n1000001,10,savings\n";
+
+        // When & Then
+        assertThrows(InvalidAccountImportRequestException.class, () -> accountImportService.importAccounts(stream(csv)));
+        verify(accountImportRepository, never()).createStagingTables();
+    }
+
+    @Test
+    void importAccounts_ShouldThrowException_WhenFileIsEmpty() {
+        // When & Then
+        assertThrows(InvalidAccountImportRequestException.class, () -> accountImportService.importAccounts(stream("")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AccountBalanceStatsDTO> captureRecordedStats() {
+        ArgumentCaptor<List<AccountBalanceStatsDTO>> stats = ArgumentCaptor.forClass(List.class);
+        verify(accountStatsService).recordAdded(stats.capture());
+        return stats.getValue();
+    }
+
+    private AccountImportService newService(int chunkSize, int accountsPerEvent) {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        return new AccountImportService(accountImportRepository, customerClient, accountStatsService, kafkaProducerService,
+                entityManagerFactory, meterRegistry, Validation.buildDefaultValidatorFactory().getValidator(),
+                mock(PlatformTransactionManager.class), chunkSize, 1000, accountsPerEvent);
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
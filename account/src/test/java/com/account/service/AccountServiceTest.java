@@ -3,24 +3,39 @@ package com.account.service;
 import com.account.entity.Account;
 import com.account.exception.*;
 import com.account.repository.AccountRepository;
+import com.account.repository.AccountStatusRepository;
+import com.account.repository.ArchivedAccountRepository;
+import com.account.repository.CustomerAccountCount;
 import com.clients.account.dto.*;
 import com.clients.customer.CustomerClient;
 import com.clients.customer.dto.CustomerResponseDTO;
 import com.clients.customer.dto.KafkaCustomerUpdateDTO;
 import com.clients.dto.GeneralResponseDTO;
+import com.clients.kafka.ProcessedEventService;
+import com.clients.persistence.OptimisticLockRetryTemplate;
 import com.common.enums.AccountStatus;
 import com.common.enums.AccountTypes;
 import com.common.enums.CustomerStatus;
 import com.common.enums.CustomerTypes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +56,28 @@ class AccountServiceTest {
     @Mock
     private Random random;
 
+    @Mock
+    private ProcessedEventService processedEventService;
+
+    @Mock
+    private ArchivedAccountRepository archivedAccountRepository;
+
+    @Mock
+    private AccountStatsService accountStatsService;
+
+    @Mock
+    private AccountStatusRepository accountStatusRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OptimisticLockRetryTemplate optimisticLockRetryTemplate =
+            new OptimisticLockRetryTemplate(new TransactionTemplate(mock(PlatformTransactionManager.class)), 3, Duration.ZERO);
+
     @InjectMocks
     private AccountService accountService;
 
@@ -60,7 +97,7 @@ class AccountServiceTest {
                 CustomerStatus.ACTIVE.getStatus(),
                 "Customer found successfully");
         when(customerClient.getCustomer(anyInt())).thenReturn(ResponseEntity.ok(customerResponseDTO));
-        when(accountRepository.existsById(anyInt())).thenReturn(false);
+        when(accountRepository.existsByAccountIdAndCustomerId(anyInt(), anyInt())).thenReturn(false);
         when(random.nextInt(1000)).thenReturn(123); // so that the accountId is 1000000123
 
         Account savedAccount = new Account(accountId, customerId, BigDecimal.valueOf(1000), "SAVINGS", "ACTIVE");
@@ -77,6 +114,60 @@ class AccountServiceTest {
         assertEquals(AccountTypes.SALARY.getType(), responseDTO.accountType());
         assertEquals(AccountStatus.ACTIVE.getStatus(), responseDTO.accountStatus());
         verify(accountRepository, times(1)).save(any(Account.class));
+        assertEquals(1, meterRegistry.get("account.created").tag("type", AccountTypes.SALARY.getType()).counter().count());
+    }
+
+    @Test
+    void createAccount_retriesAndCountsAccountIdCollisions() {
+        int customerId = 1000000;
+        // Given
+        AccountRequestDTO requestDTO = new AccountRequestDTO(customerId, BigDecimal.valueOf(1000), AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus());
+        CustomerResponseDTO customerResponseDTO = new CustomerResponseDTO(HttpStatus.OK.value(), customerId, "John",
+                "122333",
+                CustomerTypes.CORPORATE.getType(),
+                "Jordan",
+                "0780709088",
+                "John@gmail.com",
+                1,
+                CustomerStatus.ACTIVE.getStatus(),
+                "Customer found successfully");
+        when(customerClient.getCustomer(anyInt())).thenReturn(ResponseEntity.ok(customerResponseDTO));
+        when(random.nextInt(1000)).thenReturn(123, 124);
+        when(accountRepository.existsByAccountIdAndCustomerId(1000000123, customerId)).thenReturn(true);
+        when(accountRepository.existsByAccountIdAndCustomerId(1000000124, customerId)).thenReturn(false);
+
+        // When
+        AccountResponseDTO responseDTO = accountService.createAccount(requestDTO);
+
+        // Then
+        assertEquals(1000000124, responseDTO.accountId());
+        assertEquals(1, meterRegistry.get("account.id.collisions").counter().count());
+    }
+
+    @Test
+    void createAccount_skipsAccountIdsHeldByArchivedAccounts() {
+        int customerId = 1000000;
+        // Given
+        AccountRequestDTO requestDTO = new AccountRequestDTO(customerId, BigDecimal.valueOf(1000), AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus());
+        CustomerResponseDTO customerResponseDTO = new CustomerResponseDTO(HttpStatus.OK.value(), customerId, "John",
+                "122333",
+                CustomerTypes.CORPORATE.getType(),
+                "Jordan",
+                "0780709088",
+                "John@gmail.com",
+                1,
+                CustomerStatus.ACTIVE.getStatus(),
+                "Customer found successfully");
+        when(customerClient.getCustomer(anyInt())).thenReturn(ResponseEntity.ok(customerResponseDTO));
+        when(random.nextInt(1000)).thenReturn(123, 124);
+        when(archivedAccountRepository.existsById(1000000123)).thenReturn(true);
+
+        // When
+        AccountResponseDTO responseDTO = accountService.createAccount(requestDTO);
+
+        // Then
+        assertEquals(1000000124, responseDTO.accountId());
+        assertEquals(1, meterRegistry.get("account.id.collisions").counter().count());
     }
 
     @Test
@@ -143,7 +234,7 @@ class AccountServiceTest {
         when(accountRepository.findById(anyInt())).thenReturn(Optional.of(account));
 
         // When
-        AccountResponseDTO responseDTO = accountService.getAccount(accountId);
+        AccountResponseDTO responseDTO = accountService.getAccount(accountId, false);
 
         // Then
         assertEquals(HttpStatus.OK.value(), responseDTO.httpStatus());
@@ -160,7 +251,59 @@ class AccountServiceTest {
         when(accountRepository.findById(anyInt())).thenReturn(Optional.empty());
 
         // When / Then
-        assertThrows(AccountNotFoundException.class, () -> accountService.getAccount(accountId));
+        assertThrows(AccountNotFoundException.class, () -> accountService.getAccount(accountId, false));
+        verifyNoInteractions(archivedAccountRepository);
+    }
+
+    @Test
+    void getAccount_includeArchived_returnsArchivedAccount() {
+        int accountId = 1000000123;
+        // Given
+        AccountResponseDTO archived = new AccountResponseDTO(HttpStatus.OK.value(), accountId, 1000000, BigDecimal.ZERO,
+                AccountTypes.SAVINGS.getType(), AccountStatus.CLOSED.getStatus(), "Account retrieved successfully");
+        when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
+        when(archivedAccountRepository.findAccountResponseById(accountId)).thenReturn(Optional.of(archived));
+
+        // When
+        AccountResponseDTO responseDTO = accountService.getAccount(accountId, true);
+
+        // Then
+        assertEquals(archived, responseDTO);
+    }
+
+    @Test
+    void getAccountsByCustomerId_returnsProjectedResponses() {
+        int customerId = 1000000;
+        // Given
+        AccountResponseDTO projected = new AccountResponseDTO(HttpStatus.OK.value(), 1000000123, customerId, BigDecimal.valueOf(1000),
+                AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), "Account retrieved successfully");
+        when(accountRepository.findAccountResponsesByCustomerId(customerId)).thenReturn(List.of(projected));
+
+        // When
+        List<AccountResponseDTO> responses = accountService.getAccountsByCustomerId(customerId, false);
+
+        // Then
+        assertEquals(List.of(projected), responses);
+        verify(accountRepository, never()).findByCustomerId(anyInt());
+        verifyNoInteractions(archivedAccountRepository);
+    }
+
+    @Test
+    void getAccountsByCustomerId_includeArchived_appendsArchivedAccounts() {
+        int customerId = 1000000;
+        // Given
+        AccountResponseDTO open = new AccountResponseDTO(HttpStatus.OK.value(), 1000000123, customerId, BigDecimal.valueOf(1000),
+                AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), "Account retrieved successfully");
+        AccountResponseDTO archived = new AccountResponseDTO(HttpStatus.OK.value(), 1000000456, customerId, BigDecimal.ZERO,
+                AccountTypes.SALARY.getType(), AccountStatus.CLOSED.getStatus(), "Account retrieved successfully");
+        when(accountRepository.findAccountResponsesByCustomerId(customerId)).thenReturn(List.of(open));
+        when(archivedAccountRepository.findAccountResponsesByCustomerId(customerId)).thenReturn(List.of(archived));
+
+        // When
+        List<AccountResponseDTO> responses = accountService.getAccountsByCustomerId(customerId, true);
+
+        // Then
+        assertEquals(List.of(open, archived), responses);
     }
 
     @Test
@@ -222,6 +365,29 @@ class AccountServiceTest {
         });
     }
 
+    @Test
+    void updateAccount_retriesOnOptimisticLockConflict() {
+        int customerId = 1000000;
+        int accountId = 1000000123;
+        // Given
+        AccountUpdateRequestDTO updateRequestDTO = new AccountUpdateRequestDTO(BigDecimal.valueOf(2000), null, null);
+        when(accountRepository.findById(accountId))
+                .thenReturn(Optional.of(new Account(accountId, customerId, BigDecimal.valueOf(1000), AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus())))
+                .thenReturn(Optional.of(new Account(accountId, customerId, BigDecimal.valueOf(1500), AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus())));
+        when(accountRepository.save(any(Account.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, accountId))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        AccountUpdateResponseDTO responseDTO = accountService.updateAccount(accountId, updateRequestDTO);
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), responseDTO.statusCode());
+        assertEquals(BigDecimal.valueOf(2000), responseDTO.updatedFields().get("balance"));
+        verify(accountRepository, times(2)).findById(accountId);
+        verify(accountRepository, times(2)).save(any(Account.class));
+    }
+
     @Test
     void updateAccount_salaryAccountExists_throwsSalaryAccountAlreadyExistsException() {
         int customerId = 1000000;
@@ -256,6 +422,7 @@ class AccountServiceTest {
         assertEquals(HttpStatus.OK.value(), responseDTO.statusCode());
         assertEquals("Account with id "+accountId+" deleted successfully", responseDTO.message());
         verify(accountRepository, times(1)).delete(any(Account.class));
+        verify(accountStatsService).recordDeleted("SAVINGS", "ACTIVE", BigDecimal.valueOf(1000));
     }
 
     @Test
@@ -276,12 +443,27 @@ class AccountServiceTest {
         Map<String, Object> updatedFields = new HashMap<>();
         updatedFields.put("customerStatus", CustomerStatus.INACTIVE.getStatus());
         KafkaCustomerUpdateDTO kafkaCustomerUpdateDTO = new KafkaCustomerUpdateDTO(customerId, updatedFields);
+        List<AccountBalanceStatsDTO> accounts = List.of(new AccountBalanceStatsDTO(
+                AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), 2, new BigDecimal("150.00")));
+        when(processedEventService.markProcessed(kafkaCustomerUpdateDTO.eventId())).thenReturn(true);
+        when(accountRepository.summarizeBalancesByCustomerId(customerId)).thenReturn(accounts);
+        when(accountStatusRepository.updateAccountStatusByCustomerId(customerId, AccountStatus.INACTIVE.getStatus()))
+                .thenReturn(List.of(1000000123, 1000000456));
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
 
         // When
         accountService.handleUpdateCustomerEvent(kafkaCustomerUpdateDTO);
 
         // Then
-        verify(accountRepository).updateAccountStatusByCustomerId(customerId, AccountStatus.INACTIVE.getStatus());
+        verify(accountStatsService).recordStatusChanged(accounts, AccountStatus.INACTIVE.getStatus());
+        // only the customer's accounts are evicted, not the whole Account region
+        verify(cache).evict(Account.class, 1000000123);
+        verify(cache).evict(Account.class, 1000000456);
+        verify(cache).evictQueryRegion(AccountRepository.ACCOUNTS_BY_CUSTOMER_REGION);
+        verifyNoMoreInteractions(cache);
     }
 
     @Test
@@ -291,12 +473,14 @@ class AccountServiceTest {
         Map<String, Object> updatedFields = new HashMap<>();
         updatedFields.put("customerStatus", CustomerStatus.ACTIVE.getStatus());
         KafkaCustomerUpdateDTO kafkaCustomerUpdateDTO = new KafkaCustomerUpdateDTO(customerId, updatedFields);
+        when(processedEventService.markProcessed(kafkaCustomerUpdateDTO.eventId())).thenReturn(true);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(mock(SessionFactory.class, RETURNS_MOCKS));
 
         // When
         accountService.handleUpdateCustomerEvent(kafkaCustomerUpdateDTO);
 
         // Then
-        verify(accountRepository).updateAccountStatusByCustomerId(customerId, AccountStatus.ACTIVE.getStatus());
+        verify(accountStatusRepository).updateAccountStatusByCustomerId(customerId, AccountStatus.ACTIVE.getStatus());
     }
 
     @Test
@@ -311,6 +495,51 @@ class AccountServiceTest {
         accountService.handleUpdateCustomerEvent(kafkaCustomerUpdateDTO);
 
         // Then
-        verify(accountRepository, never()).updateAccountStatusByCustomerId(anyInt(), anyString());
+        verify(accountStatusRepository, never()).updateAccountStatusByCustomerId(anyInt(), anyString());
+    }
+
+    @Test
+    void testHandleUpdateCustomerEvent_DoNothing_WhenEventWasAlreadyProcessed() {
+        // Given
+        int customerId = 1000000;
+        Map<String, Object> updatedFields = new HashMap<>();
+        updatedFields.put("customerStatus", CustomerStatus.INACTIVE.getStatus());
+        KafkaCustomerUpdateDTO kafkaCustomerUpdateDTO = new KafkaCustomerUpdateDTO(customerId, updatedFields);
+        when(processedEventService.markProcessed(kafkaCustomerUpdateDTO.eventId())).thenReturn(false);
+
+        // When
+        accountService.handleUpdateCustomerEvent(kafkaCustomerUpdateDTO);
+
+        // Then
+        verify(accountStatusRepository, never()).updateAccountStatusByCustomerId(anyInt(), anyString());
+    }
+
+    @Test
+    void countAccounts_fillsInCustomersWithoutAccounts_inRequestOrder() {
+        // Given
+        when(accountRepository.countAccountsByCustomerIds(List.of(1000002, 1000000, 1000001)))
+                .thenReturn(List.of(accountCount(1000000, 2), accountCount(1000002, 1)));
+
+        // When
+        AccountCountResponseDTO responseDTO = accountService.countAccounts(List.of(1000002, 1000000, 1000001));
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), responseDTO.httpStatus());
+        assertEquals(List.of(new CustomerAccountCountDTO(1000002, 1), new CustomerAccountCountDTO(1000000, 2),
+                new CustomerAccountCountDTO(1000001, 0)), responseDTO.counts());
+    }
+
+    private static CustomerAccountCount accountCount(int customerId, long numberOfAccounts) {
+        return new CustomerAccountCount() {
+            @Override
+            public int getCustomerId() {
+                return customerId;
+            }
+
+            @Override
+            public long getNumberOfAccounts() {
+                return numberOfAccounts;
+            }
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package com.account.service;
+
+import com.account.repository.AccountRepository;
+import com.clients.account.dto.AccountBalanceStatsDTO;
+import com.clients.account.dto.AccountStatsResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AccountStatsServiceTest {
+
+    private AccountRepository accountRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private AccountStatsService accountStatsService;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(accountRepository.summarizeBalances()).thenReturn(List.of(
+                new AccountBalanceStatsDTO("savings", "active", 2, new BigDecimal("1500.50")),
+                new AccountBalanceStatsDTO("salary", "active", 1, new BigDecimal("200.00"))));
+        accountStatsService = new AccountStatsService(accountRepository, meterRegistry);
+        accountStatsService.seed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getStats_ShouldServeSeededTotalsOrderedByTypeAndStatus() {
+        // When
+        AccountStatsResponseDTO stats = accountStatsService.getStats();
+
+        // Then
+        assertEquals(List.of(
+                new AccountBalanceStatsDTO("salary", "active", 1, new BigDecimal("200.00")),
+                new AccountBalanceStatsDTO("savings", "active", 2, new BigDecimal("1500.50"))), stats.stats());
+        assertEquals(3, stats.totalAccounts());
+        assertEquals(new BigDecimal("1700.50"), stats.totalBalance());
+        assertNotNull(stats.reconciledAt());
+    }
+
+    @Test
+    void recordChanges_ShouldMoveTotalsBetweenBuckets() {
+        // When
+        accountStatsService.recordCreated("savings", "active", new BigDecimal("99.5"));
+        accountStatsService.recordUpdated("salary", "active", new BigDecimal("200.00"), "salary", "inactive", new BigDecimal("250.00"));
+        accountStatsService.recordStatusChanged(List.of(new AccountBalanceStatsDTO("savings", "active", 3, new BigDecimal("1600.00"))), "inactive");
+
+        // Then
+        assertEquals(List.of(
+                new AccountBalanceStatsDTO("salary", "inactive", 1, new BigDecimal("250.00")),
+                new AccountBalanceStatsDTO("savings", "inactive", 3, new BigDecimal("1600.00"))), accountStatsService.getStats().stats());
+    }
+
+    @Test
+    void recordCreated_ShouldWaitForCommit_WhenTransactionIsActive() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        accountStatsService.recordCreated("savings", "active", BigDecimal.TEN);
+
+        // Then
+        assertEquals(3, accountStatsService.getStats().totalAccounts());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(4, accountStatsService.getStats().totalAccounts());
+    }
+
+    @Test
+    void reconcile_ShouldReplaceDriftedTotals() {
+        // Given
+        accountStatsService.recordDeleted("savings", "active", new BigDecimal("500.00"));
+        when(accountRepository.summarizeBalances()).thenReturn(List.of(
+                new AccountBalanceStatsDTO("savings", "active", 2, new BigDecimal("1500.50"))));
+
+        // When
+        accountStatsService.reconcile();
+
+        // Then
+        assertEquals(List.of(new AccountBalanceStatsDTO("savings", "active", 2, new BigDecimal("1500.50"))),
+                accountStatsService.getStats().stats());
+        assertEquals(1, meterRegistry.get("account.stats.drift").counter().count());
+    }
+}
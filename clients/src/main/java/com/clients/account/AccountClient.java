@@ -1,14 +1,18 @@
 package com.clients.account;
 
+import com.clients.account.dto.AccountCountRequestDTO;
+import com.clients.account.dto.AccountCountResponseDTO;
 import com.clients.account.dto.AccountResponseDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
-@FeignClient(name = "account")
+@FeignClient(name = "account", fallbackFactory = AccountClientFallbackFactory.class)
 public interface AccountClient {
 
     @GetMapping("api/v1/accounts/{accountId}")
@@ -16,4 +20,7 @@ public interface AccountClient {
 
     @GetMapping("api/v1/accounts")
     ResponseEntity<List<AccountResponseDTO>> getAllAccounts();
+
+    @PostMapping("api/v1/accounts/counts")
+    ResponseEntity<AccountCountResponseDTO> countAccounts(@RequestBody AccountCountRequestDTO accountCountRequestDTO);
 }
@@ -0,0 +1,43 @@
+package com.clients.account;
+
+import com.clients.account.dto.AccountCountRequestDTO;
+import com.clients.account.dto.AccountCountResponseDTO;
+import com.clients.account.dto.AccountResponseDTO;
+import com.clients.exception.DownstreamServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Fast-fail fallback for {@link AccountClient}, used when the circuit is open, the bulkhead is full
+ * or the call fails.
+ */
+@Slf4j
+public class AccountClientFallbackFactory implements FallbackFactory<AccountClient> {
+
+    @Override
+    public AccountClient create(Throwable cause) {
+        return new AccountClient() {
+            @Override
+            public ResponseEntity<AccountResponseDTO> getAccount(int accountId) {
+                log.debug("Account service call for account {} failed fast: {}", accountId, cause.toString());
+                throw DownstreamServiceUnavailableException.fromFallback("account", cause);
+            }
+
+            @Override
+            public ResponseEntity<List<AccountResponseDTO>> getAllAccounts() {
+                log.debug("Account service call for all accounts failed fast: {}", cause.toString());
+                throw DownstreamServiceUnavailableException.fromFallback("account", cause);
+            }
+
+            @Override
+            public ResponseEntity<AccountCountResponseDTO> countAccounts(AccountCountRequestDTO accountCountRequestDTO) {
+                log.debug("Account service call counting accounts of {} customers failed fast: {}",
+                        accountCountRequestDTO.customerIds().size(), cause.toString());
+                throw DownstreamServiceUnavailableException.fromFallback("account", cause);
+            }
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.clients.account.dto;
+
+import java.math.BigDecimal;
+
+public record AccountBalanceStatsDTO(
+        String accountType,
+        String accountStatus,
+        long accounts,
+        BigDecimal totalBalance
+) {
+}
@@ -0,0 +1,10 @@
+package com.clients.account.dto;
+
+import java.util.List;
+
+public record AccountCountResponseDTO(
+        int httpStatus,
+        List<CustomerAccountCountDTO> counts,  // one per requested customer, in request order, 0 for customers without accounts
+        String message
+) {
+}
@@ -0,0 +1,9 @@
+package com.clients.account.dto;
+
+public record AccountExportResponseDTO(
+        int statusCode,
+        String file,
+        long rows,
+        String message
+) {
+}
@@ -0,0 +1,20 @@
+package com.clients.account.dto;
+
+import com.clients.dto.ImportRowErrorDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk account import. {@code errors} lists the rejected rows by line number, capped at the configured
+ * maximum; {@code rejectedRows} counts all of them.
+ */
+public record AccountImportResponseDTO(
+        int httpStatus,
+        UUID importId,
+        int importedRows,
+        int rejectedRows,
+        List<ImportRowErrorDTO> errors,
+        String message
+) {
+}
@@ -0,0 +1,15 @@
+package com.clients.account.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public record AccountStatsResponseDTO(
+        int httpStatus,
+        List<AccountBalanceStatsDTO> stats,
+        long totalAccounts,
+        BigDecimal totalBalance,
+        Instant reconciledAt,  // when the totals were last checked against the database, null until first seeded
+        String message
+) {
+}
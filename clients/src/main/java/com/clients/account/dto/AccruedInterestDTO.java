@@ -0,0 +1,14 @@
+package com.clients.account.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Interest added to one account by the nightly accrual, with the account's balance after it.
+ */
+public record AccruedInterestDTO(
+        int accountId,
+        int customerId,
+        BigDecimal interest,
+        BigDecimal balance
+) {
+}
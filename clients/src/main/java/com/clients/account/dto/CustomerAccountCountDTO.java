@@ -0,0 +1,7 @@
+package com.clients.account.dto;
+
+public record CustomerAccountCountDTO(
+        int customerId,
+        long numberOfAccounts
+) {
+}
@@ -0,0 +1,12 @@
+package com.clients.account.dto;
+
+import java.math.BigDecimal;
+
+public record ImportedAccountDTO(
+        int accountId,
+        int customerId,
+        String accountType,
+        String accountStatus,
+        BigDecimal balance
+) {
+}
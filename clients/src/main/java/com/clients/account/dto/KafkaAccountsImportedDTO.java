@@ -0,0 +1,31 @@
+package com.clients.account.dto;
+
+import com.clients.dto.KafkaEventDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published for a bulk import instead of one account.new per row. A large import is split over several events of the
+ * same {@code importId}, each listing the accounts it created.
+ */
+public record KafkaAccountsImportedDTO(
+        UUID importId,
+        List<ImportedAccountDTO> accounts,
+        UUID eventId
+) implements KafkaEventDTO {
+    public KafkaAccountsImportedDTO(UUID importId, List<ImportedAccountDTO> accounts) {
+        this(importId, accounts, UUID.randomUUID());
+    }
+
+    /**
+     * The accounts as the account.new events they stand in for. These share the event id of this event, as they are
+     * applied together with it.
+     */
+    public List<KafkaNewAccountDTO> toNewAccountEvents() {
+        return accounts.stream()
+                .map(account -> new KafkaNewAccountDTO(account.accountId(), account.customerId(), account.accountType(),
+                        account.accountStatus(), account.balance(), eventId))
+                .toList();
+    }
+}
@@ -1,7 +1,15 @@
 package com.clients.account.dto;
 
+import com.clients.dto.KafkaEventDTO;
+
+import java.util.UUID;
+
 public record KafkaDeleteAccountDTO (
         int accountId,
-        int customerId
-){
+        int customerId,
+        UUID eventId
+) implements KafkaEventDTO {
+    public KafkaDeleteAccountDTO(int accountId, int customerId) {
+        this(accountId, customerId, UUID.randomUUID());
+    }
 }
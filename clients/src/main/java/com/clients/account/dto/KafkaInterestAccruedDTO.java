@@ -0,0 +1,41 @@
+package com.clients.account.dto;
+
+import com.clients.dto.KafkaEventDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Published for the accounts of an accrued chunk of the nightly interest accrual instead of one account.update per
+ * account. A dense chunk is split over several events, each covering the accounts with ids between
+ * {@code firstAccountId} and {@code lastAccountId} and listing the interest and new balance of every one of them.
+ */
+public record KafkaInterestAccruedDTO(
+        LocalDate accrualDate,
+        int firstAccountId,
+        int lastAccountId,
+        int accounts,
+        BigDecimal totalInterest,
+        UUID eventId,
+        List<AccruedInterestDTO> accruals
+) implements KafkaEventDTO {
+    public KafkaInterestAccruedDTO(LocalDate accrualDate, List<AccruedInterestDTO> accruals) {
+        this(accrualDate, accruals.get(0).accountId(), accruals.get(accruals.size() - 1).accountId(), accruals.size(),
+                accruals.stream().map(AccruedInterestDTO::interest).reduce(BigDecimal.ZERO, BigDecimal::add),
+                UUID.randomUUID(), accruals);
+    }
+
+    /**
+     * The accruals as the account.update events of the new balances they stand in for. These share the event id of
+     * this event, as they are applied together with it.
+     */
+    public List<KafkaUpdateAccountDTO> toUpdateAccountEvents() {
+        return accruals.stream()
+                .map(accrual -> new KafkaUpdateAccountDTO(accrual.accountId(), accrual.customerId(),
+                        Map.of("balance", accrual.balance()), eventId))
+                .toList();
+    }
+}
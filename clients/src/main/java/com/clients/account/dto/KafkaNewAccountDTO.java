@@ -1,9 +1,19 @@
 package com.clients.account.dto;
 
+import com.clients.dto.KafkaEventDTO;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
 public record KafkaNewAccountDTO(
         int accountId,
         int customerId,
         String accountType,
-        String accountStatus
-) {
+        String accountStatus,
+        BigDecimal balance,
+        UUID eventId
+) implements KafkaEventDTO {
+    public KafkaNewAccountDTO(int accountId, int customerId, String accountType, String accountStatus, BigDecimal balance) {
+        this(accountId, customerId, accountType, accountStatus, balance, UUID.randomUUID());
+    }
 }
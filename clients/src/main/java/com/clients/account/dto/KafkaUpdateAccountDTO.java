@@ -1,10 +1,17 @@
 package com.clients.account.dto;
 
+import com.clients.dto.KafkaEventDTO;
+
 import java.util.Map;
+import java.util.UUID;
 
 public record KafkaUpdateAccountDTO (
         int accountId,
         int customerId,
-        Map<String, Object> updatedFields
-){
+        Map<String, Object> updatedFields,
+        UUID eventId
+) implements KafkaEventDTO {
+    public KafkaUpdateAccountDTO(int accountId, int customerId, Map<String, Object> updatedFields) {
+        this(accountId, customerId, updatedFields, UUID.randomUUID());
+    }
 }
@@ -1,18 +1,25 @@
 package com.clients.customer;
 
+import com.clients.customer.dto.CustomerLookupRequestDTO;
+import com.clients.customer.dto.CustomerLookupResponseDTO;
 import com.clients.customer.dto.CustomerResponseDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
-@FeignClient(name = "customer")
+@FeignClient(name = "customer", fallbackFactory = CustomerClientFallbackFactory.class)
 public interface CustomerClient {
     @GetMapping("api/v1/customers/{customerId}")
     ResponseEntity<CustomerResponseDTO> getCustomer(@PathVariable("customerId") int customerId);
 
     @GetMapping("api/v1/customers/")
     ResponseEntity<List<CustomerResponseDTO>> getAllCustomers();
+
+    @PostMapping("api/v1/customers/lookup")
+    ResponseEntity<CustomerLookupResponseDTO> lookupCustomers(@RequestBody CustomerLookupRequestDTO customerLookupRequestDTO);
 }
\ No newline at end of file
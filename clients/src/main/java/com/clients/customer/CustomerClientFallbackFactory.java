@@ -0,0 +1,43 @@
+package com.clients.customer;
+
+import com.clients.customer.dto.CustomerLookupRequestDTO;
+import com.clients.customer.dto.CustomerLookupResponseDTO;
+import com.clients.customer.dto.CustomerResponseDTO;
+import com.clients.exception.DownstreamServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Fast-fail fallback for {@link CustomerClient}, used when the circuit is open, the bulkhead is full
+ * or the call fails.
+ */
+@Slf4j
+public class CustomerClientFallbackFactory implements FallbackFactory<CustomerClient> {
+
+    @Override
+    public CustomerClient create(Throwable cause) {
+        return new CustomerClient() {
+            @Override
+            public ResponseEntity<CustomerResponseDTO> getCustomer(int customerId) {
+                log.debug("Customer service call for customer {} failed fast: {}", customerId, cause.toString());
+                throw DownstreamServiceUnavailableException.fromFallback("customer", cause);
+            }
+
+            @Override
+            public ResponseEntity<List<CustomerResponseDTO>> getAllCustomers() {
+                log.debug("Customer service call for all customers failed fast: {}", cause.toString());
+                throw DownstreamServiceUnavailableException.fromFallback("customer", cause);
+            }
+
+            @Override
+            public ResponseEntity<CustomerLookupResponseDTO> lookupCustomers(CustomerLookupRequestDTO customerLookupRequestDTO) {
+                log.debug("Customer service lookup of {} customers failed fast: {}", customerLookupRequestDTO.customerIds().size(),
+                        cause.toString());
+                throw DownstreamServiceUnavailableException.fromFallback("customer", cause);
+            }
+        };
+    }
+}
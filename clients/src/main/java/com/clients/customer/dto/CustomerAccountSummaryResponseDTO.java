@@ -0,0 +1,13 @@
+package com.clients.customer.dto;
+
+import java.util.Map;
+
+public record CustomerAccountSummaryResponseDTO(
+        int httpStatus,
+        int customerId,
+        int numberOfAccounts,
+        Map<String, Integer> accountsByType,
+        boolean hasSalaryAccount,
+        String message
+) {
+}
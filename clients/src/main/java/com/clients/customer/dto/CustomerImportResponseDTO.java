@@ -0,0 +1,23 @@
+package com.clients.customer.dto;
+
+import com.clients.dto.ImportRowErrorDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk customer import. {@code errors} lists the rejected rows by line number, capped at the configured
+ * maximum; {@code rejectedRows} counts all of them. {@code firstCustomerId} and {@code lastCustomerId} bound the ids
+ * given to the imported customers, a range with gaps rather than {@code importedRows} consecutive ids.
+ */
+public record CustomerImportResponseDTO(
+        int httpStatus,
+        UUID importId,
+        int importedRows,
+        int rejectedRows,
+        Integer firstCustomerId,
+        Integer lastCustomerId,
+        List<ImportRowErrorDTO> errors,
+        String message
+) {
+}
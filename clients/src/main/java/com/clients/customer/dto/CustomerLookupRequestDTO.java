@@ -0,0 +1,14 @@
+package com.clients.customer.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CustomerLookupRequestDTO(
+        @NotEmpty(message = "Customer IDs cannot be empty")
+        @Size(max = 1000, message = "At most 1000 customers can be looked up at once")
+        List<@NotNull(message = "Customer ID cannot be null") Integer> customerIds
+) {
+}
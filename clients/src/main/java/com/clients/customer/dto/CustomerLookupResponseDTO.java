@@ -0,0 +1,10 @@
+package com.clients.customer.dto;
+
+import java.util.List;
+
+public record CustomerLookupResponseDTO(
+        int httpStatus,
+        List<CustomerStatusDTO> customers,  // the requested customers that exist, in customer id order
+        String message
+) {
+}
@@ -0,0 +1,14 @@
+package com.clients.customer.dto;
+
+import java.util.List;
+
+public record CustomerPortfolioResponseDTO(
+        int httpStatus,
+        int customerId,
+        String name,
+        String type,
+        String customerStatus,
+        List<PortfolioAccountDTO> accounts,
+        String message
+) {
+}
@@ -0,0 +1,17 @@
+package com.clients.customer.dto;
+
+import java.util.List;
+
+/**
+ * A page of customer search results. {@code nextCursor} is an opaque string passed back as {@code after} to fetch the
+ * next page and is {@code null} on the last page. {@code truncated} is set when a name search matched more customers
+ * than it ranks, so the pages end before the last match and a more specific query is needed to reach the rest.
+ */
+public record CustomerSearchResponseDTO(
+        int httpStatus,
+        List<CustomerResponseDTO> customers,
+        String nextCursor,
+        boolean truncated,
+        String message
+) {
+}
@@ -0,0 +1,7 @@
+package com.clients.customer.dto;
+
+public record CustomerStatusDTO(
+        int customerId,
+        String customerStatus
+) {
+}
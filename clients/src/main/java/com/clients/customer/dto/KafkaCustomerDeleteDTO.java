@@ -1,6 +1,14 @@
 package com.clients.customer.dto;
 
+import com.clients.dto.KafkaEventDTO;
+
+import java.util.UUID;
+
 public record KafkaCustomerDeleteDTO(
-        Integer customerId
-) {
+        Integer customerId,
+        UUID eventId
+) implements KafkaEventDTO {
+    public KafkaCustomerDeleteDTO(Integer customerId) {
+        this(customerId, UUID.randomUUID());
+    }
 }
@@ -1,9 +1,16 @@
 package com.clients.customer.dto;
 
+import com.clients.dto.KafkaEventDTO;
+
 import java.util.Map;
+import java.util.UUID;
 
 public record KafkaCustomerUpdateDTO(
         Integer customerId,
-        Map<String, Object> updatedFields
-) {
+        Map<String, Object> updatedFields,
+        UUID eventId
+) implements KafkaEventDTO {
+    public KafkaCustomerUpdateDTO(Integer customerId, Map<String, Object> updatedFields) {
+        this(customerId, updatedFields, UUID.randomUUID());
+    }
 }
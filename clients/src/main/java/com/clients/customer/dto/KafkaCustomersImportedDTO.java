@@ -0,0 +1,23 @@
+package com.clients.customer.dto;
+
+import com.clients.dto.KafkaEventDTO;
+
+import java.util.UUID;
+
+/**
+ * Published once per bulk import instead of one customer.new per row. {@code firstCustomerId} and
+ * {@code lastCustomerId} bound the ids of the imported customers but do not list them: the range has gaps, as rows
+ * skipped for a taken legal ID or email still draw a value from the customer id sequence, and customers created
+ * concurrently may fall inside it. Both are {@code null} when nothing was imported.
+ */
+public record KafkaCustomersImportedDTO(
+        UUID importId,
+        int importedCustomers,
+        Integer firstCustomerId,
+        Integer lastCustomerId,
+        UUID eventId
+) implements KafkaEventDTO {
+    public KafkaCustomersImportedDTO(UUID importId, int importedCustomers, Integer firstCustomerId, Integer lastCustomerId) {
+        this(importId, importedCustomers, firstCustomerId, lastCustomerId, UUID.randomUUID());
+    }
+}
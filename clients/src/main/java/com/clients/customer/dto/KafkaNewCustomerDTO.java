@@ -1,5 +1,9 @@
 package com.clients.customer.dto;
 
+import com.clients.dto.KafkaEventDTO;
+
+import java.util.UUID;
+
 public record KafkaNewCustomerDTO (
         int customerId,
         String name,
@@ -9,6 +13,11 @@ public record KafkaNewCustomerDTO (
         String phoneNumber,
         String email,
         int numberOfAccounts,
-        String customerStatus
-        ){
+        String customerStatus,
+        UUID eventId
+        ) implements KafkaEventDTO {
+    public KafkaNewCustomerDTO(int customerId, String name, String legalId, String type, String address,
+                               String phoneNumber, String email, int numberOfAccounts, String customerStatus) {
+        this(customerId, name, legalId, type, address, phoneNumber, email, numberOfAccounts, customerStatus, UUID.randomUUID());
+    }
 }
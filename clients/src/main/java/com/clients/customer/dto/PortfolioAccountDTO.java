@@ -0,0 +1,11 @@
+package com.clients.customer.dto;
+
+import java.math.BigDecimal;
+
+public record PortfolioAccountDTO(
+        int accountId,
+        String accountType,
+        String accountStatus,
+        BigDecimal balance
+) {
+}
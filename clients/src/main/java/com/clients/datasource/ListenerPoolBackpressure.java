@@ -0,0 +1,76 @@
+package com.clients.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pauses every Kafka listener container while threads are queueing for a connection of the listener pool, and
+ * resumes them once the pool has a free connection again. Paused containers keep their partitions and stop polling,
+ * so a consumer backlog waits in Kafka rather than in {@code getConnection}.
+ */
+@Slf4j
+public class ListenerPoolBackpressure implements SmartLifecycle {
+
+    private final HikariDataSource listenerPool;
+    private final ObjectProvider<KafkaListenerEndpointRegistry> registry;
+    private final Duration checkInterval;
+    private ScheduledExecutorService checker;
+    private volatile boolean paused;
+
+    public ListenerPoolBackpressure(HikariDataSource listenerPool, ObjectProvider<KafkaListenerEndpointRegistry> registry,
+                                    Duration checkInterval) {
+        this.listenerPool = listenerPool;
+        this.registry = registry;
+        this.checkInterval = checkInterval;
+    }
+
+    @Override
+    public void start() {
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "listener-pool-backpressure");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::check, checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        checker.shutdownNow();
+        checker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return checker != null;
+    }
+
+    void check() {
+        HikariPoolMXBean pool = listenerPool.getHikariPoolMXBean();
+        KafkaListenerEndpointRegistry endpointRegistry = registry.getIfAvailable();
+        if (pool == null || endpointRegistry == null) {
+            return;
+        }
+        boolean saturated = pool.getThreadsAwaitingConnection() > 0;
+        if (saturated && !paused) {
+            log.warn("Listener connection pool saturated ({} active, {} waiting), pausing Kafka listeners",
+                    pool.getActiveConnections(), pool.getThreadsAwaitingConnection());
+            endpointRegistry.getAllListenerContainers().forEach(MessageListenerContainer::pause);
+            paused = true;
+        } else if (!saturated && paused && pool.getActiveConnections() < listenerPool.getMaximumPoolSize()) {
+            log.info("Listener connection pool has free connections again, resuming Kafka listeners");
+            endpointRegistry.getAllListenerContainers().forEach(MessageListenerContainer::resume);
+            paused = false;
+        }
+    }
+}
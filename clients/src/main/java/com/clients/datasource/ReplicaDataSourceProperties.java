@@ -0,0 +1,55 @@
+package com.clients.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica settings. When enabled, connections of read-only transactions are taken from the replicas and all
+ * other connections from the primary {@code spring.datasource}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "clients.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replicas at all.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replicas lagging further behind the primary than this are skipped until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often replica availability and lag are checked.
+     */
+    private Duration checkInterval = Duration.ofSeconds(5);
+
+    /**
+     * Query returning the replication lag of a replica in milliseconds. The default reports zero for a replica that
+     * has replayed everything it received, so an idle primary does not look like lag.
+     */
+    private String lagQuery = "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    /**
+     * Replica connection settings. Username and password default to the primary's.
+     */
+    private List<Instance> instances = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Instance {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
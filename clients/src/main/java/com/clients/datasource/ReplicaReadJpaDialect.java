@@ -0,0 +1,64 @@
+package com.clients.datasource;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.ConnectionHandle;
+import org.springframework.orm.jpa.JpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps entities read on a replica out of the second-level cache. A replica may lag the primary by up to the lag
+ * tolerance, and a row evicted after a write would otherwise be reloaded from a replica that has not seen the write
+ * yet and cached stale for the whole cache TTL. Read-only transactions still read from the cache; only their puts are
+ * skipped, so the cache is filled by read-write transactions, which run on the primary.
+ */
+class ReplicaReadJpaDialect implements JpaDialect {
+
+    static final String CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    private final JpaDialect delegate;
+
+    ReplicaReadJpaDialect(JpaDialect delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = delegate.beginTransaction(entityManager, definition);
+        if (definition.isReadOnly()) {
+            entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        }
+        return transactionData;
+    }
+
+    @Override
+    public Object prepareTransaction(EntityManager entityManager, boolean readOnly, String name) throws PersistenceException {
+        return delegate.prepareTransaction(entityManager, readOnly, name);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        delegate.cleanupTransaction(transactionData);
+    }
+
+    @Override
+    public ConnectionHandle getJdbcConnection(EntityManager entityManager, boolean readOnly) throws PersistenceException, SQLException {
+        return delegate.getJdbcConnection(entityManager, readOnly);
+    }
+
+    @Override
+    public void releaseJdbcConnection(ConnectionHandle conHandle, EntityManager entityManager) throws PersistenceException, SQLException {
+        delegate.releaseJdbcConnection(conHandle, entityManager);
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return delegate.translateExceptionIfPossible(ex);
+    }
+}
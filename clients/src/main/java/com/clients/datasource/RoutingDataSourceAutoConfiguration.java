@@ -0,0 +1,198 @@
+package com.clients.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single {@code spring.datasource} pool when read replicas or per workload pools are enabled.
+ * <p>
+ * With replicas, transactions marked {@code @Transactional(readOnly = true)} run on a replica and everything else
+ * (including Flyway and the Kafka event handlers) on the primary. The routing decision is taken lazily when the
+ * first statement runs, after the transaction manager has flagged the connection as read-only. Entities those
+ * transactions load are not put into the second-level cache, see {@link ReplicaReadJpaDialect}.
+ * <p>
+ * With workloads, the primary is split into a web, a listener and a batch pool. Kafka listener threads and scheduled
+ * job threads are marked as such when they start; every other thread uses the web pool.
+ */
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnClass(HikariDataSource.class)
+@Conditional(RoutingDataSourceAutoConfiguration.OnRoutingEnabled.class)
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaDataSourceProperties.class, WorkloadDataSourceProperties.class})
+public class RoutingDataSourceAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public DataSource primaryDataSource(DataSourceProperties dataSourceProperties,
+                                           WorkloadDataSourceProperties workloadProperties,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        if (!workloadProperties.isEnabled()) {
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            dataSource.setPoolName("primary");
+            return dataSource;
+        }
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            WorkloadDataSourceProperties.Pool poolProperties = workloadProperties.pool(workload);
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            pool.setPoolName(workload.name().toLowerCase());
+            pool.setMaximumPoolSize(poolProperties.getMaximumPoolSize());
+            pool.setConnectionTimeout(poolProperties.getConnectionTimeout().toMillis());
+            registerMetrics(pool, meterRegistry);
+            pools.put(workload, pool);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "clients.datasource.replicas", name = "enabled", havingValue = "true")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                             DataSourceProperties dataSourceProperties,
+                                                             ReplicaDataSourceProperties replicaProperties,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaDataSourceProperties.Instance> instances = replicaProperties.getInstances();
+        for (int i = 0; i < instances.size(); i++) {
+            ReplicaDataSourceProperties.Instance instance = instances.get(i);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(instance.getUrl());
+            replica.setUsername(StringUtils.hasText(instance.getUsername()) ? instance.getUsername() : dataSourceProperties.determineUsername());
+            replica.setPassword(StringUtils.hasText(instance.getPassword()) ? instance.getPassword() : dataSourceProperties.determinePassword());
+            replica.setMaximumPoolSize(instance.getMaximumPoolSize());
+            // an unreachable replica must not stop the service from starting; the lag check keeps it disabled
+            replica.setInitializationFailTimeout(-1);
+            replica.setReadOnly(true);
+            registerMetrics(replica, meterRegistry);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                replicaProperties.getLagQuery(), replicaProperties.getMaxLag());
+        routingDataSource.start(replicaProperties.getCheckInterval());
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        replicaRoutingDataSource.ifAvailable(dataSource::setReadOnlyDataSource);
+        return dataSource;
+    }
+
+    private static void registerMetrics(HikariDataSource pool, ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(JpaTransactionManager.class)
+    @ConditionalOnProperty(prefix = "clients.datasource.replicas", name = "enabled", havingValue = "true")
+    static class ReplicaReadCacheConfiguration {
+
+        /**
+         * Wraps the dialect after the transaction manager has taken it from the entity manager factory.
+         */
+        @Bean
+        static BeanPostProcessor replicaReadJpaDialectPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof JpaTransactionManager transactionManager
+                            && !(transactionManager.getJpaDialect() instanceof ReplicaReadJpaDialect)) {
+                        transactionManager.setJpaDialect(new ReplicaReadJpaDialect(transactionManager.getJpaDialect()));
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "clients.datasource.workloads", name = "enabled", havingValue = "true")
+    static class WorkloadThreadConfiguration {
+
+        @Bean
+        public ThreadPoolTaskSchedulerCustomizer batchWorkloadTaskSchedulerCustomizer() {
+            return scheduler -> {
+                CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(scheduler.getThreadNamePrefix());
+                scheduler.setThreadFactory(runnable -> threadFactory.newThread(() -> WorkloadContext.runAs(Workload.BATCH, runnable)));
+            };
+        }
+
+        @Bean
+        @ConditionalOnClass(KafkaListenerEndpointRegistry.class)
+        public RecordInterceptor<Object, Object> listenerWorkloadRecordInterceptor() {
+            return new RecordInterceptor<>() {
+                @Override
+                public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+                    return record;
+                }
+
+                @Override
+                public void setupThreadState(Consumer<?, ?> consumer) {
+                    WorkloadContext.set(Workload.LISTENER);
+                }
+
+                @Override
+                public void clearThreadState(Consumer<?, ?> consumer) {
+                    WorkloadContext.clear();
+                }
+            };
+        }
+
+        @Bean
+        @ConditionalOnClass(KafkaListenerEndpointRegistry.class)
+        @ConditionalOnProperty(prefix = "clients.datasource.workloads", name = "pause-listeners-when-saturated",
+                havingValue = "true", matchIfMissing = true)
+        public ListenerPoolBackpressure listenerPoolBackpressure(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                                 ObjectProvider<KafkaListenerEndpointRegistry> registry,
+                                                                 WorkloadDataSourceProperties workloadProperties) {
+            HikariDataSource listenerPool = ((WorkloadRoutingDataSource) primaryDataSource).pool(Workload.LISTENER);
+            return new ListenerPoolBackpressure(listenerPool, registry, workloadProperties.getSaturationCheckInterval());
+        }
+    }
+
+    static class OnRoutingEnabled extends AnyNestedCondition {
+
+        OnRoutingEnabled() {
+            super(ConfigurationPhase.PARSE_CONFIGURATION);
+        }
+
+        @ConditionalOnProperty(prefix = "clients.datasource.replicas", name = "enabled", havingValue = "true")
+        static class ReplicasEnabled {
+        }
+
+        @ConditionalOnProperty(prefix = "clients.datasource.workloads", name = "enabled", havingValue = "true")
+        static class WorkloadsEnabled {
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.clients.datasource;
+
+/**
+ * The kinds of work that get their own connection pool, so one cannot starve the others of connections.
+ */
+public enum Workload {
+    /**
+     * HTTP request threads; also the default for any thread that is not marked otherwise.
+     */
+    WEB,
+    /**
+     * Kafka listener container threads.
+     */
+    LISTENER,
+    /**
+     * Scheduled jobs and bulk imports and exports.
+     */
+    BATCH
+}
@@ -0,0 +1,54 @@
+package com.clients.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the {@link Workload} of the current thread, which decides the connection pool its transactions use.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload == null ? Workload.WEB : workload;
+    }
+
+    public static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs {@code task} as {@code workload}, restoring the previous workload afterwards.
+     */
+    public static void runAs(Workload workload, Runnable task) {
+        callAs(workload, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Computes {@code task} as {@code workload}, restoring the previous workload afterwards.
+     */
+    public static <T> T callAs(Workload workload, Supplier<T> task) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.clients.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per workload connection pools. When enabled, the primary {@code spring.datasource} is split into one pool per
+ * {@link Workload}, each sized on its own.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "clients.datasource.workloads")
+public class WorkloadDataSourceProperties {
+
+    /**
+     * Whether the primary datasource is split per workload at all.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Pool settings per workload.
+     */
+    private Map<Workload, Pool> pools = new EnumMap<>(Map.of(
+            Workload.WEB, new Pool(10),
+            Workload.LISTENER, new Pool(5),
+            Workload.BATCH, new Pool(2)));
+
+    /**
+     * Whether Kafka listener containers are paused while the listener pool has threads waiting for a connection.
+     */
+    private boolean pauseListenersWhenSaturated = true;
+
+    /**
+     * How often the listener pool is checked for saturation.
+     */
+    private Duration saturationCheckInterval = Duration.ofMillis(500);
+
+    public Pool pool(Workload workload) {
+        return pools.getOrDefault(workload, new Pool(Pool.DEFAULT_MAXIMUM_POOL_SIZE));
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        static final int DEFAULT_MAXIMUM_POOL_SIZE = 5;
+
+        private int maximumPoolSize;
+
+        /**
+         * How long a thread waits for a connection before failing.
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(30);
+
+        public Pool() {
+            this(DEFAULT_MAXIMUM_POOL_SIZE);
+        }
+
+        Pool(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.clients.dto;
+
+public record DeadLetterReplayResponseDTO(int httpStatus,
+                                          String topic,
+                                          int replayedRecords,
+                                          String message) {
+}
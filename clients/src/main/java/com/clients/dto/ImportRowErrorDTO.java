@@ -0,0 +1,7 @@
+package com.clients.dto;
+
+public record ImportRowErrorDTO(
+        long line,
+        String error
+) {
+}
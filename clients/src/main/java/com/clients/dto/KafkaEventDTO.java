@@ -0,0 +1,12 @@
+package com.clients.dto;
+
+import java.util.UUID;
+
+/**
+ * Implemented by every event published over Kafka. The event id is generated once by the producer and stays the same
+ * on every redelivery, so consumers can use it to recognise events they already applied.
+ * It is {@code null} for events published before ids were introduced.
+ */
+public interface KafkaEventDTO {
+    UUID eventId();
+}
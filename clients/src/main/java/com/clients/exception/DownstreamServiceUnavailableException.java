@@ -0,0 +1,32 @@
+package com.clients.exception;
+
+import feign.FeignException;
+
+/**
+ * Thrown by the Feign fallbacks when a downstream service cannot be reached, its circuit is open
+ * or its bulkhead is full.
+ */
+public class DownstreamServiceUnavailableException extends RuntimeException {
+    public DownstreamServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public DownstreamServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Translates the failure that triggered a fallback into the exception the caller should see.
+     * Client errors (4xx) are business answers from the downstream service and are propagated as is.
+     *
+     * @param serviceName the name of the downstream service
+     * @param cause the failure reported by the circuit breaker
+     * @return RuntimeException the exception to throw from the fallback
+     */
+    public static RuntimeException fromFallback(String serviceName, Throwable cause) {
+        if (cause instanceof FeignException.FeignClientException clientException) {
+            return clientException;
+        }
+        return new DownstreamServiceUnavailableException(serviceName + " service is currently unavailable", cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.clients.exception;
+
+/**
+ * Thrown when a dead-letter replay is requested for a topic the service does not consume, or with an invalid batch size.
+ */
+public class InvalidDeadLetterReplayRequestException extends RuntimeException {
+    public InvalidDeadLetterReplayRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidDeadLetterReplayRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,158 @@
+package com.clients.kafka;
+
+import com.clients.exception.InvalidDeadLetterReplayRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Moves records from a dead-letter topic back to the topic they originally failed on.
+ * <p>
+ * Records are read as raw bytes with a dedicated consumer group, so the replay position survives restarts and a
+ * replay can be resumed in several batches. Offsets are committed only after the batch has been acknowledged by
+ * the broker; a failed replay is therefore repeated rather than lost, and consumers skip anything they already
+ * applied by its event id. Headers added by the retry and dead-letter machinery are stripped, so a replayed record
+ * gets a fresh set of retry attempts.
+ */
+@Slf4j
+public class DeadLetterReplayer {
+
+    public static final String DLT_SUFFIX = "-dlt";
+
+    private static final String DLT_HEADER_PREFIX = "kafka_dlt-";
+    private static final String RETRY_HEADER_PREFIX = "retry_topic-";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+    private static final int MAX_POLL_RECORDS = 500;
+
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String groupId;
+    private final Set<String> sourceTopics;
+
+    public DeadLetterReplayer(ConsumerFactory<?, ?> consumerFactory, KafkaTemplate<String, Object> kafkaTemplate,
+                              String groupId, Collection<String> sourceTopics) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.groupId = groupId;
+        this.sourceTopics = Set.copyOf(sourceTopics);
+    }
+
+    /**
+     * Replays up to {@code maxRecords} records from the dead-letter topic of {@code sourceTopic}.
+     *
+     * @return the number of records republished to the source topic
+     */
+    public int replay(String sourceTopic, int maxRecords) {
+        if (!sourceTopics.contains(sourceTopic)) {
+            throw new InvalidDeadLetterReplayRequestException("Topic " + sourceTopic + " is not consumed by this service");
+        }
+        if (maxRecords <= 0) {
+            throw new InvalidDeadLetterReplayRequestException("maxRecords must be positive");
+        }
+
+        String deadLetterTopic = sourceTopic + DLT_SUFFIX;
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(Math.min(maxRecords, MAX_POLL_RECORDS)));
+
+        try (Consumer<?, ?> consumer = consumerFactory.createConsumer(groupId, null, null, overrides)) {
+            List<TopicPartition> partitions = assign(consumer, deadLetterTopic);
+            if (partitions.isEmpty()) {
+                return 0;
+            }
+
+            int replayed = 0;
+            while (replayed < maxRecords) {
+                ConsumerRecords<?, ?> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                List<CompletableFuture<?>> sends = new ArrayList<>(records.count());
+                for (ConsumerRecord<?, ?> consumerRecord : records) {
+                    if (replayed == maxRecords) {
+                        break;
+                    }
+                    sends.add(kafkaTemplate.send(toSourceRecord(sourceTopic, consumerRecord)));
+                    offsets.put(new TopicPartition(consumerRecord.topic(), consumerRecord.partition()),
+                            new OffsetAndMetadata(consumerRecord.offset() + 1));
+                    replayed++;
+                }
+                awaitSends(sends, deadLetterTopic);
+                consumer.commitSync(offsets);
+            }
+            log.info("Replayed {} records from {} to {}", replayed, deadLetterTopic, sourceTopic);
+            return replayed;
+        }
+    }
+
+    private static List<TopicPartition> assign(Consumer<?, ?> consumer, String deadLetterTopic) {
+        List<PartitionInfo> partitionInfos = consumer.partitionsFor(deadLetterTopic);
+        if (partitionInfos == null || partitionInfos.isEmpty()) {
+            return List.of();
+        }
+        List<TopicPartition> partitions = partitionInfos.stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .toList();
+        consumer.assign(partitions);
+
+        Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+        List<TopicPartition> neverReplayed = new ArrayList<>();
+        for (TopicPartition partition : partitions) {
+            OffsetAndMetadata offset = committed.get(partition);
+            if (offset == null) {
+                neverReplayed.add(partition);
+            } else {
+                consumer.seek(partition, offset.offset());
+            }
+        }
+        if (!neverReplayed.isEmpty()) {
+            consumer.seekToBeginning(neverReplayed);
+        }
+        return partitions;
+    }
+
+    private static ProducerRecord<String, Object> toSourceRecord(String sourceTopic, ConsumerRecord<?, ?> consumerRecord) {
+        ProducerRecord<String, Object> producerRecord = new ProducerRecord<>(sourceTopic, (String) consumerRecord.key(),
+                consumerRecord.value());
+        for (Header header : consumerRecord.headers()) {
+            if (!header.key().startsWith(DLT_HEADER_PREFIX) && !header.key().startsWith(RETRY_HEADER_PREFIX)) {
+                producerRecord.headers().add(header);
+            }
+        }
+        return producerRecord;
+    }
+
+    private static void awaitSends(List<CompletableFuture<?>> sends, String deadLetterTopic) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while replaying " + deadLetterTopic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Failed to replay records from " + deadLetterTopic, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.clients.kafka;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Provides {@link ProcessedEventService} to services that consume Kafka events and own a database. The
+ * processed_event table is created by the Flyway migration in {@code classpath:com/clients/kafka/db}, which such a
+ * service adds to {@code spring.flyway.locations}. The migration keeps the version and content it had when each
+ * service carried its own copy, so databases migrated before are still valid; a service using it leaves V2 free.
+ */
+@AutoConfiguration(after = JdbcTemplateAutoConfiguration.class)
+@ConditionalOnClass({JdbcTemplate.class, KafkaTemplate.class})
+@ConditionalOnSingleCandidate(JdbcTemplate.class)
+@EnableConfigurationProperties(EventDeduplicationProperties.class)
+public class EventDeduplicationAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProcessedEventRepository processedEventRepository(JdbcTemplate jdbcTemplate) {
+        return new ProcessedEventRepository(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProcessedEventService processedEventService(ProcessedEventRepository processedEventRepository,
+                                                       EventDeduplicationProperties properties) {
+        return new ProcessedEventService(processedEventRepository, properties.getCacheSize(), properties.getCacheTtl(),
+                properties.getRetention());
+    }
+}
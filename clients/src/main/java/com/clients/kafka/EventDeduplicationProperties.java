@@ -0,0 +1,37 @@
+package com.clients.kafka;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the deduplication of consumed Kafka events by their event id.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "events.deduplication")
+public class EventDeduplicationProperties {
+
+    /**
+     * Maximum number of recently processed event ids kept in memory.
+     */
+    private int cacheSize = 10000;
+
+    /**
+     * How long a processed event id is kept in memory.
+     */
+    private Duration cacheTtl = Duration.ofHours(1);
+
+    /**
+     * How long processed event ids are kept in the processed_event table; redeliveries older than that are applied
+     * again.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Delay between two purges of expired processed event ids.
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
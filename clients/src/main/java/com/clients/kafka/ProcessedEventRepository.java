@@ -0,0 +1,34 @@
+package com.clients.kafka;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Reads and writes the processed_event table on plain JDBC. Statements join the transaction of the caller, and as
+ * Hibernate does not see them they leave the second-level cache alone.
+ */
+public class ProcessedEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProcessedEventRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records the event id unless it is already present.
+     *
+     * @return 1 if the id was recorded, 0 if the event had already been processed
+     */
+    public int insertIfAbsent(UUID eventId) {
+        return jdbcTemplate.update("INSERT INTO processed_event (event_id, processed_at) VALUES (?, now()) "
+                + "ON CONFLICT (event_id) DO NOTHING", eventId);
+    }
+
+    public int deleteProcessedBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM processed_event WHERE processed_at < ?", Timestamp.from(cutoff));
+    }
+}
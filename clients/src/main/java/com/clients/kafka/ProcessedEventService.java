@@ -0,0 +1,75 @@
+package com.clients.kafka;
+
+import com.clients.observability.ObservationNames;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Deduplicates Kafka events by their event id so redelivered events are applied only once.
+ * <p>
+ * Ids are recorded in the processed_event table inside the transaction that applies the event, so the id and the
+ * effect are committed or rolled back together. A bounded in-memory front answers most redeliveries without a
+ * database round trip; it is only populated after commit.
+ */
+@Observed(name = ObservationNames.SERVICE)
+@Slf4j
+public class ProcessedEventService {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final RecentEventIds recentEventIds;
+    private final Duration retention;
+
+    public ProcessedEventService(ProcessedEventRepository processedEventRepository,
+                                 int cacheSize,
+                                 Duration cacheTtl,
+                                 Duration retention) {
+        this.processedEventRepository = processedEventRepository;
+        this.recentEventIds = new RecentEventIds(cacheSize, cacheTtl);
+        this.retention = retention;
+    }
+
+    /**
+     * Marks the event as processed. Must be called from the transaction that applies the event.
+     *
+     * @param eventId the event id, {@code null} for events published without one
+     * @return {@code true} if the event has not been processed before and should be applied
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean markProcessed(UUID eventId) {
+        if (eventId == null) {
+            return true;
+        }
+        if (recentEventIds.contains(eventId)) {
+            log.debug("Skipping event {}, already processed", eventId);
+            return false;
+        }
+        if (processedEventRepository.insertIfAbsent(eventId) == 0) {
+            log.debug("Skipping event {}, already recorded as processed", eventId);
+            recentEventIds.add(eventId);
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentEventIds.add(eventId);
+            }
+        });
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${events.deduplication.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = processedEventRepository.deleteProcessedBefore(Instant.now().minus(retention));
+        log.debug("Purged {} processed event ids older than {}", purged, retention);
+    }
+}
@@ -0,0 +1,62 @@
+package com.clients.kafka;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, time-evicted set of recently processed event ids. It only short-circuits the common redelivery case;
+ * the processed_event table remains the source of truth, so losing an entry is harmless.
+ */
+class RecentEventIds {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<UUID, Long> addedAt = new LinkedHashMap<>();
+
+    RecentEventIds(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    RecentEventIds(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    synchronized boolean contains(UUID eventId) {
+        evictExpired(nanoClock.getAsLong());
+        return addedAt.containsKey(eventId);
+    }
+
+    synchronized void add(UUID eventId) {
+        long now = nanoClock.getAsLong();
+        evictExpired(now);
+        // re-insert so the map stays ordered by insertion time
+        addedAt.remove(eventId);
+        addedAt.put(eventId, now);
+        if (addedAt.size() > maxSize) {
+            Iterator<UUID> oldest = addedAt.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    synchronized int size() {
+        return addedAt.size();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<UUID, Long>> iterator = addedAt.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue() < ttlNanos) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+}
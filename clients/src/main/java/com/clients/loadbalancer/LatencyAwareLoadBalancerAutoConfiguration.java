@@ -0,0 +1,17 @@
+package com.clients.loadbalancer;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+
+/**
+ * Replaces the round robin load balancer with the {@link LatencyAwareLoadBalancer} for every service, for both the
+ * Feign clients and the gateway {@code lb://} routes.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "clients.loadbalancer.latency-aware", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(LatencyAwareLoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LatencyAwareLoadBalancerAutoConfiguration {
+}
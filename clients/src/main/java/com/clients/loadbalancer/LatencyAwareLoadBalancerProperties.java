@@ -0,0 +1,36 @@
+package com.clients.loadbalancer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link LatencyAwareLoadBalancer}, shared by every load-balanced service.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "clients.loadbalancer.latency-aware")
+public class LatencyAwareLoadBalancerProperties {
+
+    /**
+     * Whether the latency-aware load balancer replaces the default round robin.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time constant of the latency EWMA; older samples lose weight with this decay.
+     */
+    private Duration decay = Duration.ofSeconds(10);
+
+    /**
+     * Latency assumed for an instance before its first response.
+     */
+    private Duration initialLatency = Duration.ofMillis(50);
+
+    /**
+     * Latency recorded for a call that failed, so failing instances are avoided.
+     */
+    private Duration failurePenalty = Duration.ofSeconds(1);
+}
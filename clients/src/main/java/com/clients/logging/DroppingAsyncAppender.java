@@ -0,0 +1,40 @@
+package com.clients.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it drops instead of blocking the logging thread.
+ * <p>
+ * Once the queue is down to its discarding threshold, INFO and less severe events are discarded; once it is full,
+ * every event is dropped, provided {@code neverBlock} is set. The counts are approximate, an event dropped in a race
+ * with the worker emptying the queue may go uncounted.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            rejected.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,88 @@
+package com.clients.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+import java.util.Iterator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Installs the {@code clients.logging.rules} into Logback and publishes the number of log events dropped by them
+ * and by {@link DroppingAsyncAppender} as {@code logging.events.dropped}, tagged with the reason.
+ */
+@AutoConfiguration
+@ConditionalOnClass(LoggerContext.class)
+@EnableConfigurationProperties(LogSamplingProperties.class)
+public class LogSamplingAutoConfiguration {
+
+    @Bean
+    public LogSamplingInstaller logSamplingInstaller(LogSamplingProperties properties) {
+        return new LogSamplingInstaller(new LogSamplingTurboFilter(properties.getRules()));
+    }
+
+    @Bean
+    public MeterBinder droppedLogEventsMeterBinder(LogSamplingInstaller logSamplingInstaller) {
+        return registry -> {
+            LogSamplingTurboFilter filter = logSamplingInstaller.filter;
+            registerDropped(registry, "sampled", filter, LogSamplingTurboFilter::getSampledOut);
+            registerDropped(registry, "rate-limited", filter, LogSamplingTurboFilter::getRateLimited);
+            Iterator<Appender<ILoggingEvent>> appenders = loggerContext().getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof DroppingAsyncAppender appender) {
+                    registerDropped(registry, "queue-threshold", appender, DroppingAsyncAppender::getDiscarded);
+                    registerDropped(registry, "queue-full", appender, DroppingAsyncAppender::getRejected);
+                }
+            }
+        };
+    }
+
+    private static <T> void registerDropped(MeterRegistry registry, String reason, T source, ToDoubleFunction<T> count) {
+        FunctionCounter.builder("logging.events.dropped", source, count)
+                .description("Log events dropped before reaching an appender")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static LoggerContext loggerContext() {
+        return (LoggerContext) LoggerFactory.getILoggerFactory();
+    }
+
+    /**
+     * Adds the filter to the logger context for as long as the application context is running.
+     */
+    static class LogSamplingInstaller implements InitializingBean, DisposableBean {
+
+        private final LogSamplingTurboFilter filter;
+
+        LogSamplingInstaller(LogSamplingTurboFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public void afterPropertiesSet() {
+            LoggerContext loggerContext = loggerContext();
+            filter.setContext(loggerContext);
+            filter.setName("log-sampling");
+            filter.start();
+            loggerContext.addTurboFilter(filter);
+        }
+
+        @Override
+        public void destroy() {
+            loggerContext().getTurboFilterList().remove(filter);
+            filter.stop();
+        }
+    }
+}
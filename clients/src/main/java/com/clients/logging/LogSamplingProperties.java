@@ -0,0 +1,52 @@
+package com.clients.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sampling and rate limits for high-volume log statements.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "clients.logging")
+public class LogSamplingProperties {
+
+    /**
+     * Rules checked in order; an event is limited by the first rule that matches it.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        /**
+         * Logger the rule applies to, together with its child loggers.
+         */
+        private String logger;
+
+        /**
+         * Most severe level the rule applies to; more severe events are never limited.
+         */
+        private LogLevel level = LogLevel.INFO;
+
+        /**
+         * Only events whose message pattern starts with this text are limited, e.g. a single expected error.
+         */
+        private String messagePrefix;
+
+        /**
+         * Share of the matching events that are logged.
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Upper bound of the matching events logged per second, 0 for no bound.
+         */
+        private int maxPerSecond;
+    }
+}
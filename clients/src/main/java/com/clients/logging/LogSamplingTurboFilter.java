@@ -0,0 +1,110 @@
+package com.clients.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples and rate limits log events per logger before they are even created, so a statement that fires on every
+ * request costs a map lookup instead of an event once its budget is spent.
+ */
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final List<LogSamplingProperties.Rule> rules;
+    private final Map<String, List<RuleState>> rulesByLogger = new ConcurrentHashMap<>();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    public LogSamplingTurboFilter(List<LogSamplingProperties.Rule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks come without a message and must not use up the budget
+        if (format == null || !isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+        List<RuleState> candidates = rulesByLogger.computeIfAbsent(logger.getName(), this::rulesFor);
+        for (RuleState rule : candidates) {
+            if (rule.matches(logger, level, format)) {
+                return rule.decide();
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    private List<RuleState> rulesFor(String loggerName) {
+        return rules.stream()
+                .filter(rule -> loggerName.equals(rule.getLogger()) || loggerName.startsWith(rule.getLogger() + "."))
+                .map(RuleState::new)
+                .toList();
+    }
+
+    private final class RuleState {
+
+        private final Level level;
+        private final String messagePrefix;
+        private final double sampleRate;
+        private final int maxPerSecond;
+        private long windowStart = System.nanoTime();
+        private int eventsInWindow;
+
+        RuleState(LogSamplingProperties.Rule rule) {
+            this.level = Level.toLevel(rule.getLevel().name());
+            this.messagePrefix = rule.getMessagePrefix();
+            this.sampleRate = rule.getSampleRate();
+            this.maxPerSecond = rule.getMaxPerSecond();
+        }
+
+        boolean matches(Logger logger, Level eventLevel, String format) {
+            // events the logger would not log anyway are left alone, so they do not use up the budget
+            return eventLevel.levelInt <= level.levelInt
+                    && eventLevel.isGreaterOrEqual(logger.getEffectiveLevel())
+                    && (messagePrefix == null || format.startsWith(messagePrefix));
+        }
+
+        FilterReply decide() {
+            if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                sampledOut.increment();
+                return FilterReply.DENY;
+            }
+            if (maxPerSecond > 0 && !tryAcquire()) {
+                rateLimited.increment();
+                return FilterReply.DENY;
+            }
+            return FilterReply.NEUTRAL;
+        }
+
+        private synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            if (now - windowStart >= WINDOW_NANOS) {
+                windowStart = now;
+                eventsInWindow = 0;
+            }
+            if (eventsInWindow == maxPerSecond) {
+                return false;
+            }
+            eventsInWindow++;
+            return true;
+        }
+    }
+}
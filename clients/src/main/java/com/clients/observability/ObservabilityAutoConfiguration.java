@@ -0,0 +1,25 @@
+package com.clients.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Metrics setup shared by every service.
+ * Controller, service and repository methods are timed through {@code @Observed} with the names in
+ * {@link ObservationNames}; Feign calls, Kafka sends and listeners, Spring Data repositories and Kafka client metrics
+ * such as consumer lag come from the Spring Boot, Spring Kafka and Feign instrumentation switched on in each service's
+ * configuration. This configuration keeps the tags of all of them bounded.
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistry.class)
+@EnableConfigurationProperties(ObservabilityProperties.class)
+public class ObservabilityAutoConfiguration {
+
+    @Bean
+    public TagCardinalityLimitFilter tagCardinalityLimitFilter(ObservabilityProperties properties) {
+        return new TagCardinalityLimitFilter(properties.getMaxTagValues());
+    }
+}
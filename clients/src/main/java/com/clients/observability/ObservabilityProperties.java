@@ -0,0 +1,20 @@
+package com.clients.observability;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits applied to the meters every service publishes.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "clients.observability")
+public class ObservabilityProperties {
+
+    /**
+     * Number of distinct values a tag may take per meter name. Meters that would add a value beyond it are not
+     * registered.
+     */
+    private int maxTagValues = 100;
+}
@@ -0,0 +1,15 @@
+package com.clients.observability;
+
+/**
+ * Names of the observations recorded through {@code @Observed}, one per layer. Each becomes a timer tagged with the
+ * class and method observed, and a span.
+ */
+public final class ObservationNames {
+
+    public static final String CONTROLLER = "bank.controller";
+    public static final String SERVICE = "bank.service";
+    public static final String REPOSITORY = "bank.repository";
+
+    private ObservationNames() {
+    }
+}
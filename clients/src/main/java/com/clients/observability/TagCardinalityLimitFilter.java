@@ -0,0 +1,54 @@
+package com.clients.observability;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denies meters that would take a tag past a fixed number of distinct values for their meter name, so an unbounded
+ * tag value (an id, a raw path, a message) can never grow the registry and the scrape without bound.
+ * <p>
+ * Filters only run when a meter is first registered, not when it is recorded to. The limit is approximate under
+ * concurrent registration.
+ */
+@Slf4j
+public class TagCardinalityLimitFilter implements MeterFilter {
+
+    private final int maxTagValues;
+    private final Map<String, Set<String>> tagValues = new ConcurrentHashMap<>();
+    private final Set<String> limitedTags = ConcurrentHashMap.newKeySet();
+
+    public TagCardinalityLimitFilter(int maxTagValues) {
+        this.maxTagValues = maxTagValues;
+    }
+
+    @Override
+    public MeterFilterReply accept(Meter.Id id) {
+        for (Tag tag : id.getTagsAsIterable()) {
+            Set<String> values = valuesOf(id, tag);
+            if (values.size() >= maxTagValues && !values.contains(tag.getValue())) {
+                String limitedTag = id.getName() + " " + tag.getKey();
+                if (limitedTags.add(limitedTag)) {
+                    log.warn("Tag {} of meter {} reached {} distinct values, meters with new values are dropped",
+                            tag.getKey(), id.getName(), maxTagValues);
+                }
+                return MeterFilterReply.DENY;
+            }
+        }
+        // only a meter that is accepted takes up values
+        for (Tag tag : id.getTagsAsIterable()) {
+            valuesOf(id, tag).add(tag.getValue());
+        }
+        return MeterFilterReply.NEUTRAL;
+    }
+
+    private Set<String> valuesOf(Meter.Id id, Tag tag) {
+        return tagValues.computeIfAbsent(id.getName() + " " + tag.getKey(), key -> ConcurrentHashMap.newKeySet());
+    }
+}
@@ -0,0 +1,29 @@
+package com.clients.persistence;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Provides {@link OptimisticLockRetryTemplate} to services that have a transaction manager.
+ */
+@AutoConfiguration(after = TransactionAutoConfiguration.class)
+@ConditionalOnClass(PlatformTransactionManager.class)
+@ConditionalOnSingleCandidate(PlatformTransactionManager.class)
+@EnableConfigurationProperties(OptimisticLockRetryProperties.class)
+public class OptimisticLockRetryAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OptimisticLockRetryTemplate optimisticLockRetryTemplate(PlatformTransactionManager transactionManager,
+                                                                   OptimisticLockRetryProperties properties) {
+        return new OptimisticLockRetryTemplate(new TransactionTemplate(transactionManager),
+                properties.getMaxAttempts(), properties.getBackoff());
+    }
+}
@@ -0,0 +1,26 @@
+package com.clients.persistence;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Retry settings for transactions that lose an optimistic locking race.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "clients.persistence.optimistic-lock")
+public class OptimisticLockRetryProperties {
+
+    /**
+     * Total number of attempts, including the first one.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Upper bound of the random pause before the first retry; doubled for every following one.
+     */
+    private Duration backoff = Duration.ofMillis(50);
+}
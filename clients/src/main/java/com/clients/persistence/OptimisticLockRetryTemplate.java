@@ -0,0 +1,56 @@
+package com.clients.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and runs it again, in a new transaction, when it fails because another
+ * transaction updated the same versioned row first. The work re-reads the row on every attempt, so it is applied to
+ * the current state rather than overwriting it. After the last attempt the conflict is rethrown.
+ */
+@Slf4j
+public class OptimisticLockRetryTemplate {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticLockRetryTemplate(TransactionTemplate transactionTemplate, int maxAttempts, Duration backoff) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up after {} attempts on optimistic locking conflict: {}", attempt, ex.getMessage());
+                    throw ex;
+                }
+                log.debug("Optimistic locking conflict on attempt {}, retrying: {}", attempt, ex.getMessage());
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        long bound = backoff.toMillis() << (attempt - 1);
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", ex);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.clients.resilience;
+
+import com.clients.account.AccountClientFallbackFactory;
+import com.clients.customer.CustomerClientFallbackFactory;
+import feign.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Resilience setup shared by every service that uses the Feign clients.
+ * Circuit breakers, semaphore bulkheads and time limiters come from Spring Cloud CircuitBreaker and are configured
+ * per Feign method through the {@code resilience4j.*} properties; this configuration adds the fallbacks and the
+ * optional hedged requests.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(HedgingProperties.class)
+public class ClientResilienceAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CustomerClientFallbackFactory customerClientFallbackFactory() {
+        return new CustomerClientFallbackFactory();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AccountClientFallbackFactory accountClientFallbackFactory() {
+        return new AccountClientFallbackFactory();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "clients.resilience.hedging", name = "enabled", havingValue = "true")
+    public static BeanPostProcessor hedgingFeignClientPostProcessor(ObjectProvider<HedgingProperties> properties,
+                                                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof Client client && !(bean instanceof HedgingFeignClient)) {
+                    return new HedgingFeignClient(client, properties.getObject(), meterRegistry.getIfAvailable());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package com.clients.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feign {@link Client} decorator that sends a second attempt of an idempotent GET when the first one is slower
+ * than the configured latency percentile. Both attempts go through the load balancer, so the hedge is normally
+ * served by another registered instance. The first successful response wins and the other one is closed.
+ */
+@Slf4j
+public class HedgingFeignClient implements Client, DisposableBean {
+
+    private final Client delegate;
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Map<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final Map<String, String> methodIds = new ConcurrentHashMap<>();
+
+    public HedgingFeignClient(Client delegate, HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(0, properties.getMaxThreads(), 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("feign-hedge-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String methodId = methodId(request);
+        HedgingProperties.Policy policy = methodId == null ? null : properties.policyFor(methodId);
+        if (policy == null || request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+
+        LatencyTracker tracker = trackers.computeIfAbsent(methodId, id -> newTracker(id, policy));
+        long start = System.nanoTime();
+        long threshold = tracker.thresholdNanos();
+        if (threshold == Long.MAX_VALUE) {
+            Response response = delegate.execute(request, options);
+            tracker.record(System.nanoTime() - start);
+            return response;
+        }
+
+        Response response = executeHedged(methodId, request, options, Math.max(threshold, policy.getMinDelay().toNanos()));
+        tracker.record(System.nanoTime() - start);
+        return response;
+    }
+
+    private Response executeHedged(String methodId, Request request, Request.Options options, long hedgeDelayNanos) throws IOException {
+        AtomicBoolean claimed = new AtomicBoolean();
+        CompletionService<Response> completion = new ExecutorCompletionService<>(executor);
+        completion.submit(() -> attempt(request, options, claimed));
+        int pending = 1;
+        Future<Response> hedge = null;
+        ExecutionException lastFailure = null;
+
+        try {
+            Future<Response> done = completion.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            if (done == null) {
+                hedge = completion.submit(() -> attempt(request, options, claimed));
+                pending++;
+                increment(methodId, "hedged");
+                done = completion.take();
+            }
+            while (true) {
+                pending--;
+                try {
+                    Response response = done.get();
+                    if (response != null) {
+                        if (done == hedge) {
+                            increment(methodId, "hedge_won");
+                        }
+                        return response;
+                    }
+                } catch (ExecutionException e) {
+                    lastFailure = e;
+                }
+                if (pending == 0) {
+                    break;
+                }
+                done = completion.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + methodId);
+        }
+        throw unwrap(lastFailure);
+    }
+
+    private Response attempt(Request request, Request.Options options, AtomicBoolean claimed) throws IOException {
+        Response response = delegate.execute(request, options);
+        if (claimed.compareAndSet(false, true)) {
+            return response;
+        }
+        response.close();
+        return null;
+    }
+
+    private LatencyTracker newTracker(String methodId, HedgingProperties.Policy policy) {
+        LatencyTracker tracker = new LatencyTracker(policy.getWindowSize(), policy.getPercentile(), policy.getMinSamples());
+        if (meterRegistry != null) {
+            Gauge.builder("feign.hedging.threshold", tracker, t -> t.thresholdNanos() == Long.MAX_VALUE ? Double.NaN : t.thresholdNanos() / 1_000_000.0)
+                    .tag("method", methodId)
+                    .baseUnit("milliseconds")
+                    .description("Latency after which a hedged attempt is sent")
+                    .register(meterRegistry);
+        }
+        return tracker;
+    }
+
+    private void increment(String methodId, String outcome) {
+        if (meterRegistry != null) {
+            meterRegistry.counter("feign.hedging.requests", "method", methodId, "outcome", outcome).increment();
+        }
+    }
+
+    private String methodId(Request request) {
+        if (request.requestTemplate() == null || request.requestTemplate().methodMetadata() == null) {
+            return null;
+        }
+        // Same id as the circuit breaker name resolver, e.g. CustomerClient#getCustomer(int) -> CustomerClientgetCustomerint
+        return methodIds.computeIfAbsent(request.requestTemplate().methodMetadata().configKey(),
+                configKey -> configKey.replaceAll("[^a-zA-Z0-9]", ""));
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e == null ? null : e.getCause();
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        return new IOException("Hedged request failed", cause);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,63 @@
+package com.clients.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hedged request settings for Feign clients.
+ * Policies are keyed by the alphanumeric Feign method id, the same id used for the circuit breaker and
+ * bulkhead instances (e.g. {@code CustomerClientgetCustomerint}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "clients.resilience.hedging")
+public class HedgingProperties {
+
+    /**
+     * Whether hedging is applied at all.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of threads used to run primary and hedged attempts.
+     */
+    private int maxThreads = 64;
+
+    /**
+     * Per Feign method hedging policies. Methods without a policy are never hedged.
+     */
+    private Map<String, Policy> methods = new HashMap<>();
+
+    public Policy policyFor(String methodId) {
+        return enabled ? methods.get(methodId) : null;
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+        /**
+         * Latency percentile of recent calls after which a second attempt is sent.
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Lower bound for the hedge delay, so a fast downstream is not hit twice on every jitter.
+         */
+        private Duration minDelay = Duration.ofMillis(20);
+
+        /**
+         * Number of recent latencies the percentile is computed over.
+         */
+        private int windowSize = 512;
+
+        /**
+         * Number of samples required before hedging starts.
+         */
+        private int minSamples = 100;
+    }
+}
@@ -0,0 +1,49 @@
+package com.clients.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent call latencies that keeps a cached percentile value.
+ * The percentile is recomputed every few samples rather than on each call.
+ */
+class LatencyTracker {
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private final int recomputeInterval;
+
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long thresholdNanos = Long.MAX_VALUE;
+
+    LatencyTracker(int windowSize, double percentile, int minSamples) {
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.minSamples = Math.min(minSamples, windowSize);
+        this.recomputeInterval = Math.max(1, windowSize / 16);
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (count >= minSamples && ++sinceRecompute >= recomputeInterval) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            thresholdNanos = sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+    }
+
+    /**
+     * @return the current percentile latency, or {@link Long#MAX_VALUE} while the window is still warming up
+     */
+    long thresholdNanos() {
+        return thresholdNanos;
+    }
+}
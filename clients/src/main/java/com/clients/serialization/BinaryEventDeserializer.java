@@ -0,0 +1,56 @@
+package com.clients.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * Kafka deserializer for records written by {@link BinaryEventSerializer}.
+ * Records that do not start with the binary magic byte are handed to a {@link JsonDeserializer} configured with the
+ * same properties, so topics can be switched over while JSON records are still being consumed.
+ */
+public class BinaryEventDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0 || data[0] != BinaryEventSerializer.MAGIC) {
+            return headers == null ? jsonDeserializer.deserialize(topic, data) : jsonDeserializer.deserialize(topic, headers, data);
+        }
+
+        BinaryReader in = new BinaryReader(data, 1);
+        int typeId = in.readVarInt();
+        int version = in.readVarInt();
+        EventSchema<?> schema = EventSchemas.forTypeId(typeId);
+        if (schema == null) {
+            throw new SerializationException("Unknown event type id " + typeId + " on topic " + topic);
+        }
+        if (version < 1 || version > schema.version()) {
+            throw new SerializationException("Unsupported schema version " + version + " of " + schema.type().getSimpleName()
+                    + " on topic " + topic + ", this build reads up to version " + schema.version());
+        }
+        return schema.reader().read(in, version);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
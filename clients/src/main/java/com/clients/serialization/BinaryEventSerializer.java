@@ -0,0 +1,41 @@
+package com.clients.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka serializer for the event DTOs registered in {@link EventSchemas}.
+ * Each record is {@code [magic][type id][schema version][fields]}, with integers as varints and strings as
+ * length-prefixed UTF-8, so there are no field names and no type headers on the wire.
+ * Values that are already {@code byte[]} (records forwarded to retry or dead-letter topics, or replayed from them)
+ * are written unchanged.
+ */
+public class BinaryEventSerializer implements Serializer<Object> {
+
+    static final byte MAGIC = (byte) 0xBE;
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof byte[] bytes) {
+            return bytes;
+        }
+        return serialize(data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> byte[] serialize(T data) {
+        EventSchema<T> schema = (EventSchema<T>) EventSchemas.forType(data.getClass());
+        if (schema == null) {
+            throw new SerializationException("No binary schema registered for " + data.getClass().getName());
+        }
+        BinaryWriter out = new BinaryWriter(64)
+                .writeByte(MAGIC)
+                .writeVarInt(schema.typeId())
+                .writeVarInt(schema.version());
+        schema.writer().write(data, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,154 @@
+package com.clients.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads the primitives written by {@link BinaryWriter}.
+ */
+public class BinaryReader {
+
+    // a collection is sized up front to at most this many elements; larger ones grow as they are read
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        if (position >= buffer.length) {
+            throw new SerializationException("Unexpected end of event payload");
+        }
+        return buffer[position++];
+    }
+
+    public long readVarLong() {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new SerializationException("Malformed varint in event payload");
+    }
+
+    public int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    public Integer readNullableInt() {
+        return readByte() == 0 ? null : readVarInt();
+    }
+
+    public String readString() {
+        int length = readVarInt() - 1;
+        if (length == -1) {
+            return null;
+        }
+        checkAvailable(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public BigDecimal readDecimal() {
+        return readByte() == 0 ? null : readDecimalValue();
+    }
+
+    public UUID readUuid() {
+        return readByte() == 0 ? null : new UUID(readFixedLong(), readFixedLong());
+    }
+
+    /**
+     * Reads the element count of a collection. Every element takes at least one byte, so a count larger than the bytes
+     * left is rejected before anything is allocated for it.
+     */
+    public int readCount() {
+        int count = readVarInt();
+        if (count < 0) {
+            throw new SerializationException("Negative element count " + count + " in event payload");
+        }
+        checkAvailable(count);
+        return count;
+    }
+
+    /**
+     * The capacity to allocate for a collection of {@code count} elements, capped so a large count costs memory only
+     * as its elements are actually read.
+     */
+    public static int initialCapacity(int count) {
+        return Math.min(count, MAX_INITIAL_CAPACITY);
+    }
+
+    public Map<String, Object> readMap() {
+        int size = readVarInt() - 1;
+        if (size == -1) {
+            return null;
+        }
+        checkAvailable(size);
+        Map<String, Object> map = new HashMap<>(Math.max(4, (int) (initialCapacity(size) / 0.75f) + 1));
+        for (int i = 0; i < size; i++) {
+            map.put(readString(), readValue());
+        }
+        return map;
+    }
+
+    private Object readValue() {
+        int tag = readByte();
+        return switch (tag) {
+            case BinaryWriter.TAG_NULL -> null;
+            case BinaryWriter.TAG_STRING -> readString();
+            case BinaryWriter.TAG_INT -> readVarInt();
+            case BinaryWriter.TAG_LONG -> readVarLong();
+            case BinaryWriter.TAG_DECIMAL -> readDecimalValue();
+            case BinaryWriter.TAG_BOOLEAN -> readByte() != 0;
+            case BinaryWriter.TAG_DOUBLE -> Double.longBitsToDouble(readFixedLong());
+            default -> throw new SerializationException("Unknown value tag " + tag + " in event payload");
+        };
+    }
+
+    private BigDecimal readDecimalValue() {
+        int scale = readVarInt();
+        int length = readVarInt();
+        if (length < 0) {
+            throw new SerializationException("Negative decimal length " + length + " in event payload");
+        }
+        checkAvailable(length);
+        byte[] unscaled = new byte[length];
+        System.arraycopy(buffer, position, unscaled, 0, length);
+        position += length;
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private long readFixedLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (readByte() & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Compared against the bytes left rather than as {@code position + length}, which a hostile length can overflow.
+     */
+    private void checkAvailable(int length) {
+        if (length < 0) {
+            throw new SerializationException("Negative length " + length + " in event payload");
+        }
+        if (length > buffer.length - position) {
+            throw new SerializationException("Unexpected end of event payload");
+        }
+    }
+}
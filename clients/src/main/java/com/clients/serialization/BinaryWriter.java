@@ -0,0 +1,143 @@
+package com.clients.serialization;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Growable byte buffer with the primitives of the binary event format: zig-zag varints, length-prefixed UTF-8
+ * strings and tagged map values. Nullable values are prefixed so that {@code null} costs a single byte.
+ */
+public class BinaryWriter {
+
+    static final byte TAG_NULL = 0;
+    static final byte TAG_STRING = 1;
+    static final byte TAG_INT = 2;
+    static final byte TAG_LONG = 3;
+    static final byte TAG_DECIMAL = 4;
+    static final byte TAG_BOOLEAN = 5;
+    static final byte TAG_DOUBLE = 6;
+
+    private byte[] buffer;
+    private int position;
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public BinaryWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public BinaryWriter writeVarLong(long value) {
+        ensureCapacity(10);
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        buffer[position++] = (byte) zigZag;
+        return this;
+    }
+
+    public BinaryWriter writeVarInt(int value) {
+        return writeVarLong(value);
+    }
+
+    public BinaryWriter writeNullableInt(Integer value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        return writeByte(1).writeVarInt(value);
+    }
+
+    public BinaryWriter writeString(String value) {
+        if (value == null) {
+            return writeVarInt(0);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    public BinaryWriter writeDecimal(BigDecimal value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        return writeByte(1).writeDecimalValue(value);
+    }
+
+    public BinaryWriter writeUuid(UUID value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        return writeByte(1).writeFixedLong(value.getMostSignificantBits()).writeFixedLong(value.getLeastSignificantBits());
+    }
+
+    public BinaryWriter writeMap(Map<String, Object> map) {
+        if (map == null) {
+            return writeVarInt(0);
+        }
+        writeVarInt(map.size() + 1);
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            writeString(entry.getKey());
+            writeValue(entry.getValue());
+        }
+        return this;
+    }
+
+    private void writeValue(Object value) {
+        if (value == null) {
+            writeByte(TAG_NULL);
+        } else if (value instanceof String string) {
+            writeByte(TAG_STRING).writeString(string);
+        } else if (value instanceof Integer integer) {
+            writeByte(TAG_INT).writeVarInt(integer);
+        } else if (value instanceof Long longValue) {
+            writeByte(TAG_LONG).writeVarLong(longValue);
+        } else if (value instanceof BigDecimal decimal) {
+            writeByte(TAG_DECIMAL).writeDecimalValue(decimal);
+        } else if (value instanceof Boolean booleanValue) {
+            writeByte(TAG_BOOLEAN).writeByte(booleanValue ? 1 : 0);
+        } else if (value instanceof Double || value instanceof Float) {
+            writeByte(TAG_DOUBLE).writeFixedLong(Double.doubleToRawLongBits(((Number) value).doubleValue()));
+        } else {
+            // anything else travels as its string form, which is what the JSON path would have produced for enums
+            writeByte(TAG_STRING).writeString(value.toString());
+        }
+    }
+
+    private BinaryWriter writeDecimalValue(BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        writeVarInt(value.scale()).writeVarInt(unscaled.length);
+        ensureCapacity(unscaled.length);
+        System.arraycopy(unscaled, 0, buffer, position, unscaled.length);
+        position += unscaled.length;
+        return this;
+    }
+
+    private BinaryWriter writeFixedLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.clients.serialization;
+
+/**
+ * Binary schema of one event type.
+ * The {@code typeId} is written in every record and must never be reused; {@code version} is the version written by
+ * this build, and {@code reader} must be able to decode every version up to it.
+ *
+ * @param typeId  stable identifier of the event type on the wire
+ * @param type    the event class
+ * @param version current schema version
+ * @param writer  encodes the fields of the current version
+ * @param reader  decodes any version up to the current one
+ */
+public record EventSchema<T>(int typeId, Class<T> type, int version, Writer<T> writer, Reader<T> reader) {
+
+    @FunctionalInterface
+    public interface Writer<T> {
+        void write(T event, BinaryWriter out);
+    }
+
+    @FunctionalInterface
+    public interface Reader<T> {
+        T read(BinaryReader in, int version);
+    }
+}
@@ -0,0 +1,193 @@
+package com.clients.serialization;
+
+import com.clients.account.dto.AccruedInterestDTO;
+import com.clients.account.dto.ImportedAccountDTO;
+import com.clients.account.dto.KafkaAccountsImportedDTO;
+import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.account.dto.KafkaInterestAccruedDTO;
+import com.clients.account.dto.KafkaNewAccountDTO;
+import com.clients.account.dto.KafkaUpdateAccountDTO;
+import com.clients.customer.dto.KafkaCustomerDeleteDTO;
+import com.clients.customer.dto.KafkaCustomerUpdateDTO;
+import com.clients.customer.dto.KafkaCustomersImportedDTO;
+import com.clients.customer.dto.KafkaNewCustomerDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Schemas of every event exchanged over Kafka. The registry is compiled in, so producers and consumers only need to
+ * share this module; no external schema registry is involved.
+ * <p>
+ * To change an event, bump its version, write the new layout and keep the reader able to decode the old one.
+ * Type ids are part of the wire format and must never be reused.
+ */
+public final class EventSchemas {
+
+    private static final List<EventSchema<?>> SCHEMAS = List.of(
+            new EventSchema<>(1, KafkaNewCustomerDTO.class, 2,
+                    (event, out) -> out.writeVarInt(event.customerId())
+                            .writeString(event.name())
+                            .writeString(event.legalId())
+                            .writeString(event.type())
+                            .writeString(event.address())
+                            .writeString(event.phoneNumber())
+                            .writeString(event.email())
+                            .writeVarInt(event.numberOfAccounts())
+                            .writeString(event.customerStatus())
+                            .writeUuid(event.eventId()),
+                    (in, version) -> new KafkaNewCustomerDTO(
+                            in.readVarInt(),
+                            in.readString(),
+                            in.readString(),
+                            in.readString(),
+                            in.readString(),
+                            in.readString(),
+                            in.readString(),
+                            in.readVarInt(),
+                            in.readString(),
+                            eventId(in, version))),
+            new EventSchema<>(2, KafkaCustomerUpdateDTO.class, 2,
+                    (event, out) -> out.writeNullableInt(event.customerId())
+                            .writeMap(event.updatedFields())
+                            .writeUuid(event.eventId()),
+                    (in, version) -> new KafkaCustomerUpdateDTO(in.readNullableInt(), in.readMap(), eventId(in, version))),
+            new EventSchema<>(3, KafkaCustomerDeleteDTO.class, 2,
+                    (event, out) -> out.writeNullableInt(event.customerId())
+                            .writeUuid(event.eventId()),
+                    (in, version) -> new KafkaCustomerDeleteDTO(in.readNullableInt(), eventId(in, version))),
+            // version 3 appends the opening balance
+            new EventSchema<>(4, KafkaNewAccountDTO.class, 3,
+                    (event, out) -> out.writeVarInt(event.accountId())
+                            .writeVarInt(event.customerId())
+                            .writeString(event.accountType())
+                            .writeString(event.accountStatus())
+                            .writeUuid(event.eventId())
+                            .writeDecimal(event.balance()),
+                    (in, version) -> {
+                        int accountId = in.readVarInt();
+                        int customerId = in.readVarInt();
+                        String accountType = in.readString();
+                        String accountStatus = in.readString();
+                        UUID eventId = eventId(in, version);
+                        BigDecimal balance = version >= 3 ? in.readDecimal() : null;
+                        return new KafkaNewAccountDTO(accountId, customerId, accountType, accountStatus, balance, eventId);
+                    }),
+            new EventSchema<>(5, KafkaUpdateAccountDTO.class, 2,
+                    (event, out) -> out.writeVarInt(event.accountId())
+                            .writeVarInt(event.customerId())
+                            .writeMap(event.updatedFields())
+                            .writeUuid(event.eventId()),
+                    (in, version) -> new KafkaUpdateAccountDTO(in.readVarInt(), in.readVarInt(), in.readMap(), eventId(in, version))),
+            new EventSchema<>(6, KafkaDeleteAccountDTO.class, 2,
+                    (event, out) -> out.writeVarInt(event.accountId())
+                            .writeVarInt(event.customerId())
+                            .writeUuid(event.eventId()),
+                    (in, version) -> new KafkaDeleteAccountDTO(in.readVarInt(), in.readVarInt(), eventId(in, version))),
+            // introduced after event ids, so every version carries one
+            new EventSchema<>(7, KafkaCustomersImportedDTO.class, 1,
+                    (event, out) -> out.writeUuid(event.importId())
+                            .writeVarInt(event.importedCustomers())
+                            .writeNullableInt(event.firstCustomerId())
+                            .writeNullableInt(event.lastCustomerId())
+                            .writeUuid(event.eventId()),
+                    (in, version) -> new KafkaCustomersImportedDTO(in.readUuid(), in.readVarInt(), in.readNullableInt(),
+                            in.readNullableInt(), in.readUuid())),
+            // version 2 appends the interest and new balance of every account
+            new EventSchema<>(8, KafkaInterestAccruedDTO.class, 2,
+                    (event, out) -> {
+                        out.writeVarLong(event.accrualDate().toEpochDay())
+                                .writeVarInt(event.firstAccountId())
+                                .writeVarInt(event.lastAccountId())
+                                .writeVarInt(event.accounts())
+                                .writeDecimal(event.totalInterest())
+                                .writeUuid(event.eventId())
+                                .writeVarInt(event.accruals().size());
+                        for (AccruedInterestDTO accrual : event.accruals()) {
+                            out.writeVarInt(accrual.accountId())
+                                    .writeVarInt(accrual.customerId())
+                                    .writeDecimal(accrual.interest())
+                                    .writeDecimal(accrual.balance());
+                        }
+                    },
+                    (in, version) -> {
+                        LocalDate accrualDate = LocalDate.ofEpochDay(in.readVarLong());
+                        int firstAccountId = in.readVarInt();
+                        int lastAccountId = in.readVarInt();
+                        int accounts = in.readVarInt();
+                        BigDecimal totalInterest = in.readDecimal();
+                        UUID eventId = in.readUuid();
+                        List<AccruedInterestDTO> accruals = List.of();
+                        if (version >= 2) {
+                            int size = in.readCount();
+                            accruals = new ArrayList<>(BinaryReader.initialCapacity(size));
+                            for (int i = 0; i < size; i++) {
+                                accruals.add(new AccruedInterestDTO(in.readVarInt(), in.readVarInt(), in.readDecimal(), in.readDecimal()));
+                            }
+                        }
+                        return new KafkaInterestAccruedDTO(accrualDate, firstAccountId, lastAccountId, accounts, totalInterest,
+                                eventId, accruals);
+                    }),
+            new EventSchema<>(9, KafkaAccountsImportedDTO.class, 1,
+                    (event, out) -> {
+                        out.writeUuid(event.importId()).writeVarInt(event.accounts().size());
+                        for (ImportedAccountDTO account : event.accounts()) {
+                            out.writeVarInt(account.accountId())
+                                    .writeVarInt(account.customerId())
+                                    .writeString(account.accountType())
+                                    .writeString(account.accountStatus())
+                                    .writeDecimal(account.balance());
+                        }
+                        out.writeUuid(event.eventId());
+                    },
+                    (in, version) -> {
+                        UUID importId = in.readUuid();
+                        int size = in.readCount();
+                        List<ImportedAccountDTO> accounts = new ArrayList<>(BinaryReader.initialCapacity(size));
+                        for (int i = 0; i < size; i++) {
+                            accounts.add(new ImportedAccountDTO(in.readVarInt(), in.readVarInt(), in.readString(),
+                                    in.readString(), in.readDecimal()));
+                        }
+                        return new KafkaAccountsImportedDTO(importId, accounts, in.readUuid());
+                    })
+    );
+
+    private static final Map<Class<?>, EventSchema<?>> BY_TYPE = new HashMap<>();
+    private static final EventSchema<?>[] BY_ID;
+
+    static {
+        int maxId = SCHEMAS.stream().mapToInt(EventSchema::typeId).max().orElse(0);
+        BY_ID = new EventSchema<?>[maxId + 1];
+        for (EventSchema<?> schema : SCHEMAS) {
+            if (BY_ID[schema.typeId()] != null) {
+                throw new IllegalStateException("Duplicate event type id " + schema.typeId());
+            }
+            BY_ID[schema.typeId()] = schema;
+            BY_TYPE.put(schema.type(), schema);
+        }
+    }
+
+    private EventSchemas() {
+    }
+
+    /**
+     * Event ids were added in version 2 of every schema; version 1 payloads carry none.
+     */
+    private static UUID eventId(BinaryReader in, int version) {
+        return version >= 2 ? in.readUuid() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> EventSchema<T> forType(Class<T> type) {
+        return (EventSchema<T>) BY_TYPE.get(type);
+    }
+
+    public static EventSchema<?> forTypeId(int typeId) {
+        return typeId > 0 && typeId < BY_ID.length ? BY_ID[typeId] : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.clients.tracing;
+
+import brave.sampler.RateLimitingSampler;
+import brave.sampler.Sampler;
+
+/**
+ * Head sampler that samples a fixed share of new traces, but never more than a fixed number per second, so the
+ * tracing cost stays flat however far the traffic climbs.
+ * Only the first service of a trace decides; the services downstream follow the decision propagated to them.
+ */
+public class RateLimitedProbabilitySampler extends Sampler {
+
+    private final Sampler probabilitySampler;
+    private final Sampler rateLimitingSampler;
+
+    public RateLimitedProbabilitySampler(float probability, int maxTracesPerSecond) {
+        this.probabilitySampler = Sampler.create(probability);
+        this.rateLimitingSampler = maxTracesPerSecond > 0 ? RateLimitingSampler.create(maxTracesPerSecond) : Sampler.NEVER_SAMPLE;
+    }
+
+    @Override
+    public boolean isSampled(long traceId) {
+        return probabilitySampler.isSampled(traceId) && rateLimitingSampler.isSampled(traceId);
+    }
+}
@@ -0,0 +1,30 @@
+package com.clients.tracing;
+
+/**
+ * Hands out a fixed number of spans per one-second window.
+ */
+class SpanRateLimiter {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final int maxSpansPerSecond;
+    private long windowStart = System.nanoTime();
+    private int spansInWindow;
+
+    SpanRateLimiter(int maxSpansPerSecond) {
+        this.maxSpansPerSecond = maxSpansPerSecond;
+    }
+
+    synchronized boolean tryAcquire(int spans) {
+        long now = System.nanoTime();
+        if (now - windowStart >= WINDOW_NANOS) {
+            windowStart = now;
+            spansInWindow = 0;
+        }
+        if (spansInWindow + spans > maxSpansPerSecond) {
+            return false;
+        }
+        spansInWindow += spans;
+        return true;
+    }
+}
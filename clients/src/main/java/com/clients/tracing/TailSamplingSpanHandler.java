@@ -0,0 +1,125 @@
+package com.clients.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * First span handler of the chain, deciding which finished spans reach the reporting handlers after it.
+ * <p>
+ * Spans of traces sampled up front are passed on as they finish, within the spans per second budget. Spans of the
+ * other traces only exist when tail sampling records them locally: they are buffered per local root until the local
+ * root span finishes, and then passed on together, as sampled, if the trace failed or was slow, or dropped otherwise.
+ * A buffered trace is reported whole or not at all, so the budget is taken for all its spans at once.
+ * <p>
+ * The decision is local to this service: a trace kept here because it failed here is not reported by the services it
+ * called unless they keep it too.
+ */
+public class TailSamplingSpanHandler extends SpanHandler implements Ordered {
+
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String SERVER_ERROR_OUTCOME = "SERVER_ERROR";
+
+    private final Supplier<List<SpanHandler>> reportingHandlers;
+    private final SpanRateLimiter spanRateLimiter;
+    private final long slowThresholdMicros;
+    private final int maxBufferedTraces;
+    private final int maxSpansPerTrace;
+    private final long bufferTimeoutNanos;
+    private final Map<Long, LocalTrace> bufferedTraces = new ConcurrentHashMap<>();
+
+    public TailSamplingSpanHandler(TracingSamplingProperties properties, Supplier<List<SpanHandler>> reportingHandlers) {
+        this.reportingHandlers = reportingHandlers;
+        this.spanRateLimiter = new SpanRateLimiter(properties.getMaxSpansPerSecond());
+        this.slowThresholdMicros = TimeUnit.NANOSECONDS.toMicros(properties.getTail().getSlowThreshold().toNanos());
+        this.maxBufferedTraces = properties.getTail().getMaxBufferedTraces();
+        this.maxSpansPerTrace = properties.getTail().getMaxSpansPerTrace();
+        this.bufferTimeoutNanos = properties.getTail().getBufferTimeout().toNanos();
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (Boolean.TRUE.equals(context.sampled())) {
+            return spanRateLimiter.tryAcquire(1);
+        }
+        if (cause != Cause.FINISHED) {
+            return false;
+        }
+
+        LocalTrace trace = bufferedTraces.get(context.localRootId());
+        if (trace == null) {
+            if (!hasRoomForTrace()) {
+                return false;
+            }
+            trace = bufferedTraces.computeIfAbsent(context.localRootId(), id -> new LocalTrace());
+        }
+        List<Buffered> spans;
+        synchronized (trace) {
+            if (trace.spans.size() < maxSpansPerTrace) {
+                trace.spans.add(new Buffered(context, span));
+            }
+            trace.failed |= isFailed(span);
+            if (!context.isLocalRoot()) {
+                return false;
+            }
+            bufferedTraces.remove(context.localRootId());
+            if (!trace.failed && span.finishTimestamp() - span.startTimestamp() < slowThresholdMicros) {
+                return false;
+            }
+            spans = trace.spans;
+        }
+        if (spanRateLimiter.tryAcquire(spans.size())) {
+            report(spans);
+        }
+        return false;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void report(List<Buffered> spans) {
+        List<SpanHandler> handlers = reportingHandlers.get();
+        for (Buffered buffered : spans) {
+            // the reporting handlers skip spans that are not sampled
+            TraceContext sampledContext = buffered.context.toBuilder().sampled(true).build();
+            for (SpanHandler handler : handlers) {
+                if (!handler.end(sampledContext, buffered.span, Cause.FINISHED)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean hasRoomForTrace() {
+        if (bufferedTraces.size() < maxBufferedTraces) {
+            return true;
+        }
+        // local roots that never finish, such as abandoned spans, would otherwise fill the buffer for good
+        long now = System.nanoTime();
+        bufferedTraces.values().removeIf(trace -> now - trace.startedAt > bufferTimeoutNanos);
+        return bufferedTraces.size() < maxBufferedTraces;
+    }
+
+    private static boolean isFailed(MutableSpan span) {
+        return span.error() != null || SERVER_ERROR_OUTCOME.equals(span.tag(OUTCOME_TAG));
+    }
+
+    private static final class LocalTrace {
+        private final long startedAt = System.nanoTime();
+        private final List<Buffered> spans = new ArrayList<>();
+        private boolean failed;
+    }
+
+    private record Buffered(TraceContext context, MutableSpan span) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.clients.tracing;
+
+import brave.Tracing;
+import brave.TracingCustomizer;
+import brave.handler.SpanHandler;
+import brave.sampler.Sampler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Trace sampling shared by every service, taking the place of Spring Boot's probability sampler.
+ * Traces are sampled up front at a small rate capped per second, and with tail sampling enabled every other trace is
+ * recorded locally and reported only if it fails or is slow; see {@link TailSamplingSpanHandler}. Unsampled traces
+ * keep their trace context, so trace ids still propagate through Feign and Kafka headers and show up in the logs.
+ */
+@AutoConfiguration(beforeName = "org.springframework.boot.actuate.autoconfigure.tracing.BraveAutoConfiguration")
+@ConditionalOnClass(Tracing.class)
+@ConditionalOnProperty(prefix = "management.tracing", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(TracingSamplingProperties.class)
+public class TracingSamplingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Sampler rateLimitedProbabilitySampler(TracingSamplingProperties properties) {
+        return new RateLimitedProbabilitySampler(properties.getProbability(), properties.getMaxTracesPerSecond());
+    }
+
+    @Bean
+    public TailSamplingSpanHandler tailSamplingSpanHandler(TracingSamplingProperties properties,
+                                                           ObjectProvider<SpanHandler> spanHandlers) {
+        return new TailSamplingSpanHandler(properties, () -> spanHandlers.orderedStream()
+                .filter(spanHandler -> !(spanHandler instanceof TailSamplingSpanHandler))
+                .toList());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "clients.tracing.sampling.tail", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TracingCustomizer tailSamplingTracingCustomizer() {
+        return builder -> builder.alwaysSampleLocal();
+    }
+}
@@ -0,0 +1,62 @@
+package com.clients.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Trace sampling settings, replacing {@code management.tracing.sampling.probability}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "clients.tracing.sampling")
+public class TracingSamplingProperties {
+
+    /**
+     * Share of the traces started by this service that are sampled up front.
+     */
+    private float probability = 0.01f;
+
+    /**
+     * Upper bound of the traces this service samples up front per second, whatever the traffic.
+     */
+    private int maxTracesPerSecond = 10;
+
+    /**
+     * Upper bound of the spans this service reports per second, tail sampled traces included.
+     */
+    private int maxSpansPerSecond = 500;
+
+    private Tail tail = new Tail();
+
+    @Getter
+    @Setter
+    public static class Tail {
+        /**
+         * Whether traces that were not sampled up front are recorded locally and reported when they fail or are slow.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Duration of the local root span from which a trace is reported as slow.
+         */
+        private Duration slowThreshold = Duration.ofSeconds(1);
+
+        /**
+         * Number of unfinished traces buffered at once. Traces beyond it are not recorded.
+         */
+        private int maxBufferedTraces = 10_000;
+
+        /**
+         * Number of spans buffered per trace. Spans beyond it are dropped.
+         */
+        private int maxSpansPerTrace = 1_000;
+
+        /**
+         * Age after which a trace whose local root never finished is dropped from the buffer.
+         */
+        private Duration bufferTimeout = Duration.ofMinutes(1);
+    }
+}
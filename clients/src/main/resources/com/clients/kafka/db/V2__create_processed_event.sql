@@ -0,0 +1,7 @@
+-- Ids of the Kafka events already applied by this service, used to skip redelivered events
+CREATE TABLE processed_event (
+                                 event_id UUID PRIMARY KEY,           -- Event id assigned by the producer
+                                 processed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now() -- When the event was applied
+);
+
+CREATE INDEX processed_event_processed_at_idx ON processed_event (processed_at);
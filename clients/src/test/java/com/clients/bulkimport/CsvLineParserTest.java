@@ -0,0 +1,35 @@
+package com.clients.bulkimport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvLineParserTest {
+
+    @Test
+    void parse_ShouldSplitPlainAndQuotedFields() {
+        // When
+        List<String> fields = CsvLineParser.parse("John Doe,\"12 Main St, Amman\",\"say \"\"hi\"\"\",,last");
+
+        // Then
+        assertEquals(List.of("John Doe", "12 Main St, Amman", "say \"hi\"", "", "last"), fields);
+    }
+
+    @Test
+    void parse_ShouldKeepTrailingEmptyField() {
+        // When
+        List<String> fields = CsvLineParser.parse("a,");
+
+        // Then
+        assertEquals(List.of("a", ""), fields);
+    }
+
+    @Test
+    void parse_ShouldThrowException_WhenQuotedFieldIsNotTerminated() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> CsvLineParser.parse("\"unterminated,field"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.clients.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class ListenerPoolBackpressureTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPauseListenersWhileThreadsWaitForConnectionsAndResumeAfterwards() {
+        // Given
+        HikariPoolMXBean poolBean = mock(HikariPoolMXBean.class);
+        HikariDataSource listenerPool = mock(HikariDataSource.class);
+        when(listenerPool.getHikariPoolMXBean()).thenReturn(poolBean);
+        when(listenerPool.getMaximumPoolSize()).thenReturn(5);
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        KafkaListenerEndpointRegistry registry = mock(KafkaListenerEndpointRegistry.class);
+        when(registry.getAllListenerContainers()).thenReturn(List.of(container));
+        ObjectProvider<KafkaListenerEndpointRegistry> registryProvider = mock(ObjectProvider.class);
+        when(registryProvider.getIfAvailable()).thenReturn(registry);
+        ListenerPoolBackpressure backpressure = new ListenerPoolBackpressure(listenerPool, registryProvider, Duration.ofSeconds(1));
+
+        // When
+        when(poolBean.getActiveConnections()).thenReturn(5);
+        when(poolBean.getThreadsAwaitingConnection()).thenReturn(2);
+        backpressure.check();
+        backpressure.check();
+
+        // Then
+        verify(container, times(1)).pause();
+        verify(container, never()).resume();
+
+        // When
+        when(poolBean.getActiveConnections()).thenReturn(3);
+        when(poolBean.getThreadsAwaitingConnection()).thenReturn(0);
+        backpressure.check();
+
+        // Then
+        verify(container, times(1)).resume();
+    }
+}
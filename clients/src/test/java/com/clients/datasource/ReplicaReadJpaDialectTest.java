@@ -0,0 +1,45 @@
+package com.clients.datasource;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.JpaDialect;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaReadJpaDialectTest {
+
+    private final JpaDialect delegate = mock(JpaDialect.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ReplicaReadJpaDialect dialect = new ReplicaReadJpaDialect(delegate);
+
+    @Test
+    void shouldBypassCacheStoreInReadOnlyTransaction() throws Exception {
+        // Given
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        Object transactionData = new Object();
+        when(delegate.beginTransaction(entityManager, definition)).thenReturn(transactionData);
+
+        // When
+        Object result = dialect.beginTransaction(entityManager, definition);
+
+        // Then
+        assertSame(transactionData, result);
+        verify(entityManager).setProperty(ReplicaReadJpaDialect.CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+    }
+
+    @Test
+    void shouldLeaveCacheStoreModeOfReadWriteTransaction() throws Exception {
+        // When
+        dialect.beginTransaction(entityManager, new DefaultTransactionDefinition());
+
+        // Then
+        verify(delegate).beginTransaction(any(), any());
+        verify(entityManager, never()).setProperty(anyString(), any());
+    }
+}
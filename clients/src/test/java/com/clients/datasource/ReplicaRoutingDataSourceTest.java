@@ -0,0 +1,114 @@
+package com.clients.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT 0";
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final DataSource primary = mock(DataSource.class);
+
+    @Test
+    void shouldRoundRobinOverReplicasWithinLagTolerance() throws SQLException {
+        // Given
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        ReplicaRoutingDataSource dataSource = routingDataSource(replicaWithLag(first, 100), replicaWithLag(second, 200));
+
+        // When
+        dataSource.checkReplicas();
+
+        // Then
+        Connection a = dataSource.getConnection();
+        Connection b = dataSource.getConnection();
+        assertNotSame(a, b);
+        assertTrue(a == first || a == second);
+        assertTrue(b == first || b == second);
+    }
+
+    @Test
+    void shouldSkipLaggingReplica() throws SQLException {
+        // Given
+        Connection lagging = mock(Connection.class);
+        Connection current = mock(Connection.class);
+        ReplicaRoutingDataSource dataSource = routingDataSource(replicaWithLag(lagging, 60_000), replicaWithLag(current, 10));
+
+        // When
+        dataSource.checkReplicas();
+
+        // Then
+        for (int i = 0; i < 4; i++) {
+            assertSame(current, dataSource.getConnection());
+        }
+    }
+
+    @Test
+    void shouldFallBackToPrimaryBeforeFirstCheckAndWhenNoReplicaIsAvailable() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource dataSource = routingDataSource(replicaWithLag(mock(Connection.class), 0), unreachable);
+
+        // Then
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        // When
+        dataSource.checkReplicas();
+
+        // Then
+        assertNotSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void shouldDisableReplicaWhoseConnectionFails() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        Connection checkConnection = mock(Connection.class);
+        DataSource replica = replicaWithLag(checkConnection, 0);
+        ReplicaRoutingDataSource dataSource = routingDataSource(replica);
+        dataSource.checkReplicas();
+
+        // When
+        when(replica.getConnection()).thenThrow(new SQLException("Connection reset"));
+
+        // Then
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    private ReplicaRoutingDataSource routingDataSource(DataSource... replicas) {
+        Map<String, DataSource> byName = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.length; i++) {
+            byName.put("replica-" + i, replicas[i]);
+        }
+        return new ReplicaRoutingDataSource(primary, byName, LAG_QUERY, Duration.ofSeconds(5));
+    }
+
+    private static DataSource replicaWithLag(Connection connection, long lagMillis) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(lagMillis);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,45 @@
+package com.clients.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkloadRoutingDataSourceTest {
+
+    @Test
+    void shouldUseThePoolOfTheCurrentWorkload() throws SQLException {
+        // Given
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        Map<Workload, Connection> connections = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            HikariDataSource pool = mock(HikariDataSource.class);
+            Connection connection = mock(Connection.class);
+            when(pool.getConnection()).thenReturn(connection);
+            pools.put(workload, pool);
+            connections.put(workload, connection);
+        }
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource(pools);
+
+        // Then
+        assertSame(connections.get(Workload.WEB), dataSource.getConnection());
+        WorkloadContext.runAs(Workload.LISTENER, () -> assertConnection(dataSource, connections.get(Workload.LISTENER)));
+        WorkloadContext.runAs(Workload.BATCH, () -> assertConnection(dataSource, connections.get(Workload.BATCH)));
+        assertSame(connections.get(Workload.WEB), dataSource.getConnection());
+    }
+
+    private static void assertConnection(WorkloadRoutingDataSource dataSource, Connection expected) {
+        try {
+            assertSame(expected, dataSource.getConnection());
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
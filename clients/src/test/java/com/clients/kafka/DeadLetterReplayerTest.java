@@ -0,0 +1,92 @@
+package com.clients.kafka;
+
+import com.clients.exception.InvalidDeadLetterReplayRequestException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayerTest {
+
+    private static final String SOURCE_TOPIC = "account.new";
+    private static final String DLT = SOURCE_TOPIC + DeadLetterReplayer.DLT_SUFFIX;
+    private static final TopicPartition PARTITION = new TopicPartition(DLT, 0);
+
+    @Mock
+    private ConsumerFactory<Object, Object> consumerFactory;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private MockConsumer<Object, Object> consumer;
+    private DeadLetterReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public synchronized void close() {
+                // kept open so the committed offsets can be inspected
+            }
+        };
+        consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        replayer = new DeadLetterReplayer(consumerFactory, kafkaTemplate, "group-dlt-replay", List.of(SOURCE_TOPIC));
+    }
+
+    @Test
+    void replay_republishesRecordsWithoutDeadLetterHeadersAndCommits() {
+        when(consumerFactory.createConsumer(eq("group-dlt-replay"), isNull(), isNull(), any(Properties.class))).thenReturn(consumer);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        consumer.schedulePollTask(() -> {
+            for (int offset = 0; offset < 3; offset++) {
+                ConsumerRecord<Object, Object> consumerRecord = new ConsumerRecord<>(DLT, 0, offset, null, new byte[]{(byte) offset});
+                consumerRecord.headers().add("kafka_dlt-exception-message", new byte[]{1});
+                consumerRecord.headers().add("retry_topic-attempts", new byte[]{4});
+                consumerRecord.headers().add("updated-fields", new byte[]{2});
+                consumer.addRecord(consumerRecord);
+            }
+        });
+
+        int replayed = replayer.replay(SOURCE_TOPIC, 2);
+
+        assertEquals(2, replayed);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(captor.capture());
+        ProducerRecord<String, Object> first = captor.getAllValues().get(0);
+        assertEquals(SOURCE_TOPIC, first.topic());
+        assertArrayEquals(new byte[]{0}, (byte[]) first.value());
+        assertEquals(1, first.headers().toArray().length);
+        assertNotNull(first.headers().lastHeader("updated-fields"));
+        assertEquals(new OffsetAndMetadata(2), consumer.committed(Set.of(PARTITION)).get(PARTITION));
+    }
+
+    @Test
+    void replay_unknownTopic_isRejected() {
+        assertThrows(InvalidDeadLetterReplayRequestException.class, () -> replayer.replay("customer.new", 10));
+        verifyNoInteractions(consumerFactory);
+    }
+}
@@ -0,0 +1,98 @@
+package com.clients.kafka;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedEventServiceTest {
+
+    @Mock
+    private ProcessedEventRepository processedEventRepository;
+
+    private ProcessedEventService processedEventService;
+
+    @BeforeEach
+    void setUp() {
+        processedEventService = new ProcessedEventService(processedEventRepository, 100, Duration.ofHours(1), Duration.ofDays(7));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void shouldProcessNewEvent() {
+        UUID eventId = UUID.randomUUID();
+        when(processedEventRepository.insertIfAbsent(eventId)).thenReturn(1);
+
+        assertTrue(processedEventService.markProcessed(eventId));
+    }
+
+    @Test
+    void shouldSkipEventRecordedInDatabase() {
+        UUID eventId = UUID.randomUUID();
+        when(processedEventRepository.insertIfAbsent(eventId)).thenReturn(0);
+
+        assertFalse(processedEventService.markProcessed(eventId));
+    }
+
+    @Test
+    void shouldSkipCommittedEventWithoutDatabaseRoundTrip() {
+        UUID eventId = UUID.randomUUID();
+        when(processedEventRepository.insertIfAbsent(eventId)).thenReturn(1);
+        processedEventService.markProcessed(eventId);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertFalse(processedEventService.markProcessed(eventId));
+        verify(processedEventRepository, times(1)).insertIfAbsent(eventId);
+    }
+
+    @Test
+    void shouldNotRememberEventOfRolledBackTransaction() {
+        UUID eventId = UUID.randomUUID();
+        when(processedEventRepository.insertIfAbsent(eventId)).thenReturn(1);
+        processedEventService.markProcessed(eventId);
+
+        assertTrue(processedEventService.markProcessed(eventId));
+        verify(processedEventRepository, times(2)).insertIfAbsent(eventId);
+    }
+
+    @Test
+    void shouldProcessEventWithoutId() {
+        assertTrue(processedEventService.markProcessed(null));
+        verifyNoInteractions(processedEventRepository);
+    }
+
+    @Test
+    void recentEventIds_shouldEvictExpiredAndOldestEntries() {
+        long[] now = {0};
+        RecentEventIds recentEventIds = new RecentEventIds(2, Duration.ofNanos(10), () -> now[0]);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        recentEventIds.add(first);
+        recentEventIds.add(second);
+        recentEventIds.add(third);
+        assertFalse(recentEventIds.contains(first));
+        assertTrue(recentEventIds.contains(third));
+
+        now[0] = 10;
+        assertFalse(recentEventIds.contains(third));
+        assertEquals(0, recentEventIds.size());
+    }
+}
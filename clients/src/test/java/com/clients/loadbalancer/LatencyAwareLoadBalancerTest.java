@@ -0,0 +1,74 @@
+package com.clients.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.*;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LatencyAwareLoadBalancerTest {
+
+    private final ServiceInstance first = new DefaultServiceInstance("customer-1", "customer", "10.0.0.1", 8080, false);
+    private final ServiceInstance second = new DefaultServiceInstance("customer-2", "customer", "10.0.0.2", 8080, false);
+    private final List<ServiceInstance> instances = List.of(first, second);
+
+    private LatencyAwareLoadBalancer loadBalancer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        LatencyAwareLoadBalancerProperties properties = new LatencyAwareLoadBalancerProperties();
+        properties.setDecay(Duration.ofMinutes(10));
+        loadBalancer = new LatencyAwareLoadBalancer(mock(ObjectProvider.class), "customer", properties);
+    }
+
+    @Test
+    void choose_prefersInstanceWithLowerLatency() throws Exception {
+        complete(first, 200);
+        complete(second, 0);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(second, loadBalancer.choose(instances).getServer());
+        }
+    }
+
+    @Test
+    void choose_prefersInstanceWithFewerOutstandingRequests() {
+        for (int i = 0; i < 5; i++) {
+            loadBalancer.onStartRequest(new DefaultRequest<>(), new DefaultResponse(first));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(second, loadBalancer.choose(instances).getServer());
+        }
+    }
+
+    @Test
+    void choose_failedCallIsPenalized() {
+        Request<Object> request = new DefaultRequest<>();
+        loadBalancer.onStartRequest(request, new DefaultResponse(first));
+        loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.FAILED, request, new DefaultResponse(first)));
+
+        assertEquals(second, loadBalancer.choose(instances).getServer());
+    }
+
+    @Test
+    void choose_noInstances_returnsEmptyResponse() {
+        assertFalse(loadBalancer.choose(List.of()).hasServer());
+    }
+
+    private void complete(ServiceInstance instance, long millis) throws InterruptedException {
+        Request<Object> request = new DefaultRequest<>();
+        loadBalancer.onStartRequest(request, new DefaultResponse(instance));
+        Thread.sleep(millis);
+        loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, new DefaultResponse(instance)));
+    }
+}
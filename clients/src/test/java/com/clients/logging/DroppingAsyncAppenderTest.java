@@ -0,0 +1,67 @@
+package com.clients.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DroppingAsyncAppenderTest {
+
+    @Test
+    void fullQueue_dropsAndCountsEventsInsteadOfBlocking() throws InterruptedException {
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> slowAppender = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                workerBusy.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slowAppender.setContext(loggerContext);
+        slowAppender.start();
+        DroppingAsyncAppender appender = new DroppingAsyncAppender();
+        appender.setContext(loggerContext);
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(2);
+        appender.setNeverBlock(true);
+        appender.addAppender(slowAppender);
+        appender.start();
+
+        appender.doAppend(event(loggerContext, Level.INFO));
+        assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+        // three INFO events take the remaining capacity down to 1, below the threshold of 2
+        appender.doAppend(event(loggerContext, Level.INFO));
+        appender.doAppend(event(loggerContext, Level.INFO));
+        appender.doAppend(event(loggerContext, Level.INFO));
+        appender.doAppend(event(loggerContext, Level.INFO));
+        // WARN is still queued until the queue is full
+        appender.doAppend(event(loggerContext, Level.WARN));
+        appender.doAppend(event(loggerContext, Level.WARN));
+
+        assertEquals(1, appender.getDiscarded());
+        assertEquals(1, appender.getRejected());
+        release.countDown();
+        appender.stop();
+    }
+
+    private static ILoggingEvent event(LoggerContext loggerContext, Level level) {
+        return new LoggingEvent(DroppingAsyncAppenderTest.class.getName(), loggerContext.getLogger("com.example.ExampleService"),
+                level, "message", null, null);
+    }
+}
@@ -0,0 +1,96 @@
+package com.clients.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.logging.LogLevel;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogSamplingTurboFilterTest {
+
+    private LoggerContext loggerContext;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        appender = new ListAppender<>();
+        appender.setContext(loggerContext);
+        appender.start();
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+    }
+
+    @Test
+    void rateLimitedRule_dropsEventsBeyondTheBudgetAndLeavesMoreSevereOnesAlone() {
+        LogSamplingTurboFilter filter = install(rule("com.example", LogLevel.INFO, null, 1.0, 2));
+        Logger logger = loggerContext.getLogger("com.example.controller.ExampleController");
+
+        for (int i = 0; i < 5; i++) {
+            logger.info("Retrieved example with ID: {}", i);
+            logger.warn("Example {} is slow", i);
+        }
+
+        assertEquals(7, appender.list.size());
+        assertEquals(3, filter.getRateLimited());
+    }
+
+    @Test
+    void messagePrefix_limitsOnlyTheExpectedError() {
+        LogSamplingTurboFilter filter = install(rule("com.example.ExampleService", LogLevel.ERROR, "Example with ID: {} not found", 0.0, 0));
+        Logger logger = loggerContext.getLogger("com.example.ExampleService");
+
+        logger.error("Example with ID: {} not found", 1);
+        logger.error("Failed to load example {}", 1);
+
+        assertEquals(List.of("Failed to load example {}"), appender.list.stream().map(ILoggingEvent::getMessage).toList());
+        assertEquals(1, filter.getSampledOut());
+    }
+
+    @Test
+    void eventsTheLoggerWouldNotLog_doNotUseUpTheBudget() {
+        LogSamplingTurboFilter filter = install(rule("com.example", LogLevel.INFO, null, 1.0, 1));
+        Logger logger = loggerContext.getLogger("com.example.ExampleService");
+        logger.setLevel(Level.INFO);
+
+        logger.debug("Looking up example {}", 1);
+        logger.info("Retrieved example {}", 1);
+
+        assertEquals(1, appender.list.size());
+        assertEquals(0, filter.getRateLimited());
+    }
+
+    @Test
+    void otherLoggers_areNotLimited() {
+        install(rule("com.example", LogLevel.INFO, null, 0.0, 0));
+
+        loggerContext.getLogger("com.examples.OtherService").info("Retrieved other {}", 1);
+
+        assertEquals(1, appender.list.size());
+    }
+
+    private LogSamplingTurboFilter install(LogSamplingProperties.Rule rule) {
+        LogSamplingTurboFilter filter = new LogSamplingTurboFilter(List.of(rule));
+        filter.setContext(loggerContext);
+        filter.start();
+        loggerContext.addTurboFilter(filter);
+        return filter;
+    }
+
+    private static LogSamplingProperties.Rule rule(String logger, LogLevel level, String messagePrefix,
+                                                   double sampleRate, int maxPerSecond) {
+        LogSamplingProperties.Rule rule = new LogSamplingProperties.Rule();
+        rule.setLogger(logger);
+        rule.setLevel(level);
+        rule.setMessagePrefix(messagePrefix);
+        rule.setSampleRate(sampleRate);
+        rule.setMaxPerSecond(maxPerSecond);
+        return rule;
+    }
+}
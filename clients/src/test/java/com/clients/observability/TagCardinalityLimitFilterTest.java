@@ -0,0 +1,59 @@
+package com.clients.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TagCardinalityLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(new TagCardinalityLimitFilter(2));
+    }
+
+    @Test
+    void newTagValuesBeyondTheLimit_areDropped() {
+        meterRegistry.counter("http.client.requests", "uri", "/a").increment();
+        meterRegistry.counter("http.client.requests", "uri", "/b").increment();
+        meterRegistry.counter("http.client.requests", "uri", "/c").increment();
+
+        assertEquals(2, meterRegistry.find("http.client.requests").counters().size());
+        assertEquals(0, meterRegistry.find("http.client.requests").tag("uri", "/c").counters().size());
+    }
+
+    @Test
+    void knownTagValues_keepBeingAccepted() {
+        meterRegistry.counter("http.client.requests", "uri", "/a", "status", "200").increment();
+        meterRegistry.counter("http.client.requests", "uri", "/b", "status", "200").increment();
+
+        meterRegistry.counter("http.client.requests", "uri", "/a", "status", "500").increment();
+
+        assertEquals(1, meterRegistry.find("http.client.requests").tag("status", "500").counters().size());
+    }
+
+    @Test
+    void limitIsKeptPerMeterName() {
+        meterRegistry.counter("http.client.requests", "uri", "/a").increment();
+        meterRegistry.counter("http.client.requests", "uri", "/b").increment();
+
+        meterRegistry.counter("http.server.requests", "uri", "/c").increment();
+
+        assertEquals(1, meterRegistry.find("http.server.requests").counters().size());
+    }
+
+    @Test
+    void droppedMeter_doesNotUseUpValuesOfItsOtherTags() {
+        meterRegistry.counter("http.client.requests", "uri", "/a", "status", "200").increment();
+        meterRegistry.counter("http.client.requests", "uri", "/b", "status", "200").increment();
+        meterRegistry.counter("http.client.requests", "uri", "/c", "status", "404").increment();
+
+        meterRegistry.counter("http.client.requests", "uri", "/a", "status", "500").increment();
+
+        assertEquals(1, meterRegistry.find("http.client.requests").tag("status", "500").counters().size());
+    }
+}
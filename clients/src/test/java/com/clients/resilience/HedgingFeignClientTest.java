@@ -0,0 +1,111 @@
+package com.clients.resilience;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HedgingFeignClientTest {
+
+    private static final String METHOD_ID = "CustomerClientgetCustomerint";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HedgingProperties properties;
+    private volatile long slowCallMillis;
+    private HedgingFeignClient hedgingFeignClient;
+
+    @BeforeEach
+    void setUp() {
+        HedgingProperties.Policy policy = new HedgingProperties.Policy();
+        policy.setMinSamples(5);
+        policy.setWindowSize(16);
+        policy.setMinDelay(Duration.ofMillis(5));
+        properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setMethods(Map.of(METHOD_ID, policy));
+
+        Client delegate = (request, options) -> {
+            int call = calls.incrementAndGet();
+            if (call == 1 && slowCallMillis > 0) {
+                sleep(slowCallMillis);
+            }
+            return Response.builder().status(200).request(request).headers(Map.of()).body("call-" + call, StandardCharsets.UTF_8).build();
+        };
+        hedgingFeignClient = new HedgingFeignClient(delegate, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedgingFeignClient.destroy();
+    }
+
+    @Test
+    void slowPrimary_isHedgedAndHedgeWins() throws Exception {
+        Request request = request(Request.HttpMethod.GET);
+        for (int i = 0; i < 10; i++) {
+            hedgingFeignClient.execute(request, new Request.Options()).close();
+        }
+
+        calls.set(0);
+        slowCallMillis = 1000;
+        long start = System.nanoTime();
+        Response response = hedgingFeignClient.execute(request, new Request.Options());
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+        assertEquals(200, response.status());
+        assertEquals(1.0, meterRegistry.counter("feign.hedging.requests", "method", METHOD_ID, "outcome", "hedge_won").count());
+    }
+
+    @Test
+    void nonGetRequest_isNeverHedged() throws Exception {
+        slowCallMillis = 50;
+        Request request = request(Request.HttpMethod.PUT);
+        for (int i = 0; i < 10; i++) {
+            calls.set(0);
+            hedgingFeignClient.execute(request, new Request.Options()).close();
+        }
+
+        assertEquals(0.0, meterRegistry.counter("feign.hedging.requests", "method", METHOD_ID, "outcome", "hedged").count());
+    }
+
+    @Test
+    void disabledHedging_callsDelegateOnce() throws Exception {
+        properties.setEnabled(false);
+        Request request = request(Request.HttpMethod.GET);
+
+        hedgingFeignClient.execute(request, new Request.Options()).close();
+
+        assertEquals(1, calls.get());
+    }
+
+    private static Request request(Request.HttpMethod method) {
+        MethodMetadata metadata = mock(MethodMetadata.class);
+        when(metadata.configKey()).thenReturn("CustomerClient#getCustomer(int)");
+        RequestTemplate template = new RequestTemplate();
+        template.methodMetadata(metadata);
+        return Request.create(method, "http://customer/api/v1/customers/1000000", Map.of(), null, StandardCharsets.UTF_8, template);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
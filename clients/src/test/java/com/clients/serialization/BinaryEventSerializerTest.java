@@ -0,0 +1,152 @@
+package com.clients.serialization;
+
+import com.clients.account.dto.AccruedInterestDTO;
+import com.clients.account.dto.ImportedAccountDTO;
+import com.clients.account.dto.KafkaAccountsImportedDTO;
+import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.account.dto.KafkaInterestAccruedDTO;
+import com.clients.account.dto.KafkaNewAccountDTO;
+import com.clients.account.dto.KafkaUpdateAccountDTO;
+import com.clients.customer.dto.KafkaCustomerDeleteDTO;
+import com.clients.customer.dto.KafkaCustomerUpdateDTO;
+import com.clients.customer.dto.KafkaCustomersImportedDTO;
+import com.clients.customer.dto.KafkaNewCustomerDTO;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryEventSerializerTest {
+
+    private final BinaryEventSerializer serializer = new BinaryEventSerializer();
+    private final BinaryEventDeserializer deserializer = new BinaryEventDeserializer();
+
+    @Test
+    void roundTrip_allEvents() {
+        Map<String, Object> updatedFields = new HashMap<>();
+        updatedFields.put("balance", new BigDecimal("1520.75"));
+        updatedFields.put("accountStatus", "active");
+        updatedFields.put("note", null);
+
+        Object[] events = {
+                new KafkaNewCustomerDTO(1000000, "John", "1234567", "retail", "Amman", null, "john@example.com", 0, "active"),
+                new KafkaCustomerUpdateDTO(1000000, Map.of("customerStatus", "inactive")),
+                new KafkaCustomerDeleteDTO(null),
+                new KafkaNewAccountDTO(1000000123, 1000000, "salary", "active", new BigDecimal("250.00")),
+                new KafkaUpdateAccountDTO(1000000123, 1000000, updatedFields),
+                new KafkaDeleteAccountDTO(1000000123, 1000000),
+                new KafkaCustomersImportedDTO(UUID.randomUUID(), 2, 1000000, 1000001),
+                new KafkaCustomersImportedDTO(UUID.randomUUID(), 0, null, null),
+                new KafkaInterestAccruedDTO(LocalDate.of(2024, 2, 29), List.of(
+                        new AccruedInterestDTO(1000000123, 1000000, new BigDecimal("0.07"), new BigDecimal("1000.07")),
+                        new AccruedInterestDTO(1000999456, 1000999, new BigDecimal("27.40"), new BigDecimal("250027.40")))),
+                new KafkaAccountsImportedDTO(UUID.randomUUID(), List.of(
+                        new ImportedAccountDTO(1000000123, 1000000, "salary", "active", new BigDecimal("250.00")),
+                        new ImportedAccountDTO(1000001042, 1000001, "savings", "inactive", BigDecimal.ZERO)))
+        };
+
+        for (Object event : events) {
+            assertEquals(event, deserializer.deserialize("topic", serializer.serialize("topic", event)));
+        }
+    }
+
+    @Test
+    void serialize_isSmallerThanJson() {
+        KafkaNewCustomerDTO event = new KafkaNewCustomerDTO(1000000, "John", "1234567", "retail", "Amman", "0790000000", "john@example.com", 0, "active");
+
+        byte[] binary = serializer.serialize("topic", event);
+        byte[] json = new JsonSerializer<>().serialize("topic", new RecordHeaders(), event);
+
+        assertTrue(binary.length * 2 < json.length);
+    }
+
+    @Test
+    void deserialize_fallsBackToJson() {
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+        KafkaDeleteAccountDTO event = new KafkaDeleteAccountDTO(1000000123, 1000000);
+        RecordHeaders headers = new RecordHeaders();
+        byte[] json = new JsonSerializer<>().serialize("topic", headers, event);
+
+        assertEquals(event, deserializer.deserialize("topic", headers, json));
+    }
+
+    @Test
+    void deserialize_versionOnePayload_hasNoEventId() {
+        byte[] versionOne = new BinaryWriter(16)
+                .writeByte(BinaryEventSerializer.MAGIC)
+                .writeVarInt(EventSchemas.forType(KafkaDeleteAccountDTO.class).typeId())
+                .writeVarInt(1)
+                .writeVarInt(1000000123)
+                .writeVarInt(1000000)
+                .toByteArray();
+
+        assertEquals(new KafkaDeleteAccountDTO(1000000123, 1000000, null), deserializer.deserialize("topic", versionOne));
+    }
+
+    @Test
+    void deserialize_versionOneInterestPayload_hasNoAccruals() {
+        UUID eventId = UUID.randomUUID();
+        byte[] versionOne = new BinaryWriter(64)
+                .writeByte(BinaryEventSerializer.MAGIC)
+                .writeVarInt(EventSchemas.forType(KafkaInterestAccruedDTO.class).typeId())
+                .writeVarInt(1)
+                .writeVarLong(LocalDate.of(2024, 2, 29).toEpochDay())
+                .writeVarInt(1000000123)
+                .writeVarInt(1000999456)
+                .writeVarInt(9120)
+                .writeDecimal(new BigDecimal("1843.27"))
+                .writeUuid(eventId)
+                .toByteArray();
+
+        assertEquals(new KafkaInterestAccruedDTO(LocalDate.of(2024, 2, 29), 1000000123, 1000999456, 9120,
+                new BigDecimal("1843.27"), eventId, List.of()), deserializer.deserialize("topic", versionOne));
+    }
+
+    @Test
+    void deserialize_newerSchemaVersion_isRejected() {
+        byte[] bytes = serializer.serialize("topic", new KafkaDeleteAccountDTO(1000000123, 1000000));
+        bytes[2] = 100; // version varint, zig-zag encoded
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("topic", bytes));
+    }
+
+    @Test
+    void serialize_unknownType_isRejected() {
+        assertThrows(SerializationException.class, () -> serializer.serialize("topic", "not an event"));
+    }
+
+    @Test
+    void readMap_sizeBeyondPayload_isRejectedBeforeAllocating() {
+        byte[] bytes = new BinaryWriter(16).writeVarInt(Integer.MAX_VALUE).writeString("key").toByteArray();
+
+        assertThrows(SerializationException.class, () -> new BinaryReader(bytes, 0).readMap());
+    }
+
+    @Test
+    void readString_lengthOverflowingPosition_isRejected() {
+        byte[] bytes = new BinaryWriter(16).writeByte(0).writeVarInt(Integer.MIN_VALUE).toByteArray();
+        BinaryReader reader = new BinaryReader(bytes, 0);
+        reader.readByte();
+
+        assertThrows(SerializationException.class, reader::readString);
+    }
+
+    @Test
+    void readCount_negativeOrBeyondPayload_isRejected() {
+        byte[] negative = new BinaryWriter(16).writeVarInt(-5).toByteArray();
+        byte[] tooLarge = new BinaryWriter(16).writeVarInt(1_000_000).writeVarInt(1).toByteArray();
+
+        assertThrows(SerializationException.class, () -> new BinaryReader(negative, 0).readCount());
+        assertThrows(SerializationException.class, () -> new BinaryReader(tooLarge, 0).readCount());
+    }
+}
@@ -0,0 +1,78 @@
+package com.clients.serialization;
+
+import com.clients.kafka.DeadLetterReplayer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * A record the services cannot decode must not fail in {@code poll()}, where it would stall its partition, but reach
+ * the dead-letter topic with its original bytes.
+ */
+class CorruptRecordDeadLetterTest {
+
+    private static final String TOPIC = "customer.new";
+
+    static Stream<byte[]> corruptRecords() {
+        return Stream.of(
+                new byte[]{BinaryEventSerializer.MAGIC, 0x7F, 1},
+                new byte[]{BinaryEventSerializer.MAGIC, 1, 99},
+                new byte[]{BinaryEventSerializer.MAGIC},
+                "{\"customerId\": ".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @ParameterizedTest
+    @MethodSource("corruptRecords")
+    @SuppressWarnings("unchecked")
+    void corruptRecord_isDecodedAsFailureAndDeadLetteredWithItsOriginalBytes(byte[] data) {
+        ErrorHandlingDeserializer<Object> deserializer = new ErrorHandlingDeserializer<>();
+        deserializer.configure(Map.of(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, BinaryEventDeserializer.class.getName(),
+                JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+        RecordHeaders headers = new RecordHeaders();
+
+        Object value = deserializer.deserialize(TOPIC, headers, data);
+
+        assertNull(value);
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>(TOPIC, 0, 42L, 0L, TimestampType.CREATE_TIME,
+                0, data.length, "1000000", value, headers, Optional.empty());
+        DeserializationException exception = SerializationUtils.getExceptionFromHeader(record,
+                SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, null);
+        assertNotNull(exception);
+
+        KafkaOperations<String, Object> kafkaTemplate = mock(KafkaOperations.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                new SendResult<>(invocation.getArgument(0), new RecordMetadata(new TopicPartition(TOPIC, 0), 0, 0, 0, 0, 0))));
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (failed, e) -> new TopicPartition(failed.topic() + DeadLetterReplayer.DLT_SUFFIX, -1));
+
+        recoverer.accept(record, exception);
+
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(sent.capture());
+        assertEquals(TOPIC + DeadLetterReplayer.DLT_SUFFIX, sent.getValue().topic());
+        assertArrayEquals(data, new BinaryEventSerializer().serialize(sent.getValue().topic(), sent.getValue().value()));
+    }
+}
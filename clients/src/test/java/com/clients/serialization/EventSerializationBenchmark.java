@@ -0,0 +1,80 @@
+package com.clients.serialization;
+
+import com.clients.account.dto.KafkaUpdateAccountDTO;
+import com.clients.customer.dto.KafkaCustomerUpdateDTO;
+import com.clients.customer.dto.KafkaNewCustomerDTO;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary event codec with the Spring Kafka JSON path the services used before.
+ * Both sides include the deserializer work a consumer does per record; the JSON side also writes and reads type
+ * headers, as {@link JsonSerializer} does by default.
+ * <p>
+ * Run with {@code mvn -pl clients test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main EventSerializationBenchmark"}.
+ * The encoded sizes are printed once at setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private static final String TOPIC = "customer.update";
+
+    @Param({"newCustomer", "customerUpdate", "accountUpdate"})
+    public String event;
+
+    private Object payload;
+    private final BinaryEventSerializer binarySerializer = new BinaryEventSerializer();
+    private final BinaryEventDeserializer binaryDeserializer = new BinaryEventDeserializer();
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+    private byte[] binaryBytes;
+    private byte[] jsonBytes;
+    private RecordHeaders jsonHeaders;
+
+    @Setup
+    public void setUp() {
+        jsonDeserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*", JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false), false);
+        payload = switch (event) {
+            case "newCustomer" -> new KafkaNewCustomerDTO(1000042, "John Doe", "7788990", "retail", "12 Main Street, Amman",
+                    "+962790000000", "john.doe@example.com", 0, "active");
+            case "customerUpdate" -> new KafkaCustomerUpdateDTO(1000042, Map.of("address", "14 Main Street, Amman", "customerStatus", "inactive"));
+            default -> new KafkaUpdateAccountDTO(1000042123, 1000042, Map.of("balance", new BigDecimal("1520.75"), "accountStatus", "active"));
+        };
+        binaryBytes = binarySerializer.serialize(TOPIC, payload);
+        jsonHeaders = new RecordHeaders();
+        jsonBytes = jsonSerializer.serialize(TOPIC, jsonHeaders, payload);
+        System.out.printf("%n%s: binary %d bytes, json %d bytes + type headers%n", event, binaryBytes.length, jsonBytes.length);
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return binarySerializer.serialize(TOPIC, payload);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), payload);
+    }
+
+    @Benchmark
+    public Object binaryDeserialize() {
+        return binaryDeserializer.deserialize(TOPIC, binaryBytes);
+    }
+
+    @Benchmark
+    public Object jsonDeserialize() {
+        return jsonDeserializer.deserialize(TOPIC, jsonHeaders, jsonBytes);
+    }
+}
@@ -0,0 +1,28 @@
+package com.clients.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitedProbabilitySamplerTest {
+
+    @Test
+    void sampledTraces_areCappedPerSecond() {
+        RateLimitedProbabilitySampler sampler = new RateLimitedProbabilitySampler(1.0f, 5);
+
+        long sampled = LongStream.range(1, 100).filter(sampler::isSampled).count();
+
+        assertEquals(5, sampled);
+    }
+
+    @Test
+    void zeroProbability_samplesNothing() {
+        RateLimitedProbabilitySampler sampler = new RateLimitedProbabilitySampler(0.0f, 5);
+
+        long sampled = LongStream.range(1, 100).filter(sampler::isSampled).count();
+
+        assertEquals(0, sampled);
+    }
+}
@@ -0,0 +1,114 @@
+package com.clients.tracing;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import brave.sampler.Sampler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TailSamplingSpanHandlerTest {
+
+    private final List<MutableSpan> reported = new CopyOnWriteArrayList<>();
+    private final SpanHandler reporter = new SpanHandler() {
+        @Override
+        public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+            if (Boolean.TRUE.equals(context.sampled())) {
+                reported.add(span);
+            }
+            return true;
+        }
+    };
+    private TracingSamplingProperties properties;
+    private Tracing tracing;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TracingSamplingProperties();
+        properties.getTail().setSlowThreshold(Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    @Test
+    void unsampledTrace_isDroppedWhenItSucceedsQuickly() {
+        Tracer tracer = tracer(Sampler.NEVER_SAMPLE);
+
+        Span root = tracer.newTrace().name("root").start(1_000_000);
+        tracer.newChild(root.context()).name("child").start(1_000_100).finish(1_000_200);
+        root.finish(1_100_000);
+
+        assertTrue(reported.isEmpty());
+    }
+
+    @Test
+    void unsampledTrace_isReportedWholeWhenASpanFailed() {
+        Tracer tracer = tracer(Sampler.NEVER_SAMPLE);
+
+        Span root = tracer.newTrace().name("root").start(1_000_000);
+        tracer.newChild(root.context()).name("child").start(1_000_100).error(new IllegalStateException()).finish(1_000_200);
+        root.finish(1_100_000);
+
+        assertEquals(List.of("child", "root"), reported.stream().map(MutableSpan::name).toList());
+    }
+
+    @Test
+    void unsampledTrace_isReportedWhenItsRootIsSlow() {
+        Tracer tracer = tracer(Sampler.NEVER_SAMPLE);
+
+        tracer.newTrace().name("root").start(1_000_000).finish(2_000_000);
+
+        assertEquals(1, reported.size());
+    }
+
+    @Test
+    void sampledTrace_isReportedSpanBySpanWithinTheBudget() {
+        properties.setMaxSpansPerSecond(2);
+        Tracer tracer = tracer(Sampler.ALWAYS_SAMPLE);
+
+        Span root = tracer.newTrace().name("root").start(1_000_000);
+        tracer.newChild(root.context()).name("child").start(1_000_100).finish(1_000_200);
+        assertEquals(1, reported.size());
+        tracer.newChild(root.context()).name("child").start(1_000_300).finish(1_000_400);
+        root.finish(1_100_000);
+
+        assertEquals(2, reported.size());
+    }
+
+    @Test
+    void keptTrace_isDroppedWholeWhenItExceedsTheBudget() {
+        properties.setMaxSpansPerSecond(1);
+        Tracer tracer = tracer(Sampler.NEVER_SAMPLE);
+
+        Span root = tracer.newTrace().name("root").start(1_000_000).error(new IllegalStateException());
+        tracer.newChild(root.context()).name("child").start(1_000_100).finish(1_000_200);
+        root.finish(1_100_000);
+
+        assertTrue(reported.isEmpty());
+    }
+
+    private Tracer tracer(Sampler sampler) {
+        TailSamplingSpanHandler tailSamplingSpanHandler = new TailSamplingSpanHandler(properties, () -> List.of(reporter));
+        tracing = Tracing.newBuilder()
+                .sampler(sampler)
+                .alwaysSampleLocal()
+                .addSpanHandler(tailSamplingSpanHandler)
+                .addSpanHandler(reporter)
+                .build();
+        return tracing.tracer();
+    }
+}
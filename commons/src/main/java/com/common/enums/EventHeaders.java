@@ -0,0 +1,15 @@
+package com.common.enums;
+
+public enum EventHeaders {
+    UPDATED_FIELDS("updated-fields");
+
+    private final String headerName;
+
+    EventHeaders(String headerName) {
+        this.headerName = headerName;
+    }
+
+    public String getHeaderName() {
+        return headerName;
+    }
+}
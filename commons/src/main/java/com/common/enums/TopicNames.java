@@ -4,10 +4,13 @@ public enum TopicNames {
     CUSTOMER_NEW("customer.new"),
     CUSTOMER_UPDATE("customer.update"),
     CUSTOMER_DELETE("customer.delete"),
+    CUSTOMER_IMPORT("customer.import"),
     ACCOUNT_NEW("account.new"),
     ACCOUNT_UPDATE("account.update"),
     ACCOUNT_DELETE("account.delete"),
-    ACCOUNT_TRANSFER("account.transfer");
+    ACCOUNT_IMPORT("account.import"),
+    ACCOUNT_TRANSFER("account.transfer"),
+    ACCOUNT_INTEREST("account.interest");
 
     private final String topicName;
 
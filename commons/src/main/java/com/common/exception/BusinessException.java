@@ -0,0 +1,20 @@
+package com.common.exception;
+
+/**
+ * Base of the exceptions thrown for expected business outcomes, such as a customer or account that does not exist or
+ * a request the business rules reject.
+ * <p>
+ * These are answered with an error response and never end up in a log with their stack trace, so none is captured:
+ * filling it in walks the whole call stack of the request on every throw, and is most of the cost of such a request.
+ * Suppressed exceptions are disabled as well. Unexpected failures should keep extending {@link RuntimeException}.
+ */
+public abstract class BusinessException extends RuntimeException {
+
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected BusinessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
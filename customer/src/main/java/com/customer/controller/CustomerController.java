@@ -2,8 +2,13 @@ package com.customer.controller;
 
 import com.clients.customer.dto.*;
 import com.clients.dto.ErrorResponseDTO;
+import com.clients.observability.ObservationNames;
+import com.common.enums.EventHeaders;
 import com.common.enums.TopicNames;
 import com.customer.kafka.KafkaProducerService;
+import com.customer.service.CustomerAccountSummaryService;
+import com.customer.service.CustomerImportService;
+import com.customer.service.CustomerPortfolioService;
 import com.customer.service.CustomerService;
 import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,14 +22,19 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author YQadous
  * Controller class for managing customers.
  */
 @RestController
+@Observed(name = ObservationNames.CONTROLLER)
 @RequestMapping("/api/v1/customers")
 @Slf4j
 @RequiredArgsConstructor
@@ -32,6 +42,9 @@ public class CustomerController {
 
     private final CustomerService customerService;
     private final KafkaProducerService kafkaProducerService;
+    private final CustomerAccountSummaryService customerAccountSummaryService;
+    private final CustomerPortfolioService customerPortfolioService;
+    private final CustomerImportService customerImportService;
 
     /**
      * Registers a new customer.
@@ -69,32 +82,133 @@ public class CustomerController {
         return new ResponseEntity<>(createdCustomerDTO, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports customers in bulk from a CSV file and publishes one event for the whole import.
+     *
+     * @param file The CSV file, with a header line naming the {@link CustomerRequestDTO} fields.
+     * @return A {@link ResponseEntity} containing the number of imported and rejected rows with the reason for every
+     * rejected row, and HTTP status code 200.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Imports customers in bulk from a CSV file", responses = {
+            @ApiResponse(responseCode = "200", description = "Import finished", content = @Content(schema = @Schema(implementation = CustomerImportResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty file or invalid header", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    public ResponseEntity<CustomerImportResponseDTO> importCustomers(@RequestParam("file") MultipartFile file) throws IOException {
+        log.debug("Received request to import customers from file: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+
+        CustomerImportResponseDTO importResponseDTO;
+        try (InputStream inputStream = file.getInputStream()) {
+            importResponseDTO = customerImportService.importCustomers(inputStream);
+        }
+
+        if (importResponseDTO.importedRows() > 0) {
+            KafkaCustomersImportedDTO kafkaCustomersImportedDTO = new KafkaCustomersImportedDTO(
+                    importResponseDTO.importId(),
+                    importResponseDTO.importedRows(),
+                    importResponseDTO.firstCustomerId(),
+                    importResponseDTO.lastCustomerId()
+            );
+            log.debug("Sending Kafka message for customer import: {}", kafkaCustomersImportedDTO);
+            kafkaProducerService.sendMessage(TopicNames.CUSTOMER_IMPORT.getTopicName(), kafkaCustomersImportedDTO);
+        }
+
+        return ResponseEntity.ok(importResponseDTO);
+    }
+
+    /**
+     * Searches customers by exact legal ID or email, or by a possibly misspelt or partial name, most similar first.
+     *
+     * @param query The legal ID, email or name to search for (at least 3 characters).
+     * @param after The opaque {@code nextCursor} returned with the previous page, omitted for the first page.
+     * @param size The maximum number of customers per page (1 to 100).
+     * @return A {@link ResponseEntity} containing the page of matching customers and HTTP status code 200.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CustomerSearchResponseDTO> searchCustomers(@RequestParam("q") String query,
+                                                                     @RequestParam(required = false) String after,
+                                                                     @RequestParam(defaultValue = "20") int size) {
+        log.debug("Received request to search customers with query: {}", query);
+
+        CustomerSearchResponseDTO searchResponseDTO = customerService.searchCustomers(query, after, size);
+        log.info("Customer search returned {} customers", searchResponseDTO.customers().size());
+
+        return ResponseEntity.ok(searchResponseDTO);
+    }
+
     /**
      * Retrieves a customer by their ID.
      *
      * @param customerId The ID of the customer to retrieve.
+     * @param includeArchived Whether to also look the customer up among archived customers.
      * @return A {@link ResponseEntity} containing the customer's details and HTTP status code 200.
      */
     @GetMapping("/{customerId}")
-    public ResponseEntity<CustomerResponseDTO> getCustomer(@PathVariable int customerId) {
+    public ResponseEntity<CustomerResponseDTO> getCustomer(@PathVariable int customerId,
+                                                           @RequestParam(defaultValue = "false") boolean includeArchived) {
         log.debug("Received request to get customer with ID: {}", customerId);
 
-        CustomerResponseDTO customerResponseDTO = customerService.getCustomer(customerId);
+        CustomerResponseDTO customerResponseDTO = customerService.getCustomer(customerId, includeArchived);
         log.info("Retrieved customer with ID: {}", customerId);
 
         return ResponseEntity.ok(customerResponseDTO);
     }
 
+    /**
+     * Looks up the status of many customers in one call.
+     *
+     * @param customerLookupRequestDTO The IDs of the customers, at most 1000.
+     * @return A {@link ResponseEntity} containing the status of every requested customer that exists and HTTP status
+     * code 200.
+     */
+    @PostMapping(value = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CustomerLookupResponseDTO> lookupCustomers(@Valid @RequestBody CustomerLookupRequestDTO customerLookupRequestDTO) {
+        log.debug("Received request to look up {} customers", customerLookupRequestDTO.customerIds().size());
+
+        return ResponseEntity.ok(customerService.lookupCustomers(customerLookupRequestDTO.customerIds()));
+    }
+
+    /**
+     * Retrieves the account aggregates of a customer from the Kafka Streams materialized view.
+     *
+     * @param customerId The ID of the customer.
+     * @return A {@link ResponseEntity} containing the number of accounts, counts by type and salary account presence
+     * with HTTP status code 200.
+     */
+    @GetMapping("/{customerId}/account-summary")
+    public ResponseEntity<CustomerAccountSummaryResponseDTO> getAccountSummary(@PathVariable int customerId) {
+        log.debug("Received request to get account summary of customer with ID: {}", customerId);
+
+        return ResponseEntity.ok(customerAccountSummaryService.getAccountSummary(customerId));
+    }
+
+    /**
+     * Retrieves a customer together with their accounts from the local read model, without calling the account service.
+     *
+     * @param customerId The ID of the customer.
+     * @return A {@link ResponseEntity} containing the customer and their accounts with HTTP status code 200.
+     */
+    @GetMapping("/{customerId}/portfolio")
+    public ResponseEntity<CustomerPortfolioResponseDTO> getPortfolio(@PathVariable int customerId) {
+        log.debug("Received request to get portfolio of customer with ID: {}", customerId);
+
+        CustomerPortfolioResponseDTO portfolioResponseDTO = customerPortfolioService.getPortfolio(customerId);
+        log.info("Retrieved portfolio of customer with ID: {} with {} accounts", customerId, portfolioResponseDTO.accounts().size());
+
+        return ResponseEntity.ok(portfolioResponseDTO);
+    }
+
     /**
      * Retrieves all customers.
      *
+     * @param includeArchived Whether to append the archived customers.
      * @return A {@link ResponseEntity} containing a list of all customers and HTTP status code 200.
      */
     @GetMapping
-    public ResponseEntity<List<CustomerResponseDTO>> getAllCustomers() {
+    public ResponseEntity<List<CustomerResponseDTO>> getAllCustomers(@RequestParam(defaultValue = "false") boolean includeArchived) {
         log.debug("Received request to get all customers");
 
-        List<CustomerResponseDTO> customers = customerService.getAllCustomers();
+        List<CustomerResponseDTO> customers = customerService.getAllCustomers(includeArchived);
         log.info("Retrieved {} customers", customers.size());
 
         return ResponseEntity.ok(customers);
@@ -119,7 +233,8 @@ public class CustomerController {
 
         KafkaCustomerUpdateDTO kafkaCustomerUpdateDTO = new KafkaCustomerUpdateDTO(customerId, updateResponseDTO.updatedFields());
         log.debug("Sending Kafka message for updated customer: {}", kafkaCustomerUpdateDTO);
-        kafkaProducerService.sendMessage(TopicNames.CUSTOMER_UPDATE.getTopicName(), kafkaCustomerUpdateDTO);
+        kafkaProducerService.sendMessage(TopicNames.CUSTOMER_UPDATE.getTopicName(), kafkaCustomerUpdateDTO,
+                Map.of(EventHeaders.UPDATED_FIELDS.getHeaderName(), String.join(",", updateResponseDTO.updatedFields().keySet())));
 
         return ResponseEntity.ok(updateResponseDTO);
     }
@@ -0,0 +1,64 @@
+package com.customer.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Inactive customer moved out of the Customer table by the archival job; only read when a caller asks for archived
+ * customers
+ */
+@Entity
+@Immutable
+@Table(name = "customer_archive")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedCustomer {
+
+    @Id
+    @Column(name = "customer_id", nullable = false)
+    private Integer customerId;
+
+    @Column(name = "name", length = 100, nullable = false)
+    private String name;
+
+    @Column(name = "legal_id", length = 50, nullable = false)
+    private String legalId;
+
+    @Column(name = "type", length = 20, nullable = false)
+    private String type;
+
+    @Column(name = "address", length = 255, nullable = false)
+    private String address;
+
+    @Column(name = "phone_number", length = 15)
+    private String phoneNumber;
+
+    @Column(name = "email", length = 150)
+    private String email;
+
+    @Column(name = "number_of_accounts", nullable = false)
+    private Integer numberOfAccounts;
+
+    @Column(name = "customer_status", length = 20, nullable = false)
+    private String customerStatus;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "status_changed_at", nullable = false)
+    private Instant statusChangedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
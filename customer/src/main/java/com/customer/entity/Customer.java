@@ -6,12 +6,20 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.Instant;
 
 /**
  * @author YQadous
  * Customer entity
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @Table(name = "Customer")
 @Getter
 @Setter
@@ -49,4 +57,15 @@ public class Customer {
 
     @Column(name = "customer_status", length = 20, nullable = false)
     private String customerStatus;
+
+    /**
+     * When {@link #customerStatus} last changed; inactive customers are archived once this is older than the
+     * retention window.
+     */
+    @Column(name = "status_changed_at", nullable = false)
+    private Instant statusChangedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.customer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Projection of an account owned by a customer, kept in step with the account service through Kafka events
+ */
+@Entity
+@Table(name = "customer_account")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerAccount {
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private Integer accountId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Integer customerId;
+
+    @Column(name = "account_type", length = 20)
+    private String accountType;
+
+    @Column(name = "account_status", length = 20)
+    private String accountStatus;
+
+    @Column(name = "balance", precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Whether the account.new event of the account has been applied.
+     */
+    @Column(name = "created", nullable = false)
+    private boolean created;
+
+    /**
+     * Whether the account has been deleted; the row is kept as a tombstone.
+     */
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+}
@@ -0,0 +1,14 @@
+package com.customer.exception;
+
+/**
+ * Thrown when the account summary state store cannot be queried, e.g. while Kafka Streams is starting or rebalancing.
+ */
+public class AccountSummaryUnavailableException extends RuntimeException {
+    public AccountSummaryUnavailableException(String message) {
+        super(message);
+    }
+
+    public AccountSummaryUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
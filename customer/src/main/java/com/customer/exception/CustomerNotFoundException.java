@@ -1,9 +1,11 @@
 package com.customer.exception;
 
+import com.common.exception.BusinessException;
+
 /**
  * @author YQadous
  */
-public class CustomerNotFoundException extends RuntimeException{
+public class CustomerNotFoundException extends BusinessException {
     public CustomerNotFoundException(String message) {
         super(message);
     }
@@ -11,4 +13,4 @@ public class CustomerNotFoundException extends RuntimeException{
     public CustomerNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
-}
\ No newline at end of file
+}
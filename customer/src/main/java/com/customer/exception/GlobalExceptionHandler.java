@@ -2,7 +2,10 @@ package com.customer.exception;
 
 import com.clients.dto.ErrorResponseDTO;
 import com.clients.dto.ValidationErrorDTO;
+import com.clients.exception.DownstreamServiceUnavailableException;
+import com.clients.exception.InvalidDeadLetterReplayRequestException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -79,6 +82,104 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles fast-failed calls to another service (open circuit, full bulkhead or failed call).
+     *
+     * @param ex The DownstreamServiceUnavailableException instance.
+     * @return A ResponseEntity containing details of the error.
+     */
+    @ExceptionHandler(DownstreamServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDownstreamServiceUnavailable(DownstreamServiceUnavailableException ex) {
+        log.warn("Downstream service unavailable: {}", ex.getMessage());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                "Downstream service unavailable"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles queries against the account summary view while it is not queryable.
+     *
+     * @param ex The AccountSummaryUnavailableException instance.
+     * @return A ResponseEntity containing details of the error.
+     */
+    @ExceptionHandler(AccountSummaryUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleAccountSummaryUnavailable(AccountSummaryUnavailableException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                "Account summary unavailable"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles dead-letter replay requests for topics this service does not consume.
+     *
+     * @param ex The InvalidDeadLetterReplayRequestException instance.
+     * @return A ResponseEntity containing details of the error.
+     */
+    @ExceptionHandler(InvalidDeadLetterReplayRequestException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidDeadLetterReplayRequest(InvalidDeadLetterReplayRequestException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                "Invalid dead letter replay request"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles customer searches with a too short query or an out of range page size.
+     *
+     * @param ex The InvalidCustomerSearchRequestException instance.
+     * @return A ResponseEntity containing details of the error.
+     */
+    @ExceptionHandler(InvalidCustomerSearchRequestException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCustomerSearchRequest(InvalidCustomerSearchRequestException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                "Invalid customer search request"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles customer imports whose file is empty or has an invalid header.
+     *
+     * @param ex The InvalidCustomerImportRequestException instance.
+     * @return A ResponseEntity containing details of the error.
+     */
+    @ExceptionHandler(InvalidCustomerImportRequestException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCustomerImportRequest(InvalidCustomerImportRequestException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                "Invalid customer import request"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles updates that kept losing optimistic locking races after all retries.
+     *
+     * @param ex The OptimisticLockingFailureException instance.
+     * @return A ResponseEntity containing details of the error.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                "Concurrent update conflict"
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> defaultExceptionHandler(Exception ex) {
         log.error("An error occurred: {}", ex.getMessage());
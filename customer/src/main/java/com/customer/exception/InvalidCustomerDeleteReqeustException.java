@@ -1,10 +1,12 @@
 package com.customer.exception;
 
+import com.common.exception.BusinessException;
+
 /**
  * @author YQadous
  * This exception is thrown when a customer delete request is invalid.
  */
-public class InvalidCustomerDeleteReqeustException extends RuntimeException {
+public class InvalidCustomerDeleteReqeustException extends BusinessException {
     public InvalidCustomerDeleteReqeustException(String message) {
         super(message);
     }
@@ -0,0 +1,13 @@
+package com.customer.exception;
+
+import com.common.exception.BusinessException;
+
+public class InvalidCustomerImportRequestException extends BusinessException {
+    public InvalidCustomerImportRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidCustomerImportRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.customer.exception;
+
+import com.common.exception.BusinessException;
+
+public class InvalidCustomerSearchRequestException extends BusinessException {
+    public InvalidCustomerSearchRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidCustomerSearchRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
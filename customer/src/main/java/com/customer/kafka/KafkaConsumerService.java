@@ -1,6 +1,8 @@
 package com.customer.kafka;
 
+import com.clients.account.dto.KafkaAccountsImportedDTO;
 import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.account.dto.KafkaInterestAccruedDTO;
 import com.clients.account.dto.KafkaNewAccountDTO;
 import com.clients.account.dto.KafkaUpdateAccountDTO;
 import com.customer.service.CustomerService;
@@ -25,6 +27,29 @@ public class KafkaConsumerService {
     @KafkaListener(topics = {"account.update"})
     public void updateCustomerEvent(KafkaUpdateAccountDTO kafkaUpdateAccountDTO) {
         log.debug("consumed account updated event: {}", kafkaUpdateAccountDTO);
+        customerService.handleUpdateAccountEvent(kafkaUpdateAccountDTO);
+    }
+
+
+    /**
+     * Bulk imports publish the accounts they create in batches instead of one account.new per account.
+     */
+    @KafkaListener(topics = {"account.import"})
+    public void importedAccountsEvent(KafkaAccountsImportedDTO kafkaAccountsImportedDTO) {
+        log.debug("consumed accounts imported event {} with {} accounts", kafkaAccountsImportedDTO.eventId(),
+                kafkaAccountsImportedDTO.accounts().size());
+        customerService.handleAccountsImportedEvent(kafkaAccountsImportedDTO);
+    }
+
+
+    /**
+     * The nightly interest accrual publishes the new balances in batches instead of one account.update per account.
+     */
+    @KafkaListener(topics = {"account.interest"})
+    public void interestAccruedEvent(KafkaInterestAccruedDTO kafkaInterestAccruedDTO) {
+        log.debug("consumed interest accrued event {} with {} accounts", kafkaInterestAccruedDTO.eventId(),
+                kafkaInterestAccruedDTO.accruals().size());
+        customerService.handleInterestAccruedEvent(kafkaInterestAccruedDTO);
     }
 
 
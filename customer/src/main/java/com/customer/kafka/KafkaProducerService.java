@@ -1,8 +1,12 @@
 package com.customer.kafka;
 
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
 /**
  * @author YQadous
  * Kafka producer service
@@ -19,4 +23,14 @@ public class KafkaProducerService {
     public void sendMessage(String topic, Object message) {
         kafkaTemplate.send(topic, message);
     }
+
+    /**
+     * Sends a message with additional record headers, encoded as UTF-8, so consumers can route or discard it
+     * without deserializing the payload.
+     */
+    public void sendMessage(String topic, Object message, Map<String, String> headers) {
+        ProducerRecord<String, Object> producerRecord = new ProducerRecord<>(topic, message);
+        headers.forEach((name, value) -> producerRecord.headers().add(name, value.getBytes(StandardCharsets.UTF_8)));
+        kafkaTemplate.send(producerRecord);
+    }
 }
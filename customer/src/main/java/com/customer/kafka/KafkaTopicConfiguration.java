@@ -29,4 +29,10 @@ public class KafkaTopicConfiguration {
                 name(TopicNames.CUSTOMER_DELETE.getTopicName())
                 .build();
     }
+
+    public NewTopic importCustomerTopic() {
+        return TopicBuilder.
+                name(TopicNames.CUSTOMER_IMPORT.getTopicName())
+                .build();
+    }
 }
@@ -0,0 +1,25 @@
+package com.customer.repository;
+
+import com.clients.customer.dto.CustomerResponseDTO;
+import com.customer.entity.ArchivedCustomer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedCustomerRepository extends JpaRepository<ArchivedCustomer, Integer> {
+
+    String SELECT_ARCHIVED_CUSTOMER_RESPONSE = "SELECT new com.clients.customer.dto.CustomerResponseDTO(200, c.customerId, c.name, "
+            + "c.legalId, c.type, c.address, c.phoneNumber, c.email, c.numberOfAccounts, c.customerStatus, "
+            + "'Customer retrieved successfully') FROM ArchivedCustomer c";
+
+    @Query(SELECT_ARCHIVED_CUSTOMER_RESPONSE + " WHERE c.customerId = :customerId")
+    Optional<CustomerResponseDTO> findCustomerResponseById(@Param("customerId") int customerId);
+
+    @Query(SELECT_ARCHIVED_CUSTOMER_RESPONSE)
+    List<CustomerResponseDTO> findAllCustomerResponses();
+}
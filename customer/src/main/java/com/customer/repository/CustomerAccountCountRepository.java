@@ -0,0 +1,92 @@
+package com.customer.repository;
+
+import com.clients.account.dto.CustomerAccountCountDTO;
+import com.clients.observability.ObservationNames;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and corrects the stored number of accounts of customers in keyset-ordered batches, on plain JDBC so a batch is
+ * corrected with a single statement.
+ */
+@Repository
+@Observed(name = ObservationNames.REPOSITORY)
+public class CustomerAccountCountRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerAccountCountRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Next keyset batch of customers with the number of accounts stored for them.
+     */
+    public List<CustomerAccountCountDTO> findAccountCounts(int afterCustomerId, int limit) {
+        return jdbcTemplate.query("SELECT customer_id, number_of_accounts FROM Customer WHERE customer_id > ? "
+                        + "ORDER BY customer_id LIMIT ?",
+                (resultSet, rowNum) -> new CustomerAccountCountDTO(resultSet.getInt(1), resultSet.getLong(2)),
+                afterCustomerId, limit);
+    }
+
+    /**
+     * Adds {@code delta} to the customer's number of accounts in a single statement, so concurrent account events for
+     * the same customer cannot overwrite each other's change. Hibernate does not see the statement, so unlike a JPQL
+     * update it does not evict every cached customer; the caller evicts this one.
+     *
+     * @return the number of customers updated
+     */
+    public int adjustAccountCount(int customerId, int delta) {
+        return jdbcTemplate.update("UPDATE Customer SET number_of_accounts = number_of_accounts + ? WHERE customer_id = ?",
+                delta, customerId);
+    }
+
+    /**
+     * Adds the given number of accounts to each customer in a single statement, the bulk counterpart of
+     * {@link #adjustAccountCount}.
+     *
+     * @param deltas the number of accounts to add, by customer id
+     * @return the IDs of the customers that were updated
+     */
+    public List<Integer> adjustAccountCounts(Map<Integer, Integer> deltas) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("UPDATE Customer c "
+                    + "SET number_of_accounts = c.number_of_accounts + v.delta "
+                    + "FROM unnest(?, ?) AS v (customer_id, delta) "
+                    + "WHERE c.customer_id = v.customer_id "
+                    + "RETURNING c.customer_id");
+            statement.setArray(1, connection.createArrayOf("integer", deltas.keySet().toArray()));
+            statement.setArray(2, connection.createArrayOf("integer", deltas.values().toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getInt(1));
+    }
+
+    /**
+     * Sets the number of accounts of every given customer whose stored number is still the one the correction was
+     * computed from, so a count changed by an account event in the meantime is left alone. The version is bumped as
+     * well.
+     *
+     * @return the IDs of the customers that were corrected
+     */
+    public List<Integer> correctAccountCounts(List<Correction> corrections) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("UPDATE Customer c "
+                    + "SET number_of_accounts = v.actual_count, version = c.version + 1 "
+                    + "FROM unnest(?, ?, ?) AS v (customer_id, stored_count, actual_count) "
+                    + "WHERE c.customer_id = v.customer_id AND c.number_of_accounts = v.stored_count "
+                    + "RETURNING c.customer_id");
+            statement.setArray(1, connection.createArrayOf("integer", corrections.stream().map(Correction::customerId).toArray()));
+            statement.setArray(2, connection.createArrayOf("integer", corrections.stream().map(Correction::storedCount).toArray()));
+            statement.setArray(3, connection.createArrayOf("integer", corrections.stream().map(Correction::actualCount).toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getInt(1));
+    }
+
+    public record Correction(int customerId, int storedCount, int actualCount) {
+    }
+}
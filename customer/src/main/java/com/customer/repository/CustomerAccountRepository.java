@@ -0,0 +1,36 @@
+package com.customer.repository;
+
+import com.customer.entity.CustomerAccount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface CustomerAccountRepository extends JpaRepository<CustomerAccount, Integer> {
+
+    /**
+     * Reads a customer and their projected accounts in one statement: a primary key lookup on Customer joined to
+     * the covering customer_id index of customer_account, which only holds live accounts.
+     */
+    @Query("SELECT new com.customer.repository.CustomerPortfolioRow(c.customerId, c.name, c.type, c.customerStatus, " +
+            "a.accountId, a.accountType, a.accountStatus, a.balance) " +
+            "FROM Customer c LEFT JOIN CustomerAccount a ON a.customerId = c.customerId AND a.deleted = false " +
+            "WHERE c.customerId = :customerId ORDER BY a.accountId")
+    List<CustomerPortfolioRow> findPortfolioRows(@Param("customerId") int customerId);
+
+    /**
+     * Sets the status of all live accounts of the customer, as the account service does when the customer's status
+     * changes.
+     */
+    @Modifying
+    @Query("UPDATE CustomerAccount a SET a.accountStatus = :accountStatus, a.updatedAt = :updatedAt " +
+            "WHERE a.customerId = :customerId AND a.deleted = false")
+    int updateAccountStatusByCustomerId(@Param("customerId") int customerId,
+                                        @Param("accountStatus") String accountStatus,
+                                        @Param("updatedAt") Instant updatedAt);
+}
@@ -0,0 +1,97 @@
+package com.customer.repository;
+
+import com.clients.observability.ObservationNames;
+import io.micrometer.observation.annotation.Observed;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Staging table and merge statement behind the bulk customer import. Every method must be called from the same
+ * transaction: the staging table is temporary and dropped on commit.
+ */
+@Repository
+@Observed(name = ObservationNames.REPOSITORY)
+public class CustomerImportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createStagingTable() {
+        jdbcTemplate.execute("CREATE TEMP TABLE customer_import (line BIGINT NOT NULL, name VARCHAR(100), legal_id VARCHAR(50), "
+                + "type VARCHAR(20), address VARCHAR(255), phone_number VARCHAR(15), email VARCHAR(150), "
+                + "customer_status VARCHAR(20)) ON COMMIT DROP");
+    }
+
+    /**
+     * Starts a COPY into the staging table; rows are written to it as CSV in the column order
+     * {@code line, name, legal_id, type, address, phone_number, email, customer_status}.
+     */
+    public CopyIn beginStagingCopy() {
+        return jdbcTemplate.execute((ConnectionCallback<CopyIn>) connection -> connection.unwrap(PGConnection.class)
+                .getCopyAPI()
+                .copyIn("COPY customer_import (line, name, legal_id, type, address, phone_number, email, customer_status) "
+                        + "FROM STDIN (FORMAT csv)"));
+    }
+
+    /**
+     * Inserts every staged row into Customer in one statement. Rows whose legal ID or email already belongs to a
+     * customer are skipped rather than failing the statement.
+     *
+     * @return the number of inserted customers, the lowest and highest id given to them, and the lines of the skipped
+     * rows
+     */
+    public MergeResult mergeStagedCustomers() {
+        MergeResultCollector collector = new MergeResultCollector();
+        jdbcTemplate.query("""
+                WITH inserted AS (
+                    INSERT INTO Customer (name, legal_id, type, address, phone_number, email, number_of_accounts,
+                                          customer_status, version, status_changed_at)
+                    SELECT name, legal_id, type, address, phone_number, email, 0, customer_status, 0, now()
+                    FROM customer_import ORDER BY line
+                    ON CONFLICT DO NOTHING
+                    RETURNING customer_id, legal_id
+                )
+                SELECT s.line, i.customer_id FROM customer_import s LEFT JOIN inserted i ON i.legal_id = s.legal_id""",
+                collector);
+        return collector.toMergeResult();
+    }
+
+    public record MergeResult(int importedRows, Integer firstCustomerId, Integer lastCustomerId, List<Long> conflictingLines) {
+    }
+
+    private static final class MergeResultCollector implements RowCallbackHandler {
+
+        private final List<Long> conflictingLines = new ArrayList<>();
+        private int importedRows;
+        private Integer firstCustomerId;
+        private Integer lastCustomerId;
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            int customerId = resultSet.getInt(2);
+            if (resultSet.wasNull()) {
+                conflictingLines.add(resultSet.getLong(1));
+                return;
+            }
+            importedRows++;
+            firstCustomerId = firstCustomerId == null ? customerId : Math.min(firstCustomerId, customerId);
+            lastCustomerId = lastCustomerId == null ? customerId : Math.max(lastCustomerId, customerId);
+        }
+
+        MergeResult toMergeResult() {
+            return new MergeResult(importedRows, firstCustomerId, lastCustomerId, conflictingLines);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.customer.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the customer portfolio query: the customer columns repeated for each of their accounts, or a single
+ * row with null account columns when the customer has none.
+ */
+public record CustomerPortfolioRow(
+        int customerId,
+        String name,
+        String type,
+        String customerStatus,
+        Integer accountId,
+        String accountType,
+        String accountStatus,
+        BigDecimal balance
+) {
+}
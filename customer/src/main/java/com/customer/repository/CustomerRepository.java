@@ -1,12 +1,97 @@
 package com.customer.repository;
 
+import com.clients.customer.dto.CustomerResponseDTO;
+import com.clients.customer.dto.CustomerStatusDTO;
 import com.customer.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 /**
  * @author YQadous
  */
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Integer> {
+
+    /**
+     * Selects every customer straight into the response record, so the listing neither instantiates managed entities
+     * nor keeps dirty-checking snapshots of them.
+     */
+    @Query("SELECT new com.clients.customer.dto.CustomerResponseDTO(200, c.customerId, c.name, c.legalId, c.type, c.address, "
+            + "c.phoneNumber, c.email, c.numberOfAccounts, c.customerStatus, 'Customer retrieved successfully') FROM Customer c")
+    List<CustomerResponseDTO> findAllCustomerResponses();
+
+    /**
+     * Status of every given customer that exists, for callers that check many customers at once.
+     */
+    @Query("SELECT new com.clients.customer.dto.CustomerStatusDTO(c.customerId, c.customerStatus) FROM Customer c "
+            + "WHERE c.customerId IN :customerIds ORDER BY c.customerId")
+    List<CustomerStatusDTO> findCustomerStatuses(@Param("customerIds") List<Integer> customerIds);
+
+    /**
+     * Exact lookup served by the unique indexes on legal_id and email.
+     */
+    List<Customer> findByLegalIdOrEmail(String legalId, String email);
+
+    /**
+     * Page of customers whose name is similar to {@code query} (trigram word similarity, so a misspelt or partial name
+     * still matches), most similar first. Only the {@code maxCandidates} nearest names are considered: the GiST index
+     * on name returns them nearest first and the scan stops there, so a common name never reads all of its matches.
+     * One name past the bound is read as well, and every hit is flagged as truncated when that name also matches.
+     * Pages continue after ({@code afterDistance}, {@code afterCustomerId}) in (distance, customer id) order; pass a
+     * negative distance for the first page.
+     */
+    @Query(value = "WITH nearest AS (SELECT customer_id, name <->> :query AS distance, name %> :query AS matches " +
+            "FROM Customer ORDER BY name <->> :query LIMIT :maxCandidates + 1), " +
+            "ranked AS (SELECT *, row_number() OVER (ORDER BY distance, customer_id) AS n FROM nearest) " +
+            "SELECT r.customer_id AS \"customerId\", r.distance AS \"distance\", " +
+            "EXISTS (SELECT 1 FROM ranked x WHERE x.n > :maxCandidates AND x.matches) AS \"truncated\" " +
+            "FROM ranked r WHERE r.n <= :maxCandidates AND r.matches " +
+            "AND (r.distance, r.customer_id) > (CAST(:afterDistance AS real), :afterCustomerId) " +
+            "ORDER BY r.distance, r.customer_id LIMIT :limit", nativeQuery = true)
+    List<CustomerSearchHit> searchByName(@Param("query") String query,
+                                         @Param("maxCandidates") int maxCandidates,
+                                         @Param("afterDistance") float afterDistance,
+                                         @Param("afterCustomerId") int afterCustomerId,
+                                         @Param("limit") int limit);
+
+    /**
+     * Next keyset batch of customers to archive: inactive since before {@code cutoff} and without accounts, skipping
+     * rows that another instance is archiving.
+     */
+    @Query(value = "SELECT customer_id FROM Customer WHERE customer_status = 'inactive' AND status_changed_at < :cutoff " +
+            "AND number_of_accounts = 0 AND customer_id > :afterCustomerId ORDER BY customer_id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> findInactiveCustomerIdsForArchival(@Param("afterCustomerId") int afterCustomerId,
+                                                     @Param("cutoff") Instant cutoff,
+                                                     @Param("limit") int limit);
+
+    /**
+     * Moves the given customers into customer_archive in a single statement.
+     * The native spaces hints tell Hibernate which tables the statement touches, so it only evicts cached customers
+     * instead of the whole second-level cache.
+     *
+     * @return the number of customers archived
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "Customer"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_archive")
+    })
+    @Query(value = "WITH moved AS (DELETE FROM Customer WHERE customer_id IN (:customerIds) AND customer_status = 'inactive' " +
+            "RETURNING customer_id, name, legal_id, type, address, phone_number, email, number_of_accounts, customer_status, " +
+            "version, status_changed_at) " +
+            "INSERT INTO customer_archive (customer_id, name, legal_id, type, address, phone_number, email, number_of_accounts, " +
+            "customer_status, version, status_changed_at) " +
+            "SELECT customer_id, name, legal_id, type, address, phone_number, email, number_of_accounts, customer_status, " +
+            "version, status_changed_at FROM moved", nativeQuery = true)
+    int archiveCustomers(@Param("customerIds") List<Integer> customerIds);
 }
@@ -0,0 +1,14 @@
+package com.customer.repository;
+
+/**
+ * One customer matched by the name search, with its trigram word distance to the query and whether the search left
+ * out matches past its candidate bound.
+ */
+public interface CustomerSearchHit {
+
+    int getCustomerId();
+
+    float getDistance();
+
+    boolean getTruncated();
+}
@@ -0,0 +1,171 @@
+package com.customer.service;
+
+import com.clients.account.AccountClient;
+import com.clients.account.dto.AccountCountRequestDTO;
+import com.clients.account.dto.AccountCountResponseDTO;
+import com.clients.account.dto.CustomerAccountCountDTO;
+import com.clients.observability.ObservationNames;
+import com.customer.entity.Customer;
+import com.customer.repository.CustomerAccountCountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Corrects {@code Customer.numberOfAccounts}, which is only kept up to date by account events, against the accounts
+ * the account service actually holds.
+ * <p>
+ * Customers are walked in customer id order in batches. The true counts of a batch come from one call to the account
+ * service's count endpoint, and the drifted counts of the batch are corrected with one statement. A count that is
+ * merely waiting for an account event still in flight looks drifted too, so a drift is only corrected once two runs
+ * in a row have found the same stored and true count.
+ * <p>
+ * The job throttles itself: after every batch it sleeps long enough that the time spent reading, counting and writing
+ * stays within {@code customer.account-count-reconciliation.max-db-share} of the run.
+ */
+@Service
+@Observed(name = ObservationNames.SERVICE)
+@ConditionalOnProperty(prefix = "customer.account-count-reconciliation", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AccountCountReconciliationService {
+
+    private final CustomerAccountCountRepository customerAccountCountRepository;
+    private final AccountClient accountClient;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+    private final double maxDbShare;
+    private final int maxPendingDrifts;
+    private final Counter driftCounter;
+    private final Counter correctionCounter;
+    private final AtomicInteger lastRunDrift = new AtomicInteger();
+
+    /**
+     * Drifts found by the previous run, by customer id, that the current run corrects if it finds them unchanged.
+     */
+    private Map<Integer, CustomerAccountCountRepository.Correction> pendingDrifts = new HashMap<>();
+
+    public AccountCountReconciliationService(CustomerAccountCountRepository customerAccountCountRepository,
+                                             AccountClient accountClient,
+                                             EntityManagerFactory entityManagerFactory,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${customer.account-count-reconciliation.batch-size:500}") int batchSize,
+                                             @Value("${customer.account-count-reconciliation.max-db-share:0.1}") double maxDbShare,
+                                             @Value("${customer.account-count-reconciliation.max-pending-drifts:100000}") int maxPendingDrifts) {
+        this.customerAccountCountRepository = customerAccountCountRepository;
+        this.accountClient = accountClient;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+        this.maxDbShare = maxDbShare;
+        this.maxPendingDrifts = maxPendingDrifts;
+        this.driftCounter = Counter.builder("customer.account.count.drift")
+                .description("Customers found with a number of accounts that differs from the account service")
+                .register(meterRegistry);
+        this.correctionCounter = Counter.builder("customer.account.count.corrections")
+                .description("Customers whose number of accounts was corrected")
+                .register(meterRegistry);
+        Gauge.builder("customer.account.count.drift.last.run", lastRunDrift, AtomicInteger::get)
+                .description("Customers found drifted by the last complete reconciliation run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${customer.account-count-reconciliation.interval:PT6H}")
+    public void reconcileAccountCounts() {
+        Map<Integer, CustomerAccountCountRepository.Correction> drifts = new HashMap<>();
+        RunProgress progress = new RunProgress();
+        int afterCustomerId = 0;
+        try {
+            while (true) {
+                long started = System.nanoTime();
+                List<CustomerAccountCountDTO> storedCounts = customerAccountCountRepository.findAccountCounts(afterCustomerId, batchSize);
+                if (storedCounts.isEmpty()) {
+                    break;
+                }
+                reconcileBatch(storedCounts, drifts, progress);
+                afterCustomerId = storedCounts.get(storedCounts.size() - 1).customerId();
+                throttle(System.nanoTime() - started);
+            }
+        } catch (RuntimeException e) {
+            // drifts found so far are kept for the next run, which starts over from the first customer
+            log.warn("Account count reconciliation stopped after customer {}", afterCustomerId, e);
+            pendingDrifts = drifts;
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        pendingDrifts = drifts;
+        lastRunDrift.set(progress.drifted);
+        if (progress.drifted > 0) {
+            log.info("Account count reconciliation found {} customers drifted and corrected {}; the others are checked again next run",
+                    progress.drifted, progress.corrected);
+        }
+    }
+
+    private void reconcileBatch(List<CustomerAccountCountDTO> storedCounts,
+                                Map<Integer, CustomerAccountCountRepository.Correction> drifts,
+                                RunProgress progress) {
+        List<Integer> customerIds = storedCounts.stream().map(CustomerAccountCountDTO::customerId).toList();
+        AccountCountResponseDTO response = accountClient.countAccounts(new AccountCountRequestDTO(customerIds)).getBody();
+        if (response == null) {
+            throw new IllegalStateException("Account service returned no account counts");
+        }
+        Map<Integer, Long> actualCounts = new HashMap<>();
+        response.counts().forEach(count -> actualCounts.put(count.customerId(), count.numberOfAccounts()));
+
+        List<CustomerAccountCountRepository.Correction> confirmed = new ArrayList<>();
+        for (CustomerAccountCountDTO stored : storedCounts) {
+            Long actual = actualCounts.get(stored.customerId());
+            if (actual == null || actual == stored.numberOfAccounts()) {
+                continue;
+            }
+            driftCounter.increment();
+            progress.drifted++;
+            CustomerAccountCountRepository.Correction drift = new CustomerAccountCountRepository.Correction(
+                    stored.customerId(), (int) stored.numberOfAccounts(), actual.intValue());
+            if (drift.equals(pendingDrifts.get(stored.customerId()))) {
+                confirmed.add(drift);
+            } else if (drifts.size() < maxPendingDrifts) {
+                drifts.put(stored.customerId(), drift);
+            }
+        }
+        if (confirmed.isEmpty()) {
+            return;
+        }
+
+        List<Integer> correctedIds = customerAccountCountRepository.correctAccountCounts(confirmed);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        correctedIds.forEach(customerId -> cache.evict(Customer.class, customerId));
+        correctionCounter.increment(correctedIds.size());
+        progress.corrected += correctedIds.size();
+        log.debug("Corrected number of accounts of customers {}", correctedIds);
+    }
+
+    private void throttle(long workNanos) throws InterruptedException {
+        if (maxDbShare >= 1) {
+            return;
+        }
+        long pauseNanos = (long) (workNanos * (1 - maxDbShare) / maxDbShare);
+        TimeUnit.NANOSECONDS.sleep(pauseNanos);
+    }
+
+    private static final class RunProgress {
+        private int drifted;
+        private int corrected;
+    }
+}
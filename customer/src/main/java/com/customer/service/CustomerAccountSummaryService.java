@@ -0,0 +1,56 @@
+package com.customer.service;
+
+import com.clients.customer.dto.CustomerAccountSummaryResponseDTO;
+import com.clients.observability.ObservationNames;
+import com.customer.exception.AccountSummaryUnavailableException;
+import com.customer.streams.AccountSummaryTopology;
+import com.customer.streams.CustomerAccountSummary;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves per-customer account aggregates from the Kafka Streams state store, without touching the database.
+ * The store is local to this instance, so every instance must consume all partitions of the account topics
+ * (the default with a single instance) for the answer to be complete.
+ */
+@Service
+@Observed(name = ObservationNames.SERVICE)
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerAccountSummaryService {
+
+    private final KafkaStreamsInteractiveQueryService interactiveQueryService;
+
+    public CustomerAccountSummaryResponseDTO getAccountSummary(int customerId) {
+        log.debug("Fetching account summary of customer with ID: {}", customerId);
+
+        CustomerAccountSummary summary;
+        try {
+            ReadOnlyKeyValueStore<Integer, CustomerAccountSummary> store = interactiveQueryService.retrieveQueryableStore(
+                    AccountSummaryTopology.SUMMARIES_STORE, QueryableStoreTypes.keyValueStore());
+            summary = store.get(customerId);
+        } catch (IllegalStateException | InvalidStateStoreException e) {
+            log.warn("Account summary store is not queryable: {}", e.getMessage());
+            throw new AccountSummaryUnavailableException("Account summaries are currently unavailable, try again later", e);
+        }
+        if (summary == null) {
+            summary = CustomerAccountSummary.EMPTY;
+        }
+
+        return new CustomerAccountSummaryResponseDTO(
+                HttpStatus.OK.value(),
+                customerId,
+                summary.numberOfAccounts(),
+                summary.accountsByType(),
+                summary.hasSalaryAccount(),
+                "Account summary retrieved successfully"
+        );
+    }
+}
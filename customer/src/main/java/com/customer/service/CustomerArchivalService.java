@@ -0,0 +1,71 @@
+package com.customer.service;
+
+import com.clients.observability.ObservationNames;
+import com.customer.repository.CustomerRepository;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves customers that have been inactive for longer than the retention window from the Customer table into
+ * customer_archive, so the customer cache and the Customer indexes only carry customers that are still in use.
+ * Archived customers are served only to callers that pass {@code includeArchived}.
+ * <p>
+ * Customers that still own accounts stay in the Customer table, for the same reason they cannot be deleted. Each run
+ * walks the candidates in customer id order, one batch per transaction.
+ */
+@Service
+@Observed(name = ObservationNames.SERVICE)
+@ConditionalOnProperty(prefix = "customer.archival", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CustomerArchivalService {
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+
+    public CustomerArchivalService(CustomerRepository customerRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${customer.archival.retention:P365D}") Duration retention,
+                                   @Value("${customer.archival.batch-size:1000}") int batchSize) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${customer.archival.interval:PT1H}")
+    public void archiveInactiveCustomers() {
+        Instant cutoff = Instant.now().minus(retention);
+        int afterCustomerId = 0;
+        int archived = 0;
+        while (true) {
+            int cursor = afterCustomerId;
+            List<Integer> customerIds = transactionTemplate.execute(status -> {
+                List<Integer> batch = customerRepository.findInactiveCustomerIdsForArchival(cursor, cutoff, batchSize);
+                if (!batch.isEmpty()) {
+                    customerRepository.archiveCustomers(batch);
+                }
+                return batch;
+            });
+            if (customerIds == null || customerIds.isEmpty()) {
+                break;
+            }
+            archived += customerIds.size();
+            afterCustomerId = customerIds.get(customerIds.size() - 1);
+        }
+        if (archived > 0) {
+            log.info("Archived {} customers inactive for more than {}", archived, retention);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.customer.service;
+
+import com.clients.customer.dto.CustomerImportResponseDTO;
+import com.clients.customer.dto.CustomerRequestDTO;
+import com.clients.datasource.Workload;
+import com.clients.datasource.WorkloadContext;
+import com.clients.dto.ImportRowErrorDTO;
+import com.clients.observability.ObservationNames;
+import com.clients.bulkimport.CsvLineParser;
+import com.customer.exception.InvalidCustomerImportRequestException;
+import com.customer.repository.CustomerImportRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Imports customers in bulk from a CSV file whose header names the {@link CustomerRequestDTO} fields.
+ * <p>
+ * The file is streamed in chunks. The rows of a chunk are parsed and validated against the {@link CustomerRequestDTO}
+ * constraints in parallel, then the valid ones are written in line order through {@code COPY} into a temporary
+ * staging table. Once the whole file is staged, a single statement merges it into Customer, skipping rows whose legal
+ * ID or email is already taken. Everything runs in one transaction on the batch connection pool, so an import is
+ * either applied entirely or not at all, and rows are reported by line number when they are rejected.
+ */
+@Service
+@Observed(name = ObservationNames.SERVICE)
+@Slf4j
+public class CustomerImportService {
+
+    static final List<String> COLUMNS = List.of("name", "legalId", "type", "address", "phoneNumber", "email", "customerStatus");
+    static final List<String> REQUIRED_COLUMNS = List.of("name", "legalId", "type", "address", "customerStatus");
+
+    private final CustomerImportRepository customerImportRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public CustomerImportService(CustomerImportRepository customerImportRepository,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${customer.import.chunk-size:10000}") int chunkSize,
+                                 @Value("${customer.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.customerImportRepository = customerImportRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports the customers of a CSV file.
+     *
+     * @param inputStream the CSV file, UTF-8 encoded, with a header line
+     * @return CustomerImportResponseDTO the number of imported and rejected rows and the reasons for the rejections
+     * @throws InvalidCustomerImportRequestException if the file is empty or its header is invalid
+     */
+    public CustomerImportResponseDTO importCustomers(InputStream inputStream) throws IOException {
+        UUID importId = UUID.randomUUID();
+        log.debug("Starting customer import {}", importId);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 1 << 16);
+        int[] columnIndexes = readHeader(reader.readLine());
+        ImportReport report = new ImportReport();
+
+        CustomerImportRepository.MergeResult mergeResult;
+        try {
+            mergeResult = WorkloadContext.callAs(Workload.BATCH, () -> transactionTemplate.execute(status -> {
+                customerImportRepository.createStagingTable();
+                stage(reader, columnIndexes, report);
+                return customerImportRepository.mergeStagedCustomers();
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        mergeResult.conflictingLines().forEach(line -> report.reject(line, "Legal ID or email already belongs to another customer"));
+
+        log.info("Customer import {} finished: {} imported, {} rejected", importId, mergeResult.importedRows(), report.rejectedRows);
+        return new CustomerImportResponseDTO(
+                HttpStatus.OK.value(),
+                importId,
+                mergeResult.importedRows(),
+                report.rejectedRows,
+                mergeResult.firstCustomerId(),
+                mergeResult.lastCustomerId(),
+                report.errors(),
+                "Imported " + mergeResult.importedRows() + " of " + (mergeResult.importedRows() + report.rejectedRows) + " customers"
+        );
+    }
+
+    private static int[] readHeader(String header) {
+        if (header == null) {
+            throw new InvalidCustomerImportRequestException("The import file is empty");
+        }
+        List<String> names = CsvLineParser.parse(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        int[] columnIndexes = new int[COLUMNS.size()];
+        Arrays.fill(columnIndexes, -1);
+        for (int i = 0; i < names.size(); i++) {
+            int column = COLUMNS.indexOf(names.get(i).trim());
+            if (column < 0) {
+                throw new InvalidCustomerImportRequestException("Unknown column '" + names.get(i) + "', expected any of " + COLUMNS);
+            }
+            columnIndexes[column] = i;
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (columnIndexes[COLUMNS.indexOf(required)] < 0) {
+                throw new InvalidCustomerImportRequestException("Missing required column '" + required + "'");
+            }
+        }
+        return columnIndexes;
+    }
+
+    private void stage(BufferedReader reader, int[] columnIndexes, ImportReport report) {
+        CopyIn copyIn = customerImportRepository.beginStagingCopy();
+        try {
+            List<String> lines = new ArrayList<>(chunkSize);
+            long firstLine = 2;
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lines.isEmpty()) {
+                    firstLine = lineNumber;
+                }
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    stageChunk(copyIn, lines, firstLine, columnIndexes, report);
+                    lines.clear();
+                }
+            }
+            if (!lines.isEmpty()) {
+                stageChunk(copyIn, lines, firstLine, columnIndexes, report);
+            }
+            copyIn.endCopy();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY customer_import", null, e);
+        } finally {
+            cancelIfActive(copyIn);
+        }
+    }
+
+    private void stageChunk(CopyIn copyIn, List<String> lines, long firstLine, int[] columnIndexes, ImportReport report) throws SQLException {
+        ParsedRow[] rows = new ParsedRow[lines.size()];
+        IntStream.range(0, rows.length).parallel().forEach(i -> rows[i] = parseRow(lines.get(i), columnIndexes));
+
+        StringBuilder copyData = new StringBuilder(lines.size() * 128);
+        for (int i = 0; i < rows.length; i++) {
+            long line = firstLine + i;
+            ParsedRow row = rows[i];
+            if (row == null) {
+                continue; // blank line
+            }
+            if (row.error() != null) {
+                report.reject(line, row.error());
+            } else if (!report.claimIdentifiers(row.customer())) {
+                report.reject(line, "Legal ID or email appears more than once in the file");
+            } else {
+                appendCopyRow(copyData, line, row.customer());
+            }
+        }
+        byte[] bytes = copyData.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+    }
+
+    private ParsedRow parseRow(String line, int[] columnIndexes) {
+        if (line.isBlank()) {
+            return null;
+        }
+        List<String> fields;
+        try {
+            fields = CsvLineParser.parse(line);
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(null, e.getMessage());
+        }
+        CustomerRequestDTO customer = new CustomerRequestDTO(
+                field(fields, columnIndexes[0]),
+                field(fields, columnIndexes[1]),
+                field(fields, columnIndexes[2]),
+                field(fields, columnIndexes[3]),
+                field(fields, columnIndexes[4]),
+                field(fields, columnIndexes[5]),
+                field(fields, columnIndexes[6]));
+        Set<ConstraintViolation<CustomerRequestDTO>> violations = validator.validate(customer);
+        if (violations.isEmpty()) {
+            return new ParsedRow(customer, null);
+        }
+        return new ParsedRow(null, violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; ")));
+    }
+
+    /**
+     * Empty fields are read as missing, so optional columns may be left empty.
+     */
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static void appendCopyRow(StringBuilder copyData, long line, CustomerRequestDTO customer) {
+        copyData.append(line);
+        appendCopyField(copyData, customer.name());
+        appendCopyField(copyData, customer.legalId());
+        appendCopyField(copyData, customer.type());
+        appendCopyField(copyData, customer.address());
+        appendCopyField(copyData, customer.phoneNumber());
+        appendCopyField(copyData, customer.email());
+        appendCopyField(copyData, customer.customerStatus());
+        copyData.append('\n');
+    }
+
+    /**
+     * In COPY's CSV format an unquoted empty field is NULL, so every present value is quoted.
+     */
+    private static void appendCopyField(StringBuilder copyData, String value) {
+        copyData.append(',');
+        if (value != null) {
+            copyData.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private static void cancelIfActive(CopyIn copyIn) {
+        if (copyIn.isActive()) {
+            try {
+                copyIn.cancelCopy();
+            } catch (SQLException e) {
+                log.warn("Failed to cancel customer import copy", e);
+            }
+        }
+    }
+
+    private record ParsedRow(CustomerRequestDTO customer, String error) {
+    }
+
+    /**
+     * Rejected rows of one import, and the identifiers claimed by the rows accepted so far.
+     */
+    private final class ImportReport {
+
+        private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+        private final Set<String> legalIds = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private int rejectedRows;
+
+        void reject(long line, String error) {
+            rejectedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportRowErrorDTO(line, error));
+            }
+        }
+
+        boolean claimIdentifiers(CustomerRequestDTO customer) {
+            if (legalIds.contains(customer.legalId()) || (customer.email() != null && emails.contains(customer.email()))) {
+                return false;
+            }
+            legalIds.add(customer.legalId());
+            if (customer.email() != null) {
+                emails.add(customer.email());
+            }
+            return true;
+        }
+
+        List<ImportRowErrorDTO> errors() {
+            errors.sort(Comparator.comparingLong(ImportRowErrorDTO::line));
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.customer.service;
+
+import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.account.dto.KafkaNewAccountDTO;
+import com.clients.account.dto.KafkaUpdateAccountDTO;
+import com.clients.customer.dto.CustomerPortfolioResponseDTO;
+import com.clients.customer.dto.PortfolioAccountDTO;
+import com.clients.observability.ObservationNames;
+import com.common.enums.AccountStatus;
+import com.common.enums.CustomerStatus;
+import com.customer.entity.CustomerAccount;
+import com.customer.exception.CustomerNotFoundException;
+import com.customer.repository.CustomerAccountRepository;
+import com.customer.repository.CustomerPortfolioRow;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains and serves the customer_account projection, the customer service's local copy of every customer's
+ * accounts. The apply methods are called by {@link CustomerService} from the transaction that handles the account
+ * event, so they share its deduplication.
+ * <p>
+ * Events of one account can arrive out of order across the account topics: an update for an unknown account creates
+ * a partial row, and a later account.new only fills the columns that are still empty. A deleted account keeps its row
+ * as a tombstone, so an account.new or account.update overtaken by the account.delete is ignored. Only an account.new
+ * for a tombstone whose own account.new has already been applied revives it: event ids deduplicate redeliveries, so
+ * that is a new account that was given the id again.
+ * <p>
+ * The account service sets the status of all of a customer's accounts when the customer's status changes, without
+ * publishing account events, so {@link #applyCustomerStatusChanged} does the same here.
+ */
+@Service
+@Observed(name = ObservationNames.SERVICE)
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerPortfolioService {
+
+    private final CustomerAccountRepository customerAccountRepository;
+
+    @Transactional(readOnly = true)
+    public CustomerPortfolioResponseDTO getPortfolio(int customerId) {
+        log.debug("Fetching portfolio of customer with ID: {}", customerId);
+
+        List<CustomerPortfolioRow> rows = customerAccountRepository.findPortfolioRows(customerId);
+        if (rows.isEmpty()) {
+            log.warn("Customer with ID: {} not found", customerId);
+            throw new CustomerNotFoundException("Customer with id: " + customerId + " not found");
+        }
+
+        List<PortfolioAccountDTO> accounts = new ArrayList<>(rows.size());
+        for (CustomerPortfolioRow row : rows) {
+            if (row.accountId() != null) {
+                accounts.add(new PortfolioAccountDTO(row.accountId(), row.accountType(), row.accountStatus(), row.balance()));
+            }
+        }
+        CustomerPortfolioRow customer = rows.get(0);
+        return new CustomerPortfolioResponseDTO(
+                HttpStatus.OK.value(),
+                customer.customerId(),
+                customer.name(),
+                customer.type(),
+                customer.customerStatus(),
+                accounts,
+                "Customer portfolio retrieved successfully"
+        );
+    }
+
+    public void applyAccountCreated(KafkaNewAccountDTO kafkaNewAccountDTO) {
+        CustomerAccount account = customerAccountRepository.findById(kafkaNewAccountDTO.accountId())
+                .orElseGet(() -> newAccount(kafkaNewAccountDTO.accountId(), kafkaNewAccountDTO.customerId()));
+        if (account.isDeleted()) {
+            if (!account.isCreated()) {
+                log.debug("Ignoring creation of account {}, it was deleted before", kafkaNewAccountDTO.accountId());
+                account.setCreated(true);
+                customerAccountRepository.save(account);
+                return;
+            }
+            account = reviveAccount(account, kafkaNewAccountDTO.customerId());
+        }
+        if (account.getAccountType() == null) {
+            account.setAccountType(kafkaNewAccountDTO.accountType());
+        }
+        if (account.getAccountStatus() == null) {
+            account.setAccountStatus(kafkaNewAccountDTO.accountStatus());
+        }
+        if (account.getBalance() == null) {
+            account.setBalance(kafkaNewAccountDTO.balance());
+        }
+        account.setCreated(true);
+        account.setUpdatedAt(Instant.now());
+        customerAccountRepository.save(account);
+    }
+
+    public void applyAccountUpdated(KafkaUpdateAccountDTO kafkaUpdateAccountDTO) {
+        CustomerAccount account = customerAccountRepository.findById(kafkaUpdateAccountDTO.accountId())
+                .orElseGet(() -> newAccount(kafkaUpdateAccountDTO.accountId(), kafkaUpdateAccountDTO.customerId()));
+        if (account.isDeleted()) {
+            log.debug("Ignoring update of account {}, it was deleted before", kafkaUpdateAccountDTO.accountId());
+            return;
+        }
+        Map<String, Object> updatedFields = kafkaUpdateAccountDTO.updatedFields() == null ? Map.of() : kafkaUpdateAccountDTO.updatedFields();
+        if (updatedFields.get("accountType") != null) {
+            account.setAccountType(updatedFields.get("accountType").toString());
+        }
+        if (updatedFields.get("accountStatus") != null) {
+            account.setAccountStatus(updatedFields.get("accountStatus").toString());
+        }
+        if (updatedFields.get("balance") != null) {
+            // a BigDecimal from the binary codec, a Number from the JSON fallback
+            account.setBalance(new BigDecimal(updatedFields.get("balance").toString()));
+        }
+        account.setUpdatedAt(Instant.now());
+        customerAccountRepository.save(account);
+    }
+
+    public void applyAccountDeleted(KafkaDeleteAccountDTO kafkaDeleteAccountDTO) {
+        CustomerAccount account = customerAccountRepository.findById(kafkaDeleteAccountDTO.accountId())
+                .orElseGet(() -> newAccount(kafkaDeleteAccountDTO.accountId(), kafkaDeleteAccountDTO.customerId()));
+        account.setDeleted(true);
+        account.setUpdatedAt(Instant.now());
+        customerAccountRepository.save(account);
+    }
+
+    /**
+     * Applies the account status the account service gives all accounts of a customer whose status changed. Must be
+     * called from the transaction that changes the customer's status.
+     */
+    public void applyCustomerStatusChanged(int customerId, String customerStatus) {
+        if (CustomerStatus.INACTIVE.getStatus().equals(customerStatus)) {
+            customerAccountRepository.updateAccountStatusByCustomerId(customerId, AccountStatus.INACTIVE.getStatus(), Instant.now());
+        } else if (CustomerStatus.ACTIVE.getStatus().equals(customerStatus)) {
+            customerAccountRepository.updateAccountStatusByCustomerId(customerId, AccountStatus.ACTIVE.getStatus(), Instant.now());
+        }
+    }
+
+    private static CustomerAccount reviveAccount(CustomerAccount tombstone, int customerId) {
+        tombstone.setCustomerId(customerId);
+        tombstone.setAccountType(null);
+        tombstone.setAccountStatus(null);
+        tombstone.setBalance(null);
+        tombstone.setDeleted(false);
+        return tombstone;
+    }
+
+    private static CustomerAccount newAccount(int accountId, int customerId) {
+        CustomerAccount account = new CustomerAccount();
+        account.setAccountId(accountId);
+        account.setCustomerId(customerId);
+        return account;
+    }
+}
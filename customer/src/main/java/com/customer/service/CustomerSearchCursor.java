@@ -0,0 +1,42 @@
+package com.customer.service;
+
+import com.customer.exception.InvalidCustomerSearchRequestException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Position of the last customer of a search page: its distance to the query when the page was served and its ID.
+ * Clients get it as an opaque string, so the next page continues from there even if that customer has been renamed
+ * or deleted since.
+ */
+record CustomerSearchCursor(float distance, int customerId) {
+
+    /**
+     * Sorts before every customer, distances being non-negative.
+     */
+    static final CustomerSearchCursor FIRST_PAGE = new CustomerSearchCursor(-1, 0);
+
+    String encode() {
+        byte[] bytes = ByteBuffer.allocate(Float.BYTES + Integer.BYTES).putFloat(distance).putInt(customerId).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static CustomerSearchCursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCustomerSearchRequestException("Invalid search cursor");
+        }
+        if (bytes.length != Float.BYTES + Integer.BYTES) {
+            throw new InvalidCustomerSearchRequestException("Invalid search cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        float distance = buffer.getFloat();
+        if (!(distance >= 0)) {
+            throw new InvalidCustomerSearchRequestException("Invalid search cursor");
+        }
+        return new CustomerSearchCursor(distance, buffer.getInt());
+    }
+}
@@ -1,34 +1,65 @@
 package com.customer.service;
 
 import com.clients.account.AccountClient;
+import com.clients.account.dto.ImportedAccountDTO;
+import com.clients.account.dto.KafkaAccountsImportedDTO;
 import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.account.dto.KafkaInterestAccruedDTO;
 import com.clients.account.dto.KafkaNewAccountDTO;
+import com.clients.account.dto.KafkaUpdateAccountDTO;
 import com.clients.customer.dto.*;
+import com.clients.kafka.ProcessedEventService;
+import com.clients.observability.ObservationNames;
+import com.clients.persistence.AfterCommit;
+import com.clients.persistence.OptimisticLockRetryTemplate;
 import com.customer.entity.Customer;
 import com.customer.exception.CustomerNotFoundException;
 import com.customer.exception.InvalidCustomerDeleteReqeustException;
+import com.customer.exception.InvalidCustomerSearchRequestException;
+import com.customer.repository.ArchivedCustomerRepository;
+import com.customer.repository.CustomerAccountCountRepository;
 import com.customer.repository.CustomerRepository;
+import com.customer.repository.CustomerSearchHit;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * @author YQadous
  * Service class for managing customers.
  */
 @Service
+@Observed(name = ObservationNames.SERVICE)
 @RequiredArgsConstructor
 @Slf4j
 public class CustomerService {
 
+    static final int MIN_SEARCH_QUERY_LENGTH = 3;
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_CANDIDATES = 500;
+
     private final CustomerRepository customerRepository;
     private final AccountClient accountClient;
+    private final ProcessedEventService processedEventService;
+    private final CustomerPortfolioService customerPortfolioService;
+    private final OptimisticLockRetryTemplate optimisticLockRetryTemplate;
+    private final ArchivedCustomerRepository archivedCustomerRepository;
+    private final CustomerAccountCountRepository customerAccountCountRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     public CustomerResponseDTO createCustomer(CustomerRequestDTO customerRequestDTO) {
         log.debug("Creating customer with data: {}", customerRequestDTO);
@@ -41,32 +72,136 @@ public class CustomerService {
         return mapToCustomerResponseDTO(savedCustomer, HttpStatus.CREATED.value(), "Customer created successfully");
     }
 
-    public CustomerResponseDTO getCustomer(int customerId) {
-        log.debug("Fetching customer with ID: {}", customerId);
-
-        Customer customer = findCustomerById(customerId);
+    /**
+     * Retrieves a customer by ID. Archived customers are only looked up when {@code includeArchived} is set, so the
+     * default path never touches the archive.
+     *
+     * @param customerId the ID of the customer
+     * @param includeArchived whether to look the customer up in the archive when it is no longer in the Customer table
+     * @return CustomerResponseDTO the customer's details
+     */
+    @Transactional(readOnly = true)
+    public CustomerResponseDTO getCustomer(int customerId, boolean includeArchived) {
+        log.debug("Fetching customer with ID: {}, includeArchived: {}", customerId, includeArchived);
+
+        Optional<Customer> customer = customerRepository.findById(customerId);
+        if (customer.isEmpty() && includeArchived) {
+            Optional<CustomerResponseDTO> archivedCustomer = archivedCustomerRepository.findCustomerResponseById(customerId);
+            if (archivedCustomer.isPresent()) {
+                log.info("Archived customer retrieved successfully with ID: {}", customerId);
+                return archivedCustomer.get();
+            }
+        }
+        if (customer.isEmpty()) {
+            log.error("Customer with ID: {} not found", customerId);
+            throw new CustomerNotFoundException("Customer with id: " + customerId + " not found");
+        }
 
         log.info("Customer retrieved successfully with ID: {}", customerId);
-        return mapToCustomerResponseDTO(customer, HttpStatus.OK.value(), "Customer retrieved successfully");
+        return mapToCustomerResponseDTO(customer.get(), HttpStatus.OK.value(), "Customer retrieved successfully");
     }
 
-    public List<CustomerResponseDTO> getAllCustomers() {
-        log.debug("Fetching all customers");
-
-        List<Customer> customers = customerRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<CustomerResponseDTO> getAllCustomers(boolean includeArchived) {
+        log.debug("Fetching all customers, includeArchived: {}", includeArchived);
+
+        List<CustomerResponseDTO> customers = customerRepository.findAllCustomerResponses();
+        if (includeArchived) {
+            List<CustomerResponseDTO> archivedCustomers = archivedCustomerRepository.findAllCustomerResponses();
+            if (!archivedCustomers.isEmpty()) {
+                customers = new ArrayList<>(customers);
+                customers.addAll(archivedCustomers);
+            }
+        }
         log.info("Retrieved {} customers", customers.size());
 
-        return customers.stream()
-                .map(customer -> mapToCustomerResponseDTO(customer, HttpStatus.OK.value(), "Customer retrieved successfully"))
+        return customers;
+    }
+
+    /**
+     * Looks up the status of many customers at once, for callers that would otherwise fetch them one by one.
+     *
+     * @param customerIds the IDs of the customers
+     * @return CustomerLookupResponseDTO the status of every requested customer that exists; missing ones are left out
+     */
+    @Transactional(readOnly = true)
+    public CustomerLookupResponseDTO lookupCustomers(List<Integer> customerIds) {
+        List<CustomerStatusDTO> customers = customerRepository.findCustomerStatuses(customerIds);
+        log.debug("Looked up {} customers, {} found", customerIds.size(), customers.size());
+        return new CustomerLookupResponseDTO(HttpStatus.OK.value(), customers, "Customers looked up successfully");
+    }
+
+    /**
+     * Searches customers by exact legal ID or email, falling back to a fuzzy name search.
+     * An exact identifier match is returned on its own; name matches are ranked by similarity and capped at
+     * {@value #MAX_SEARCH_CANDIDATES}, so a common name costs no more than a rare one, and the response says when the
+     * cap left matches out. Pages continue after the last customer of the previous one (keyset pagination), which the
+     * cursor identifies by its distance and ID as they were when that page was served.
+     *
+     * @param query the legal ID, email or name to search for
+     * @param after the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param size the maximum number of customers to return
+     * @return CustomerSearchResponseDTO the page of matching customers
+     */
+    @Transactional(readOnly = true)
+    public CustomerSearchResponseDTO searchCustomers(String query, String after, int size) {
+        log.debug("Searching customers with query: {}, after: {}, size: {}", query, after, size);
+
+        String trimmedQuery = query == null ? "" : query.trim();
+        if (trimmedQuery.length() < MIN_SEARCH_QUERY_LENGTH) {
+            throw new InvalidCustomerSearchRequestException("Search query must be at least " + MIN_SEARCH_QUERY_LENGTH + " characters long");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidCustomerSearchRequestException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        CustomerSearchCursor cursor = after == null ? CustomerSearchCursor.FIRST_PAGE : CustomerSearchCursor.decode(after);
+
+        if (after == null) {
+            List<Customer> exactMatches = customerRepository.findByLegalIdOrEmail(trimmedQuery, trimmedQuery);
+            if (!exactMatches.isEmpty()) {
+                return mapToCustomerSearchResponseDTO(exactMatches, null, false);
+            }
+        }
+
+        // one extra row tells whether there is a next page
+        List<CustomerSearchHit> hits = customerRepository.searchByName(
+                trimmedQuery,
+                MAX_SEARCH_CANDIDATES,
+                cursor.distance(),
+                cursor.customerId(),
+                size + 1);
+        boolean truncated = !hits.isEmpty() && hits.get(0).getTruncated();
+        String nextCursor = null;
+        if (hits.size() > size) {
+            hits = hits.subList(0, size);
+            CustomerSearchHit last = hits.get(size - 1);
+            nextCursor = new CustomerSearchCursor(last.getDistance(), last.getCustomerId()).encode();
+        }
+
+        Map<Integer, Customer> customersById = new HashMap<>();
+        customerRepository.findAllById(hits.stream().map(CustomerSearchHit::getCustomerId).toList())
+                .forEach(customer -> customersById.put(customer.getCustomerId(), customer));
+        // a customer deleted since the search ran is left out rather than failing the page
+        List<Customer> customers = hits.stream()
+                .map(hit -> customersById.get(hit.getCustomerId()))
+                .filter(Objects::nonNull)
                 .toList();
+        return mapToCustomerSearchResponseDTO(customers, nextCursor, truncated);
     }
 
     public CustomerUpdateResponseDTO updateCustomer(int customerId, CustomerUpdateRequestDTO customerRequestDTO) {
         log.debug("Updating customer with ID: {} with data: {}", customerId, customerRequestDTO);
 
-        Customer customer = findCustomerById(customerId);
-        Map<String, Object> updatedFields = updateCustomerFields(customer, customerRequestDTO);
-        customerRepository.save(customer);
+        // each attempt runs in its own transaction and re-reads the customer, so a conflicting update is applied on top
+        Map<String, Object> updatedFields = optimisticLockRetryTemplate.execute(() -> {
+            Customer customer = findCustomerById(customerId);
+            Map<String, Object> changes = updateCustomerFields(customer, customerRequestDTO);
+            customerRepository.save(customer);
+            if (changes.containsKey("customerStatus")) {
+                customerPortfolioService.applyCustomerStatusChanged(customerId, customer.getCustomerStatus());
+            }
+            return changes;
+        });
 
         log.info("Customer with ID: {} updated successfully. Updated fields: {}", customerId, updatedFields);
 
@@ -99,6 +234,18 @@ public class CustomerService {
                 });
     }
 
+    private CustomerSearchResponseDTO mapToCustomerSearchResponseDTO(List<Customer> customers, String nextCursor, boolean truncated) {
+        return new CustomerSearchResponseDTO(
+                HttpStatus.OK.value(),
+                customers.stream()
+                        .map(customer -> mapToCustomerResponseDTO(customer, HttpStatus.OK.value(), "Customer retrieved successfully"))
+                        .toList(),
+                nextCursor,
+                truncated,
+                "Customer search completed successfully"
+        );
+    }
+
     private Customer mapToCustomer(CustomerRequestDTO customerRequestDTO) {
         // No logging needed here as this is a simple mapping method
         Customer customer = new Customer();
@@ -109,6 +256,7 @@ public class CustomerService {
         customer.setPhoneNumber(customerRequestDTO.phoneNumber());
         customer.setEmail(customerRequestDTO.email());
         customer.setCustomerStatus(customerRequestDTO.customerStatus());
+        customer.setStatusChangedAt(Instant.now());
         customer.setNumberOfAccounts(0); // Default number of accounts
         return customer;
     }
@@ -161,6 +309,7 @@ public class CustomerService {
         }
         if (customerRequestDTO.customerStatus() != null && !Objects.equals(customer.getCustomerStatus(), customerRequestDTO.customerStatus())) {
             customer.setCustomerStatus(customerRequestDTO.customerStatus());
+            customer.setStatusChangedAt(Instant.now());
             updatedFields.put("customerStatus", customerRequestDTO.customerStatus());
         }
 
@@ -178,20 +327,72 @@ public class CustomerService {
     }
 
     // we assume that the account microservice will check for the max number of customers before creating a new one
+    @Transactional
     public void handleNewAccountEvent(KafkaNewAccountDTO kafkaNewAccountDTO) {
-        customerRepository.findById(kafkaNewAccountDTO.customerId())
-                .ifPresent(customer -> {
-                    customer.setNumberOfAccounts(customer.getNumberOfAccounts() + 1);
-                    customerRepository.save(customer);
-                });
+        if (!processedEventService.markProcessed(kafkaNewAccountDTO.eventId())) {
+            return;
+        }
+        adjustNumberOfAccounts(kafkaNewAccountDTO.customerId(), 1);
+        customerPortfolioService.applyAccountCreated(kafkaNewAccountDTO);
     }
 
+    @Transactional
+    public void handleUpdateAccountEvent(KafkaUpdateAccountDTO kafkaUpdateAccountDTO) {
+        if (!processedEventService.markProcessed(kafkaUpdateAccountDTO.eventId())) {
+            return;
+        }
+        customerPortfolioService.applyAccountUpdated(kafkaUpdateAccountDTO);
+    }
+
+    @Transactional
     public void handleDeleteAccountEvent(KafkaDeleteAccountDTO kafkaDeleteAccountDTO) {
-        customerRepository.findById(kafkaDeleteAccountDTO.customerId())
-                .ifPresent(customer -> {
-                    customer.setNumberOfAccounts(customer.getNumberOfAccounts() - 1);
-                    customerRepository.save(customer);
-                });
+        if (!processedEventService.markProcessed(kafkaDeleteAccountDTO.eventId())) {
+            return;
+        }
+        adjustNumberOfAccounts(kafkaDeleteAccountDTO.customerId(), -1);
+        customerPortfolioService.applyAccountDeleted(kafkaDeleteAccountDTO);
+    }
+
+    /**
+     * Applies the accounts of a bulk import as if each had come with its own account.new event, adjusting the number
+     * of accounts of all their customers with one statement.
+     */
+    @Transactional
+    public void handleAccountsImportedEvent(KafkaAccountsImportedDTO kafkaAccountsImportedDTO) {
+        if (!processedEventService.markProcessed(kafkaAccountsImportedDTO.eventId())) {
+            return;
+        }
+        Map<Integer, Integer> importedAccounts = new HashMap<>();
+        for (ImportedAccountDTO account : kafkaAccountsImportedDTO.accounts()) {
+            importedAccounts.merge(account.customerId(), 1, Integer::sum);
+        }
+        List<Integer> adjustedIds = customerAccountCountRepository.adjustAccountCounts(importedAccounts);
+        AfterCommit.run(() -> {
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            adjustedIds.forEach(customerId -> cache.evict(Customer.class, customerId));
+        });
+        kafkaAccountsImportedDTO.toNewAccountEvents().forEach(customerPortfolioService::applyAccountCreated);
+    }
+
+    /**
+     * Applies the balances of the nightly interest accrual as if each account had come with its own account.update
+     * event.
+     */
+    @Transactional
+    public void handleInterestAccruedEvent(KafkaInterestAccruedDTO kafkaInterestAccruedDTO) {
+        if (!processedEventService.markProcessed(kafkaInterestAccruedDTO.eventId())) {
+            return;
+        }
+        kafkaInterestAccruedDTO.toUpdateAccountEvents().forEach(customerPortfolioService::applyAccountUpdated);
+    }
+
+    /**
+     * The count is updated behind Hibernate's back, so the customer is evicted from the second-level cache once the
+     * transaction commits; evicting earlier would let a concurrent read cache the old count again.
+     */
+    private void adjustNumberOfAccounts(int customerId, int delta) {
+        customerAccountCountRepository.adjustAccountCount(customerId, delta);
+        AfterCommit.run(() -> entityManagerFactory.unwrap(SessionFactory.class).getCache().evict(Customer.class, customerId));
     }
 }
 
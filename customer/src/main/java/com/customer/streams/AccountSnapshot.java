@@ -0,0 +1,55 @@
+package com.customer.streams;
+
+import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.account.dto.KafkaNewAccountDTO;
+import com.clients.account.dto.KafkaUpdateAccountDTO;
+
+import java.util.Map;
+
+/**
+ * Latest known state of a single account, folded from its account.new, account.update and account.delete events.
+ * Events of one account can arrive out of order across the three topics, so an update seen before the creation is
+ * kept but the account only counts once its creation has been seen, and a deletion is final.
+ */
+public record AccountSnapshot(
+        Integer customerId,
+        String accountType,
+        String accountStatus,
+        boolean created,
+        boolean deleted
+) {
+    static final AccountSnapshot UNKNOWN = new AccountSnapshot(null, null, null, false, false);
+
+    /**
+     * @return true if the account exists and should be counted for its customer
+     */
+    public boolean live() {
+        return created && !deleted && customerId != null;
+    }
+
+    AccountSnapshot apply(Object event) {
+        if (deleted) {
+            return this;
+        }
+        if (event instanceof KafkaNewAccountDTO newAccount) {
+            return new AccountSnapshot(newAccount.customerId(), newAccount.accountType(), newAccount.accountStatus(), true, false);
+        }
+        if (event instanceof KafkaUpdateAccountDTO update) {
+            Map<String, Object> updatedFields = update.updatedFields() == null ? Map.of() : update.updatedFields();
+            return new AccountSnapshot(
+                    update.customerId(),
+                    stringOr(updatedFields.get("accountType"), accountType),
+                    stringOr(updatedFields.get("accountStatus"), accountStatus),
+                    created,
+                    false);
+        }
+        if (event instanceof KafkaDeleteAccountDTO delete) {
+            return new AccountSnapshot(delete.customerId(), accountType, accountStatus, created, true);
+        }
+        return this;
+    }
+
+    private static String stringOr(Object value, String fallback) {
+        return value == null ? fallback : value.toString();
+    }
+}
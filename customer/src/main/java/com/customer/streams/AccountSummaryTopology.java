@@ -0,0 +1,108 @@
+package com.customer.streams;
+
+import com.clients.account.dto.KafkaAccountsImportedDTO;
+import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.account.dto.KafkaNewAccountDTO;
+import com.clients.account.dto.KafkaUpdateAccountDTO;
+import com.clients.serialization.BinaryEventDeserializer;
+import com.clients.serialization.BinaryEventSerializer;
+import com.common.enums.TopicNames;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.*;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.util.List;
+
+/**
+ * Kafka Streams topology that keeps a materialized view of every customer's accounts.
+ * <p>
+ * The account events are re-keyed by account id and folded into an {@link AccountSnapshot} table, which is then
+ * re-grouped by customer id into {@link CustomerAccountSummary} aggregates. Going through the per-account table means
+ * an account type change or a deletion subtracts exactly what the account contributed before, so the aggregates
+ * cannot drift. Both tables live in local RocksDB stores backed by changelog topics and are read through
+ * {@link KafkaStreamsInteractiveQueryService}.
+ */
+@Configuration
+@EnableKafkaStreams
+public class AccountSummaryTopology {
+
+    public static final String ACCOUNTS_STORE = "account-snapshots";
+    public static final String SUMMARIES_STORE = "customer-account-summaries";
+
+    @Bean
+    public KTable<Integer, CustomerAccountSummary> customerAccountSummaries(StreamsBuilder streamsBuilder,
+                                                                           KafkaProperties kafkaProperties) {
+        Serde<Object> eventSerde = eventSerde(kafkaProperties);
+        Serde<AccountSnapshot> snapshotSerde = new JsonSerde<>(AccountSnapshot.class).noTypeInfo().ignoreTypeHeaders();
+        Serde<CustomerAccountSummary> summarySerde = new JsonSerde<>(CustomerAccountSummary.class).noTypeInfo().ignoreTypeHeaders();
+        Consumed<String, Object> consumed = Consumed.with(Serdes.String(), eventSerde);
+
+        KStream<String, Object> accountEvents = streamsBuilder.stream(TopicNames.ACCOUNT_NEW.getTopicName(), consumed)
+                .merge(streamsBuilder.stream(TopicNames.ACCOUNT_UPDATE.getTopicName(), consumed))
+                .merge(streamsBuilder.stream(TopicNames.ACCOUNT_DELETE.getTopicName(), consumed))
+                // a bulk import stands in for the account.new events of the accounts it created
+                .merge(streamsBuilder.stream(TopicNames.ACCOUNT_IMPORT.getTopicName(), consumed)
+                        .flatMapValues(event -> event instanceof KafkaAccountsImportedDTO imported
+                                ? List.<Object>copyOf(imported.toNewAccountEvents())
+                                : List.of()));
+
+        KTable<Integer, AccountSnapshot> accounts = accountEvents
+                .filter((key, event) -> accountId(event) != null)
+                .selectKey((key, event) -> accountId(event))
+                .groupByKey(Grouped.with(Serdes.Integer(), eventSerde))
+                .aggregate(() -> AccountSnapshot.UNKNOWN,
+                        (accountId, event, snapshot) -> snapshot.apply(event),
+                        Materialized.<Integer, AccountSnapshot, KeyValueStore<Bytes, byte[]>>as(ACCOUNTS_STORE)
+                                .withKeySerde(Serdes.Integer())
+                                .withValueSerde(snapshotSerde))
+                // only live accounts are counted; a null value removes the account from the table
+                .toStream()
+                .mapValues(snapshot -> snapshot.live() ? snapshot : null)
+                .toTable(Materialized.with(Serdes.Integer(), snapshotSerde));
+
+        return accounts
+                .groupBy((accountId, snapshot) -> KeyValue.pair(snapshot.customerId(), snapshot),
+                        Grouped.with(Serdes.Integer(), snapshotSerde))
+                .aggregate(() -> CustomerAccountSummary.EMPTY,
+                        (customerId, snapshot, summary) -> summary.add(snapshot),
+                        (customerId, snapshot, summary) -> summary.remove(snapshot),
+                        Materialized.<Integer, CustomerAccountSummary, KeyValueStore<Bytes, byte[]>>as(SUMMARIES_STORE)
+                                .withKeySerde(Serdes.Integer())
+                                .withValueSerde(summarySerde));
+    }
+
+    @Bean
+    public KafkaStreamsInteractiveQueryService kafkaStreamsInteractiveQueryService(StreamsBuilderFactoryBean streamsBuilderFactoryBean) {
+        return new KafkaStreamsInteractiveQueryService(streamsBuilderFactoryBean);
+    }
+
+    private static Serde<Object> eventSerde(KafkaProperties kafkaProperties) {
+        BinaryEventDeserializer deserializer = new BinaryEventDeserializer();
+        deserializer.configure(kafkaProperties.buildConsumerProperties(null), false);
+        return Serdes.serdeFrom(new BinaryEventSerializer(), deserializer);
+    }
+
+    private static Integer accountId(Object event) {
+        if (event instanceof KafkaNewAccountDTO newAccount) {
+            return newAccount.accountId();
+        }
+        if (event instanceof KafkaUpdateAccountDTO update) {
+            return update.accountId();
+        }
+        if (event instanceof KafkaDeleteAccountDTO delete) {
+            return delete.accountId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.customer.streams;
+
+import com.common.enums.AccountTypes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregate of the live accounts of one customer, maintained by {@link AccountSummaryTopology}.
+ */
+public record CustomerAccountSummary(
+        int numberOfAccounts,
+        Map<String, Integer> accountsByType
+) {
+    public static final CustomerAccountSummary EMPTY = new CustomerAccountSummary(0, Map.of());
+
+    public boolean hasSalaryAccount() {
+        return accountsByType.getOrDefault(AccountTypes.SALARY.getType(), 0) > 0;
+    }
+
+    CustomerAccountSummary add(AccountSnapshot account) {
+        return adjust(account, 1);
+    }
+
+    CustomerAccountSummary remove(AccountSnapshot account) {
+        return adjust(account, -1);
+    }
+
+    private CustomerAccountSummary adjust(AccountSnapshot account, int delta) {
+        Map<String, Integer> byType = new HashMap<>(accountsByType);
+        if (account.accountType() != null) {
+            byType.merge(account.accountType(), delta, Integer::sum);
+            byType.values().removeIf(count -> count <= 0);
+        }
+        return new CustomerAccountSummary(Math.max(0, numberOfAccounts + delta), byType);
+    }
+}
@@ -0,0 +1,12 @@
+-- Read model of every customer's accounts, maintained from the account.new/update/delete events
+CREATE TABLE customer_account (
+                                  account_id INTEGER PRIMARY KEY,       -- 10-digit account ID
+                                  customer_id INTEGER NOT NULL,         -- Owning customer
+                                  account_type VARCHAR(20),             -- Unknown until the account.new event is seen
+                                  account_status VARCHAR(20),
+                                  balance DECIMAL(15, 2),
+                                  updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- Covers the portfolio read, so the accounts of a customer come from an index-only scan
+CREATE INDEX customer_account_customer_id_idx ON customer_account (customer_id) INCLUDE (account_type, account_status, balance);
@@ -0,0 +1,5 @@
+-- Trigram index for substring/fuzzy search on customer names; legal_id and email already have unique indexes
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Built concurrently so the Customer table stays writable while the index is created
+CREATE INDEX CONCURRENTLY IF NOT EXISTS customer_name_trgm_idx ON Customer USING GIN (name gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- Optimistic locking version; a constant default is stored in the catalog, so existing rows are not rewritten
+ALTER TABLE Customer ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,24 @@
+-- When the customer status last changed, so the archival job can tell how long a customer has been inactive.
+-- now() is stable, so the default is stored in the catalog and existing rows are not rewritten.
+ALTER TABLE Customer ADD COLUMN status_changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+-- Cold storage for customers inactive beyond the retention window, moved here by CustomerArchivalService so the hot
+-- Customer table and its indexes only hold customers that are still in use.
+-- legal_id and email are deliberately not unique here, an archived customer does not reserve them.
+CREATE TABLE customer_archive (
+                                  customer_id INTEGER PRIMARY KEY,
+                                  name VARCHAR(100) NOT NULL,
+                                  legal_id VARCHAR(50) NOT NULL,
+                                  type VARCHAR(20) NOT NULL,
+                                  address VARCHAR(255) NOT NULL,
+                                  phone_number VARCHAR(15),
+                                  email VARCHAR(150),
+                                  number_of_accounts INT NOT NULL,
+                                  customer_status VARCHAR(20) NOT NULL,
+                                  version BIGINT NOT NULL,
+                                  status_changed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                                  archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- Lets the archival job find inactive customers without scanning the active ones
+CREATE INDEX customer_inactive_idx ON Customer (customer_id) WHERE customer_status = 'inactive';
@@ -0,0 +1,8 @@
+-- A deleted account keeps its row as a tombstone, so an account.new or account.update that was overtaken by the
+-- account.delete does not bring the account back.
+-- created tells whether the account.new event has been applied; every existing row but the partial ones created by an
+-- early account.update has seen it. The constant defaults are stored in the catalog, so the table is not rewritten.
+ALTER TABLE customer_account ADD COLUMN deleted BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE customer_account ADD COLUMN created BOOLEAN NOT NULL DEFAULT true;
+ALTER TABLE customer_account ALTER COLUMN created SET DEFAULT false;
+UPDATE customer_account SET created = false WHERE account_type IS NULL;
@@ -0,0 +1,5 @@
+-- The portfolio read only wants live accounts, so tombstones are left out of its covering index.
+-- Built concurrently so customer_account stays writable; the old index serves reads until the new one is valid.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS customer_account_live_customer_id_idx ON customer_account (customer_id)
+    INCLUDE (account_type, account_status, balance) WHERE NOT deleted;
+DROP INDEX CONCURRENTLY IF EXISTS customer_account_customer_id_idx;
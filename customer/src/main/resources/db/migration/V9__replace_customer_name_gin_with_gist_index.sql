@@ -0,0 +1,6 @@
+-- Name search ranks by trigram word similarity. Only a GiST index returns rows nearest first, so a search stops after
+-- its candidates instead of reading every match; the larger signature keeps multi-word names from matching lossily
+CREATE INDEX CONCURRENTLY IF NOT EXISTS customer_name_trgm_gist_idx ON Customer USING GIST (name gist_trgm_ops(siglen = 256));
+
+-- The GIN index only served the former ILIKE search
+DROP INDEX CONCURRENTLY IF EXISTS customer_name_trgm_idx;
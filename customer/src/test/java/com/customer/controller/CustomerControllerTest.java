@@ -3,8 +3,13 @@ package com.customer.controller;
 import com.clients.customer.dto.*;
 import com.common.enums.CustomerStatus;
 import com.common.enums.CustomerTypes;
+import com.common.enums.EventHeaders;
 import com.common.enums.TopicNames;
+import com.customer.exception.InvalidCustomerSearchRequestException;
 import com.customer.kafka.KafkaProducerService;
+import com.customer.service.CustomerAccountSummaryService;
+import com.customer.service.CustomerImportService;
+import com.customer.service.CustomerPortfolioService;
 import com.customer.service.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -13,14 +18,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -38,6 +49,15 @@ class CustomerControllerTest {
     @MockBean
     private KafkaProducerService kafkaProducerService;
 
+    @MockBean
+    private CustomerAccountSummaryService customerAccountSummaryService;
+
+    @MockBean
+    private CustomerPortfolioService customerPortfolioService;
+
+    @MockBean
+    private CustomerImportService customerImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -103,7 +123,7 @@ class CustomerControllerTest {
                 "Customer with id: 1000000 created successfully"
         );
 
-        when(customerService.getCustomer(1000000)).thenReturn(customerResponseDTO);
+        when(customerService.getCustomer(1000000, false)).thenReturn(customerResponseDTO);
 
         // When
         mockMvc.perform(get("/api/v1/customers/1000000"))
@@ -115,7 +135,7 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.message", is("Customer with id: 1000000 created successfully")));
 
         // Then
-        verify(customerService, times(1)).getCustomer(1000000);
+        verify(customerService, times(1)).getCustomer(1000000, false);
     }
 
     @Test
@@ -135,7 +155,7 @@ class CustomerControllerTest {
                 "Customer with id: 1000000 created successfully"
         );
 
-        when(customerService.getAllCustomers()).thenReturn(List.of(customerResponseDTO));
+        when(customerService.getAllCustomers(false)).thenReturn(List.of(customerResponseDTO));
 
         // When
         mockMvc.perform(get("/api/v1/customers"))
@@ -144,7 +164,7 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$[0].name", is("John Doe")));
 
         // Then
-        verify(customerService, times(1)).getAllCustomers();
+        verify(customerService, times(1)).getAllCustomers(false);
     }
 
     @Test
@@ -179,7 +199,8 @@ class CustomerControllerTest {
 
         // Then
         verify(customerService, times(1)).updateCustomer(eq(1000000), any(CustomerUpdateRequestDTO.class));
-        verify(kafkaProducerService, times(1)).sendMessage(eq(TopicNames.CUSTOMER_UPDATE.getTopicName()), any(KafkaCustomerUpdateDTO.class));
+        verify(kafkaProducerService, times(1)).sendMessage(eq(TopicNames.CUSTOMER_UPDATE.getTopicName()), any(KafkaCustomerUpdateDTO.class),
+                argThat(headers -> List.of(headers.get(EventHeaders.UPDATED_FIELDS.getHeaderName()).split(",")).contains("customerStatus")));
     }
 
     @Test
@@ -203,4 +224,121 @@ class CustomerControllerTest {
         verify(customerService, times(1)).deleteCustomer(1000000);
         verify(kafkaProducerService, times(1)).sendMessage(eq(TopicNames.CUSTOMER_DELETE.getTopicName()), any(KafkaCustomerDeleteDTO.class));
     }
+
+    @Test
+    void shouldGetAccountSummary() throws Exception {
+        // Given
+        CustomerAccountSummaryResponseDTO summaryResponseDTO = new CustomerAccountSummaryResponseDTO(
+                HttpStatus.OK.value(), 1000000, 2, Map.of("salary", 1, "savings", 1), true,
+                "Account summary retrieved successfully");
+        when(customerAccountSummaryService.getAccountSummary(1000000)).thenReturn(summaryResponseDTO);
+
+        // When
+        mockMvc.perform(get("/api/v1/customers/1000000/account-summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfAccounts", is(2)))
+                .andExpect(jsonPath("$.accountsByType.salary", is(1)))
+                .andExpect(jsonPath("$.hasSalaryAccount", is(true)));
+
+        // Then
+        verify(customerAccountSummaryService, times(1)).getAccountSummary(1000000);
+    }
+
+    @Test
+    void shouldGetPortfolio() throws Exception {
+        // Given
+        CustomerPortfolioResponseDTO portfolioResponseDTO = new CustomerPortfolioResponseDTO(
+                HttpStatus.OK.value(), 1000000, "John Doe", CustomerTypes.RETAIL.getType(), CustomerStatus.ACTIVE.getStatus(),
+                List.of(new PortfolioAccountDTO(1000000123, "savings", "active", new BigDecimal("99.00"))),
+                "Customer portfolio retrieved successfully");
+        when(customerPortfolioService.getPortfolio(1000000)).thenReturn(portfolioResponseDTO);
+
+        // When
+        mockMvc.perform(get("/api/v1/customers/1000000/portfolio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("John Doe")))
+                .andExpect(jsonPath("$.accounts[0].accountId", is(1000000123)))
+                .andExpect(jsonPath("$.accounts[0].accountType", is("savings")));
+
+        // Then
+        verify(customerPortfolioService, times(1)).getPortfolio(1000000);
+    }
+
+    @Test
+    void shouldSearchCustomers() throws Exception {
+        // Given
+        CustomerResponseDTO customer = new CustomerResponseDTO(
+                HttpStatus.OK.value(), 1000000, "John Doe", "123456789", CustomerTypes.RETAIL.getType(), "123 Main St",
+                "555-1234", "john.doe@example.com", 0, CustomerStatus.ACTIVE.getStatus(), "Customer retrieved successfully");
+        when(customerService.searchCustomers("john", "PoAAAAAPQj8", 1)).thenReturn(new CustomerSearchResponseDTO(
+                HttpStatus.OK.value(), List.of(customer), "PoAAAAAPQkA", true, "Customer search completed successfully"));
+
+        // When
+        mockMvc.perform(get("/api/v1/customers/search").param("q", "john").param("after", "PoAAAAAPQj8").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers[0].customerId", is(1000000)))
+                .andExpect(jsonPath("$.nextCursor", is("PoAAAAAPQkA")))
+                .andExpect(jsonPath("$.truncated", is(true)));
+
+        // Then
+        verify(customerService, times(1)).searchCustomers("john", "PoAAAAAPQj8", 1);
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidSearch() throws Exception {
+        // Given
+        when(customerService.searchCustomers("jo", null, 20))
+                .thenThrow(new InvalidCustomerSearchRequestException("Search query must be at least 3 characters long"));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/customers/search").param("q", "jo"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Invalid customer search request")));
+    }
+
+    @Test
+    void shouldImportCustomersAndPublishOneEvent() throws Exception {
+        // Given
+        UUID importId = UUID.randomUUID();
+        MockMultipartFile file = new MockMultipartFile("file", "customers.csv", "text/csv",
+                "name,legalId,type,address,customerStatus\nJohn Doe,111,retail,Main St,active\n".getBytes(StandardCharsets.UTF_8));
+        when(customerImportService.importCustomers(any(InputStream.class))).thenReturn(new CustomerImportResponseDTO(
+                HttpStatus.OK.value(), importId, 1, 0, 1000005, 1000005, List.of(), "Imported 1 of 1 customers"));
+
+        // When
+        mockMvc.perform(multipart("/api/v1/customers/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows", is(1)))
+                .andExpect(jsonPath("$.firstCustomerId", is(1000005)));
+
+        // Then
+        verify(kafkaProducerService, times(1)).sendMessage(eq(TopicNames.CUSTOMER_IMPORT.getTopicName()),
+                argThat(event -> event instanceof KafkaCustomersImportedDTO imported
+                        && imported.importId().equals(importId) && imported.importedCustomers() == 1));
+    }
+
+    @Test
+    void shouldLookUpCustomers() throws Exception {
+        // Given
+        when(customerService.lookupCustomers(List.of(1000000, 1000001))).thenReturn(new CustomerLookupResponseDTO(
+                HttpStatus.OK.value(), List.of(new CustomerStatusDTO(1000000, CustomerStatus.ACTIVE.getStatus())), "Customers looked up successfully"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/customers/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerLookupRequestDTO(List.of(1000000, 1000001)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers[0].customerId", is(1000000)))
+                .andExpect(jsonPath("$.customers[0].customerStatus", is("active")));
+    }
+
+    @Test
+    void shouldRejectEmptyCustomerLookup() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/customers/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerLookupRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(customerService);
+    }
 }
@@ -0,0 +1,127 @@
+package com.customer.service;
+
+import com.clients.account.AccountClient;
+import com.clients.account.dto.AccountCountRequestDTO;
+import com.clients.account.dto.AccountCountResponseDTO;
+import com.clients.account.dto.CustomerAccountCountDTO;
+import com.clients.exception.DownstreamServiceUnavailableException;
+import com.customer.entity.Customer;
+import com.customer.repository.CustomerAccountCountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountCountReconciliationServiceTest {
+
+    private CustomerAccountCountRepository customerAccountCountRepository;
+    private AccountClient accountClient;
+    private Cache cache;
+    private SimpleMeterRegistry meterRegistry;
+    private AccountCountReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        customerAccountCountRepository = mock(CustomerAccountCountRepository.class);
+        accountClient = mock(AccountClient.class);
+        cache = mock(Cache.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        meterRegistry = new SimpleMeterRegistry();
+        reconciliationService = new AccountCountReconciliationService(customerAccountCountRepository, accountClient,
+                entityManagerFactory, meterRegistry, 2, 1.0, 100);
+    }
+
+    @Test
+    void reconcileAccountCounts_ShouldCorrectDriftOnlyOnceTwoRunsAgree() {
+        // Given
+        givenStoredCounts(new CustomerAccountCountDTO(1000000, 1), new CustomerAccountCountDTO(1000001, 3),
+                new CustomerAccountCountDTO(1000002, 0));
+        givenActualCounts(List.of(1000000, 1000001), new CustomerAccountCountDTO(1000000, 1), new CustomerAccountCountDTO(1000001, 2));
+        givenActualCounts(List.of(1000002), new CustomerAccountCountDTO(1000002, 0));
+        CustomerAccountCountRepository.Correction correction = new CustomerAccountCountRepository.Correction(1000001, 3, 2);
+        when(customerAccountCountRepository.correctAccountCounts(List.of(correction))).thenReturn(List.of(1000001));
+
+        // When
+        reconciliationService.reconcileAccountCounts();
+
+        // Then
+        verify(customerAccountCountRepository, never()).correctAccountCounts(anyList());
+        assertEquals(1, meterRegistry.get("customer.account.count.drift.last.run").gauge().value());
+
+        // When
+        reconciliationService.reconcileAccountCounts();
+
+        // Then
+        verify(customerAccountCountRepository).correctAccountCounts(List.of(correction));
+        verify(cache).evict(Customer.class, 1000001);
+        assertEquals(2, meterRegistry.get("customer.account.count.drift").counter().count());
+        assertEquals(1, meterRegistry.get("customer.account.count.corrections").counter().count());
+    }
+
+    @Test
+    void reconcileAccountCounts_ShouldNotCorrectDriftThatChangedBetweenRuns() {
+        // Given
+        givenStoredCounts(new CustomerAccountCountDTO(1000000, 1));
+        when(accountClient.countAccounts(new AccountCountRequestDTO(List.of(1000000))))
+                .thenReturn(countResponse(new CustomerAccountCountDTO(1000000, 2)))
+                .thenReturn(countResponse(new CustomerAccountCountDTO(1000000, 3)));
+
+        // When
+        reconciliationService.reconcileAccountCounts();
+        reconciliationService.reconcileAccountCounts();
+
+        // Then
+        verify(customerAccountCountRepository, never()).correctAccountCounts(anyList());
+        assertEquals(2, meterRegistry.get("customer.account.count.drift").counter().count());
+    }
+
+    @Test
+    void reconcileAccountCounts_ShouldStopQuietly_WhenAccountServiceIsUnavailable() {
+        // Given
+        givenStoredCounts(new CustomerAccountCountDTO(1000000, 1));
+        when(accountClient.countAccounts(any(AccountCountRequestDTO.class)))
+                .thenThrow(new DownstreamServiceUnavailableException("Account service is unavailable"));
+
+        // When
+        reconciliationService.reconcileAccountCounts();
+
+        // Then
+        verify(customerAccountCountRepository, never()).correctAccountCounts(anyList());
+        assertEquals(0, meterRegistry.get("customer.account.count.drift.last.run").gauge().value());
+    }
+
+    private void givenStoredCounts(CustomerAccountCountDTO... storedCounts) {
+        List<CustomerAccountCountDTO> counts = List.of(storedCounts);
+        when(customerAccountCountRepository.findAccountCounts(anyInt(), eq(2))).thenAnswer(invocation -> {
+            int afterCustomerId = invocation.getArgument(0);
+            return counts.stream().filter(count -> count.customerId() > afterCustomerId).limit(2).toList();
+        });
+    }
+
+    private void givenActualCounts(List<Integer> customerIds, CustomerAccountCountDTO... actualCounts) {
+        when(accountClient.countAccounts(new AccountCountRequestDTO(customerIds))).thenReturn(countResponse(actualCounts));
+    }
+
+    private static ResponseEntity<AccountCountResponseDTO> countResponse(CustomerAccountCountDTO... counts) {
+        return ResponseEntity.ok(new AccountCountResponseDTO(HttpStatus.OK.value(), List.of(counts), "Accounts counted successfully"));
+    }
+}
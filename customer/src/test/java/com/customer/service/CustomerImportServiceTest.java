@@ -0,0 +1,127 @@
+package com.customer.service;
+
+import com.clients.customer.dto.CustomerImportResponseDTO;
+import com.clients.dto.ImportRowErrorDTO;
+import com.customer.exception.InvalidCustomerImportRequestException;
+import com.customer.repository.CustomerImportRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerImportServiceTest {
+
+    private CustomerImportRepository customerImportRepository;
+    private CopyIn copyIn;
+    private ByteArrayOutputStream copyData;
+    private CustomerImportService customerImportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        customerImportRepository = mock(CustomerImportRepository.class);
+        copyIn = mock(CopyIn.class);
+        copyData = new ByteArrayOutputStream();
+        doAnswer(invocation -> {
+            copyData.write(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(customerImportRepository.beginStagingCopy()).thenReturn(copyIn);
+        customerImportService = new CustomerImportService(customerImportRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), mock(PlatformTransactionManager.class), 2, 1000);
+    }
+
+    @Test
+    void importCustomers_ShouldStageValidRowsAndRejectInvalidOnes() throws Exception {
+        // Given
+        String csv = """
+                legalId,name,type,address,customerStatus,email
+                111,John Doe,retail,"12 Main St, Amman",active,john@example.com
+                222,Jane Roe,unknown,Main St,active,
+
+                111,Jim Doe,retail,Main St,active,
+                333,"Ann ""The"" Smith",corporate,Main St,inactive,
+                """;
+        when(customerImportRepository.mergeStagedCustomers())
+                .thenReturn(new CustomerImportRepository.MergeResult(1, 1000005, 1000005, List.of(6L)));
+
+        // When
+        CustomerImportResponseDTO response = customerImportService.importCustomers(stream(csv));
+
+        // Then
+        assertEquals("2,\"John Doe\",\"111\",\"retail\",\"12 Main St, Amman\",,\"john@example.com\",\"active\"\n"
+                        + "6,\"Ann \"\"The\"\" Smith\",\"333\",\"corporate\",\"Main St\",,,\"inactive\"\n",
+                copyData.toString(StandardCharsets.UTF_8));
+        verify(customerImportRepository).createStagingTable();
+        verify(copyIn).endCopy();
+        assertEquals(1, response.importedRows());
+        assertEquals(3, response.rejectedRows());
+        assertEquals(1000005, response.firstCustomerId());
+        assertEquals(List.of(
+                new ImportRowErrorDTO(3, "type: Customer type must be either retail, corporate, or investment"),
+                new ImportRowErrorDTO(5, "Legal ID or email appears more than once in the file"),
+                new ImportRowErrorDTO(6, "Legal ID or email already belongs to another customer")
+        ), response.errors());
+    }
+
+    @Test
+    void importCustomers_ShouldCapReportedErrors_ButCountAllRejectedRows() throws Exception {
+        // Given
+        customerImportService = new CustomerImportService(customerImportRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), mock(PlatformTransactionManager.class), 2, 1);
+        String csv = """
+                name,legalId,type,address,customerStatus
+                "unterminated
+                ,,,,
+                """;
+        when(customerImportRepository.mergeStagedCustomers())
+                .thenReturn(new CustomerImportRepository.MergeResult(0, null, null, List.of()));
+
+        // When
+        CustomerImportResponseDTO response = customerImportService.importCustomers(stream(csv));
+
+        // Then
+        assertEquals(0, response.importedRows());
+        assertEquals(2, response.rejectedRows());
+        assertEquals(List.of(new ImportRowErrorDTO(2, "Unterminated quoted field")), response.errors());
+    }
+
+    @Test
+    void importCustomers_ShouldThrowException_WhenRequiredColumnIsMissing() {
+        // Given
+        String csv = "name,legalId,type,address\nJohn Doe,111,retail,Main St\n";
+
+        // When & Then
+        assertThrows(InvalidCustomerImportRequestException.class, () -> customerImportService.importCustomers(stream(csv)));
+        verify(customerImportRepository, never()).createStagingTable();
+    }
+
+    @Test
+    void importCustomers_ShouldThrowException_WhenColumnIsUnknown() {
+        // Given
+        String csv = "\uFEFFname,legalId,type,address,customerStatus,salary\n";
+
+        // When & Then
+        assertThrows(InvalidCustomerImportRequestException.class, () -> customerImportService.importCustomers(stream(csv)));
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,185 @@
+package com.customer.service;
+
+import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.account.dto.KafkaNewAccountDTO;
+import com.clients.account.dto.KafkaUpdateAccountDTO;
+import com.clients.customer.dto.CustomerPortfolioResponseDTO;
+import com.common.enums.AccountStatus;
+import com.common.enums.AccountTypes;
+import com.common.enums.CustomerStatus;
+import com.common.enums.CustomerTypes;
+import com.customer.entity.CustomerAccount;
+import com.customer.exception.CustomerNotFoundException;
+import com.customer.repository.CustomerAccountRepository;
+import com.customer.repository.CustomerPortfolioRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerPortfolioServiceTest {
+
+    @Mock
+    private CustomerAccountRepository customerAccountRepository;
+
+    @InjectMocks
+    private CustomerPortfolioService customerPortfolioService;
+
+    @Test
+    void shouldReturnPortfolioWithAccounts() {
+        // Given
+        when(customerAccountRepository.findPortfolioRows(1000000)).thenReturn(List.of(
+                row(1000000123, AccountTypes.SALARY.getType(), new BigDecimal("10.00")),
+                row(1000000124, AccountTypes.SAVINGS.getType(), new BigDecimal("20.00"))));
+
+        // When
+        CustomerPortfolioResponseDTO portfolio = customerPortfolioService.getPortfolio(1000000);
+
+        // Then
+        assertEquals("John Doe", portfolio.name());
+        assertEquals(2, portfolio.accounts().size());
+        assertEquals(1000000124, portfolio.accounts().get(1).accountId());
+    }
+
+    @Test
+    void shouldReturnEmptyPortfolioWhenCustomerHasNoAccounts() {
+        // Given
+        when(customerAccountRepository.findPortfolioRows(1000000)).thenReturn(List.of(row(null, null, null)));
+
+        // When
+        CustomerPortfolioResponseDTO portfolio = customerPortfolioService.getPortfolio(1000000);
+
+        // Then
+        assertTrue(portfolio.accounts().isEmpty());
+    }
+
+    @Test
+    void shouldThrowCustomerNotFoundWhenCustomerDoesNotExist() {
+        // Given
+        when(customerAccountRepository.findPortfolioRows(1000000)).thenReturn(List.of());
+
+        // When & Then
+        assertThrows(CustomerNotFoundException.class, () -> customerPortfolioService.getPortfolio(1000000));
+    }
+
+    @Test
+    void shouldKeepNewerUpdateWhenAccountCreatedEventArrivesLate() {
+        // Given
+        CustomerAccount account = new CustomerAccount();
+        account.setAccountId(1000000123);
+        account.setCustomerId(1000000);
+        account.setBalance(new BigDecimal("500.00"));
+        when(customerAccountRepository.findById(1000000123)).thenReturn(Optional.of(account));
+
+        // When
+        customerPortfolioService.applyAccountCreated(new KafkaNewAccountDTO(1000000123, 1000000,
+                AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), new BigDecimal("100.00")));
+
+        // Then
+        assertEquals(new BigDecimal("500.00"), account.getBalance());
+        assertEquals(AccountTypes.SAVINGS.getType(), account.getAccountType());
+        verify(customerAccountRepository, times(1)).save(account);
+    }
+
+    @Test
+    void shouldCreatePartialAccountWhenUpdateArrivesFirst() {
+        // Given
+        when(customerAccountRepository.findById(1000000123)).thenReturn(Optional.empty());
+
+        // When
+        customerPortfolioService.applyAccountUpdated(new KafkaUpdateAccountDTO(1000000123, 1000000,
+                Map.of("balance", 75.5, "accountStatus", AccountStatus.INACTIVE.getStatus())));
+
+        // Then
+        ArgumentCaptor<CustomerAccount> captor = ArgumentCaptor.forClass(CustomerAccount.class);
+        verify(customerAccountRepository).save(captor.capture());
+        assertEquals(1000000, captor.getValue().getCustomerId());
+        assertEquals(0, new BigDecimal("75.5").compareTo(captor.getValue().getBalance()));
+        assertEquals(AccountStatus.INACTIVE.getStatus(), captor.getValue().getAccountStatus());
+        assertNull(captor.getValue().getAccountType());
+    }
+
+    @Test
+    void shouldKeepDeletedAccountAsTombstone() {
+        // Given
+        CustomerAccount account = new CustomerAccount();
+        account.setCreated(true);
+        when(customerAccountRepository.findById(1000000123)).thenReturn(Optional.of(account));
+
+        // When
+        customerPortfolioService.applyAccountDeleted(new KafkaDeleteAccountDTO(1000000123, 1000000));
+
+        // Then
+        assertTrue(account.isDeleted());
+        verify(customerAccountRepository, times(1)).save(account);
+        verify(customerAccountRepository, never()).delete(any());
+    }
+
+    @Test
+    void shouldNotRecreateAccountWhenDeleteOvertakesCreateAndUpdate() {
+        // Given
+        when(customerAccountRepository.findById(1000000123)).thenReturn(Optional.empty());
+        customerPortfolioService.applyAccountDeleted(new KafkaDeleteAccountDTO(1000000123, 1000000));
+        ArgumentCaptor<CustomerAccount> captor = ArgumentCaptor.forClass(CustomerAccount.class);
+        verify(customerAccountRepository).save(captor.capture());
+        CustomerAccount tombstone = captor.getValue();
+        when(customerAccountRepository.findById(1000000123)).thenReturn(Optional.of(tombstone));
+
+        // When
+        customerPortfolioService.applyAccountUpdated(new KafkaUpdateAccountDTO(1000000123, 1000000,
+                Map.of("balance", 75.5)));
+        customerPortfolioService.applyAccountCreated(new KafkaNewAccountDTO(1000000123, 1000000,
+                AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), new BigDecimal("100.00")));
+
+        // Then
+        assertTrue(tombstone.isDeleted());
+        assertTrue(tombstone.isCreated());
+        assertNull(tombstone.getBalance());
+        assertNull(tombstone.getAccountType());
+    }
+
+    @Test
+    void shouldReviveTombstoneWhenAccountIdIsGivenToNewAccount() {
+        // Given
+        CustomerAccount tombstone = new CustomerAccount(1000000123, 1000000, AccountTypes.SALARY.getType(),
+                AccountStatus.CLOSED.getStatus(), new BigDecimal("5.00"), null, true, true);
+        when(customerAccountRepository.findById(1000000123)).thenReturn(Optional.of(tombstone));
+
+        // When
+        customerPortfolioService.applyAccountCreated(new KafkaNewAccountDTO(1000000123, 1000000,
+                AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), new BigDecimal("100.00")));
+
+        // Then
+        assertFalse(tombstone.isDeleted());
+        assertEquals(AccountTypes.SAVINGS.getType(), tombstone.getAccountType());
+        assertEquals(AccountStatus.ACTIVE.getStatus(), tombstone.getAccountStatus());
+        assertEquals(new BigDecimal("100.00"), tombstone.getBalance());
+    }
+
+    @Test
+    void shouldCascadeCustomerStatusToAccounts() {
+        // When
+        customerPortfolioService.applyCustomerStatusChanged(1000000, CustomerStatus.INACTIVE.getStatus());
+
+        // Then
+        verify(customerAccountRepository).updateAccountStatusByCustomerId(eq(1000000), eq(AccountStatus.INACTIVE.getStatus()), any());
+    }
+
+    private static CustomerPortfolioRow row(Integer accountId, String accountType, BigDecimal balance) {
+        return new CustomerPortfolioRow(1000000, "John Doe", CustomerTypes.RETAIL.getType(), CustomerStatus.ACTIVE.getStatus(),
+                accountId, accountType, accountId == null ? null : AccountStatus.ACTIVE.getStatus(), balance);
+    }
+}
@@ -0,0 +1,101 @@
+package com.customer.service;
+
+import com.clients.account.AccountClient;
+import com.clients.account.dto.KafkaNewAccountDTO;
+import com.clients.kafka.ProcessedEventService;
+import com.clients.persistence.OptimisticLockRetryTemplate;
+import com.common.enums.AccountStatus;
+import com.common.enums.AccountTypes;
+import com.common.enums.CustomerStatus;
+import com.customer.entity.Customer;
+import com.customer.repository.CustomerAccountCountRepository;
+import com.customer.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs an account event through Hibernate and the Ehcache second-level cache, outside a test transaction so the
+ * eviction that follows the commit happens.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@Import({CustomerService.class, CustomerAccountCountRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerSecondLevelCacheTest {
+
+    @MockBean
+    private AccountClient accountClient;
+
+    @MockBean
+    private ProcessedEventService processedEventService;
+
+    @MockBean
+    private CustomerPortfolioService customerPortfolioService;
+
+    @MockBean
+    private OptimisticLockRetryTemplate optimisticLockRetryTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void newAccountEvent_ShouldEvictOnlyItsCustomer() {
+        // Given
+        int customerId = customerRepository.save(customer("111111111")).getCustomerId();
+        int otherCustomerId = customerRepository.save(customer("222222222")).getCustomerId();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        when(processedEventService.markProcessed(any())).thenReturn(true);
+        customerRepository.findById(otherCustomerId);
+        statistics.clear();
+
+        // When
+        customerService.handleNewAccountEvent(new KafkaNewAccountDTO(1000000123, customerId,
+                AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN));
+
+        // Then
+        assertFalse(sessionFactory.getCache().containsEntity(Customer.class, customerId));
+        assertTrue(sessionFactory.getCache().containsEntity(Customer.class, otherCustomerId));
+        assertEquals(0, customerRepository.findById(otherCustomerId).orElseThrow().getNumberOfAccounts());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, customerRepository.findById(customerId).orElseThrow().getNumberOfAccounts());
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+    }
+
+    private static Customer customer(String legalId) {
+        Customer customer = new Customer();
+        customer.setName("John Doe");
+        customer.setLegalId(legalId);
+        customer.setType("retail");
+        customer.setAddress("Amman");
+        customer.setNumberOfAccounts(0);
+        customer.setCustomerStatus(CustomerStatus.ACTIVE.getStatus());
+        customer.setStatusChangedAt(Instant.now());
+        return customer;
+    }
+}
@@ -5,23 +5,44 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.clients.account.AccountClient;
+import com.clients.account.dto.AccruedInterestDTO;
+import com.clients.account.dto.ImportedAccountDTO;
+import com.clients.account.dto.KafkaAccountsImportedDTO;
 import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.account.dto.KafkaInterestAccruedDTO;
 import com.clients.account.dto.KafkaNewAccountDTO;
+import com.clients.account.dto.KafkaUpdateAccountDTO;
 import com.clients.customer.dto.*;
 import com.common.enums.AccountStatus;
 import com.common.enums.AccountTypes;
 import com.common.enums.CustomerStatus;
+import com.clients.kafka.ProcessedEventService;
+import com.clients.persistence.OptimisticLockRetryTemplate;
 import com.customer.entity.Customer;
 import com.customer.exception.CustomerNotFoundException;
 import com.customer.exception.InvalidCustomerDeleteReqeustException;
+import com.customer.exception.InvalidCustomerSearchRequestException;
+import com.customer.repository.ArchivedCustomerRepository;
+import com.customer.repository.CustomerAccountCountRepository;
 import com.customer.repository.CustomerRepository;
+import com.customer.repository.CustomerSearchHit;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +54,25 @@ class CustomerServiceTest {
     @Mock
     private AccountClient accountClient;
 
+    @Mock
+    private ProcessedEventService processedEventService;
+
+    @Mock
+    private CustomerPortfolioService customerPortfolioService;
+
+    @Mock
+    private ArchivedCustomerRepository archivedCustomerRepository;
+
+    @Mock
+    private CustomerAccountCountRepository customerAccountCountRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Spy
+    private OptimisticLockRetryTemplate optimisticLockRetryTemplate =
+            new OptimisticLockRetryTemplate(new TransactionTemplate(mock(PlatformTransactionManager.class)), 3, Duration.ZERO);
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -93,7 +133,7 @@ class CustomerServiceTest {
         when(customerRepository.findById(1000000)).thenReturn(Optional.of(customer));
 
         // when
-        CustomerResponseDTO response = customerService.getCustomer(1000000);
+        CustomerResponseDTO response = customerService.getCustomer(1000000, false);
 
         // then
         assertNotNull(response);
@@ -112,40 +152,59 @@ class CustomerServiceTest {
         // when & then
         CustomerNotFoundException exception = assertThrows(
                 CustomerNotFoundException.class,
-                () -> customerService.getCustomer(1000000)
+                () -> customerService.getCustomer(1000000, false)
         );
 
         assertEquals("Customer with id: 1000000 not found", exception.getMessage());
         verify(customerRepository, times(1)).findById(1000000);
+        verifyNoInteractions(archivedCustomerRepository);
     }
 
     @Test
-    void shouldReturnAllCustomersSuccessfully() {
+    void shouldReturnArchivedCustomerWhenIncludeArchivedIsSet() {
         // given
-        Customer customer = new Customer();
-        customer.setCustomerId(1000000);
-        customer.setName("John Doe");
-        customer.setLegalId("123456789");
-        customer.setType("Individual");
-        customer.setAddress("123 Main St");
-        customer.setPhoneNumber("555-1234");
-        customer.setEmail("john.doe@example.com");
-        customer.setCustomerStatus(CustomerStatus.ACTIVE.getStatus());
-        customer.setNumberOfAccounts(0);
+        CustomerResponseDTO archivedCustomer = new CustomerResponseDTO(
+                HttpStatus.OK.value(), 1000000, "John Doe", "123456789", "Individual", "123 Main St", "555-1234",
+                "john.doe@example.com", 0, CustomerStatus.INACTIVE.getStatus(), "Customer retrieved successfully");
+        when(customerRepository.findById(1000000)).thenReturn(Optional.empty());
+        when(archivedCustomerRepository.findCustomerResponseById(1000000)).thenReturn(Optional.of(archivedCustomer));
 
-        List<Customer> customers = Collections.singletonList(customer);
-        when(customerRepository.findAll()).thenReturn(customers);
+        // when
+        CustomerResponseDTO response = customerService.getCustomer(1000000, true);
+
+        // then
+        assertEquals(archivedCustomer, response);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCustomerIsNeitherHotNorArchived() {
+        // given
+        when(customerRepository.findById(1000000)).thenReturn(Optional.empty());
+        when(archivedCustomerRepository.findCustomerResponseById(1000000)).thenReturn(Optional.empty());
+
+        // when & then
+        assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomer(1000000, true));
+    }
+
+    @Test
+    void shouldReturnAllCustomersSuccessfully() {
+        // given
+        CustomerResponseDTO customer = new CustomerResponseDTO(
+                HttpStatus.OK.value(), 1000000, "John Doe", "123456789", "Individual", "123 Main St", "555-1234",
+                "john.doe@example.com", 0, CustomerStatus.ACTIVE.getStatus(), "Customer retrieved successfully");
+        when(customerRepository.findAllCustomerResponses()).thenReturn(List.of(customer));
 
         // when
-        List<CustomerResponseDTO> responses = customerService.getAllCustomers();
+        List<CustomerResponseDTO> responses = customerService.getAllCustomers(false);
 
         // then
         assertNotNull(responses);
         assertEquals(1, responses.size());
-        assertEquals(customer.getCustomerId(), responses.get(0).customerId());
+        assertEquals(customer.customerId(), responses.get(0).customerId());
         assertEquals(HttpStatus.OK.value(), responses.get(0).httpStatus());
 
-        verify(customerRepository, times(1)).findAll();
+        verify(customerRepository, times(1)).findAllCustomerResponses();
+        verify(customerRepository, never()).findAll();
     }
 
     @Test
@@ -187,7 +246,30 @@ class CustomerServiceTest {
         assertEquals("Customer with id: 1000000 updated successfully", response.message());
 
         verify(customerRepository, times(1)).findById(1000000);
-        verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(customerRepository, times(1)).save(any(Customer.class));        verify(customerPortfolioService).applyCustomerStatusChanged(1000000, CustomerStatus.INACTIVE.getStatus());
+    }
+
+    @Test
+    void shouldGiveUpAfterRepeatedOptimisticLockConflicts() {
+        // given
+        Customer customer = new Customer();
+        customer.setCustomerId(1000000);
+        customer.setName("John Doe");
+        CustomerUpdateRequestDTO customerUpdateRequestDTO = new CustomerUpdateRequestDTO(
+                "Jane Doe", null, null, null, null, null, null);
+        when(customerRepository.findById(1000000)).thenReturn(Optional.of(customer));
+        when(customerRepository.save(any(Customer.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Customer.class, 1000000));
+
+        // when
+        assertThrows(
+                ObjectOptimisticLockingFailureException.class,
+                () -> customerService.updateCustomer(1000000, customerUpdateRequestDTO)
+        );
+
+        // then
+        verify(customerRepository, times(3)).findById(1000000);
+        verify(customerRepository, times(3)).save(any(Customer.class));
     }
 
     @Test
@@ -295,38 +377,258 @@ class CustomerServiceTest {
         KafkaNewAccountDTO kafkaNewAccountDTO = new KafkaNewAccountDTO(1000000123,
                 1000000,
                 AccountTypes.SAVINGS.getType(),
-                AccountStatus.ACTIVE.getStatus()); // Assuming KafkaNewAccountDTO has a constructor with customerId
-        Customer customer = new Customer();
-        customer.setCustomerId(1000000);
-        customer.setNumberOfAccounts(1);
-
-        when(customerRepository.findById(1000000)).thenReturn(Optional.of(customer));
+                AccountStatus.ACTIVE.getStatus(),
+                BigDecimal.TEN);
+        when(processedEventService.markProcessed(kafkaNewAccountDTO.eventId())).thenReturn(true);
+        Cache cache = mockSecondLevelCache();
 
         // When
         customerService.handleNewAccountEvent(kafkaNewAccountDTO);
 
         // Then
-        assertEquals(2, customer.getNumberOfAccounts());
-        verify(customerRepository, times(1)).save(customer);
+        verify(customerAccountCountRepository, times(1)).adjustAccountCount(1000000, 1);
+        verify(cache).evict(Customer.class, 1000000);
+        verifyNoMoreInteractions(cache);
+        verify(customerPortfolioService, times(1)).applyAccountCreated(kafkaNewAccountDTO);
+    }
+
+    @Test
+    void shouldAdjustNumberOfAccountsPerCustomerWhenAccountsImportedEventReceived() {
+        // Given
+        KafkaAccountsImportedDTO kafkaAccountsImportedDTO = new KafkaAccountsImportedDTO(UUID.randomUUID(), List.of(
+                new ImportedAccountDTO(1000000123, 1000000, AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN),
+                new ImportedAccountDTO(1000000456, 1000000, AccountTypes.SALARY.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.ONE),
+                new ImportedAccountDTO(1000001789, 1000001, AccountTypes.SAVINGS.getType(), AccountStatus.INACTIVE.getStatus(), BigDecimal.ZERO)));
+        when(processedEventService.markProcessed(kafkaAccountsImportedDTO.eventId())).thenReturn(true);
+        when(customerAccountCountRepository.adjustAccountCounts(Map.of(1000000, 2, 1000001, 1))).thenReturn(List.of(1000000, 1000001));
+        Cache cache = mockSecondLevelCache();
+
+        // When
+        customerService.handleAccountsImportedEvent(kafkaAccountsImportedDTO);
+
+        // Then
+        verify(cache).evict(Customer.class, 1000000);
+        verify(cache).evict(Customer.class, 1000001);
+        verifyNoMoreInteractions(cache);
+        verify(customerPortfolioService, times(3)).applyAccountCreated(any(KafkaNewAccountDTO.class));
+        verify(customerPortfolioService).applyAccountCreated(kafkaAccountsImportedDTO.toNewAccountEvents().get(2));
+    }
+
+    @Test
+    void shouldIgnoreAccountsImportedEventWhenAlreadyProcessed() {
+        // Given
+        KafkaAccountsImportedDTO kafkaAccountsImportedDTO = new KafkaAccountsImportedDTO(UUID.randomUUID(), List.of(
+                new ImportedAccountDTO(1000000123, 1000000, AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN)));
+        when(processedEventService.markProcessed(kafkaAccountsImportedDTO.eventId())).thenReturn(false);
+
+        // When
+        customerService.handleAccountsImportedEvent(kafkaAccountsImportedDTO);
+
+        // Then
+        verifyNoInteractions(customerAccountCountRepository, customerPortfolioService);
+    }
+
+    @Test
+    void shouldApplyAccruedBalancesAsAccountUpdates() {
+        // Given
+        KafkaInterestAccruedDTO kafkaInterestAccruedDTO = new KafkaInterestAccruedDTO(LocalDate.of(2025, 3, 1), List.of(
+                new AccruedInterestDTO(1000000123, 1000000, new BigDecimal("0.07"), new BigDecimal("1000.07")),
+                new AccruedInterestDTO(1000001042, 1000001, new BigDecimal("27.40"), new BigDecimal("250027.40"))));
+        when(processedEventService.markProcessed(kafkaInterestAccruedDTO.eventId())).thenReturn(true);
+
+        // When
+        customerService.handleInterestAccruedEvent(kafkaInterestAccruedDTO);
+
+        // Then
+        verify(customerPortfolioService).applyAccountUpdated(new KafkaUpdateAccountDTO(1000000123, 1000000,
+                Map.of("balance", new BigDecimal("1000.07")), kafkaInterestAccruedDTO.eventId()));
+        verify(customerPortfolioService).applyAccountUpdated(new KafkaUpdateAccountDTO(1000001042, 1000001,
+                Map.of("balance", new BigDecimal("250027.40")), kafkaInterestAccruedDTO.eventId()));
+        verifyNoInteractions(customerAccountCountRepository);
+    }
+
+    @Test
+    void shouldIgnoreInterestAccruedEventWhenAlreadyProcessed() {
+        // Given
+        KafkaInterestAccruedDTO kafkaInterestAccruedDTO = new KafkaInterestAccruedDTO(LocalDate.of(2025, 3, 1), List.of(
+                new AccruedInterestDTO(1000000123, 1000000, new BigDecimal("0.07"), new BigDecimal("1000.07"))));
+        when(processedEventService.markProcessed(kafkaInterestAccruedDTO.eventId())).thenReturn(false);
+
+        // When
+        customerService.handleInterestAccruedEvent(kafkaInterestAccruedDTO);
+
+        // Then
+        verifyNoInteractions(customerPortfolioService);
+    }
+
+    @Test
+    void shouldLookUpCustomerStatuses() {
+        // Given
+        List<CustomerStatusDTO> statuses = List.of(new CustomerStatusDTO(1000000, CustomerStatus.ACTIVE.getStatus()));
+        when(customerRepository.findCustomerStatuses(List.of(1000000, 1000001))).thenReturn(statuses);
+
+        // When
+        CustomerLookupResponseDTO response = customerService.lookupCustomers(List.of(1000000, 1000001));
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), response.httpStatus());
+        assertEquals(statuses, response.customers());
     }
 
     @Test
     void shouldDecrementNumberOfAccountsWhenDeleteAccountEventReceived() {
         // Given
         KafkaDeleteAccountDTO kafkaDeleteAccountDTO = new KafkaDeleteAccountDTO(1000000123,
-                1000000); // Assuming KafkaDeleteAccountDTO has a constructor with customerId
-        Customer customer = new Customer();
-        customer.setCustomerId(1000000);
-        customer.setNumberOfAccounts(1);
-
-        when(customerRepository.findById(1000000)).thenReturn(Optional.of(customer));
+                1000000);
+        when(processedEventService.markProcessed(kafkaDeleteAccountDTO.eventId())).thenReturn(true);
+        Cache cache = mockSecondLevelCache();
 
         // When
         customerService.handleDeleteAccountEvent(kafkaDeleteAccountDTO);
 
         // Then
-        assertEquals(0, customer.getNumberOfAccounts());
-        verify(customerRepository, times(1)).save(customer);
+        verify(customerAccountCountRepository, times(1)).adjustAccountCount(1000000, -1);
+        verify(cache).evict(Customer.class, 1000000);
+        verify(customerPortfolioService, times(1)).applyAccountDeleted(kafkaDeleteAccountDTO);
+    }
+
+    @Test
+    void shouldIgnoreNewAccountEventWhenAlreadyProcessed() {
+        // Given
+        KafkaNewAccountDTO kafkaNewAccountDTO = new KafkaNewAccountDTO(1000000123,
+                1000000,
+                AccountTypes.SAVINGS.getType(),
+                AccountStatus.ACTIVE.getStatus(),
+                BigDecimal.TEN);
+        when(processedEventService.markProcessed(kafkaNewAccountDTO.eventId())).thenReturn(false);
+
+        // When
+        customerService.handleNewAccountEvent(kafkaNewAccountDTO);
+
+        // Then
+        verify(customerAccountCountRepository, never()).adjustAccountCount(anyInt(), anyInt());
+        verifyNoInteractions(customerPortfolioService);
+    }
+
+    @Test
+    void shouldUpdatePortfolioWhenUpdateAccountEventReceived() {
+        // Given
+        KafkaUpdateAccountDTO kafkaUpdateAccountDTO = new KafkaUpdateAccountDTO(1000000123,
+                1000000,
+                Map.of("balance", new BigDecimal("150.00")));
+        when(processedEventService.markProcessed(kafkaUpdateAccountDTO.eventId())).thenReturn(true);
+
+        // When
+        customerService.handleUpdateAccountEvent(kafkaUpdateAccountDTO);
+
+        // Then
+        verify(customerPortfolioService, times(1)).applyAccountUpdated(kafkaUpdateAccountDTO);
+    }
+
+    @Test
+    void shouldReturnExactLegalIdMatchWithoutNameSearch() {
+        // given
+        Customer customer = new Customer();
+        customer.setCustomerId(1000000);
+        customer.setName("John Doe");
+        customer.setLegalId("123456789");
+        customer.setNumberOfAccounts(0);
+        when(customerRepository.findByLegalIdOrEmail("123456789", "123456789")).thenReturn(List.of(customer));
+
+        // when
+        CustomerSearchResponseDTO response = customerService.searchCustomers(" 123456789 ", null, 20);
+
+        // then
+        assertEquals(HttpStatus.OK.value(), response.httpStatus());
+        assertEquals(1, response.customers().size());
+        assertEquals(1000000, response.customers().get(0).customerId());
+        assertNull(response.nextCursor());
+        verify(customerRepository, never()).searchByName(any(), anyInt(), anyFloat(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldReturnNameMatchesWithNextCursorWhenMoreRowsExist() {
+        // given
+        List<CustomerSearchHit> hits = List.of(hit(1000001, 0.1f, false), hit(1000002, 0.2f, false), hit(1000003, 0.2f, false));
+        String after = new CustomerSearchCursor(0.05f, 1000000).encode();
+        when(customerRepository.searchByName("john_doe", 500, 0.05f, 1000000, 3)).thenReturn(hits);
+        when(customerRepository.findAllById(List.of(1000001, 1000002))).thenReturn(List.of(customer(1000002), customer(1000001)));
+
+        // when
+        CustomerSearchResponseDTO response = customerService.searchCustomers("john_doe", after, 2);
+
+        // then
+        assertEquals(List.of(1000001, 1000002), response.customers().stream().map(CustomerResponseDTO::customerId).toList());
+        assertEquals(new CustomerSearchCursor(0.2f, 1000002), CustomerSearchCursor.decode(response.nextCursor()));
+        assertFalse(response.truncated());
+        verify(customerRepository, never()).findByLegalIdOrEmail(any(), any());
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutNextCursorAndFlagTruncation() {
+        // given
+        when(customerRepository.findByLegalIdOrEmail("John", "John")).thenReturn(List.of());
+        List<CustomerSearchHit> hits = List.of(hit(1000001, 0f, true), hit(1000002, 0f, true));
+        when(customerRepository.searchByName("John", 500, -1f, 0, 21)).thenReturn(hits);
+        // 1000002 was deleted after the search ran
+        when(customerRepository.findAllById(List.of(1000001, 1000002))).thenReturn(List.of(customer(1000001)));
+
+        // when
+        CustomerSearchResponseDTO response = customerService.searchCustomers("John", null, 20);
+
+        // then
+        assertEquals(1, response.customers().size());
+        assertNull(response.nextCursor());
+        assertTrue(response.truncated());
+    }
+
+    @Test
+    void shouldRejectMalformedSearchCursor() {
+        // when
+        InvalidCustomerSearchRequestException exception = assertThrows(
+                InvalidCustomerSearchRequestException.class,
+                () -> customerService.searchCustomers("John", "not-a-cursor", 20)
+        );
+
+        // then
+        assertEquals("Invalid search cursor", exception.getMessage());
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void shouldRejectTooShortSearchQuery() {
+        // when
+        InvalidCustomerSearchRequestException exception = assertThrows(
+                InvalidCustomerSearchRequestException.class,
+                () -> customerService.searchCustomers(" jo ", null, 20)
+        );
+
+        // then
+        assertEquals("Search query must be at least 3 characters long", exception.getMessage());
+        verifyNoInteractions(customerRepository);
+    }
+
+    private static CustomerSearchHit hit(int customerId, float distance, boolean truncated) {
+        CustomerSearchHit hit = mock(CustomerSearchHit.class);
+        lenient().when(hit.getCustomerId()).thenReturn(customerId);
+        lenient().when(hit.getDistance()).thenReturn(distance);
+        lenient().when(hit.getTruncated()).thenReturn(truncated);
+        return hit;
     }
 
+    private static Customer customer(int customerId) {
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setName("John_Doe " + customerId);
+        customer.setNumberOfAccounts(0);
+        return customer;
+    }
+
+    private Cache mockSecondLevelCache() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        return cache;
+    }
 }
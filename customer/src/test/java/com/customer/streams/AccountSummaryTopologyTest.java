@@ -0,0 +1,118 @@
+package com.customer.streams;
+
+import com.clients.account.dto.ImportedAccountDTO;
+import com.clients.account.dto.KafkaAccountsImportedDTO;
+import com.clients.account.dto.KafkaDeleteAccountDTO;
+import com.clients.account.dto.KafkaNewAccountDTO;
+import com.clients.account.dto.KafkaUpdateAccountDTO;
+import com.clients.serialization.BinaryEventSerializer;
+import com.common.enums.AccountStatus;
+import com.common.enums.AccountTypes;
+import com.common.enums.TopicNames;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountSummaryTopologyTest {
+
+    private static final int CUSTOMER_ID = 1000000;
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, Object> newAccounts;
+    private TestInputTopic<String, Object> updatedAccounts;
+    private TestInputTopic<String, Object> deletedAccounts;
+    private TestInputTopic<String, Object> importedAccounts;
+    private KeyValueStore<Integer, CustomerAccountSummary> summaries;
+
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder streamsBuilder = new StreamsBuilder();
+        new AccountSummaryTopology().customerAccountSummaries(streamsBuilder, new KafkaProperties());
+
+        Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "account-summary-test");
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(streamsBuilder.build(), properties);
+
+        newAccounts = inputTopic(TopicNames.ACCOUNT_NEW);
+        updatedAccounts = inputTopic(TopicNames.ACCOUNT_UPDATE);
+        deletedAccounts = inputTopic(TopicNames.ACCOUNT_DELETE);
+        importedAccounts = inputTopic(TopicNames.ACCOUNT_IMPORT);
+        summaries = driver.getKeyValueStore(AccountSummaryTopology.SUMMARIES_STORE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void shouldCountAccountsByType() {
+        newAccounts.pipeInput(new KafkaNewAccountDTO(1000000001, CUSTOMER_ID, AccountTypes.SALARY.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN));
+        newAccounts.pipeInput(new KafkaNewAccountDTO(1000000002, CUSTOMER_ID, AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN));
+        newAccounts.pipeInput(new KafkaNewAccountDTO(1000000003, CUSTOMER_ID, AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN));
+
+        CustomerAccountSummary summary = summaries.get(CUSTOMER_ID);
+        assertEquals(3, summary.numberOfAccounts());
+        assertEquals(Map.of("salary", 1, "savings", 2), summary.accountsByType());
+        assertTrue(summary.hasSalaryAccount());
+    }
+
+    @Test
+    void shouldMoveAccountBetweenTypesOnUpdate() {
+        newAccounts.pipeInput(new KafkaNewAccountDTO(1000000001, CUSTOMER_ID, AccountTypes.SALARY.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN));
+        updatedAccounts.pipeInput(new KafkaUpdateAccountDTO(1000000001, CUSTOMER_ID, Map.of("accountType", AccountTypes.INVESTMENT.getType())));
+
+        CustomerAccountSummary summary = summaries.get(CUSTOMER_ID);
+        assertEquals(1, summary.numberOfAccounts());
+        assertEquals(Map.of("investment", 1), summary.accountsByType());
+        assertFalse(summary.hasSalaryAccount());
+    }
+
+    @Test
+    void shouldRemoveDeletedAccountOnce() {
+        newAccounts.pipeInput(new KafkaNewAccountDTO(1000000001, CUSTOMER_ID, AccountTypes.SALARY.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN));
+        newAccounts.pipeInput(new KafkaNewAccountDTO(1000000002, CUSTOMER_ID, AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN));
+        deletedAccounts.pipeInput(new KafkaDeleteAccountDTO(1000000001, CUSTOMER_ID));
+        deletedAccounts.pipeInput(new KafkaDeleteAccountDTO(1000000001, CUSTOMER_ID));
+
+        CustomerAccountSummary summary = summaries.get(CUSTOMER_ID);
+        assertEquals(1, summary.numberOfAccounts());
+        assertEquals(Map.of("savings", 1), summary.accountsByType());
+        assertFalse(summary.hasSalaryAccount());
+    }
+
+    @Test
+    void shouldCountEveryAccountOfAnImport() {
+        newAccounts.pipeInput(new KafkaNewAccountDTO(1000000001, CUSTOMER_ID, AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN));
+        importedAccounts.pipeInput(new KafkaAccountsImportedDTO(UUID.randomUUID(), List.of(
+                new ImportedAccountDTO(1000000002, CUSTOMER_ID, AccountTypes.SALARY.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN),
+                new ImportedAccountDTO(1000000003, CUSTOMER_ID, AccountTypes.SAVINGS.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN),
+                new ImportedAccountDTO(1000001001, CUSTOMER_ID + 1, AccountTypes.INVESTMENT.getType(), AccountStatus.ACTIVE.getStatus(), BigDecimal.TEN))));
+
+        CustomerAccountSummary summary = summaries.get(CUSTOMER_ID);
+        assertEquals(3, summary.numberOfAccounts());
+        assertEquals(Map.of("salary", 1, "savings", 2), summary.accountsByType());
+        assertTrue(summary.hasSalaryAccount());
+        assertEquals(Map.of("investment", 1), summaries.get(CUSTOMER_ID + 1).accountsByType());
+    }
+
+    private TestInputTopic<String, Object> inputTopic(TopicNames topic) {
+        return driver.createInputTopic(topic.getTopicName(), new StringSerializer(), new BinaryEventSerializer());
+    }
+}